@@ -20,14 +20,18 @@ export default function FeedbackList() {
   const [loading, setLoading] = useState(true);
   const [selectedDoctor, setSelectedDoctor] = useState(null);
 
-  // Fetch all feedback data
+  // Fetch the latest feedback
   useEffect(() => {
     axios
-      .get("http://localhost:8080/hospital/api/feedback")
+      .get("http://localhost:8080/hospital/api/admin/feedback", {
+        params: { size: 100 },
+        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
+      })
       .then((response) => {
-        setFeedbackList(response.data);
-        if (response.data.length > 0) {
-          setSelectedDoctor(response.data[0].doctor); // Default selection
+        const items = response.data.items;
+        setFeedbackList(items);
+        if (items.length > 0) {
+          setSelectedDoctor(items[0].doctor); // Default selection
         }
         setLoading(false);
       })
@@ -1,4 +1,4 @@
-import React, { useState } from "react";
+import React, { useState, useEffect } from "react";
 import {
   Container,
   Typography,
@@ -12,32 +12,68 @@ import {
   Paper,
   Button,
   TextField,
+  Chip,
+  CircularProgress,
 } from "@mui/material";
+import { toast } from "react-toastify";
+import {
+  getDepartments,
+  addDepartment,
+  deleteDepartment,
+} from "../../services/departmentService";
 
-const initialDepartments = [
-  { id: 1, name: "Cardiology" },
-  { id: 2, name: "Neurology" },
-  { id: 3, name: "Orthopedics" },
-  { id: 4, name: "Pediatrics" },
-];
+const formatMoney = (amount) =>
+  Number(amount || 0).toLocaleString(undefined, { maximumFractionDigits: 2 });
 
 const ManagerDepartment = () => {
-  const [departments, setDepartments] = useState(initialDepartments);
+  const [departments, setDepartments] = useState([]);
   const [newDepartment, setNewDepartment] = useState("");
+  const [loading, setLoading] = useState(false);
+
+  // Totals come precomputed from the server, so no staff rows are loaded here
+  useEffect(() => {
+    fetchDepartments();
+  }, []);
+
+  const fetchDepartments = async () => {
+    setLoading(true);
+    try {
+      setDepartments(await getDepartments());
+    } catch (error) {
+      console.error("Error fetching departments:", error);
+      toast.error(error.message);
+      setDepartments([]);
+    } finally {
+      setLoading(false);
+    }
+  };
 
-  const handleAddDepartment = () => {
-    if (!newDepartment) return;
-    const newId = departments.length + 1;
-    setDepartments([...departments, { id: newId, name: newDepartment }]);
-    setNewDepartment("");
+  const handleAddDepartment = async () => {
+    if (!newDepartment.trim()) return;
+    try {
+      await addDepartment(newDepartment.trim());
+      setNewDepartment("");
+      toast.success("Department added successfully!");
+      fetchDepartments();
+    } catch (error) {
+      console.error("Error adding department:", error);
+      toast.error(error.message);
+    }
   };
 
-  const handleDeleteDepartment = (id) => {
-    setDepartments(departments.filter((dept) => dept.id !== id));
+  const handleDeleteDepartment = async (id) => {
+    try {
+      await deleteDepartment(id);
+      setDepartments(departments.filter((dept) => dept.id !== id));
+      toast.success("Department deleted successfully!");
+    } catch (error) {
+      console.error("Error deleting department:", error);
+      toast.error(error.message);
+    }
   };
 
   return (
-    <Container maxWidth="md" sx={{ mt: 6, mb: 6 }}>
+    <Container maxWidth="lg" sx={{ mt: 6, mb: 6 }}>
       <Paper
         elevation={6}
         sx={{
@@ -83,21 +119,59 @@ const ManagerDepartment = () => {
                 <TableCell>
                   <strong>Department Name</strong>
                 </TableCell>
+                <TableCell align="right">
+                  <strong>Headcount</strong>
+                </TableCell>
+                <TableCell>
+                  <strong>Roles</strong>
+                </TableCell>
+                <TableCell align="right">
+                  <strong>Monthly Salaries</strong>
+                </TableCell>
+                <TableCell align="right">
+                  <strong>Upcoming Rostered Hours</strong>
+                </TableCell>
                 <TableCell>
                   <strong>Actions</strong>
                 </TableCell>
               </TableRow>
             </TableHead>
             <TableBody>
-              {departments.map((dept) => (
+              {loading && (
+                <TableRow>
+                  <TableCell colSpan={7} align="center">
+                    <CircularProgress size={28} />
+                  </TableCell>
+                </TableRow>
+              )}
+              {!loading && departments.length === 0 && (
+                <TableRow>
+                  <TableCell colSpan={7} align="center">
+                    No departments yet
+                  </TableCell>
+                </TableRow>
+              )}
+              {!loading && departments.map((dept) => (
                 <TableRow key={dept.id}>
                   <TableCell>{dept.id}</TableCell>
                   <TableCell>{dept.name}</TableCell>
+                  <TableCell align="right">{dept.headcount}</TableCell>
+                  <TableCell>
+                    <Box sx={{ display: "flex", flexWrap: "wrap", gap: 0.5 }}>
+                      {Object.entries(dept.roles || {}).map(([role, count]) => (
+                        <Chip key={role} size="small" label={`${role} ${count}`} />
+                      ))}
+                    </Box>
+                  </TableCell>
+                  <TableCell align="right">{formatMoney(dept.salaryTotal)}</TableCell>
+                  <TableCell align="right">{dept.upcomingRosteredHours}</TableCell>
                   <TableCell>
                     <Button
                       variant="contained"
                       color="error"
                       size="small"
+                      disabled={dept.headcount > 0}
+                      title={dept.headcount > 0 ? "Move its staff to another department first" : ""}
                       onClick={() => handleDeleteDepartment(dept.id)}
                     >
                       Delete
@@ -14,19 +14,13 @@ import {
 import Rating from "@mui/material/Rating";
 import { useTheme } from "@mui/material/styles";
 
-// Helper function to extract doctor name from strings like "Dr.Sakshi Deshmukh-Psychiatry"
-const extractDoctorName = (doctorString) => {
-  if (!doctorString) return "";
-  const match = doctorString.match(/Dr\.([A-Za-z]+\s[A-Za-z]+)/i);
-  return match ? match[1].trim() : "";
-};
-
 const DoctorFeedbackList = () => {
   const theme = useTheme();
   const [feedbackList, setFeedbackList] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
   const [doctorName, setDoctorName] = useState("");
+  const [summary, setSummary] = useState(null);
 
   useEffect(() => {
     const fetchDoctorAndFeedback = async () => {
@@ -56,26 +50,23 @@ const DoctorFeedbackList = () => {
         const currentDoctorName = `${firstNameCleaned} ${loggedInDoctor.lastName}`;
         setDoctorName(currentDoctorName); // Now: "Sakshi Deshmukh"
 
-        // Step 2: Fetch all feedback
-        const feedbackRes = await axios.get(
-          "http://localhost:8080/hospital/api/feedback",
-          {
-            headers: {
-              Authorization: `Bearer ${token}`,
-            },
-          }
-        );
-
-        // Step 3: Filter feedback by doctor name
-        const filtered = feedbackRes.data.filter((fb) => {
-          const feedbackDoctorName = extractDoctorName(fb.doctor);
-          return (
-            feedbackDoctorName.trim().toLowerCase() ===
-            currentDoctorName.trim().toLowerCase()
-          );
-        });
-
-        setFeedbackList(filtered);
+        // Step 2: Fetch the rating summary and this doctor's feedback
+        const [summaryRes, feedbackRes] = await Promise.all([
+          axios.get(
+            `http://localhost:8080/hospital/api/feedback/doctors/${loggedInDoctor.id}/rating`
+          ),
+          axios.get(
+            `http://localhost:8080/hospital/api/feedback/doctors/${loggedInDoctor.id}`,
+            {
+              headers: {
+                Authorization: `Bearer ${token}`,
+              },
+            }
+          ),
+        ]);
+
+        setSummary(summaryRes.data);
+        setFeedbackList(feedbackRes.data);
       } catch (err) {
         console.error("Error fetching data:", err);
         setError("Failed to load feedback or doctor info.");
@@ -115,22 +106,21 @@ const DoctorFeedbackList = () => {
         </Typography>
 
         {/* Average Rating Summary */}
-        {feedbackList.length > 0 && (
+        {summary && summary.ratingCount > 0 && (
           <Box mb={3} textAlign="center">
             <Typography variant="h6" gutterBottom>
-              Average Rating:{" "}
-              {(feedbackList.reduce((acc, cur) => acc + cur.rating, 0) / feedbackList.length).toFixed(1)} / 5
+              Average Rating: {summary.averageRating.toFixed(1)} / 5
             </Typography>
             <Rating
-              value={
-                feedbackList.reduce((acc, cur) => acc + cur.rating, 0) /
-                feedbackList.length
-              }
+              value={summary.averageRating}
               precision={0.1}
               readOnly
               size="large"
               sx={{ fontSize: "2rem", color: "#FFB400" }}
             />
+            <Typography variant="body2" color="text.secondary">
+              Based on {summary.ratingCount} ratings
+            </Typography>
           </Box>
         )}
 
@@ -1,13 +1,136 @@
-import React from 'react';
-import { Box, Typography } from '@mui/material';
+import React, { useEffect, useState } from 'react';
+import {
+  Alert,
+  Box,
+  Chip,
+  CircularProgress,
+  Grid,
+  List,
+  ListItem,
+  ListItemText,
+  Paper,
+  Typography,
+} from '@mui/material';
+import { getPatientSummary } from '../../services/patientService';
 
-const Dashboard = () => {
-  return (
-    <Box sx={{ p: 3 }}>
-      <Typography variant="h4">Welcome to the Patient Dashboard</Typography>
-      <Typography variant="body1" sx={{ mt: 2 }}>
-        Select an option from the menu to get started.
+const PARTS = {
+  APPOINTMENTS: 'upcoming appointments',
+  PRESCRIPTIONS: 'recent prescriptions',
+  ORDERS: 'recent orders',
+  PROFILE: 'profile',
+};
+
+const SummaryList = ({ title, items, empty, render }) => (
+  <Paper sx={{ p: 2, height: '100%', borderRadius: 2 }}>
+    <Typography variant="h6" sx={{ mb: 1 }}>
+      {title}
+    </Typography>
+    {items.length === 0 ? (
+      <Typography variant="body2" color="text.secondary">
+        {empty}
       </Typography>
+    ) : (
+      <List dense>
+        {items.map(render)}
+      </List>
+    )}
+  </Paper>
+);
+
+// Upcoming appointments, recent prescriptions and orders from one summary call
+const Dashboard = ({ patientId }) => {
+  const [summary, setSummary] = useState(null);
+  const [loading, setLoading] = useState(false);
+  const [error, setError] = useState('');
+
+  useEffect(() => {
+    if (!patientId) {
+      return;
+    }
+    const loadSummary = async () => {
+      setLoading(true);
+      try {
+        setSummary(await getPatientSummary(patientId));
+        setError('');
+      } catch (err) {
+        setError(err.message);
+      } finally {
+        setLoading(false);
+      }
+    };
+    loadSummary();
+  }, [patientId]);
+
+  if (loading) {
+    return (
+      <Box textAlign="center" my={4}>
+        <CircularProgress />
+      </Box>
+    );
+  }
+  if (error) {
+    return <Alert severity="error" sx={{ my: 2 }}>{error}</Alert>;
+  }
+  if (!summary) {
+    return null;
+  }
+
+  return (
+    <Box sx={{ mt: 4 }}>
+      {summary.unavailable.length > 0 && (
+        <Alert severity="warning" sx={{ mb: 2 }}>
+          Could not load your {summary.unavailable.map((part) => PARTS[part] || part).join(', ')} right now.
+        </Alert>
+      )}
+      <Grid container spacing={2}>
+        <Grid item xs={12} md={4}>
+          <SummaryList
+            title="Upcoming Appointments"
+            items={summary.upcomingAppointments}
+            empty="No upcoming appointments."
+            render={(appointment) => (
+              <ListItem key={appointment.id} disableGutters>
+                <ListItemText
+                  primary={appointment.doctorName}
+                  secondary={`${appointment.date} ${appointment.time}`}
+                />
+                <Chip label={appointment.status} size="small" />
+              </ListItem>
+            )}
+          />
+        </Grid>
+        <Grid item xs={12} md={4}>
+          <SummaryList
+            title="Recent Prescriptions"
+            items={summary.recentPrescriptions}
+            empty="No prescriptions yet."
+            render={(prescription) => (
+              <ListItem key={prescription.id} disableGutters>
+                <ListItemText
+                  primary={prescription.doctorName}
+                  secondary={`${prescription.date} · ${(prescription.medicines || []).join(', ')}`}
+                />
+              </ListItem>
+            )}
+          />
+        </Grid>
+        <Grid item xs={12} md={4}>
+          <SummaryList
+            title="Recent Orders"
+            items={summary.recentOrders}
+            empty="No orders yet."
+            render={(order) => (
+              <ListItem key={order.orderId} disableGutters>
+                <ListItemText
+                  primary={`${order.inventoryName} × ${order.quantity}`}
+                  secondary={order.orderDate ? new Date(order.orderDate).toLocaleDateString() : ''}
+                />
+                <Chip label={order.status} size="small" />
+              </ListItem>
+            )}
+          />
+        </Grid>
+      </Grid>
     </Box>
   );
 };
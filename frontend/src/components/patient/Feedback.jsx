@@ -39,7 +39,7 @@ export default function Feedback() {
         const response = await axios.get(
           "http://localhost:8080/hospital/api/doctors/fetchAllDoctorNames",
         );
-        setDoctors(response.data.map((doc) => doc.name));
+        setDoctors(response.data);
       } catch (error) {
         setFetchError("Could not load doctor list. Please try again later.");
       } finally {
@@ -108,7 +108,11 @@ export default function Feedback() {
     e.preventDefault();
     if (validate()) {
       try {
-        await axios.post("http://localhost:8080/hospital/api/feedback", form);
+        const selected = doctors.find((doc) => doc.name === form.doctor);
+        await axios.post("http://localhost:8080/hospital/api/feedback", {
+          ...form,
+          doctorId: selected ? selected.id : null,
+        });
         toast.success("Thank you for your feedback!", {
           position: "top-right",
           autoClose: 3000,
@@ -124,7 +128,11 @@ export default function Feedback() {
         setErrors({});
       } catch (error) {
         console.error("Feedback submission error:", error);
-        toast.error("Failed to submit feedback. Please try again.", {
+        const message =
+          error?.response?.status === 429
+            ? error.response.data?.message || "Too many submissions, please try again later."
+            : "Failed to submit feedback. Please try again.";
+        toast.error(message, {
           position: "top-right",
           autoClose: 3000,
         });
@@ -206,8 +214,8 @@ export default function Feedback() {
               <Select name="doctor" value={form.doctor} onChange={handleChange}>
                 {doctors.length > 0 ? (
                   doctors.map((doc, index) => (
-                    <MenuItem key={index} value={doc}>
-                      {doc}
+                    <MenuItem key={doc.id ?? index} value={doc.name}>
+                      {doc.name}
                     </MenuItem>
                   ))
                 ) : (
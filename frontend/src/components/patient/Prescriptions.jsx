@@ -192,53 +192,62 @@ const formatDoctorName = (doctorName) => {
   return `${capitalizeName(doctorName)}`;
 };
 
+const PAGE_SIZE = 20;
+
 const Prescriptions = () => {
   const [prescriptions, setPrescriptions] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState("");
   const [selectedPrescription, setSelectedPrescription] = useState(null);
+  const [nextPage, setNextPage] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   const pdfRef = React.useRef(null);
 
-  // Load all prescriptions
+  // Load one page of issued prescriptions, newest first
+  const fetchPrescriptions = async (page) => {
+    const token = localStorage.getItem("token");
+    if (!token) {
+      setError("Authentication failed. Please log in again.");
+      return;
+    }
+
+    const response = await axios.get(
+      "http://localhost:8080/hospital/api/prescriptions/my-prescriptions/page",
+      {
+        params: { page, size: PAGE_SIZE, issuedOnly: true },
+        headers: {
+          Authorization: `Bearer ${token}`,
+        },
+      },
+    );
+
+    setPrescriptions((prev) =>
+      page === 0 ? response.data.items : [...prev, ...response.data.items],
+    );
+    setNextPage(page + 1);
+    setHasMore(response.data.hasNext);
+  };
+
   useEffect(() => {
-    const fetchPrescriptions = async () => {
-      try {
-        const token = localStorage.getItem("token");
-        if (!token) {
-          setError("Authentication failed. Please log in again.");
-          setLoading(false);
-          return;
-        }
-
-        const payload = JSON.parse(atob(token.split(".")[1]));
-        const userEmail = payload.sub?.toLowerCase();
-
-        const response = await axios.get(
-          "http://localhost:8080/hospital/api/prescriptions/my-prescriptions",
-          {
-            headers: {
-              Authorization: `Bearer ${token}`,
-            },
-          },
-        );
-
-        const filtered = response.data.filter(
-          (p) =>
-            p.patientEmail?.toLowerCase() === userEmail && p.issued === true,
-        );
-
-        setPrescriptions(filtered);
-        setLoading(false);
-      } catch (err) {
+    fetchPrescriptions(0)
+      .catch((err) => {
         console.error("Error loading prescriptions:", err.message);
         setError("Could not load prescriptions.");
-        setLoading(false);
-      }
-    };
-
-    fetchPrescriptions();
+      })
+      .finally(() => setLoading(false));
   }, []);
 
+  const handleLoadMore = () => {
+    setLoadingMore(true);
+    fetchPrescriptions(nextPage)
+      .catch((err) => {
+        console.error("Error loading prescriptions:", err.message);
+        setError("Could not load prescriptions.");
+      })
+      .finally(() => setLoadingMore(false));
+  };
+
   // Show selected prescription
   const handleViewPrescription = (prescription) => {
     setSelectedPrescription(prescription);
@@ -543,8 +552,8 @@ const Prescriptions = () => {
       ) : (
         <Fade in timeout={600}>
           <Stack spacing={3}>
-            {prescriptions.map((p, index) => (
-              <PrescriptionCard key={index} elevation={3}>
+            {prescriptions.map((p) => (
+              <PrescriptionCard key={p.id} elevation={3}>
                 <CardContent sx={{ p: 3 }}>
                   <Box
                     sx={{
@@ -602,6 +611,17 @@ const Prescriptions = () => {
                 </CardContent>
               </PrescriptionCard>
             ))}
+            {hasMore && (
+              <Box textAlign="center">
+                <Button
+                  variant="outlined"
+                  onClick={handleLoadMore}
+                  disabled={loadingMore}
+                >
+                  {loadingMore ? "Loading..." : "Load more"}
+                </Button>
+              </Box>
+            )}
           </Stack>
         </Fade>
       )}
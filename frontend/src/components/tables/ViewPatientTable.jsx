@@ -22,7 +22,7 @@ import {
 import {Delete, Edit, Info, PersonAdd, Search,} from "@mui/icons-material";
 import Swal from "sweetalert2";
 import toast, {Toaster} from "react-hot-toast";
-import {deletePatient, fetchAllPatients, registerPatient, updatePatient,} from "../../services/patientService";
+import {deletePatient, registerPatient, searchPatientDirectory, updatePatient,} from "../../services/patientService";
 import {validatePatientRegistration} from "../../Javascript/patientValidation";
 
 const defaultPatient = {
@@ -39,38 +39,32 @@ const defaultPatient = {
 };
 
 function ViewPatientTable() {
-  const [patients, setPatients] = useState([]);
   const [filteredPatients, setFilteredPatients] = useState([]);
   const [searchTerm, setSearchTerm] = useState("");
+  const [nextCursor, setNextCursor] = useState(null);
   const [showModal, setShowModal] = useState(false);
   const [formMode, setFormMode] = useState("add");
   const [currentPatient, setCurrentPatient] = useState(defaultPatient);
   const [formErrors, setFormErrors] = useState({});
 
+  // The server searches the directory; wait for a pause in typing
   useEffect(() => {
-    fetchPatients();
-  }, []);
+    const timer = setTimeout(() => fetchPatients(), 250);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
 
-  const fetchPatients = async () => {
+  const fetchPatients = async (cursor = null) => {
     try {
-      const data = await fetchAllPatients();
-      setPatients(data);
-      setFilteredPatients(data);
+      const page = await searchPatientDirectory(searchTerm, cursor);
+      setFilteredPatients((prev) => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
     } catch {
       toast.error("Failed to load patients.");
     }
   };
 
   const handleSearchChange = (e) => {
-    const value = e.target.value.toLowerCase();
-    setSearchTerm(value);
-    const filtered = patients.filter(
-        (p) =>
-            p.firstName.toLowerCase().includes(value) ||
-            p.lastName.toLowerCase().includes(value) ||
-            p.email.toLowerCase().includes(value)
-    );
-    setFilteredPatients(filtered);
+    setSearchTerm(e.target.value);
   };
 
   const handleOpenModal = (mode = "add", patient = null) => {
@@ -145,10 +139,10 @@ function ViewPatientTable() {
           🧑‍⚕️ Patient Management
         </Typography>
 
-        {/* <Grid container spacing={2} alignItems="center" sx={{ mb: 2 }}>
+        <Grid container spacing={2} alignItems="center" sx={{ mb: 2 }}>
           <Grid item xs={12} sm={8}>
             <TextField
-                label="Search by name or email"
+                label="Search by name, email or phone"
                 variant="outlined"
                 fullWidth
                 value={searchTerm}
@@ -173,7 +167,7 @@ function ViewPatientTable() {
               Add Patient
             </Button>
           </Grid>
-        </Grid> */}
+        </Grid>
 
         <Paper elevation={4}>
           <TableContainer>
@@ -231,6 +225,13 @@ function ViewPatientTable() {
               </TableBody>
             </Table>
           </TableContainer>
+          {nextCursor && (
+              <Box display="flex" justifyContent="center" p={2}>
+                <Button variant="outlined" onClick={() => fetchPatients(nextCursor)}>
+                  Load more
+                </Button>
+              </Box>
+          )}
         </Paper>
 
         {/* Modal */}
@@ -39,6 +39,7 @@ import {
 } from "@mui/icons-material";
 
 import PatientDetails from "../components/patient/PatientDetails";
+import Dashboard from "../components/patient/Dashboard";
 import BookAppointment from "../components/patient/BookAppointment";
 import ViewAppointments from "../components/patient/ViewAppointments";
 import Prescriptions from "../components/patient/Prescriptions";
@@ -395,6 +396,7 @@ function PatientProfile() {
                     <Box>
                       <HeroSection userData={userData} />
                       <PatientDetails userData={userData} />
+                      <Dashboard patientId={userData.patientId} />
                     </Box>
                   </Grow>
                 )}
@@ -0,0 +1,62 @@
+import axiosInstance from "../api/axiosConfig";
+
+const errorMessage = (error, fallback) => {
+  if (error.response) {
+    const errorData = error.response.data;
+    return errorData.message || errorData || fallback;
+  }
+  if (error.request) {
+    return "No response from server. Please check your network connection.";
+  }
+  return error.message || fallback;
+};
+
+// Every department with headcount, role mix, salary total and upcoming rostered hours
+export const getDepartments = async () => {
+  try {
+    const response = await axiosInstance.get("/api/admin/departments");
+    return response.data;
+  } catch (error) {
+    throw new Error(errorMessage(error, "Error fetching departments"));
+  }
+};
+
+// Totals grouped by "department", "role" or "department_and_role"
+export const getDepartmentStats = async (by = "department") => {
+  try {
+    const response = await axiosInstance.get("/api/admin/departments/stats", { params: { by } });
+    return response.data;
+  } catch (error) {
+    throw new Error(errorMessage(error, "Error fetching department totals"));
+  }
+};
+
+// One page of a department's staff; pass the last id as after for the next page
+export const getDepartmentStaff = async (departmentId, after = 0, size = 50) => {
+  try {
+    const response = await axiosInstance.get(`/api/admin/departments/${departmentId}/staff`, {
+      params: { after, size },
+    });
+    return response.data;
+  } catch (error) {
+    throw new Error(errorMessage(error, "Error fetching department staff"));
+  }
+};
+
+export const addDepartment = async (name) => {
+  try {
+    const response = await axiosInstance.post("/api/admin/departments", { name });
+    return response.data;
+  } catch (error) {
+    throw new Error(errorMessage(error, "Error adding department"));
+  }
+};
+
+// Only departments without staff can be deleted
+export const deleteDepartment = async (departmentId) => {
+  try {
+    await axiosInstance.delete(`/api/admin/departments/${departmentId}`);
+  } catch (error) {
+    throw new Error(errorMessage(error, "Error deleting department"));
+  }
+};
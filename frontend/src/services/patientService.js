@@ -85,6 +85,47 @@ export const fetchAllPatients = async () => {
   }
 };
 
+// Search the patient directory by name, email or phone, one page at a time
+export const searchPatientDirectory = async (query = "", cursor = null, size = 25) => {
+  try {
+    const response = await axiosInstance.get('/api/patients/directory', {
+      params: { q: query || undefined, cursor: cursor || undefined, size },
+    });
+    return response.data;
+  } catch (error) {
+    console.error("Error searching patients:", error);
+
+    if (error.response) {
+      const errorData = error.response.data;
+      throw new Error(errorData.message || errorData || 'Error searching patients');
+    } else if (error.request) {
+      throw new Error('No response from server. Please check your network connection.');
+    } else {
+      throw new Error(error.message || 'An error occurred while searching patients');
+    }
+  }
+};
+
+// Profile, upcoming appointments, recent prescriptions and orders in one call;
+// `unavailable` names any part the server could not load in time
+export const getPatientSummary = async (patientId) => {
+  try {
+    const response = await axiosInstance.get(`/api/patients/${patientId}/summary`);
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching patient summary:", error);
+
+    if (error.response) {
+      const errorData = error.response.data;
+      throw new Error(errorData.message || errorData || 'Error fetching patient summary');
+    } else if (error.request) {
+      throw new Error('No response from server. Please check your network connection.');
+    } else {
+      throw new Error(error.message || 'An error occurred while fetching the patient summary');
+    }
+  }
+};
+
 export const deletePatient = async (email) => {
   try {
     const response = await axiosInstance.delete(`api/patients/delete/${email}`);
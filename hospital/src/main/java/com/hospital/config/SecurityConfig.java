@@ -47,8 +47,11 @@ public class SecurityConfig {
 																											// preflight
 																											// requests
 						.requestMatchers("/", "/hospital/**", "/home", "/api/login", "/api/patients/register",
-								"/api/appointments", "/api/feedback", "/api/doctors/fetchAllDoctorNames")
+								"/api/appointments", "/api/feedback", "/api/doctors/fetchAllDoctorNames",
+								"/api/doctors/directory")
+						.permitAll().requestMatchers("/api/feedback/leaderboard", "/api/feedback/doctors/*/rating")
 						.permitAll().requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
+						.requestMatchers("/api/pharmacy/**").hasAnyAuthority("ROLE_STAFF", "ROLE_ADMIN")
 						.requestMatchers("/api/doctor/**").hasAnyAuthority("ROLE_DOCTOR", "ROLE_ADMIN")
 						.requestMatchers("/api/nurse/**").hasAuthority("ROLE_NURSE").requestMatchers("/api/staff/**")
 						.hasAuthority("ROLE_STAFF").requestMatchers("/api/patients/**")
@@ -0,0 +1,63 @@
+package com.hospital.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.dto.response.DemandHeatmapResponse;
+import com.hospital.dto.response.DoctorUtilizationResponse;
+import com.hospital.service.AppointmentAnalyticsService;
+
+@RestController
+@RequestMapping("/api/admin/analytics/appointments")
+public class AppointmentAnalyticsController {
+
+	private static final Logger logger = LoggerFactory.getLogger(AppointmentAnalyticsController.class);
+
+	@Autowired
+	private AppointmentAnalyticsService analyticsService;
+
+	/**
+	 * 📊 **Admin Side:** Weekday x hour booking density and utilization. Pass a
+	 * doctorName or specialization to narrow the scope.
+	 */
+	@GetMapping("/heatmap")
+	public ResponseEntity<DemandHeatmapResponse> getHeatmap(@RequestParam(required = false) String doctorName,
+			@RequestParam(required = false) String specialization) {
+		return ResponseEntity.ok(analyticsService.getHeatmap(doctorName, specialization));
+	}
+
+	/**
+	 * 📊 **Admin Side:** Bookings and utilization for every doctor, busiest first.
+	 */
+	@GetMapping("/utilization")
+	public ResponseEntity<List<DoctorUtilizationResponse>> getDoctorUtilization() {
+		return ResponseEntity.ok(analyticsService.getDoctorUtilization());
+	}
+
+	/**
+	 * 🔄 **Admin Side:** Rebuild the counters from the full appointment history.
+	 */
+	@PostMapping("/rebuild")
+	public ResponseEntity<?> rebuild() {
+		try {
+			long scanned = analyticsService.rebuildFromHistory();
+			return ResponseEntity.ok("Rebuilt appointment analytics from " + scanned + " appointments");
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error rebuilding appointment analytics: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while rebuilding appointment analytics");
+		}
+	}
+}
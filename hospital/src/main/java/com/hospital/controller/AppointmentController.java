@@ -1,13 +1,17 @@
 package com.hospital.controller;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,12 +25,17 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hospital.dto.request.AppointmentRequest;
+import com.hospital.dto.request.AppointmentSearchRequest;
+import com.hospital.dto.request.BulkStatusUpdateRequest;
 import com.hospital.entity.Appointment;
 import com.hospital.entity.Doctor;
 import com.hospital.enums.Status;
 import com.hospital.repository.DoctorRepository;
+import com.hospital.security.SecurityUtil;
 import com.hospital.service.AppointmentService;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("/api/appointments")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -36,6 +45,8 @@ public class AppointmentController {
 	private AppointmentService appointmentService;
 	@Autowired
 	private DoctorRepository doctorRepository;
+	@Autowired
+	private SecurityUtil securityUtil;
 
 	/**
 	 * 🏥 **Patient Side:** Fetch appointments for the logged-in patient.
@@ -76,6 +87,38 @@ public class AppointmentController {
 		return ResponseEntity.ok(updatedAppointment);
 	}
 
+	/**
+	 * 👨‍⚕️ **Doctor Side:** Change the status of many appointments in one call
+	 * (end-of-day close-out). Doctors may only touch their own appointments;
+	 * admins may touch any.
+	 */
+	@PutMapping("/status")
+	public ResponseEntity<?> updateAppointmentStatuses(@Valid @RequestBody BulkStatusUpdateRequest request,
+			@AuthenticationPrincipal UserDetails userDetails) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		String doctorName = null;
+		if (!securityUtil.isAdmin(authentication)) {
+			if (!securityUtil.isDoctor(authentication)) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+						.body("Access denied. Only doctors can update appointment statuses.");
+			}
+			Optional<Doctor> doctor = doctorRepository.findByEmail(userDetails.getUsername());
+			if (doctor.isEmpty()) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Doctor profile not found");
+			}
+			doctorName = doctor.get().getFirstName() + " " + doctor.get().getLastName() + "-"
+					+ doctor.get().getSpecialization();
+		}
+
+		try {
+			return ResponseEntity.ok(appointmentService.updateAppointmentStatuses(request, doctorName));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
+	}
+
 	/**
 	 * 🛠 **Admin Side:** Fetch all appointments.
 	 */
@@ -84,11 +127,43 @@ public class AppointmentController {
 		return ResponseEntity.ok(appointmentService.getAllAppointments());
 	}
 
+	/**
+	 * 🛠 **Admin Side:** Paginated appointment listing with filters and sorting.
+	 * Follow {@code nextCursor} to fetch the next page.
+	 */
+	@GetMapping("/admin")
+	public ResponseEntity<?> searchAppointments(@RequestParam(required = false) String status,
+			@RequestParam(required = false) String doctorName, @RequestParam(required = false) String patientEmail,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(defaultValue = "startTime") String sort, @RequestParam(defaultValue = "asc") String direction,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "25") int size) {
+		if (!securityUtil.isAdmin(SecurityContextHolder.getContext().getAuthentication())) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN)
+					.body("Access denied. Only administrators can access this resource.");
+		}
+		AppointmentSearchRequest request = new AppointmentSearchRequest();
+		request.setStatus(status);
+		request.setDoctorName(doctorName);
+		request.setPatientEmail(patientEmail);
+		request.setFrom(from);
+		request.setTo(to);
+		request.setSort(sort);
+		request.setDirection(direction);
+		request.setCursor(cursor);
+		request.setSize(size);
+		try {
+			return ResponseEntity.ok(appointmentService.searchAppointments(request));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
+	}
+
 	/**
 	 * 🏥 **Patient Side:** Create a new appointment with email support.
 	 */
 	@PostMapping
-	public ResponseEntity<Appointment> createAppointment(@RequestBody AppointmentRequest request,
+	public ResponseEntity<?> createAppointment(@RequestBody AppointmentRequest request,
 			@AuthenticationPrincipal UserDetails userDetails) {
 		// Instead of relying on the frontend, get the authenticated user's email
 		// directly
@@ -102,7 +177,21 @@ public class AppointmentController {
 		appointment.setTime(request.getTime());
 		appointment.setStatus(Status.PENDING); // Default status
 
-		return new ResponseEntity<>(appointmentService.createAppointment(appointment), HttpStatus.CREATED);
+		try {
+			if (request.getDoctorName() == null || request.getDoctorName().isBlank()) {
+				if (request.getSpecialization() == null || request.getSpecialization().isBlank()) {
+					return ResponseEntity.badRequest().body("Either a doctor or a specialization is required");
+				}
+				return new ResponseEntity<>(
+						appointmentService.createAppointmentInSpecialization(appointment, request.getSpecialization()),
+						HttpStatus.CREATED);
+			}
+			return new ResponseEntity<>(appointmentService.createAppointment(appointment), HttpStatus.CREATED);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
 	}
 
 	/**
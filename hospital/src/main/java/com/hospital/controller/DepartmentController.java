@@ -0,0 +1,107 @@
+package com.hospital.controller;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.dto.request.DepartmentRequest;
+import com.hospital.dto.response.DepartmentMemberResponse;
+import com.hospital.dto.response.DepartmentSummaryResponse;
+import com.hospital.service.DepartmentService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/departments")
+public class DepartmentController {
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	/**
+	 * 🏥 **Admin Side:** Every department with its headcount, role mix,
+	 * monthly salary total and upcoming rostered hours, served from memory.
+	 */
+	@GetMapping
+	public ResponseEntity<List<DepartmentSummaryResponse>> getDepartments() {
+		return ResponseEntity.ok(departmentService.getDepartments());
+	}
+
+	@GetMapping("/{departmentId}")
+	public ResponseEntity<?> getDepartment(@PathVariable Long departmentId) {
+		DepartmentSummaryResponse department = departmentService.getDepartment(departmentId);
+		if (department == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Department not found: " + departmentId);
+		}
+		return ResponseEntity.ok(department);
+	}
+
+	/**
+	 * 📊 **Admin Side:** Headcount, salary and rostered hours grouped by
+	 * department, role or department_and_role, e.g. ?by=role.
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<?> getStats(@RequestParam(defaultValue = "department") String by) {
+		try {
+			return ResponseEntity.ok(departmentService.getStats(by));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 🔎 **Admin Side:** A department's staff in id order. Pass the last id as
+	 * after for the next page.
+	 */
+	@GetMapping("/{departmentId}/staff")
+	public ResponseEntity<?> getMembers(@PathVariable Long departmentId,
+			@RequestParam(defaultValue = "0") long after, @RequestParam(defaultValue = "50") int size) {
+		try {
+			List<DepartmentMemberResponse> members = departmentService.getMembers(departmentId, after, size);
+			if (members == null) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Department not found: " + departmentId);
+			}
+			return ResponseEntity.ok(members);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@PostMapping
+	public ResponseEntity<?> createDepartment(@Valid @RequestBody DepartmentRequest request) {
+		try {
+			DepartmentSummaryResponse department = departmentService.createDepartment(request.getName());
+			return ResponseEntity.created(URI.create("/api/admin/departments/" + department.getId())).body(department);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 🏥 **Admin Side:** Deletes a department that has no staff left.
+	 */
+	@DeleteMapping("/{departmentId}")
+	public ResponseEntity<?> deleteDepartment(@PathVariable Long departmentId) {
+		try {
+			if (!departmentService.deleteDepartment(departmentId)) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Department not found: " + departmentId);
+			}
+			return ResponseEntity.noContent().build();
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
+	}
+}
@@ -1,11 +1,15 @@
 package com.hospital.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,15 +21,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.hospital.dto.request.DoctorRequest;
 import com.hospital.dto.request.PrescriptionRequest;
-import com.hospital.dto.response.DoctorNameResponse;
 import com.hospital.dto.response.DoctorResponse;
 import com.hospital.dto.response.PrescriptionResponse;
 import com.hospital.exception.EmailAlreadyExistsException;
 import com.hospital.security.SecurityUtil;
+import com.hospital.service.DoctorDirectoryCache;
 import com.hospital.service.DoctorService;
 
 import jakarta.validation.Valid;
@@ -42,6 +48,9 @@ public class DoctorController {
 	@Autowired
 	private SecurityUtil securityUtil;
 
+	@Autowired
+	private DoctorDirectoryCache doctorDirectoryCache;
+
 	@PostMapping("/registerDoctor")
 	public ResponseEntity<?> registerDoctor(@Valid @RequestBody DoctorRequest request) {
 		try {
@@ -118,15 +127,68 @@ public class DoctorController {
 		}
 	}
 
+	/**
+	 * 🌐 **Public:** Every doctor as "First Last-Specialization", served from
+	 * the cached directory. Revalidate with If-None-Match for a 304.
+	 */
 	@GetMapping("/fetchAllDoctorNames")
-	public ResponseEntity<List<DoctorNameResponse>> getAllDoctorNames() {
-		return ResponseEntity.ok(doctorService.fetchAllDoctorNames());
+	public ResponseEntity<byte[]> getAllDoctorNames(WebRequest request) {
+		return cachedJson(doctorDirectoryCache.namesBody(), request);
+	}
+
+	/**
+	 * 🌐 **Public:** Doctors grouped by specialization, from the same cache.
+	 */
+	@GetMapping("/directory")
+	public ResponseEntity<byte[]> getDoctorDirectory(WebRequest request) {
+		return cachedJson(doctorDirectoryCache.groupsBody(), request);
+	}
+
+	/**
+	 * 🔎 **Patient Side:** Doctors by specialization, city, state and gender
+	 * (repeat a parameter to match any of several values), optionally only
+	 * those with a free slot on availableOn. Facet counts come with each page.
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<?> searchDoctors(@RequestParam(required = false) List<String> specialization,
+			@RequestParam(required = false) List<String> city, @RequestParam(required = false) List<String> state,
+			@RequestParam(required = false) List<String> gender,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate availableOn,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+		try {
+			return ResponseEntity
+					.ok(doctorService.searchDoctors(specialization, city, state, gender, availableOn, page, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error searching doctors: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while searching doctors");
+		}
+	}
+
+	private static ResponseEntity<byte[]> cachedJson(DoctorDirectoryCache.Body body, WebRequest request) {
+		if (request.checkNotModified(body.etag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(body.etag()).cacheControl(CacheControl.noCache())
+					.build();
+		}
+		return ResponseEntity.ok().eTag(body.etag()).cacheControl(CacheControl.noCache())
+				.contentType(MediaType.APPLICATION_JSON).body(body.json());
 	}
 
 	@PostMapping("/issue-prescription")
-	public ResponseEntity<PrescriptionResponse> issuePrescription(@RequestBody PrescriptionRequest request) {
-		PrescriptionResponse response = doctorService.createPrescription(request);
-		return ResponseEntity.ok(response);
+	public ResponseEntity<?> issuePrescription(@Valid @RequestBody PrescriptionRequest request) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			if (securityUtil.isDoctor(authentication)) {
+				// Refills are routed back to the issuing doctor for approval
+				request.setDoctorEmail(((UserDetails) authentication.getPrincipal()).getUsername());
+			}
+			PrescriptionResponse response = doctorService.createPrescription(request);
+			return ResponseEntity.ok(response);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
 	@PutMapping("/update/{email}")
@@ -0,0 +1,81 @@
+package com.hospital.controller;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.service.FeedbackService;
+
+@RestController
+@RequestMapping("/api/admin/feedback")
+public class FeedbackAdminController {
+
+	private static final Logger logger = LoggerFactory.getLogger(FeedbackAdminController.class);
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	/**
+	 * 🔎 **Admin Side:** Full feedback, newest first or with sort=sentiment
+	 * most negative first. Filter by doctor, rating range, date and
+	 * maxSentiment (-1..1), and search comments with q (every word must match).
+	 */
+	@GetMapping
+	public ResponseEntity<?> searchFeedback(@RequestParam(required = false) Long doctorId,
+			@RequestParam(required = false) Integer minRating, @RequestParam(required = false) Integer maxRating,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) Double maxSentiment, @RequestParam(required = false) String q,
+			@RequestParam(defaultValue = "newest") String sort, @RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+		try {
+			if (!sort.equals("newest") && !sort.equals("sentiment")) {
+				return ResponseEntity.badRequest().body("sort must be newest or sentiment");
+			}
+			return ResponseEntity.ok(feedbackService.searchFeedback(doctorId, minRating, maxRating, from, to,
+					maxSentiment, q, sort.equals("sentiment"), page, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 🧠 **Admin Side:** Score the sentiment of historical comments.
+	 */
+	@PostMapping("/sentiment/backfill")
+	public ResponseEntity<?> backfillSentiment(@RequestParam(defaultValue = "false") boolean rescore) {
+		try {
+			return ResponseEntity.ok(feedbackService.backfillSentiment(rescore));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error backfilling feedback sentiment: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while backfilling feedback sentiment");
+		}
+	}
+
+	/**
+	 * 🔄 **Admin Side:** Link older feedback to doctors and recompute the rating totals.
+	 */
+	@PostMapping("/ratings/rebuild")
+	public ResponseEntity<?> rebuildRatings() {
+		try {
+			return ResponseEntity.ok(feedbackService.rebuildRatings());
+		} catch (Exception e) {
+			logger.error("Error rebuilding doctor ratings: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while rebuilding doctor ratings");
+		}
+	}
+}
@@ -3,16 +3,32 @@ package com.hospital.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.hospital.dto.response.DoctorRatingResponse;
+import com.hospital.dto.response.FeedbackReceipt;
+import com.hospital.dto.response.FeedbackSummaryResponse;
+import com.hospital.dto.response.LeaderboardEntry;
 import com.hospital.entity.Feedback;
+import com.hospital.security.SecurityUtil;
+import com.hospital.service.FeedbackIngestQueue;
+import com.hospital.service.FeedbackIngestQueue.Outcome;
 import com.hospital.service.FeedbackService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
 @RequestMapping("/api/feedback")
@@ -21,13 +37,79 @@ public class FeedbackController {
 	@Autowired
 	private FeedbackService feedbackService;
 
+	@Autowired
+	private FeedbackIngestQueue ingestQueue;
+
+	@Autowired
+	private SecurityUtil securityUtil;
+
+	/**
+	 * 📨 Queues the feedback for a batched write and answers 202 straight
+	 * away. Callers over their rate limit, or arriving while the queue is
+	 * full, get 429.
+	 */
 	@PostMapping
-	public Feedback submitFeedback(@RequestBody Feedback feedback) {
-		return feedbackService.saveFeedback(feedback);
+	public ResponseEntity<?> submitFeedback(@RequestBody Feedback feedback, HttpServletRequest request) {
+		try {
+			Outcome outcome = ingestQueue.submit(feedback, request.getRemoteAddr());
+			return switch (outcome) {
+			case ACCEPTED -> ResponseEntity.status(HttpStatus.ACCEPTED)
+					.body(new FeedbackReceipt(outcome.name(), "Thank you for your feedback"));
+			case DUPLICATE -> ResponseEntity.status(HttpStatus.ACCEPTED)
+					.body(new FeedbackReceipt(outcome.name(), "This feedback was already received"));
+			case RATE_LIMITED -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.header(HttpHeaders.RETRY_AFTER, "60")
+					.body(new FeedbackReceipt(outcome.name(), "Too many submissions, please try again later"));
+			case QUEUE_FULL -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.header(HttpHeaders.RETRY_AFTER, "5")
+					.body(new FeedbackReceipt(outcome.name(), "Feedback is busy, please try again shortly"));
+			};
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
+	/**
+	 * 🌐 Public, cached summary. The full listing is admin-only at /api/admin/feedback.
+	 */
 	@GetMapping
-	public List<Feedback> getAllFeedback() {
-		return feedbackService.getAllFeedback();
+	public ResponseEntity<FeedbackSummaryResponse> getPublicSummary() {
+		return ResponseEntity.ok(feedbackService.getPublicSummary());
+	}
+
+	/**
+	 * ⭐ Newest feedback for one doctor, with the patients' contact details.
+	 * Only that doctor and admins may read it.
+	 */
+	@GetMapping("/doctors/{doctorId}")
+	public ResponseEntity<?> getFeedbackForDoctor(@PathVariable Long doctorId,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			if (!securityUtil.isAdmin(authentication)
+					&& !feedbackService.isDoctorAccount(doctorId, authentication.getName())) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+						.body("Access denied. You can only view your own feedback.");
+			}
+			return ResponseEntity.ok(feedbackService.getFeedbackForDoctor(doctorId, page, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * ⭐ Count, average and star histogram of one doctor
+	 */
+	@GetMapping("/doctors/{doctorId}/rating")
+	public ResponseEntity<DoctorRatingResponse> getDoctorRating(@PathVariable Long doctorId) {
+		return ResponseEntity.ok(feedbackService.getDoctorRating(doctorId));
+	}
+
+	/**
+	 * 🏆 Top rated doctors with enough ratings to rank
+	 */
+	@GetMapping("/leaderboard")
+	public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+		return ResponseEntity.ok(feedbackService.getLeaderboard(limit));
 	}
 }
@@ -0,0 +1,107 @@
+package com.hospital.controller;
+
+import java.net.URI;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.hospital.dto.response.OnboardingJobResponse;
+import com.hospital.enums.OnboardingKind;
+import com.hospital.service.OnboardingService;
+
+@RestController
+@RequestMapping("/api/admin/onboarding")
+public class OnboardingController {
+
+	private static final Logger logger = LoggerFactory.getLogger(OnboardingController.class);
+
+	@Autowired
+	private OnboardingService onboardingService;
+
+	/**
+	 * 📥 **Admin Side:** Bulk import of patients, doctors or staff from a CSV
+	 * file with a header row or an NDJSON file, one record per line, with the
+	 * fields of the matching registration request. Returns the queued job;
+	 * poll its Location for progress.
+	 */
+	@PostMapping("/{kind}")
+	public ResponseEntity<?> startImport(@PathVariable String kind, @RequestParam("file") MultipartFile file,
+			@RequestParam(required = false) String format) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			OnboardingJobResponse job = onboardingService.startImport(parseKind(kind), file, format,
+					authentication.getName());
+			return ResponseEntity.accepted().location(URI.create("/api/admin/onboarding/jobs/" + job.getId()))
+					.body(job);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error starting onboarding import: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while starting the import");
+		}
+	}
+
+	/**
+	 * 📊 **Admin Side:** Most recent import jobs first.
+	 */
+	@GetMapping("/jobs")
+	public ResponseEntity<?> getRecentJobs(@RequestParam(defaultValue = "20") int limit) {
+		try {
+			return ResponseEntity.ok(onboardingService.getRecentJobs(limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 📊 **Admin Side:** Status and counters of one import job.
+	 */
+	@GetMapping("/jobs/{jobId}")
+	public ResponseEntity<?> getJob(@PathVariable Long jobId) {
+		OnboardingJobResponse job = onboardingService.getJob(jobId);
+		if (job == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Onboarding job not found: " + jobId);
+		}
+		return ResponseEntity.ok(job);
+	}
+
+	/**
+	 * 🔎 **Admin Side:** Rejected records of a job with the reason, in record
+	 * order. Pass the last recordNumber as after for the next page.
+	 */
+	@GetMapping("/jobs/{jobId}/errors")
+	public ResponseEntity<?> getRowErrors(@PathVariable Long jobId, @RequestParam(defaultValue = "0") long after,
+			@RequestParam(defaultValue = "100") int size) {
+		try {
+			if (onboardingService.getJob(jobId) == null) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Onboarding job not found: " + jobId);
+			}
+			return ResponseEntity.ok(onboardingService.getRowErrors(jobId, after, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	private static OnboardingKind parseKind(String kind) {
+		return switch (kind.toLowerCase(Locale.ROOT)) {
+		case "patients" -> OnboardingKind.PATIENT;
+		case "doctors" -> OnboardingKind.DOCTOR;
+		case "staff" -> OnboardingKind.STAFF;
+		default -> throw new IllegalArgumentException("Import kind must be patients, doctors or staff");
+		};
+	}
+}
@@ -22,6 +22,7 @@ import com.hospital.dto.response.OrderResponse;
 import com.hospital.entity.Order;
 import com.hospital.entity.Patient;
 import com.hospital.repository.PatientRepository;
+import com.hospital.service.EmailIdentityIndex;
 import com.hospital.service.OrderService;
 import com.hospital.security.SecurityUtil;
 
@@ -38,6 +39,9 @@ public class OrderController {
     @Autowired
     private SecurityUtil securityUtil;
 
+    @Autowired
+    private EmailIdentityIndex emailIdentityIndex;
+
     @PostMapping
     public ResponseEntity<OrderResponse> placeOrder(@RequestBody OrderRequest request) {
         // Get the authenticated user's email
@@ -45,12 +49,15 @@ public class OrderController {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String patientEmail = userDetails.getUsername();
 
-        // Find the patient by email
-        Patient patient = patientRepository.findByEmail(patientEmail)
+        // Find the patient by email, from memory when the account is known
+        Long patientId = emailIdentityIndex.find(patientEmail)
+                .filter(identity -> "PATIENT".equals(identity.role()))
+                .map(EmailIdentityIndex.Identity::profileId)
+                .or(() -> patientRepository.findByEmail(patientEmail).map(Patient::getPatientId))
                 .orElseThrow(() -> new IllegalArgumentException("Patient not found with email: " + patientEmail));
 
         // Set the patient ID from the authenticated user
-        request.setPatientId(patient.getPatientId());
+        request.setPatientId(patientId);
 
         OrderResponse response = orderService.placeOrder(request);
         return ResponseEntity.ok(response);
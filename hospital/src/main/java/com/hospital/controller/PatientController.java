@@ -16,13 +16,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hospital.dto.request.PatientRegistrationRequest;
+import com.hospital.dto.response.PatientDirectoryPage;
 import com.hospital.dto.response.PatientResponse;
 import com.hospital.exception.EmailAlreadyExistsException;
+import com.hospital.exception.ResourceNotFoundException;
+import com.hospital.exception.UnauthorizedException;
 import com.hospital.security.SecurityUtil;
 import com.hospital.service.PatientService;
+import com.hospital.service.PatientSummaryService;
 
 import jakarta.validation.Valid;
 
@@ -33,10 +38,13 @@ public class PatientController {
 	private static final Logger logger = LoggerFactory.getLogger(PatientController.class);
 
 	private final PatientService patientService;
+	private final PatientSummaryService patientSummaryService;
 	private final SecurityUtil securityUtil;
 
-	public PatientController(PatientService patientService, SecurityUtil securityUtil) {
+	public PatientController(PatientService patientService, PatientSummaryService patientSummaryService,
+			SecurityUtil securityUtil) {
 		this.patientService = patientService;
+		this.patientSummaryService = patientSummaryService;
 		this.securityUtil = securityUtil;
 	}
 
@@ -74,6 +82,52 @@ public class PatientController {
 		}
 	}
 
+	// Admin only endpoint: prefix search over name, email and phone, in keyset
+	// pages; pass the nextCursor of one page as cursor to get the next
+	@GetMapping("/directory")
+	public ResponseEntity<?> searchDirectory(@RequestParam(required = false) String q,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "25") int size) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+			if (!securityUtil.isAdmin(authentication)) {
+				return ResponseEntity.status(HttpStatus.FORBIDDEN)
+						.body("Access denied. Only administrators can access this resource.");
+			}
+
+			PatientDirectoryPage page = patientService.searchDirectory(q, cursor, size);
+			return ResponseEntity.ok(page);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error searching the patient directory: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while searching patients");
+		}
+	}
+
+	// Endpoint accessible by both Admin and Patient (with proper authorization):
+	// profile, upcoming appointments, recent prescriptions and recent orders in
+	// one response; parts that could not be loaded are listed as unavailable
+	@GetMapping("/{patientId}/summary")
+	public ResponseEntity<?> getPatientSummary(@PathVariable Long patientId) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+			String viewerEmail = securityUtil.isAdmin(authentication) ? null : userDetails.getUsername();
+
+			return ResponseEntity.ok(patientSummaryService.getSummary(patientId, viewerEmail));
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+		} catch (UnauthorizedException e) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+		} catch (Exception e) {
+			logger.error("Error fetching patient summary: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while fetching the patient summary");
+		}
+	}
+
 	// Endpoint accessible by both Admin and Patient (with proper authorization)
 	@GetMapping("/details/{email}")
 	public ResponseEntity<?> getPatientDetails(@PathVariable String email) {
@@ -0,0 +1,110 @@
+package com.hospital.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.dto.request.StaffShiftRequest;
+import com.hospital.dto.response.PayrollRunResponse;
+import com.hospital.service.PayrollService;
+
+@RestController
+@RequestMapping("/api/admin/payroll")
+public class PayrollController {
+
+	@Autowired
+	private PayrollService payrollService;
+
+	/**
+	 * 📊 **Admin Side:** Computes the payslips of every staff member for a
+	 * month, e.g. ?period=2026-09. Runs in the background; poll the Location
+	 * for progress and per-phase timings. Running a month again replaces its
+	 * payslips.
+	 */
+	@PostMapping("/runs")
+	public ResponseEntity<?> startRun(@RequestParam String period) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			PayrollRunResponse run = payrollService.startRun(period, authentication.getName());
+			return ResponseEntity.accepted().location(URI.create("/api/admin/payroll/runs/" + run.getId())).body(run);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 📊 **Admin Side:** Most recent payroll runs first.
+	 */
+	@GetMapping("/runs")
+	public ResponseEntity<?> getRecentRuns(@RequestParam(defaultValue = "20") int limit) {
+		try {
+			return ResponseEntity.ok(payrollService.getRecentRuns(limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping("/runs/{runId}")
+	public ResponseEntity<?> getRun(@PathVariable Long runId) {
+		PayrollRunResponse run = payrollService.getRun(runId);
+		if (run == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Payroll run not found: " + runId);
+		}
+		return ResponseEntity.ok(run);
+	}
+
+	/**
+	 * 🔎 **Admin Side:** Payslips of a month in staff id order. Pass the last
+	 * staffId as after for the next page.
+	 */
+	@GetMapping("/payslips")
+	public ResponseEntity<?> getPayslips(@RequestParam String period, @RequestParam(defaultValue = "0") long after,
+			@RequestParam(defaultValue = "100") int size) {
+		try {
+			return ResponseEntity.ok(payrollService.getPayslips(period, after, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 🔎 **Admin Side:** One staff member's payslips, latest month first.
+	 */
+	@GetMapping("/payslips/staff/{staffId}")
+	public ResponseEntity<?> getPayslipsByStaff(@PathVariable Long staffId,
+			@RequestParam(defaultValue = "12") int limit) {
+		try {
+			return ResponseEntity.ok(payrollService.getPayslipsByStaff(staffId, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 📥 **Admin Side:** Records worked shifts; hours beyond the standard month
+	 * are paid as overtime.
+	 */
+	@PostMapping("/shifts")
+	public ResponseEntity<?> recordShifts(@RequestBody List<StaffShiftRequest> shifts) {
+		try {
+			return ResponseEntity.ok(Map.of("recorded", payrollService.recordShifts(shifts)));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.hospital.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.service.PeopleSearchService;
+
+@RestController
+@RequestMapping("/api/admin/people")
+public class PeopleSearchController {
+
+	@Autowired
+	private PeopleSearchService peopleSearchService;
+
+	/**
+	 * 🔎 **Admin Side:** One search box for patients, doctors and staff. Matches
+	 * the start of any name word, the email or the phone digits, and returns
+	 * the best matches of each role, e.g.
+	 * /api/admin/people/search?q=smi&roles=DOCTOR,STAFF&limit=5
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<?> search(@RequestParam String q, @RequestParam(required = false) List<String> roles,
+			@RequestParam(defaultValue = "10") int limit) {
+		try {
+			return ResponseEntity.ok(peopleSearchService.search(q, roles, limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
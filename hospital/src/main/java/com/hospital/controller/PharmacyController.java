@@ -0,0 +1,70 @@
+package com.hospital.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.dto.request.DispenseRequest;
+import com.hospital.dto.response.DispenseResponse;
+import com.hospital.dto.response.PharmacyQueueEntry;
+import com.hospital.service.PharmacyService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Pharmacy counter endpoints; SecurityConfig limits /api/pharmacy/** to staff
+ * and administrators.
+ */
+@RestController
+@RequestMapping("/api/pharmacy")
+public class PharmacyController {
+
+	private static final Logger logger = LoggerFactory.getLogger(PharmacyController.class);
+
+	@Autowired
+	private PharmacyService pharmacyService;
+
+	/**
+	 * 💊 **Pharmacy Side:** Prescriptions waiting to be dispensed, oldest first.
+	 */
+	@GetMapping("/queue")
+	public ResponseEntity<List<PharmacyQueueEntry>> getQueue(@RequestParam(defaultValue = "50") int limit) {
+		return ResponseEntity.ok(pharmacyService.getQueue(limit));
+	}
+
+	/**
+	 * 💊 **Pharmacy Side:** Dispense a batch of prescriptions in one go.
+	 */
+	@PostMapping("/dispense")
+	public ResponseEntity<?> dispense(@Valid @RequestBody DispenseRequest request) {
+		try {
+			DispenseResponse response = pharmacyService.dispense(request);
+			return ResponseEntity.ok(response);
+		} catch (Exception e) {
+			logger.error("Error dispensing prescriptions: ", e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("An error occurred while dispensing prescriptions");
+		}
+	}
+
+	/**
+	 * 💊 **Pharmacy Side:** Return reserved stock for a prescription that will
+	 * not be collected.
+	 */
+	@PostMapping("/prescriptions/{id}/release")
+	public ResponseEntity<?> releasePrescription(@PathVariable Long id) {
+		int released = pharmacyService.releasePrescription(id);
+		return ResponseEntity.ok("Released " + released + " pending line(s) for prescription " + id);
+	}
+}
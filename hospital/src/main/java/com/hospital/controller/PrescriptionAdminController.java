@@ -0,0 +1,85 @@
+package com.hospital.controller;
+
+import com.hospital.service.MedicineNameNormalizer;
+import com.hospital.service.MedicineRecallService;
+import com.hospital.service.PrescriptionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/prescriptions")
+public class PrescriptionAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionAdminController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private MedicineRecallService medicineRecallService;
+
+    /**
+     * Links historical medicine lines to inventory items by name.
+     */
+    @PostMapping("/inventory-matches/backfill")
+    public ResponseEntity<?> backfillInventoryMatches() {
+        try {
+            return ResponseEntity.ok(prescriptionService.backfillInventoryMatches());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error backfilling inventory matches: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while backfilling inventory matches");
+        }
+    }
+
+    /**
+     * Streams every patient prescribed the recalled medicine, one JSON object
+     * per line. Identify the drug by name (strength narrows it when given) or
+     * by inventory item id.
+     */
+    @GetMapping("/recall")
+    public ResponseEntity<?> streamRecallImpact(
+            @RequestParam(required = false) String medicine,
+            @RequestParam(required = false) Long inventoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (inventoryId == null && (medicine == null || MedicineNameNormalizer.drugKey(medicine).isEmpty())) {
+            return ResponseEntity.badRequest().body("Provide a recognisable medicine name or an inventoryId");
+        }
+        StreamingResponseBody body = out -> {
+            long patients = medicineRecallService.streamAffectedPatients(medicine, inventoryId, from, to, out);
+            logger.info("Recall lookup for medicine={} inventoryId={} matched {} patients", medicine, inventoryId,
+                    patients);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * Rebuilds the medicine-to-patient recall index from all medicine lines.
+     */
+    @PostMapping("/recall-index/backfill")
+    public ResponseEntity<?> backfillRecallIndex() {
+        try {
+            return ResponseEntity.ok(medicineRecallService.backfill());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error backfilling recall index: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while backfilling the recall index");
+        }
+    }
+}
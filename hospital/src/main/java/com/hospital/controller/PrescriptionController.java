@@ -1,8 +1,12 @@
 package com.hospital.controller;
 
 import com.hospital.dto.request.PrescriptionRequest;
+import com.hospital.dto.request.RefillDecisionRequest;
+import com.hospital.dto.response.PrescriptionPageResponse;
 import com.hospital.dto.response.PrescriptionResponse;
+import com.hospital.security.SecurityUtil;
 import com.hospital.service.PrescriptionService;
+import com.hospital.service.RefillService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,10 +26,24 @@ public class PrescriptionController {
     @Autowired
     private PrescriptionService prescriptionService;
 
+    @Autowired
+    private RefillService refillService;
+
+    @Autowired
+    private SecurityUtil securityUtil;
+
     @PostMapping("/issue")
-    public ResponseEntity<PrescriptionResponse> issuePrescription(@Valid @RequestBody PrescriptionRequest request) {
-        PrescriptionResponse response = prescriptionService.issuePrescription(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> issuePrescription(@Valid @RequestBody PrescriptionRequest request) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (securityUtil.isDoctor(authentication)) {
+                request.setDoctorEmail(((UserDetails) authentication.getPrincipal()).getUsername());
+            }
+            PrescriptionResponse response = prescriptionService.issuePrescription(request);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/my-prescriptions")
@@ -43,4 +61,60 @@ public class PrescriptionController {
                     .body("An error occurred while fetching prescriptions: " + e.getMessage());
         }
     }
+
+    @GetMapping("/my-prescriptions/page")
+    @PreAuthorize("hasAuthority('ROLE_PATIENT')")
+    public ResponseEntity<?> getPrescriptionPageForLoggedInPatient(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean issuedOnly) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String email = ((UserDetails) authentication.getPrincipal()).getUsername();
+
+            PrescriptionPageResponse prescriptions =
+                    prescriptionService.getPrescriptionPageByPatient(email, page, size, issuedOnly);
+            return ResponseEntity.ok(prescriptions);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while fetching prescriptions: " + e.getMessage());
+        }
+    }
+
+    // Doctors see their own pending refills, admins see every doctor's
+    @GetMapping("/refills/pending")
+    public ResponseEntity<?> getPendingRefills() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!securityUtil.isAdmin(authentication) && !securityUtil.isDoctor(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only doctors can review refills");
+        }
+        return ResponseEntity.ok(refillService.getPendingRefills(refillScope(authentication)));
+    }
+
+    @PostMapping("/refills/approve")
+    public ResponseEntity<?> approveRefills(@Valid @RequestBody RefillDecisionRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!securityUtil.isAdmin(authentication) && !securityUtil.isDoctor(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only doctors can approve refills");
+        }
+        return ResponseEntity.ok(refillService.approveRefills(request, refillScope(authentication)));
+    }
+
+    @PostMapping("/refills/reject")
+    public ResponseEntity<?> rejectRefills(@Valid @RequestBody RefillDecisionRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!securityUtil.isAdmin(authentication) && !securityUtil.isDoctor(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only doctors can reject refills");
+        }
+        return ResponseEntity.ok(refillService.rejectRefills(request, refillScope(authentication)));
+    }
+
+    private String refillScope(Authentication authentication) {
+        return securityUtil.isAdmin(authentication)
+                ? null
+                : ((UserDetails) authentication.getPrincipal()).getUsername();
+    }
 }
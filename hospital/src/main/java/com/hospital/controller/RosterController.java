@@ -0,0 +1,100 @@
+package com.hospital.controller;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.dto.request.RosterRunRequest;
+import com.hospital.dto.request.StaffUnavailabilityRequest;
+import com.hospital.dto.response.RosterRunResponse;
+import com.hospital.service.RosterService;
+
+@RestController
+@RequestMapping("/api/admin/roster")
+public class RosterController {
+
+	@Autowired
+	private RosterService rosterService;
+
+	/**
+	 * 📅 **Admin Side:** Builds the week's shift roster of each department
+	 * (or of the listed ones) within the time budget. Runs in the background;
+	 * poll the Location for the coverage it reached. A completed run replaces
+	 * the week's roster of the departments it covered.
+	 */
+	@PostMapping("/runs")
+	public ResponseEntity<?> startRun(@RequestBody RosterRunRequest request) {
+		try {
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			RosterRunResponse run = rosterService.startRun(request, authentication.getName());
+			return ResponseEntity.accepted().location(URI.create("/api/admin/roster/runs/" + run.getId())).body(run);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 📅 **Admin Side:** Most recent roster runs first.
+	 */
+	@GetMapping("/runs")
+	public ResponseEntity<?> getRecentRuns(@RequestParam(defaultValue = "20") int limit) {
+		try {
+			return ResponseEntity.ok(rosterService.getRecentRuns(limit));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@GetMapping("/runs/{runId}")
+	public ResponseEntity<?> getRun(@PathVariable Long runId) {
+		RosterRunResponse run = rosterService.getRun(runId);
+		if (run == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Roster run not found: " + runId);
+		}
+		return ResponseEntity.ok(run);
+	}
+
+	/**
+	 * 🔎 **Admin Side:** A department's rostered shifts for the week starting
+	 * on weekStart, a Monday.
+	 */
+	@GetMapping
+	public ResponseEntity<?> getRoster(@RequestParam String department,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
+		try {
+			return ResponseEntity.ok(rosterService.getRoster(department, weekStart));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 📥 **Admin Side:** Records days staff cannot be rostered; later runs
+	 * leave them off.
+	 */
+	@PostMapping("/unavailability")
+	public ResponseEntity<?> recordUnavailability(@RequestBody List<StaffUnavailabilityRequest> days) {
+		try {
+			return ResponseEntity.ok(Map.of("recorded", rosterService.recordUnavailability(days)));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
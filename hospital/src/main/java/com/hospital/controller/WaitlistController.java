@@ -0,0 +1,88 @@
+package com.hospital.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.dto.request.WaitlistRequest;
+import com.hospital.dto.response.WaitlistEntryResponse;
+import com.hospital.service.WaitlistService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/appointments/waitlist")
+@CrossOrigin(origins = "http://localhost:3000")
+public class WaitlistController {
+
+	@Autowired
+	private WaitlistService waitlistService;
+
+	/**
+	 * 🏥 **Patient Side:** Join the waitlist for a fully booked doctor/day.
+	 */
+	@PostMapping
+	public ResponseEntity<?> joinWaitlist(@Valid @RequestBody WaitlistRequest request,
+			@AuthenticationPrincipal UserDetails userDetails) {
+		try {
+			WaitlistEntryResponse entry = waitlistService.joinWaitlist(request, userDetails.getUsername());
+			return new ResponseEntity<>(entry, HttpStatus.CREATED);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 🏥 **Patient Side:** Fetch own waitlist entries, including open offers.
+	 */
+	@GetMapping("/mine")
+	public ResponseEntity<List<WaitlistEntryResponse>> getMyEntries(@AuthenticationPrincipal UserDetails userDetails) {
+		return ResponseEntity.ok(waitlistService.getEntriesForPatient(userDetails.getUsername()));
+	}
+
+	/**
+	 * ✅ **Patient Side:** Accept a held slot and book it.
+	 */
+	@PostMapping("/{id}/accept")
+	public ResponseEntity<?> acceptOffer(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+		try {
+			return new ResponseEntity<>(waitlistService.acceptOffer(id, userDetails.getUsername()),
+					HttpStatus.CREATED);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * ❌ **Patient Side:** Decline a held slot so it moves to the next patient.
+	 */
+	@PostMapping("/{id}/decline")
+	public ResponseEntity<?> declineOffer(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+		try {
+			return ResponseEntity.ok(waitlistService.declineOffer(id, userDetails.getUsername()));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
+	}
+
+	/**
+	 * 🗑️ **Patient Side:** Leave the waitlist.
+	 */
+	@DeleteMapping("/{id}")
+	public ResponseEntity<?> leaveWaitlist(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+		waitlistService.leaveWaitlist(id, userDetails.getUsername());
+		return ResponseEntity.ok("Removed from waitlist");
+	}
+}
@@ -9,6 +9,7 @@ public class AppointmentRequest {
 	private String patientName;
 	private String patientEmail; // ✅ Added email field
 	private String doctorName;
+	private String specialization; // used to auto-assign when doctorName is left blank
 	private String date;
 	private String time;
 }
\ No newline at end of file
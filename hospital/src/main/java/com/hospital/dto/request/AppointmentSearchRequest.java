@@ -0,0 +1,20 @@
+package com.hospital.dto.request;
+
+import java.time.LocalDate;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AppointmentSearchRequest {
+	private String status;
+	private String doctorName;
+	private String patientEmail;
+	private LocalDate from;
+	private LocalDate to;
+	private String sort = "startTime"; // startTime, doctorName or status
+	private String direction = "asc";
+	private String cursor;
+	private int size = 25;
+}
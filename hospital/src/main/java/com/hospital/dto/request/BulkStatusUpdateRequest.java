@@ -0,0 +1,21 @@
+package com.hospital.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkStatusUpdateRequest {
+
+	@NotEmpty(message = "At least one appointment id is required")
+	@Size(max = 500, message = "At most 500 appointments can be updated at once")
+	private List<Long> ids;
+
+	@NotBlank(message = "Status is required")
+	private String status;
+}
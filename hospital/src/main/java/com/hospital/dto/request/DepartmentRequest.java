@@ -0,0 +1,14 @@
+package com.hospital.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DepartmentRequest {
+	@NotBlank(message = "Department name is required")
+	@Size(max = 100, message = "Department name must be at most 100 characters")
+	private String name;
+}
@@ -0,0 +1,17 @@
+package com.hospital.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DispenseRequest {
+
+	@NotEmpty(message = "At least one prescription id is required")
+	@Size(max = 200, message = "At most 200 prescriptions can be dispensed at once")
+	private List<Long> prescriptionIds;
+}
@@ -1,6 +1,7 @@
 package com.hospital.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 @Data
@@ -19,4 +20,7 @@ public class MedicineItemRequest {
 	private String duration;
 
 	private String instructions;
+
+	@Positive(message = "Quantity must be positive")
+	private Integer quantity;
 }
\ No newline at end of file
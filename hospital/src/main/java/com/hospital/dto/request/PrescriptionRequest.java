@@ -1,5 +1,7 @@
 package com.hospital.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -23,9 +25,24 @@ public class PrescriptionRequest {
     @NotBlank(message = "Patient email is required")
     private String patientEmail;
 
-    @NotEmpty(message = "Medicines list cannot be empty")
+    // Either bare medicine names or structured items (or both) must be given
     private List<@NotBlank(message = "Medicine name cannot be blank") String> medicines;
 
+    private List<@Valid MedicineItemRequest> items;
+
+    // Optional repeat schedule
+    @Positive(message = "Refill interval must be at least one day")
+    private Integer refillIntervalDays;
+
+    @PositiveOrZero(message = "Refills cannot be negative")
+    private Integer refills;
+
+    private LocalDate refillEndDate;
+
+    // Set by the server from the signed-in doctor, never read from the request body
+    @JsonIgnore
+    private String doctorEmail;
+
     // Getters and setters
 
     public String getPatientName() {
@@ -70,4 +87,34 @@ public class PrescriptionRequest {
     public void setMedicines(List<String> medicines) {
         this.medicines = medicines;
     }
+    public Integer getRefillIntervalDays() {
+        return refillIntervalDays;
+    }
+    public void setRefillIntervalDays(Integer refillIntervalDays) {
+        this.refillIntervalDays = refillIntervalDays;
+    }
+    public Integer getRefills() {
+        return refills;
+    }
+    public void setRefills(Integer refills) {
+        this.refills = refills;
+    }
+    public LocalDate getRefillEndDate() {
+        return refillEndDate;
+    }
+    public void setRefillEndDate(LocalDate refillEndDate) {
+        this.refillEndDate = refillEndDate;
+    }
+    public String getDoctorEmail() {
+        return doctorEmail;
+    }
+    public void setDoctorEmail(String doctorEmail) {
+        this.doctorEmail = doctorEmail;
+    }
+    public List<MedicineItemRequest> getItems() {
+        return items;
+    }
+    public void setItems(List<MedicineItemRequest> items) {
+        this.items = items;
+    }
 }
@@ -0,0 +1,17 @@
+package com.hospital.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RefillDecisionRequest {
+
+	@NotEmpty(message = "At least one refill id is required")
+	@Size(max = 500, message = "At most 500 refills can be decided at once")
+	private List<Long> refillIds;
+}
@@ -0,0 +1,32 @@
+package com.hospital.dto.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Coverage and time budget fall back to the roster.* properties when left
+ * out; no departments means every department.
+ */
+@Getter
+@Setter
+public class RosterRunRequest {
+	@NotNull(message = "Week start is required")
+	private LocalDate weekStart;
+
+	private List<String> departments;
+
+	// Only staff with one of these roles, e.g. NURSE; none means everyone
+	private List<String> roles;
+
+	private Integer dayCoverage;
+
+	private Integer eveningCoverage;
+
+	private Integer nightCoverage;
+
+	private Long timeBudgetMillis;
+}
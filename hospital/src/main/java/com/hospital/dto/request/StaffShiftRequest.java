@@ -0,0 +1,20 @@
+package com.hospital.dto.request;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StaffShiftRequest {
+	@NotNull(message = "Staff id is required")
+	private Long staffId;
+
+	@NotNull(message = "Start time is required")
+	private LocalDateTime startTime;
+
+	@NotNull(message = "End time is required")
+	private LocalDateTime endTime;
+}
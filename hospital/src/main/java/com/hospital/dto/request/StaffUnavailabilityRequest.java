@@ -0,0 +1,19 @@
+package com.hospital.dto.request;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StaffUnavailabilityRequest {
+	@NotNull(message = "Staff id is required")
+	private Long staffId;
+
+	@NotNull(message = "Date is required")
+	private LocalDate date;
+
+	private String reason;
+}
@@ -0,0 +1,17 @@
+package com.hospital.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WaitlistRequest {
+	private String patientName;
+
+	@NotBlank(message = "Doctor name is required")
+	private String doctorName;
+
+	@NotBlank(message = "Date is required")
+	private String date;
+}
@@ -0,0 +1,14 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AppointmentPageResponse {
+	private List<AppointmentResponse> items;
+	private String nextCursor; // pass back as ?cursor= to fetch the following page
+	private boolean hasMore;
+}
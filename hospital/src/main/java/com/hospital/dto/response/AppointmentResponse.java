@@ -0,0 +1,17 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class AppointmentResponse {
+	private Long id;
+	private String patientName;
+	private String patientEmail;
+	private String doctorName;
+	private String date;
+	private String time;
+	private LocalDateTime startTime;
+	private String status;
+}
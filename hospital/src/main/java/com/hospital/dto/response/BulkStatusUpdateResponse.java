@@ -0,0 +1,21 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+	private String status;
+	private int updated;
+	private List<Outcome> outcomes;
+
+	@Data
+	@AllArgsConstructor
+	public static class Outcome {
+		private Long id;
+		private String result; // UPDATED, UNCHANGED, NOT_FOUND or FORBIDDEN
+	}
+}
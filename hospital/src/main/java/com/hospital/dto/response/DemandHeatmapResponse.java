@@ -0,0 +1,16 @@
+package com.hospital.dto.response;
+
+import lombok.Data;
+
+@Data
+public class DemandHeatmapResponse {
+	private String scope; // HOSPITAL, SPECIALIZATION or DOCTOR
+	private String name;
+	private long doctors;
+	private long weeksObserved;
+	private long totalBookings;
+	private double utilizationPercent;
+	// [weekday Monday..Sunday][hour 0..23]
+	private long[][] bookings;
+	private double[][] utilization;
+}
@@ -0,0 +1,17 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DepartmentMemberResponse {
+	private Long id;
+	private String name;
+	private String email;
+	private String phoneNumber;
+	private String role;
+	private LocalDate hireDate;
+}
@@ -0,0 +1,19 @@
+package com.hospital.dto.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DepartmentStatsRow {
+	// Null when grouped by role only
+	private Long departmentId;
+	private String department;
+	// Null when grouped by department only
+	private String role;
+	private int headcount;
+	private BigDecimal salaryTotal;
+	private double upcomingRosteredHours;
+}
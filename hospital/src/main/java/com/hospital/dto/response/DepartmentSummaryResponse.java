@@ -0,0 +1,21 @@
+package com.hospital.dto.response;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DepartmentSummaryResponse {
+	private Long id;
+	private String name;
+	private int headcount;
+	// Sum of Staff.salary, the monthly gross
+	private BigDecimal salaryTotal;
+	// Rostered hours from now on
+	private double upcomingRosteredHours;
+	// Headcount per upper-cased role
+	private Map<String, Integer> roles;
+}
@@ -0,0 +1,21 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispenseLineResponse {
+	private Long id;
+	private Long prescriptionId;
+	private Long medicineItemId;
+	private String medicineName;
+	private Long inventoryId;
+	private Integer quantity;
+	private String status;
+	private LocalDateTime dispensedAt;
+}
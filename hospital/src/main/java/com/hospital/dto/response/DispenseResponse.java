@@ -0,0 +1,15 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DispenseResponse {
+	private int prescriptions;
+	private int dispensed;
+	private int unavailable; // still waiting for stock; they stay in the queue
+	private List<DispenseLineResponse> lines;
+}
@@ -0,0 +1,13 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DoctorDirectoryGroup {
+	private String specialization;
+	private List<DoctorNameResponse> doctors;
+}
@@ -6,5 +6,6 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 public class DoctorNameResponse {
+	private Long id;
 	private String name;
 }
\ No newline at end of file
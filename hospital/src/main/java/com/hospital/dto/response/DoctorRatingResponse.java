@@ -0,0 +1,17 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DoctorRatingResponse {
+	private Long doctorId;
+	private long ratingCount;
+	private double averageRating;
+	private List<Long> histogram; // index 0 holds one-star ratings, index 4 five-star
+	private Double averageSentiment; // null until a comment has been scored
+	private long negativeComments;
+}
@@ -0,0 +1,17 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DoctorSearchHit {
+	private Long id;
+	private String name;
+	private String firstName;
+	private String lastName;
+	private String specialization;
+	private String city;
+	private String state;
+	private String gender;
+}
@@ -0,0 +1,19 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DoctorSearchResponse {
+	private List<DoctorSearchHit> items;
+	private int page;
+	private int size;
+	private long totalElements;
+	private boolean hasNext;
+	// facet -> value -> doctors that value would leave
+	private Map<String, Map<String, Integer>> facets;
+}
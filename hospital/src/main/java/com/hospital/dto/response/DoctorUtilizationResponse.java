@@ -0,0 +1,13 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DoctorUtilizationResponse {
+	private String doctorName;
+	private String specialization;
+	private long bookings;
+	private double utilizationPercent;
+}
@@ -0,0 +1,18 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import com.hospital.entity.Feedback;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FeedbackPageResponse {
+	private List<Feedback> items;
+	private int page;
+	private int size;
+	private long totalElements;
+	private boolean hasNext;
+}
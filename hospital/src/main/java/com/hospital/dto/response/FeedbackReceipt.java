@@ -0,0 +1,11 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FeedbackReceipt {
+	private String status;
+	private String message;
+}
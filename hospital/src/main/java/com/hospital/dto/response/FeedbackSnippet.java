@@ -0,0 +1,19 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Public view of one feedback row: no patient name, email or phone, and the
+ * comment cut to a short excerpt.
+ */
+@Data
+@AllArgsConstructor
+public class FeedbackSnippet {
+	private String doctor;
+	private int rating;
+	private String excerpt;
+	private LocalDate date;
+}
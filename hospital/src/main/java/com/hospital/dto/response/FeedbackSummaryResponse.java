@@ -0,0 +1,17 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FeedbackSummaryResponse {
+	private long totalRatings;
+	private double averageRating;
+	private List<LeaderboardEntry> topDoctors;
+	private List<FeedbackSnippet> recent;
+	private LocalDateTime generatedAt;
+}
@@ -0,0 +1,16 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionWarning {
+	private String medicine;
+	private String interactsWith;
+	private String severity;
+	private String description;
+	private boolean fromActivePrescription; // false when both drugs are on the new prescription
+}
@@ -24,6 +24,7 @@ public class InventoryResponse {
     private LocalDate expiryDate;
     private BigDecimal price;
     private Integer minimumStock;
+    private Integer reservedQuantity; // held for issued prescriptions, not yet dispensed
     private LocalDate createdAt;
     private LocalDate updatedAt;
     private String stockStatus; // "In Stock", "Low Stock", "Out of Stock"
@@ -0,0 +1,15 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardEntry {
+	private int rank;
+	private Long doctorId;
+	private String doctorName;
+	private String specialization;
+	private double averageRating;
+	private long ratingCount;
+}
@@ -0,0 +1,19 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicineItemResponse {
+	private Long id;
+	private String name;
+	private String dosage;
+	private String frequency;
+	private String duration;
+	private String specialInstructions;
+	private Integer quantity;
+	private Long inventoryId;
+}
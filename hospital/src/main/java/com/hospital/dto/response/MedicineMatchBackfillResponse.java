@@ -0,0 +1,12 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MedicineMatchBackfillResponse {
+	private long scanned;
+	private long matched;
+	private long elapsedMillis;
+}
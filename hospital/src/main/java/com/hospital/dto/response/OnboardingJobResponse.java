@@ -0,0 +1,27 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.hospital.enums.OnboardingKind;
+import com.hospital.enums.OnboardingStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OnboardingJobResponse {
+	private Long id;
+	private OnboardingKind kind;
+	private String format;
+	private String fileName;
+	private OnboardingStatus status;
+	private long processedRows;
+	private long importedRows;
+	private long failedRows;
+	private String message;
+	private String createdBy;
+	private LocalDateTime createdAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+}
@@ -0,0 +1,12 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OnboardingRowErrorResponse {
+	private long recordNumber;
+	private String email;
+	private String message;
+}
@@ -0,0 +1,14 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PatientDirectoryPage {
+	private List<PatientResponse> items;
+	private String nextCursor;
+	private boolean hasNext;
+}
@@ -0,0 +1,22 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the patient dashboard shows, in one response. A part that failed
+ * or ran out of time is left empty and named in unavailable, so the page can
+ * render what did arrive.
+ */
+@Data
+@NoArgsConstructor
+public class PatientSummaryResponse {
+	private PatientResponse profile;
+	private List<AppointmentResponse> upcomingAppointments = List.of();
+	private List<PrescriptionResponse> recentPrescriptions = List.of();
+	private List<OrderResponse> recentOrders = List.of();
+	// PROFILE, APPOINTMENTS, PRESCRIPTIONS or ORDERS
+	private List<String> unavailable = List.of();
+}
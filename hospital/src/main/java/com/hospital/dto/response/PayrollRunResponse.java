@@ -0,0 +1,30 @@
+package com.hospital.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.hospital.enums.PayrollStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PayrollRunResponse {
+	private Long id;
+	private String period;
+	private PayrollStatus status;
+	private long payslipCount;
+	private long skippedCount;
+	private BigDecimal totalGross;
+	private BigDecimal totalNet;
+	private long readMillis;
+	private long computeMillis;
+	private long writeMillis;
+	private long elapsedMillis;
+	private String message;
+	private String createdBy;
+	private LocalDateTime createdAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+}
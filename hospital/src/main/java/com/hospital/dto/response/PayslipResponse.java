@@ -0,0 +1,27 @@
+package com.hospital.dto.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PayslipResponse {
+	private Long id;
+	private Long runId;
+	private Long staffId;
+	private String period;
+	private String staffName;
+	private String department;
+	private int paidDays;
+	private int periodDays;
+	private BigDecimal basePay;
+	private double overtimeHours;
+	private BigDecimal overtimePay;
+	private BigDecimal grossPay;
+	private BigDecimal providentFund;
+	private BigDecimal incomeTax;
+	private BigDecimal professionalTax;
+	private BigDecimal netPay;
+}
@@ -0,0 +1,15 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PeopleSearchResponse {
+	private String query;
+	// role -> best matches of that role, in rank order
+	private Map<String, List<PersonSearchHit>> results;
+}
@@ -0,0 +1,18 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PersonSearchHit {
+	private String role;
+	private Long id;
+	private String name;
+	private String email;
+	private String phoneNumber;
+	// specialization, department or city
+	private String detail;
+	// NAME, EMAIL or PHONE
+	private String matchedOn;
+}
@@ -0,0 +1,18 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PharmacyQueueEntry {
+	private Long prescriptionId;
+	private String patientName;
+	private String patientEmail;
+	private String doctorName;
+	private LocalDate date;
+	private List<DispenseLineResponse> lines;
+}
@@ -0,0 +1,16 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PrescriptionPageResponse {
+	private List<PrescriptionResponse> items;
+	private int page;
+	private int size;
+	private long totalElements;
+	private boolean hasNext;
+}
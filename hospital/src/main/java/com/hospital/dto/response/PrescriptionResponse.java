@@ -13,6 +13,10 @@ public class PrescriptionResponse {
     private String patientName;
     private String patientEmail;
     private List<String> medicines;
+    private List<MedicineItemResponse> items;
+    private List<InteractionWarning> warnings;
+    private Integer refillsRemaining;
+    private LocalDate nextRefillDate;
 
     // Constructors
     public PrescriptionResponse() {}
@@ -78,4 +82,28 @@ public class PrescriptionResponse {
     public void setMedicines(List<String> medicines) {
         this.medicines = medicines;
     }
+    public List<MedicineItemResponse> getItems() {
+        return items;
+    }
+    public void setItems(List<MedicineItemResponse> items) {
+        this.items = items;
+    }
+    public Integer getRefillsRemaining() {
+        return refillsRemaining;
+    }
+    public void setRefillsRemaining(Integer refillsRemaining) {
+        this.refillsRemaining = refillsRemaining;
+    }
+    public LocalDate getNextRefillDate() {
+        return nextRefillDate;
+    }
+    public void setNextRefillDate(LocalDate nextRefillDate) {
+        this.nextRefillDate = nextRefillDate;
+    }
+    public List<InteractionWarning> getWarnings() {
+        return warnings;
+    }
+    public void setWarnings(List<InteractionWarning> warnings) {
+        this.warnings = warnings;
+    }
 }
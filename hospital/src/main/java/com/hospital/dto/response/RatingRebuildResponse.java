@@ -0,0 +1,12 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RatingRebuildResponse {
+	private int linkedFeedback;
+	private long unlinkedFeedback;
+	private int ratedDoctors;
+}
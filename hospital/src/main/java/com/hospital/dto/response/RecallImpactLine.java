@@ -0,0 +1,29 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One affected patient in a recall stream (one JSON object per line).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecallImpactLine {
+	private String patientEmail;
+	private String patientName;
+	private List<Prescribed> prescriptions;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Prescribed {
+		private Long prescriptionId;
+		private LocalDate date;
+		private String strength;
+	}
+}
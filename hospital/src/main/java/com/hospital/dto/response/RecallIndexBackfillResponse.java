@@ -0,0 +1,12 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RecallIndexBackfillResponse {
+	private long scanned;
+	private long indexed;
+	private long elapsedMillis;
+}
@@ -0,0 +1,14 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RefillDecisionResponse {
+	private String status;
+	private int updated;
+	private List<Long> skipped; // unknown, already decided, or another doctor's
+}
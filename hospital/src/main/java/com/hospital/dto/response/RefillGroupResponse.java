@@ -0,0 +1,17 @@
+package com.hospital.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Pending refills of one doctor, approved or rejected together in one call.
+ */
+@Data
+@AllArgsConstructor
+public class RefillGroupResponse {
+	private String doctorName;
+	private String doctorEmail;
+	private List<RefillResponse> refills;
+}
@@ -0,0 +1,22 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefillResponse {
+	private Long id;
+	private Long sourcePrescriptionId;
+	private Long draftPrescriptionId;
+	private String patientName;
+	private String patientEmail;
+	private LocalDate dueDate;
+	private String status;
+	private List<String> medicines;
+}
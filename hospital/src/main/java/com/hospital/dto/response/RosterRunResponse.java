@@ -0,0 +1,34 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.hospital.enums.RosterStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RosterRunResponse {
+	private Long id;
+	private LocalDate weekStart;
+	private String departments;
+	private RosterStatus status;
+	private int dayCoverage;
+	private int eveningCoverage;
+	private int nightCoverage;
+	private long timeBudgetMillis;
+	private int departmentCount;
+	private int staffCount;
+	private int assignmentCount;
+	private int uncoveredCount;
+	private long moves;
+	private long solveMillis;
+	private long elapsedMillis;
+	private String message;
+	private String createdBy;
+	private LocalDateTime createdAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+}
@@ -0,0 +1,19 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.hospital.enums.ShiftType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RosteredShiftResponse {
+	private Long staffId;
+	private String staffName;
+	private String department;
+	private ShiftType shiftType;
+	private LocalDateTime startTime;
+	private LocalDateTime endTime;
+}
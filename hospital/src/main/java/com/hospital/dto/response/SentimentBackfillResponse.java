@@ -0,0 +1,12 @@
+package com.hospital.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SentimentBackfillResponse {
+	private long scored;
+	private long negative;
+	private long elapsedMillis;
+}
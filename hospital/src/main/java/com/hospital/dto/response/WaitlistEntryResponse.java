@@ -0,0 +1,19 @@
+package com.hospital.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class WaitlistEntryResponse {
+	private Long id;
+	private String doctorName;
+	private String date;
+	private String patientName;
+	private String patientEmail;
+	private String status;
+	private LocalDateTime joinedAt;
+	private String offeredTime;
+	private LocalDateTime holdExpiresAt;
+	private int position; // 1-based place in the queue while WAITING, 0 otherwise
+}
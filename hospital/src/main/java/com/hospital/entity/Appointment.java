@@ -1,5 +1,11 @@
 package com.hospital.entity;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
 import com.hospital.enums.Status;
 
 import jakarta.persistence.Column;
@@ -9,6 +15,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,7 +25,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+		@Index(name = "idx_appointments_start_id", columnList = "start_time, id"),
+		@Index(name = "idx_appointments_status_start_id", columnList = "status, start_time, id"),
+		@Index(name = "idx_appointments_doctor_start_id", columnList = "doctor_name, start_time, id"),
+		@Index(name = "idx_appointments_patient_start_id", columnList = "patient_email, start_time, id"),
+		@Index(name = "idx_appointments_start_status_doctor", columnList = "start_time, status, doctor_name") })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,4 +49,36 @@ public class Appointment {
 
 	@Enumerated(EnumType.STRING)
 	private Status status;
+
+	// Sortable copy of date + time, kept in sync on every write
+	@Column(name = "start_time")
+	private LocalDateTime startTime;
+
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("H:mm");
+
+	@PrePersist
+	@PreUpdate
+	protected void syncStartTime() {
+		startTime = toStartTime(date, time);
+	}
+
+	/**
+	 * Combines the booking form's "yyyy-MM-dd" date and "H:mm" time slot. A
+	 * missing or unreadable time falls back to the start of the day.
+	 */
+	public static LocalDateTime toStartTime(String date, String time) {
+		if (date == null) {
+			return null;
+		}
+		try {
+			LocalDate day = LocalDate.parse(date.trim());
+			try {
+				return time == null ? day.atStartOfDay() : day.atTime(LocalTime.parse(time.trim(), TIME_FORMAT));
+			} catch (DateTimeParseException e) {
+				return day.atStartOfDay();
+			}
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.hospital.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.hospital.enums.DispenseStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One medicine line waiting at, or handled by, the pharmacy. RESERVED lines
+ * hold their quantity in Inventory.reservedQuantity until dispensed or
+ * released; UNAVAILABLE lines had no matching item or not enough free stock
+ * when the prescription was issued.
+ */
+@Entity
+@Table(name = "dispense_lines", indexes = {
+		@Index(name = "idx_dispense_prescription", columnList = "prescription_id"),
+		@Index(name = "idx_dispense_status_created", columnList = "status, created_at") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispenseLine {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "prescription_id", nullable = false)
+	private Long prescriptionId;
+
+	@Column(name = "medicine_item_id", nullable = false)
+	private Long medicineItemId;
+
+	@Column(name = "inventory_id")
+	private Long inventoryId;
+
+	@Column(nullable = false)
+	private Integer quantity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private DispenseStatus status;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "dispensed_at")
+	private LocalDateTime dispensedAt;
+}
@@ -1,5 +1,8 @@
 package com.hospital.entity;
 
+import com.hospital.event.EmailIdentityListener;
+import com.hospital.event.PeopleIndexListener;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -9,6 +12,7 @@ import java.time.LocalDate;
 @Data
 @Entity
 @Table(name = "doctors")
+@EntityListeners({ PeopleIndexListener.class, EmailIdentityListener.class })
 public class Doctor {
 
 	@Id
@@ -0,0 +1,60 @@
+package com.hospital.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running rating totals of one doctor, bumped by an atomic upsert in the
+ * transaction that stores each feedback row. Reads never aggregate feedback.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "doctor_ratings", indexes = @Index(name = "idx_doctor_ratings_rank", columnList = "average_rating, rating_count"))
+public class DoctorRating {
+
+	@Id
+	@Column(name = "doctor_id")
+	private Long doctorId;
+
+	@Column(name = "rating_count", nullable = false)
+	private long ratingCount;
+
+	@Column(name = "rating_sum", nullable = false)
+	private long ratingSum;
+
+	@Column(name = "average_rating", nullable = false)
+	private double averageRating;
+
+	@Column(name = "stars_1", nullable = false)
+	private long stars1;
+
+	@Column(name = "stars_2", nullable = false)
+	private long stars2;
+
+	@Column(name = "stars_3", nullable = false)
+	private long stars3;
+
+	@Column(name = "stars_4", nullable = false)
+	private long stars4;
+
+	@Column(name = "stars_5", nullable = false)
+	private long stars5;
+
+	// Comments with a sentiment score, their score total and how many were negative
+	@Column(name = "sentiment_count", nullable = false)
+	private long sentimentCount;
+
+	@Column(name = "sentiment_sum", nullable = false)
+	private double sentimentSum;
+
+	@Column(name = "negative_count", nullable = false)
+	private long negativeCount;
+}
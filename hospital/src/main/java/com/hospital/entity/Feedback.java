@@ -1,10 +1,13 @@
 package com.hospital.entity;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +17,8 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = { @Index(name = "idx_feedback_doctor", columnList = "doctor_id, id"),
+		@Index(name = "idx_feedback_sentiment", columnList = "sentiment, id") })
 public class Feedback {
 
 	@Id
@@ -29,8 +33,18 @@ public class Feedback {
 
 	private String doctor;
 
+	// Set from the submitted id, or resolved from the doctor display name
+	@Column(name = "doctor_id")
+	private Long doctorId;
+
 	private int rating;
 
 	@Column(length = 1000)
 	private String comments;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	// -1 (negative) to 1 (positive), scored from the comments; null when there are none
+	private Double sentiment;
 }
@@ -57,6 +57,12 @@ public class Inventory {
     @Column(name = "minimum_stock")
     private Integer minimumStock;
 
+    // Held for issued prescriptions; only ever changed by conditional UPDATEs, never by entity saves
+    @Builder.Default
+    @Column(name = "reserved_quantity", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer reservedQuantity = 0;
+
     @Column(name = "created_at")
     private LocalDate createdAt;
 
@@ -95,6 +101,8 @@ public class Inventory {
     public void setPrice(BigDecimal price) { this.price = price; }
     public Integer getMinimumStock() { return minimumStock; }
     public void setMinimumStock(Integer minimumStock) { this.minimumStock = minimumStock; }
+    public Integer getReservedQuantity() { return reservedQuantity; }
+    public void setReservedQuantity(Integer reservedQuantity) { this.reservedQuantity = reservedQuantity; }
     public LocalDate getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDate createdAt) { this.createdAt = createdAt; }
     public LocalDate getUpdatedAt() { return updatedAt; }
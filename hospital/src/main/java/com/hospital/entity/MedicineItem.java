@@ -15,6 +15,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "medicine_items")
@@ -32,18 +33,24 @@ public class MedicineItem {
 	@Column(nullable = false)
 	private String name;
 
-	@NotBlank(message = "Dosage is required")
+	// Optional: prescriptions written as bare medicine names carry no dosage details
 	private String dosage;
 
-	@NotBlank(message = "Frequency is required")
 	private String frequency;
 
-	@NotBlank(message = "Duration is required")
 	private String duration;
 
 	private String specialInstructions;
 
+	// Units to dispense; lines written without one dispense a single unit
+	private Integer quantity;
+
+	// Inventory item this line resolved to by name matching; null when no stock item is close enough
+	@Column(name = "inventory_id")
+	private Long inventoryId;
+
 	@NotNull
+	@ToString.Exclude
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "prescription_id", nullable = false)
 	private Prescription prescription;
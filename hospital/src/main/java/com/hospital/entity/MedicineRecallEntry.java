@@ -0,0 +1,60 @@
+package com.hospital.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Reverse index row: one per prescribed medicine line, keyed by the
+ * normalized drug so a recall lookup is an index range read ordered by
+ * patient instead of a scan over every prescription. Rows are written with
+ * plain JDBC on issue and by the backfill; the entity exists for the schema.
+ */
+@Entity
+@Table(name = "medicine_recall_index", indexes = {
+		@Index(name = "uk_recall_medicine_item", columnList = "medicine_item_id", unique = true),
+		@Index(name = "idx_recall_key_patient", columnList = "medicine_key, patient_email, prescribed_on"),
+		@Index(name = "idx_recall_inventory_patient", columnList = "inventory_id, patient_email, prescribed_on") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicineRecallEntry {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "medicine_key", nullable = false, length = 191)
+	private String medicineKey;
+
+	@Column(length = 32)
+	private String strength;
+
+	@Column(name = "inventory_id")
+	private Long inventoryId;
+
+	@Column(name = "medicine_item_id", nullable = false)
+	private Long medicineItemId;
+
+	@Column(name = "prescription_id", nullable = false)
+	private Long prescriptionId;
+
+	@Column(name = "patient_email", length = 191)
+	private String patientEmail;
+
+	@Column(name = "patient_name")
+	private String patientName;
+
+	@Column(name = "prescribed_on")
+	private LocalDate prescribedOn;
+}
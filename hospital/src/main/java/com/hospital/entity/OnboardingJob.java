@@ -0,0 +1,74 @@
+package com.hospital.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.hospital.enums.OnboardingKind;
+import com.hospital.enums.OnboardingStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One bulk import of patients, doctors or staff. The counters are written
+ * after every chunk, so polling the job shows how far the import has got.
+ */
+@Entity
+@Table(name = "onboarding_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OnboardingJob {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private OnboardingKind kind;
+
+	@Column(nullable = false)
+	private String format;
+
+	@Column(name = "file_name")
+	private String fileName;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private OnboardingStatus status;
+
+	@Column(name = "processed_rows", nullable = false)
+	private long processedRows;
+
+	@Column(name = "imported_rows", nullable = false)
+	private long importedRows;
+
+	@Column(name = "failed_rows", nullable = false)
+	private long failedRows;
+
+	@Column(length = 1000)
+	private String message;
+
+	@Column(name = "created_by")
+	private String createdBy;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "started_at")
+	private LocalDateTime startedAt;
+
+	@Column(name = "finished_at")
+	private LocalDateTime finishedAt;
+}
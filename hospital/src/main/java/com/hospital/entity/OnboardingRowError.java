@@ -0,0 +1,39 @@
+package com.hospital.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A row of a bulk import that was not imported, with the reason. Record numbers
+ * count data rows from 1, not counting a CSV header.
+ */
+@Entity
+@Table(name = "onboarding_row_errors", indexes = {
+		@Index(name = "idx_onboarding_error_job", columnList = "job_id, record_number") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class OnboardingRowError {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "job_id", nullable = false)
+	private Long jobId;
+
+	@Column(name = "record_number", nullable = false)
+	private Long recordNumber;
+
+	private String email;
+
+	@Column(nullable = false, length = 1000)
+	private String message;
+}
@@ -1,5 +1,8 @@
 package com.hospital.entity;
 
+import com.hospital.event.EmailIdentityListener;
+import com.hospital.event.PeopleIndexListener;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "patients")
+@EntityListeners({ PeopleIndexListener.class, EmailIdentityListener.class })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
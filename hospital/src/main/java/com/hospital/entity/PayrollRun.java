@@ -0,0 +1,85 @@
+package com.hospital.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.hospital.enums.PayrollStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One payroll computation for a month, with its totals and how long each
+ * phase took. Chunks are computed and written in parallel, and their times
+ * are summed, so compute and write time can exceed the elapsed time.
+ */
+@Entity
+@Table(name = "payroll_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PayrollRun {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// yyyy-MM
+	@Column(name = "pay_period", nullable = false, length = 7)
+	private String period;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private PayrollStatus status;
+
+	@Column(name = "payslip_count", nullable = false)
+	private long payslipCount;
+
+	// Staff hired after the period
+	@Column(name = "skipped_count", nullable = false)
+	private long skippedCount;
+
+	@Column(name = "total_gross", precision = 16, scale = 2)
+	private BigDecimal totalGross;
+
+	@Column(name = "total_net", precision = 16, scale = 2)
+	private BigDecimal totalNet;
+
+	@Column(name = "read_millis", nullable = false)
+	private long readMillis;
+
+	@Column(name = "compute_millis", nullable = false)
+	private long computeMillis;
+
+	@Column(name = "write_millis", nullable = false)
+	private long writeMillis;
+
+	@Column(name = "elapsed_millis", nullable = false)
+	private long elapsedMillis;
+
+	@Column(length = 1000)
+	private String message;
+
+	@Column(name = "created_by")
+	private String createdBy;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "started_at")
+	private LocalDateTime startedAt;
+
+	@Column(name = "finished_at")
+	private LocalDateTime finishedAt;
+}
@@ -0,0 +1,80 @@
+package com.hospital.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One staff member's pay for one month. There is at most one per staff member
+ * and period: running payroll again for a period overwrites its payslips.
+ * Name and department are copied in as they were when the slip was made.
+ */
+@Entity
+@Table(name = "payslips", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_payslips_period_staff", columnNames = { "pay_period", "staff_id" }) })
+@Getter
+@Setter
+@NoArgsConstructor
+public class Payslip {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "run_id", nullable = false)
+	private Long runId;
+
+	@Column(name = "staff_id", nullable = false)
+	private Long staffId;
+
+	// yyyy-MM
+	@Column(name = "pay_period", nullable = false, length = 7)
+	private String period;
+
+	@Column(name = "staff_name")
+	private String staffName;
+
+	private String department;
+
+	@Column(name = "paid_days", nullable = false)
+	private int paidDays;
+
+	@Column(name = "period_days", nullable = false)
+	private int periodDays;
+
+	@Column(name = "base_pay", nullable = false, precision = 12, scale = 2)
+	private BigDecimal basePay;
+
+	@Column(name = "overtime_hours", nullable = false)
+	private double overtimeHours;
+
+	@Column(name = "overtime_pay", nullable = false, precision = 12, scale = 2)
+	private BigDecimal overtimePay;
+
+	@Column(name = "gross_pay", nullable = false, precision = 12, scale = 2)
+	private BigDecimal grossPay;
+
+	@Column(name = "provident_fund", nullable = false, precision = 12, scale = 2)
+	private BigDecimal providentFund;
+
+	@Column(name = "income_tax", nullable = false, precision = 12, scale = 2)
+	private BigDecimal incomeTax;
+
+	@Column(name = "professional_tax", nullable = false, precision = 12, scale = 2)
+	private BigDecimal professionalTax;
+
+	@Column(name = "net_pay", nullable = false, precision = 12, scale = 2)
+	private BigDecimal netPay;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+}
@@ -1,11 +1,16 @@
 package com.hospital.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "prescription")
+@Table(name = "prescription", indexes = {
+        @Index(name = "idx_prescription_patient_issued_date", columnList = "patient_email, issued, date, id"),
+        @Index(name = "idx_prescription_next_refill", columnList = "next_refill_date") })
 public class Prescription {
 
     @Id
@@ -23,10 +28,25 @@ public class Prescription {
 
     private String patientEmail;
 
-    @ElementCollection(fetch = FetchType.EAGER)  // <-- fetch eagerly to avoid lazy init errors
-    @CollectionTable(name = "prescription_medicines", joinColumns = @JoinColumn(name = "prescription_id"))
-    @Column(name = "medicine")
-    private List<String> medicines;
+    // Account of the doctor who issued it, when issued by a signed-in doctor; refill approvals are routed by it
+    private String doctorEmail;
+
+    // Repeat schedule: every refillIntervalDays, refillsRemaining more times, not after refillEndDate
+    private Integer refillIntervalDays;
+
+    private Integer refillsRemaining;
+
+    private LocalDate refillEndDate;
+
+    // Due date of the next repeat; null once the schedule is used up
+    @Column(name = "next_refill_date")
+    private LocalDate nextRefillDate;
+
+    // Lines are loaded for a whole page of prescriptions in one IN query, not one select per prescription
+    @OneToMany(mappedBy = "prescription", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @OrderBy("id")
+    private List<MedicineItem> items = new ArrayList<>();
 
     // Getters and setters
 
@@ -86,11 +106,65 @@ public class Prescription {
         this.patientEmail = patientEmail;
     }
 
-    public List<String> getMedicines() {
-        return medicines;
+    public String getDoctorEmail() {
+        return doctorEmail;
+    }
+
+    public void setDoctorEmail(String doctorEmail) {
+        this.doctorEmail = doctorEmail;
+    }
+
+    public Integer getRefillIntervalDays() {
+        return refillIntervalDays;
+    }
+
+    public void setRefillIntervalDays(Integer refillIntervalDays) {
+        this.refillIntervalDays = refillIntervalDays;
+    }
+
+    public Integer getRefillsRemaining() {
+        return refillsRemaining;
+    }
+
+    public void setRefillsRemaining(Integer refillsRemaining) {
+        this.refillsRemaining = refillsRemaining;
+    }
+
+    public LocalDate getRefillEndDate() {
+        return refillEndDate;
+    }
+
+    public void setRefillEndDate(LocalDate refillEndDate) {
+        this.refillEndDate = refillEndDate;
+    }
+
+    public LocalDate getNextRefillDate() {
+        return nextRefillDate;
+    }
+
+    public void setNextRefillDate(LocalDate nextRefillDate) {
+        this.nextRefillDate = nextRefillDate;
+    }
+
+    /**
+     * Moves the schedule on by one repeat: the next due date, or null when no
+     * repeats remain or the next one would fall after the end date.
+     */
+    public void advanceRefillSchedule() {
+        if (nextRefillDate == null || refillIntervalDays == null) {
+            return;
+        }
+        refillsRemaining = refillsRemaining == null ? 0 : Math.max(0, refillsRemaining - 1);
+        LocalDate next = nextRefillDate.plusDays(refillIntervalDays);
+        boolean pastEnd = refillEndDate != null && next.isAfter(refillEndDate);
+        nextRefillDate = refillsRemaining > 0 && !pastEnd ? next : null;
+    }
+
+    public List<MedicineItem> getItems() {
+        return items;
     }
 
-    public void setMedicines(List<String> medicines) {
-        this.medicines = medicines;
+    public void setItems(List<MedicineItem> items) {
+        this.items = items;
     }
 }
@@ -0,0 +1,74 @@
+package com.hospital.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.hospital.enums.RefillStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A repeat of a scheduled prescription. Materializing one creates an
+ * unissued copy of the prescription (with its stock already reserved) that
+ * becomes a normal issued prescription once the doctor approves it.
+ */
+@Entity
+@Table(name = "prescription_refills", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_refill_source_due", columnNames = { "source_prescription_id", "due_date" }) },
+		indexes = { @Index(name = "idx_refill_status_doctor", columnList = "status, doctor_email, due_date") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrescriptionRefill {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "source_prescription_id", nullable = false)
+	private Long sourcePrescriptionId;
+
+	@Column(name = "draft_prescription_id", nullable = false)
+	private Long draftPrescriptionId;
+
+	@Column(name = "doctor_name")
+	private String doctorName;
+
+	@Column(name = "doctor_email")
+	private String doctorEmail;
+
+	@Column(name = "patient_name")
+	private String patientName;
+
+	@Column(name = "patient_email")
+	private String patientEmail;
+
+	@Column(name = "due_date", nullable = false)
+	private LocalDate dueDate;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private RefillStatus status;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "decided_at")
+	private LocalDateTime decidedAt;
+}
@@ -0,0 +1,55 @@
+package com.hospital.entity;
+
+import java.time.LocalDateTime;
+
+import com.hospital.enums.ShiftType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A rostered shift. A department's week holds the assignments of the last
+ * completed run that covered it; unlike {@link StaffShift} it is planned,
+ * not worked, time.
+ */
+@Entity
+@Table(name = "roster_assignments", indexes = {
+		@Index(name = "idx_roster_assignments_department_start", columnList = "department, start_time"),
+		@Index(name = "idx_roster_assignments_staff_start", columnList = "staff_id, start_time") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class RosterAssignment {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "run_id", nullable = false)
+	private Long runId;
+
+	@Column(name = "staff_id", nullable = false)
+	private Long staffId;
+
+	@Column(nullable = false)
+	private String department;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "shift_type", nullable = false, length = 10)
+	private ShiftType shiftType;
+
+	@Column(name = "start_time", nullable = false)
+	private LocalDateTime startTime;
+
+	@Column(name = "end_time", nullable = false)
+	private LocalDateTime endTime;
+}
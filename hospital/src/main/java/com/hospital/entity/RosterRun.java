@@ -0,0 +1,98 @@
+package com.hospital.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.hospital.enums.RosterStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One solve of a week's roster for some or all departments, with the
+ * coverage it reached. Departments are solved in parallel within the same
+ * time budget.
+ */
+@Entity
+@Table(name = "roster_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RosterRun {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// Always a Monday
+	@Column(name = "week_start", nullable = false)
+	private LocalDate weekStart;
+
+	// Comma separated; empty means every department
+	@Column(length = 1000)
+	private String departments;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private RosterStatus status;
+
+	@Column(name = "day_coverage", nullable = false)
+	private int dayCoverage;
+
+	@Column(name = "evening_coverage", nullable = false)
+	private int eveningCoverage;
+
+	@Column(name = "night_coverage", nullable = false)
+	private int nightCoverage;
+
+	@Column(name = "time_budget_millis", nullable = false)
+	private long timeBudgetMillis;
+
+	@Column(name = "department_count", nullable = false)
+	private int departmentCount;
+
+	@Column(name = "staff_count", nullable = false)
+	private int staffCount;
+
+	@Column(name = "assignment_count", nullable = false)
+	private int assignmentCount;
+
+	// Missing workers summed over every shift of every department
+	@Column(name = "uncovered_count", nullable = false)
+	private int uncoveredCount;
+
+	@Column(nullable = false)
+	private long moves;
+
+	@Column(name = "solve_millis", nullable = false)
+	private long solveMillis;
+
+	@Column(name = "elapsed_millis", nullable = false)
+	private long elapsedMillis;
+
+	@Column(length = 1000)
+	private String message;
+
+	@Column(name = "created_by")
+	private String createdBy;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "started_at")
+	private LocalDateTime startedAt;
+
+	@Column(name = "finished_at")
+	private LocalDateTime finishedAt;
+}
@@ -1,14 +1,22 @@
 package com.hospital.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hospital.event.DepartmentStatsListener;
+import com.hospital.event.EmailIdentityListener;
+import com.hospital.event.PeopleIndexListener;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDate;
 
 @Data
 @Entity
 @Table(name = "staff")
+@EntityListeners({ PeopleIndexListener.class, EmailIdentityListener.class, DepartmentStatsListener.class })
 public class Staff {
 
     @Id
@@ -39,6 +47,18 @@ public class Staff {
     @NotBlank(message = "Department is required")
     private String department;
 
+    // Set from department on every save by DepartmentStatsListener
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    // Read-only side of department_id, mapped so the schema gets the foreign key
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", insertable = false, updatable = false)
+    private Department departmentRef;
+
     @NotBlank(message = "Address is required")
     private String address;
 
@@ -0,0 +1,39 @@
+package com.hospital.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A shift a staff member works. Payroll counts the hours of the shifts that
+ * start in the pay period; hours beyond the standard month are overtime.
+ */
+@Entity
+@Table(name = "staff_shifts", indexes = {
+		@Index(name = "idx_staff_shifts_staff_start", columnList = "staff_id, start_time") })
+@Getter
+@Setter
+@NoArgsConstructor
+public class StaffShift {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "staff_id", nullable = false)
+	private Long staffId;
+
+	@Column(name = "start_time", nullable = false)
+	private LocalDateTime startTime;
+
+	@Column(name = "end_time", nullable = false)
+	private LocalDateTime endTime;
+}
@@ -0,0 +1,37 @@
+package com.hospital.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A day a staff member cannot be rostered, e.g. leave or training.
+ */
+@Entity
+@Table(name = "staff_unavailability", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_staff_unavailability_staff_date", columnNames = { "staff_id", "unavailable_date" }) })
+@Getter
+@Setter
+@NoArgsConstructor
+public class StaffUnavailability {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "staff_id", nullable = false)
+	private Long staffId;
+
+	@Column(name = "unavailable_date", nullable = false)
+	private LocalDate date;
+
+	private String reason;
+}
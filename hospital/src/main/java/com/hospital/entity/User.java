@@ -1,12 +1,16 @@
 package com.hospital.entity;
 import com.hospital.enums.*;
+import com.hospital.event.EmailIdentityListener;
+
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -18,6 +22,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(EmailIdentityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -45,4 +50,12 @@ public class User {
 
 	@UpdateTimestamp
 	private LocalDateTime updatedAt;
+
+	/**
+	 * The one stored form of an email: trimmed and lower-cased, so lookups can
+	 * compare the indexed column directly.
+	 */
+	public static String canonicalEmail(String email) {
+		return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+	}
 }
@@ -0,0 +1,61 @@
+package com.hospital.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.hospital.enums.WaitlistStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "appointment_waitlist", indexes = {
+		@Index(name = "idx_waitlist_doctor_date_status", columnList = "doctor_name, date, status"),
+		@Index(name = "idx_waitlist_patient_email", columnList = "patient_email") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "doctor_name", nullable = false)
+	private String doctorName;
+
+	@Column(nullable = false)
+	private String date;
+
+	private String patientName;
+
+	@Column(name = "patient_email", nullable = false)
+	private String patientEmail;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private WaitlistStatus status;
+
+	@CreationTimestamp
+	@Column(updatable = false)
+	private LocalDateTime joinedAt;
+
+	// Slot currently held for this patient while status is OFFERED
+	private String offeredTime;
+
+	private Long offeredFromAppointmentId;
+
+	private LocalDateTime holdExpiresAt;
+}
@@ -0,0 +1,5 @@
+package com.hospital.enums;
+
+public enum DispenseStatus {
+	RESERVED, UNAVAILABLE, DISPENSED, CANCELLED
+}
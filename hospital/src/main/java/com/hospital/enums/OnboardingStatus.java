@@ -0,0 +1,5 @@
+package com.hospital.enums;
+
+public enum OnboardingStatus {
+	QUEUED, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,5 @@
+package com.hospital.enums;
+
+public enum PayrollStatus {
+	QUEUED, RUNNING, COMPLETED, FAILED
+}
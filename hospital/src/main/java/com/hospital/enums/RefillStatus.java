@@ -0,0 +1,5 @@
+package com.hospital.enums;
+
+public enum RefillStatus {
+	PENDING_APPROVAL, APPROVED, REJECTED
+}
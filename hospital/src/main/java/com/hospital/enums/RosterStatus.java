@@ -0,0 +1,5 @@
+package com.hospital.enums;
+
+public enum RosterStatus {
+	QUEUED, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,15 @@
+package com.hospital.enums;
+
+public enum ShiftType {
+	DAY(7), EVENING(15), NIGHT(23);
+
+	private final int startHour;
+
+	ShiftType(int startHour) {
+		this.startHour = startHour;
+	}
+
+	public int startHour() {
+		return startHour;
+	}
+}
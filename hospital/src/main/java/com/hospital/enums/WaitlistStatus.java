@@ -0,0 +1,5 @@
+package com.hospital.enums;
+
+public enum WaitlistStatus {
+	WAITING, OFFERED, ACCEPTED, DECLINED, EXPIRED, LEFT
+}
@@ -0,0 +1,29 @@
+package com.hospital.event;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory index updates until the surrounding transaction commits,
+ * so a rolled back write never reaches an index. Outside a transaction the
+ * action runs at once. Shared by the entity listeners and by every service
+ * that keeps an in-memory index beside its writes.
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	public static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,22 @@
+package com.hospital.event;
+
+import java.util.List;
+
+import com.hospital.enums.Status;
+
+/**
+ * Published once per status write, whether it touched one appointment or a
+ * whole batch. A new booking is a change with a null previous status and a
+ * deleted appointment a change with a null new status.
+ * Listeners react to the individual changes in the list.
+ */
+public record AppointmentStatusChangedEvent(List<Change> changes) {
+
+	public record Change(Long appointmentId, String doctorName, String patientEmail, String date, String time,
+			Status previousStatus, Status newStatus) {
+
+		public boolean isCancellation() {
+			return newStatus == Status.CANCELLED && previousStatus != Status.CANCELLED;
+		}
+	}
+}
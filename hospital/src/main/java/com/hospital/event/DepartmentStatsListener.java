@@ -0,0 +1,49 @@
+package com.hospital.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.hospital.entity.Staff;
+import com.hospital.service.DepartmentStats;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Points every staff row at its department and keeps the department totals
+ * in step with staff writes made through JPA. The department is looked up
+ * by name in memory, so the department must exist before the staff member
+ * is saved; DepartmentService.ensure creates it. Totals only move once the
+ * transaction commits.
+ */
+@Component
+public class DepartmentStatsListener {
+
+	@Autowired
+	private DepartmentStats departmentStats;
+
+	@PrePersist
+	@PreUpdate
+	public void resolveDepartment(Staff staff) {
+		staff.setDepartmentId(departmentStats.departmentId(staff.getDepartment()).orElse(null));
+	}
+
+	@PostPersist
+	@PostUpdate
+	public void saved(Staff staff) {
+		long staffId = staff.getId();
+		Long departmentId = staff.getDepartmentId();
+		String role = staff.getRole();
+		Double salary = staff.getSalary();
+		AfterCommit.run(() -> departmentStats.putMember(staffId, departmentId, role, salary));
+	}
+
+	@PostRemove
+	public void removed(Staff staff) {
+		long staffId = staff.getId();
+		AfterCommit.run(() -> departmentStats.removeMember(staffId));
+	}
+}
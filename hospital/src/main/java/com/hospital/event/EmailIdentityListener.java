@@ -0,0 +1,69 @@
+package com.hospital.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import com.hospital.entity.Staff;
+import com.hospital.entity.User;
+import com.hospital.service.EmailIdentityIndex;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Stores every account and profile email in canonical form, and keeps the
+ * email identity index in step once the write commits. Registration saves
+ * the account before the profile, so the account is always filed first.
+ */
+@Component
+public class EmailIdentityListener {
+
+	@Autowired
+	private EmailIdentityIndex emailIdentityIndex;
+
+	@PrePersist
+	@PreUpdate
+	public void canonicalize(Object entity) {
+		if (entity instanceof User u) {
+			u.setEmail(User.canonicalEmail(u.getEmail()));
+		} else if (entity instanceof Patient p) {
+			p.setEmail(User.canonicalEmail(p.getEmail()));
+		} else if (entity instanceof Doctor d) {
+			d.setEmail(User.canonicalEmail(d.getEmail()));
+		} else if (entity instanceof Staff s) {
+			s.setEmail(User.canonicalEmail(s.getEmail()));
+		}
+	}
+
+	@PostPersist
+	@PostUpdate
+	public void saved(Object entity) {
+		if (entity instanceof User u) {
+			AfterCommit.run(() -> emailIdentityIndex.putUser(u.getEmail(), u.getId(), u.getRole()));
+		} else if (entity instanceof Patient p) {
+			AfterCommit.run(() -> emailIdentityIndex.putProfile(p.getEmail(), p.getPatientId()));
+		} else if (entity instanceof Doctor d) {
+			AfterCommit.run(() -> emailIdentityIndex.putProfile(d.getEmail(), d.getId()));
+		} else if (entity instanceof Staff s) {
+			AfterCommit.run(() -> emailIdentityIndex.putProfile(s.getEmail(), s.getId()));
+		}
+	}
+
+	@PostRemove
+	public void removed(Object entity) {
+		if (entity instanceof User u) {
+			AfterCommit.run(() -> emailIdentityIndex.remove(u.getEmail()));
+		} else if (entity instanceof Patient p) {
+			AfterCommit.run(() -> emailIdentityIndex.removeProfile(p.getEmail(), p.getPatientId()));
+		} else if (entity instanceof Doctor d) {
+			AfterCommit.run(() -> emailIdentityIndex.removeProfile(d.getEmail(), d.getId()));
+		} else if (entity instanceof Staff s) {
+			AfterCommit.run(() -> emailIdentityIndex.removeProfile(s.getEmail(), s.getId()));
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.hospital.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.hospital.entity.Doctor;
+import com.hospital.entity.Patient;
+import com.hospital.entity.Staff;
+import com.hospital.service.PeopleSearchIndex;
+import com.hospital.service.PeopleSearchIndex.Person;
+import com.hospital.service.PeopleSearchIndex.Role;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Keeps the people search index in step with every patient, doctor and
+ * staff write made through JPA, whichever service made it. The index only
+ * changes once the transaction commits, so a rolled back write never shows
+ * up in search. Spring creates the listener, which is how the index gets in.
+ */
+@Component
+public class PeopleIndexListener {
+
+	@Autowired
+	private PeopleSearchIndex peopleSearchIndex;
+
+	public static Person person(Object entity) {
+		if (entity instanceof Patient p) {
+			return new Person(Role.PATIENT, p.getPatientId(), p.getFirstName(), p.getLastName(), p.getEmail(),
+					p.getPhoneNumber(), p.getCity());
+		}
+		if (entity instanceof Doctor d) {
+			return new Person(Role.DOCTOR, d.getId(), d.getFirstName(), d.getLastName(), d.getEmail(),
+					d.getPhoneNumber(), d.getSpecialization());
+		}
+		if (entity instanceof Staff s) {
+			return new Person(Role.STAFF, s.getId(), s.getFirstName(), s.getLastName(), s.getEmail(),
+					s.getPhoneNumber(), s.getDepartment());
+		}
+		throw new IllegalArgumentException("Not a person: " + entity.getClass().getSimpleName());
+	}
+
+	@PostPersist
+	@PostUpdate
+	public void saved(Object entity) {
+		Person person = person(entity);
+		AfterCommit.run(() -> peopleSearchIndex.put(person));
+	}
+
+	@PostRemove
+	public void removed(Object entity) {
+		Person person = person(entity);
+		AfterCommit.run(() -> peopleSearchIndex.remove(person.role(), person.id()));
+	}
+}
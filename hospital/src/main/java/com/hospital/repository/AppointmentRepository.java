@@ -1,14 +1,23 @@
 package com.hospital.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.hospital.entity.Appointment;
+import com.hospital.enums.Status;
 
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+import jakarta.persistence.LockModeType;
+
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {
 
 	/**
 	 * 🏥 **Fetch Appointments by Patient Name**
@@ -27,4 +36,86 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 	 */
 	@Query("SELECT a FROM Appointment a WHERE a.doctorName = :doctorName")
 	List<Appointment> findByDoctorName(@Param("doctorName") String doctorName);
-}
\ No newline at end of file
+
+	/**
+	 * 🕒 **Fetch Appointments still missing a start time** (legacy rows, walked
+	 * by id)
+	 */
+	@Query("SELECT a FROM Appointment a WHERE a.startTime IS NULL AND a.id > :afterId ORDER BY a.id")
+	List<Appointment> findWithoutStartTime(@Param("afterId") Long afterId, Pageable pageable);
+
+	/**
+	 * 🔒 **Appointments by id, locked** in id order so a bulk close-out and a
+	 * single cancel or complete cannot overwrite each other
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT a FROM Appointment a WHERE a.id IN :ids ORDER BY a.id")
+	List<Appointment> lockAllById(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * 🔁 **Set-based status change** for a batch of appointments
+	 */
+	@Modifying
+	@Query("UPDATE Appointment a SET a.status = :status WHERE a.id IN :ids")
+	int updateStatusForIds(@Param("ids") List<Long> ids, @Param("status") Status status);
+
+	/**
+	 * 📊 **Slice of appointments by id range** for the analytics backfill
+	 */
+	@Query("SELECT a.id AS id, a.doctorName AS doctorName, a.startTime AS startTime, a.status AS status "
+			+ "FROM Appointment a WHERE a.id > :afterId AND a.id <= :toId ORDER BY a.id")
+	List<SlotView> findSlotsInIdRange(@Param("afterId") Long afterId, @Param("toId") Long toId, Pageable pageable);
+
+	@Query("SELECT COALESCE(MAX(a.id), 0) FROM Appointment a")
+	Long findMaxId();
+
+	/**
+	 * ⚖️ **Upcoming bookings per doctor** for the workload index
+	 */
+	@Query("SELECT a.doctorName AS doctorName, COUNT(a) AS bookings FROM Appointment a "
+			+ "WHERE a.startTime >= :from AND a.status <> :excluded GROUP BY a.doctorName")
+	List<DoctorBookingCount> countUpcomingByDoctor(@Param("from") LocalDateTime from,
+			@Param("excluded") Status excluded);
+
+	/**
+	 * 📅 **Bookings per doctor in a time range**, answered from the
+	 * (start_time, status, doctor_name) index alone
+	 */
+	@Query("SELECT a.doctorName AS doctorName, COUNT(a) AS bookings FROM Appointment a "
+			+ "WHERE a.startTime >= :from AND a.startTime < :to AND a.status <> :excluded GROUP BY a.doctorName")
+	List<DoctorBookingCount> countBookingsByDoctorBetween(@Param("from") LocalDateTime from,
+			@Param("to") LocalDateTime to, @Param("excluded") Status excluded);
+
+	/**
+	 * 🩺 **Which of these doctors are already booked at this start time?**
+	 */
+	@Query("SELECT DISTINCT a.doctorName FROM Appointment a "
+			+ "WHERE a.doctorName IN :doctorNames AND a.startTime = :startTime AND a.status <> :excluded")
+	List<String> findBookedDoctors(@Param("doctorNames") Collection<String> doctorNames,
+			@Param("startTime") LocalDateTime startTime, @Param("excluded") Status excluded);
+
+	/**
+	 * 📅 **A patient's next appointments**, soonest first, straight off the
+	 * (patient_email, start_time, id) index
+	 */
+	@Query("SELECT a FROM Appointment a WHERE a.patientEmail = :email AND a.startTime >= :from "
+			+ "AND a.status <> :excluded ORDER BY a.startTime, a.id")
+	List<Appointment> findUpcomingByPatientEmail(@Param("email") String email, @Param("from") LocalDateTime from,
+			@Param("excluded") Status excluded, Pageable pageable);
+
+	interface SlotView {
+		Long getId();
+
+		String getDoctorName();
+
+		LocalDateTime getStartTime();
+
+		Status getStatus();
+	}
+
+	interface DoctorBookingCount {
+		String getDoctorName();
+
+		Long getBookings();
+	}
+}
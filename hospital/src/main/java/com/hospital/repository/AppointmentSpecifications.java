@@ -0,0 +1,76 @@
+package com.hospital.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hospital.entity.Appointment;
+import com.hospital.enums.Status;
+
+/**
+ * Composable filters for the admin appointment listing. Only the filters that
+ * are actually set end up in the WHERE clause, so MySQL can pick the matching
+ * composite index (status / doctor / patient, then start_time, id).
+ */
+public final class AppointmentSpecifications {
+
+	private AppointmentSpecifications() {
+	}
+
+	public static Specification<Appointment> hasStartTime() {
+		return (root, query, cb) -> cb.isNotNull(root.get("startTime"));
+	}
+
+	public static Specification<Appointment> hasStatus(Status status) {
+		return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+	}
+
+	public static Specification<Appointment> hasDoctorName(String doctorName) {
+		return (root, query, cb) -> doctorName == null ? null : cb.equal(root.get("doctorName"), doctorName);
+	}
+
+	public static Specification<Appointment> hasPatientEmail(String patientEmail) {
+		return (root, query, cb) -> patientEmail == null ? null : cb.equal(root.get("patientEmail"), patientEmail);
+	}
+
+	public static Specification<Appointment> startsFrom(LocalDateTime from) {
+		return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("startTime"), from);
+	}
+
+	public static Specification<Appointment> startsBefore(LocalDateTime to) {
+		return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("startTime"), to);
+	}
+
+	/**
+	 * Keyset predicate: rows strictly after (or before, when descending) the
+	 * cursor position in (sortField, startTime, id) order. A null sortValue
+	 * is a cursor on a row whose sort field is null.
+	 */
+	public static <T extends Comparable<? super T>> Specification<Appointment> after(String sortField, T sortValue,
+			LocalDateTime startTime, Long id, boolean descending) {
+		return (root, query, cb) -> {
+			if (id == null) {
+				return null;
+			}
+			var idPath = root.<Long>get("id");
+			var startPath = root.<LocalDateTime>get("startTime");
+			var byStart = descending
+					? cb.or(cb.lessThan(startPath, startTime),
+							cb.and(cb.equal(startPath, startTime), cb.lessThan(idPath, id)))
+					: cb.or(cb.greaterThan(startPath, startTime),
+							cb.and(cb.equal(startPath, startTime), cb.greaterThan(idPath, id)));
+			if (sortField == null || "startTime".equals(sortField)) {
+				return byStart;
+			}
+			var sortPath = root.<T>get(sortField);
+			// Nulls sort first ascending and last descending
+			if (sortValue == null) {
+				var nulls = cb.and(cb.isNull(sortPath), byStart);
+				return descending ? nulls : cb.or(cb.isNotNull(sortPath), nulls);
+			}
+			var beyond = descending ? cb.or(cb.lessThan(sortPath, sortValue), cb.isNull(sortPath))
+					: cb.greaterThan(sortPath, sortValue);
+			return cb.or(beyond, cb.and(cb.equal(sortPath, sortValue), byStart));
+		};
+	}
+}
@@ -0,0 +1,14 @@
+package com.hospital.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.Department;
+
+@Repository
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+	Optional<Department> findByNameIgnoreCase(String name);
+}
@@ -0,0 +1,53 @@
+package com.hospital.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hospital.entity.DispenseLine;
+import com.hospital.enums.DispenseStatus;
+
+import jakarta.persistence.LockModeType;
+
+public interface DispenseLineRepository extends JpaRepository<DispenseLine, Long> {
+
+	/**
+	 * 🔒 **Pending lines of some prescriptions, locked** so two pharmacists
+	 * working the same prescription cannot both dispense it
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT d FROM DispenseLine d WHERE d.prescriptionId IN :prescriptionIds AND d.status IN :statuses "
+			+ "AND d.prescriptionId IN (SELECT p.id FROM Prescription p WHERE p.issued = true) ORDER BY d.id")
+	List<DispenseLine> lockIssuedByPrescriptionIds(@Param("prescriptionIds") Collection<Long> prescriptionIds,
+			@Param("statuses") Collection<DispenseStatus> statuses);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT d FROM DispenseLine d WHERE d.prescriptionId IN :prescriptionIds AND d.status IN :statuses "
+			+ "ORDER BY d.id")
+	List<DispenseLine> lockByPrescriptionIds(@Param("prescriptionIds") Collection<Long> prescriptionIds,
+			@Param("statuses") Collection<DispenseStatus> statuses);
+
+	@Query("SELECT d FROM DispenseLine d WHERE d.prescriptionId IN :prescriptionIds ORDER BY d.id")
+	List<DispenseLine> findByPrescriptionIds(@Param("prescriptionIds") Collection<Long> prescriptionIds);
+
+	/**
+	 * 💊 **Prescriptions waiting at the pharmacy**, oldest first. Refill drafts
+	 * hold stock before approval but only join the queue once issued.
+	 */
+	@Query("SELECT d.prescriptionId FROM DispenseLine d WHERE d.status IN :statuses "
+			+ "AND d.prescriptionId IN (SELECT p.id FROM Prescription p WHERE p.issued = true) "
+			+ "GROUP BY d.prescriptionId ORDER BY MIN(d.createdAt), d.prescriptionId")
+	List<Long> findQueuedPrescriptionIds(@Param("statuses") Collection<DispenseStatus> statuses, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE DispenseLine d SET d.status = :status, d.dispensedAt = :at WHERE d.id IN :ids")
+	int updateStatusForIds(@Param("ids") Collection<Long> ids, @Param("status") DispenseStatus status,
+			@Param("at") LocalDateTime at);
+}
@@ -0,0 +1,64 @@
+package com.hospital.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hospital.entity.DoctorRating;
+
+public interface DoctorRatingRepository extends JpaRepository<DoctorRating, Long> {
+
+	@Modifying
+	@Query(value = "DELETE FROM doctor_ratings", nativeQuery = true)
+	int deleteAllRatings();
+
+	/**
+	 * 🔄 **Recomputes every doctor's totals** from the feedback table
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO doctor_ratings (doctor_id, rating_count, rating_sum, average_rating, "
+			+ "stars_1, stars_2, stars_3, stars_4, stars_5, sentiment_count, sentiment_sum, negative_count) "
+			+ "SELECT doctor_id, SUM(rating BETWEEN 1 AND 5), SUM(IF(rating BETWEEN 1 AND 5, rating, 0)), "
+			+ "COALESCE(AVG(IF(rating BETWEEN 1 AND 5, rating, NULL)), 0), SUM(rating = 1), SUM(rating = 2), "
+			+ "SUM(rating = 3), SUM(rating = 4), SUM(rating = 5), COUNT(sentiment), COALESCE(SUM(sentiment), 0), "
+			+ "COALESCE(SUM(sentiment <= :negativeThreshold), 0) FROM feedback WHERE doctor_id IS NOT NULL "
+			+ "AND (rating BETWEEN 1 AND 5 OR sentiment IS NOT NULL) GROUP BY doctor_id", nativeQuery = true)
+	int insertRatingsFromFeedback(@Param("negativeThreshold") double negativeThreshold);
+
+	/**
+	 * 🏆 **Best rated doctors**, read from the head of the rank index
+	 */
+	@Query("SELECT r.doctorId AS doctorId, r.ratingCount AS ratingCount, r.averageRating AS averageRating, "
+			+ "d.firstName AS firstName, d.lastName AS lastName, d.specialization AS specialization "
+			+ "FROM DoctorRating r, Doctor d WHERE d.id = r.doctorId AND r.ratingCount >= :minRatings "
+			+ "ORDER BY r.averageRating DESC, r.ratingCount DESC, r.doctorId")
+	List<RankedDoctorView> findLeaderboard(@Param("minRatings") long minRatings, Pageable pageable);
+
+	@Query("SELECT COALESCE(SUM(r.ratingCount), 0) AS ratingCount, COALESCE(SUM(r.ratingSum), 0) AS ratingSum "
+			+ "FROM DoctorRating r")
+	RatingTotalsView findTotals();
+
+	interface RatingTotalsView {
+		Long getRatingCount();
+
+		Long getRatingSum();
+	}
+
+	interface RankedDoctorView {
+		Long getDoctorId();
+
+		Long getRatingCount();
+
+		Double getAverageRating();
+
+		String getFirstName();
+
+		String getLastName();
+
+		String getSpecialization();
+	}
+}
@@ -1,8 +1,10 @@
 package com.hospital.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.hospital.entity.Doctor;
 
@@ -10,4 +12,40 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
 	Optional<Doctor> findByEmail(String email);
 
+	@Query("SELECT d.id AS id, d.firstName AS firstName, d.lastName AS lastName, d.specialization AS specialization "
+			+ "FROM Doctor d")
+	List<DoctorNameView> findAllNameViews();
+
+	@Query("SELECT d.id AS id, d.firstName AS firstName, d.lastName AS lastName, d.specialization AS specialization, "
+			+ "d.city AS city, d.state AS state, d.gender AS gender FROM Doctor d")
+	List<DoctorFacetView> findAllFacetViews();
+
+	@Query("SELECT d.id AS id, d.firstName AS firstName, d.lastName AS lastName, d.specialization AS specialization, "
+			+ "d.email AS email, d.phoneNumber AS phoneNumber FROM Doctor d")
+	List<DoctorContactView> findAllContactViews();
+
+	interface DoctorContactView extends DoctorNameView {
+		String getEmail();
+
+		String getPhoneNumber();
+	}
+
+	interface DoctorFacetView extends DoctorNameView {
+		String getCity();
+
+		String getState();
+
+		String getGender();
+	}
+
+	interface DoctorNameView {
+		Long getId();
+
+		String getFirstName();
+
+		String getLastName();
+
+		String getSpecialization();
+	}
+
 }
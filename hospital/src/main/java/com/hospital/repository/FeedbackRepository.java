@@ -1,10 +1,66 @@
 package com.hospital.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.hospital.entity.Feedback;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+
+	List<Feedback> findByDoctorIdOrderByIdDesc(Long doctorId, Pageable pageable);
+
+	/**
+	 * 🔎 **Filtered listing without keywords**; null filters match everything
+	 */
+	@Query("SELECT f FROM Feedback f WHERE (:doctorId IS NULL OR f.doctorId = :doctorId) "
+			+ "AND f.rating BETWEEN :minRating AND :maxRating "
+			+ "AND (:from IS NULL OR f.createdAt >= :from) AND (:to IS NULL OR f.createdAt < :to) "
+			+ "AND (:maxSentiment IS NULL OR f.sentiment <= :maxSentiment)")
+	Page<Feedback> search(@Param("doctorId") Long doctorId, @Param("minRating") int minRating,
+			@Param("maxRating") int maxRating, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("maxSentiment") Double maxSentiment, Pageable pageable);
+
+	List<Feedback> findByRatingGreaterThanOrderByIdDesc(int rating, Pageable pageable);
+
+	@Query("SELECT f.id AS id, f.doctorId AS doctorId, f.rating AS rating, f.createdAt AS createdAt, "
+			+ "f.comments AS comments, f.sentiment AS sentiment FROM Feedback f WHERE f.id > :afterId ORDER BY f.id")
+	List<FeedbackIndexView> findIndexPage(@Param("afterId") Long afterId, Pageable pageable);
+
+	/**
+	 * 🔗 **Links feedback saved before doctor ids existed** by matching the
+	 * "First Last-Specialization" name the booking form submits. Only names
+	 * that belong to exactly one doctor are linked; shared names stay unlinked
+	 * rather than credit the wrong doctor.
+	 */
+	@Modifying
+	@Query(value = "UPDATE feedback f JOIN (SELECT CONCAT(first_name, ' ', last_name, '-', specialization) AS name, "
+			+ "MIN(id) AS id FROM doctors GROUP BY name HAVING COUNT(*) = 1) d ON f.doctor = d.name "
+			+ "SET f.doctor_id = d.id WHERE f.doctor_id IS NULL", nativeQuery = true)
+	int linkUnassignedToDoctors();
+
+	@Query("SELECT COUNT(f) FROM Feedback f WHERE f.doctorId IS NULL")
+	long countUnlinked();
+
+	interface FeedbackIndexView {
+		Long getId();
+
+		Long getDoctorId();
+
+		Integer getRating();
+
+		LocalDateTime getCreatedAt();
+
+		String getComments();
+
+		Double getSentiment();
+	}
 }
@@ -2,12 +2,17 @@ package com.hospital.repository;
 
 import com.hospital.entity.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
@@ -30,4 +35,50 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     List<Inventory> searchByNameOrDescription(@Param("searchTerm") String searchTerm);
     
     boolean existsByNameAndCategory(String name, String category);
+
+    /**
+     * Locks the item so a stock edit checks against the reserved quantity no
+     * concurrent reservation can change before it commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.id = :id")
+    Optional<Inventory> lockById(@Param("id") Long id);
+
+    /**
+     * Holds stock for an issued prescription if enough is free. Returns 0 when not.
+     */
+    @Modifying
+    @Query(value = "UPDATE inventory SET reserved_quantity = reserved_quantity + :qty "
+            + "WHERE id = :id AND quantity - reserved_quantity >= :qty", nativeQuery = true)
+    int reserveStock(@Param("id") Long id, @Param("qty") int quantity);
+
+    /**
+     * Hands out previously reserved stock. Returns 0 if the reservation is no longer there.
+     */
+    @Modifying
+    @Query(value = "UPDATE inventory SET quantity = quantity - :qty, reserved_quantity = reserved_quantity - :qty "
+            + "WHERE id = :id AND reserved_quantity >= :qty AND quantity >= :qty", nativeQuery = true)
+    int dispenseReservedStock(@Param("id") Long id, @Param("qty") int quantity);
+
+    /**
+     * Hands out stock that was never reserved, without touching other reservations.
+     */
+    @Modifying
+    @Query(value = "UPDATE inventory SET quantity = quantity - :qty "
+            + "WHERE id = :id AND quantity - reserved_quantity >= :qty", nativeQuery = true)
+    int dispenseFreeStock(@Param("id") Long id, @Param("qty") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE inventory SET reserved_quantity = reserved_quantity - :qty "
+            + "WHERE id = :id AND reserved_quantity >= :qty", nativeQuery = true)
+    int releaseStock(@Param("id") Long id, @Param("qty") int quantity);
+
+    @Query("SELECT i.id AS id, i.name AS name FROM Inventory i")
+    List<InventoryNameView> findAllNames();
+
+    interface InventoryNameView {
+        Long getId();
+
+        String getName();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.hospital.repository;
+
+import com.hospital.entity.MedicineItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface MedicineItemRepository extends JpaRepository<MedicineItem, Long> {
+
+    @Query("SELECT m FROM MedicineItem m WHERE m.prescription.id = :prescriptionId ORDER BY m.id")
+    List<MedicineItem> findByPrescriptionId(@Param("prescriptionId") Long prescriptionId);
+
+    @Query("SELECT m FROM MedicineItem m WHERE m.prescription.id IN :prescriptionIds ORDER BY m.id")
+    List<MedicineItem> findByPrescriptionIds(@Param("prescriptionIds") Collection<Long> prescriptionIds);
+
+    @Query("SELECT m.name FROM MedicineItem m WHERE m.prescription.patientEmail = :email "
+            + "AND m.prescription.issued = true AND m.prescription.date >= :since")
+    List<String> findActiveMedicineNames(@Param("email") String email, @Param("since") LocalDate since);
+
+    @Query("SELECT m.id AS id, m.name AS name FROM MedicineItem m "
+            + "WHERE m.inventoryId IS NULL AND m.id > :afterId AND m.id <= :toId ORDER BY m.id")
+    List<MedicineNameView> findUnmatchedInIdRange(@Param("afterId") Long afterId, @Param("toId") Long toId,
+            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM MedicineItem m")
+    Long findMaxId();
+
+    interface MedicineNameView {
+        Long getId();
+
+        String getName();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hospital.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.OnboardingJob;
+import com.hospital.enums.OnboardingStatus;
+
+@Repository
+public interface OnboardingJobRepository extends JpaRepository<OnboardingJob, Long> {
+
+	List<OnboardingJob> findAllByOrderByIdDesc(Pageable pageable);
+
+	List<OnboardingJob> findByStatusIn(Collection<OnboardingStatus> statuses);
+}
@@ -0,0 +1,16 @@
+package com.hospital.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.OnboardingRowError;
+
+@Repository
+public interface OnboardingRowErrorRepository extends JpaRepository<OnboardingRowError, Long> {
+
+	List<OnboardingRowError> findByJobIdAndRecordNumberGreaterThanOrderByRecordNumber(Long jobId, Long afterRecord,
+			Pageable pageable);
+}
@@ -3,6 +3,7 @@ package com.hospital.repository;
 import java.util.List;
 
 import com.hospital.entity.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,13 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 			"WHERE o.patient.patientId = :patientId")
 	List<Order> findByPatientIdWithDetails(@Param("patientId") Long patientId);
 
+	@Query("SELECT o FROM Order o " +
+			"JOIN FETCH o.patient " +
+			"JOIN FETCH o.inventoryItem " +
+			"WHERE o.patient.patientId = :patientId " +
+			"ORDER BY o.orderDate DESC, o.id DESC")
+	List<Order> findByPatientIdWithDetails(@Param("patientId") Long patientId, Pageable pageable);
+
 	@Query("SELECT o FROM Order o " +
 			"JOIN FETCH o.patient " +
 			"JOIN FETCH o.inventoryItem " +
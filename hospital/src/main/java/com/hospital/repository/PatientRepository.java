@@ -3,15 +3,44 @@ package com.hospital.repository;
 //File: com.example.hospitalmanagement.repository.PatientRepository.java
 
 import com.hospital.entity.Patient;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
-	
+
 	Optional<Patient> findByEmail(String email);
 
 	Optional<Patient> findByPhoneNumber(String phoneNumber);
+
+	@Query("SELECT p.email FROM Patient p WHERE p.patientId = :patientId")
+	Optional<String> findEmailById(@Param("patientId") Long patientId);
+
+	/**
+	 * 📇 **Directory fields in id order**, read in keyset pages to fill the index
+	 */
+	@Query("SELECT p.patientId AS patientId, p.firstName AS firstName, p.lastName AS lastName, "
+			+ "p.email AS email, p.phoneNumber AS phoneNumber, p.city AS city FROM Patient p WHERE p.patientId > :afterId "
+			+ "ORDER BY p.patientId")
+	List<PatientDirectoryView> findDirectoryPage(@Param("afterId") Long afterId, Pageable pageable);
+
+	interface PatientDirectoryView {
+		Long getPatientId();
+
+		String getFirstName();
+
+		String getLastName();
+
+		String getEmail();
+
+		String getPhoneNumber();
+
+		String getCity();
+	}
 }
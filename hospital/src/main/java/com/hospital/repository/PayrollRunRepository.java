@@ -0,0 +1,21 @@
+package com.hospital.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.PayrollRun;
+import com.hospital.enums.PayrollStatus;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+	List<PayrollRun> findAllByOrderByIdDesc(Pageable pageable);
+
+	List<PayrollRun> findByStatusIn(Collection<PayrollStatus> statuses);
+
+	boolean existsByPeriodAndStatusIn(String period, Collection<PayrollStatus> statuses);
+}
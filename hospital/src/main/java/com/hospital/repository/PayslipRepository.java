@@ -0,0 +1,21 @@
+package com.hospital.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.Payslip;
+
+@Repository
+public interface PayslipRepository extends JpaRepository<Payslip, Long> {
+
+	/**
+	 * 📊 **Payslips of a period in staff order**, read in keyset pages
+	 */
+	List<Payslip> findByPeriodAndStaffIdGreaterThanOrderByStaffId(String period, Long afterStaffId,
+			Pageable pageable);
+
+	List<Payslip> findByStaffIdOrderByPeriodDesc(Long staffId, Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package com.hospital.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hospital.entity.PrescriptionRefill;
+import com.hospital.enums.RefillStatus;
+
+import jakarta.persistence.LockModeType;
+
+public interface PrescriptionRefillRepository extends JpaRepository<PrescriptionRefill, Long> {
+
+	@Query("SELECT r FROM PrescriptionRefill r WHERE r.status = :status ORDER BY r.doctorName, r.dueDate, r.id")
+	List<PrescriptionRefill> findByStatus(@Param("status") RefillStatus status);
+
+	@Query("SELECT r FROM PrescriptionRefill r WHERE r.status = :status AND r.doctorEmail = :doctorEmail "
+			+ "ORDER BY r.dueDate, r.id")
+	List<PrescriptionRefill> findByStatusAndDoctorEmail(@Param("status") RefillStatus status,
+			@Param("doctorEmail") String doctorEmail);
+
+	/**
+	 * 🔒 **Refills by id, locked** in id order so an approval and a rejection
+	 * of the same refill cannot both go ahead
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM PrescriptionRefill r WHERE r.id IN :ids ORDER BY r.id")
+	List<PrescriptionRefill> lockAllById(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("UPDATE PrescriptionRefill r SET r.status = :status, r.decidedAt = :at WHERE r.id IN :ids")
+	int updateStatusForIds(@Param("ids") Collection<Long> ids, @Param("status") RefillStatus status,
+			@Param("at") LocalDateTime at);
+}
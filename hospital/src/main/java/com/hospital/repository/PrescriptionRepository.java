@@ -1,9 +1,42 @@
 package com.hospital.repository;
 
 import com.hospital.entity.Prescription;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
-    List<Prescription> findByPatientEmail(String email);
+    // Refill drafts stay hidden from the patient until a doctor approves them
+    String NOT_UNAPPROVED_DRAFT = "NOT EXISTS (SELECT r FROM PrescriptionRefill r WHERE r.draftPrescriptionId = p.id "
+            + "AND r.status <> com.hospital.enums.RefillStatus.APPROVED)";
+
+    @Query("SELECT p FROM Prescription p WHERE p.patientEmail = :email AND " + NOT_UNAPPROVED_DRAFT)
+    List<Prescription> findVisibleToPatient(@Param("email") String email);
+
+    @Query(value = "SELECT p FROM Prescription p WHERE p.patientEmail = :email "
+            + "AND (:issuedOnly = false OR p.issued = true) AND " + NOT_UNAPPROVED_DRAFT,
+            countQuery = "SELECT COUNT(p) FROM Prescription p WHERE p.patientEmail = :email "
+                    + "AND (:issuedOnly = false OR p.issued = true) AND " + NOT_UNAPPROVED_DRAFT)
+    Page<Prescription> findPageByPatientEmail(@Param("email") String email, @Param("issuedOnly") boolean issuedOnly,
+            Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.nextRefillDate AS nextRefillDate FROM Prescription p WHERE p.nextRefillDate IS NOT NULL")
+    List<RefillScheduleView> findRefillSchedules();
+
+    @Modifying
+    @Query("UPDATE Prescription p SET p.issued = true WHERE p.id IN :ids")
+    int markIssued(@Param("ids") Collection<Long> ids);
+
+    interface RefillScheduleView {
+        Long getId();
+
+        LocalDate getNextRefillDate();
+    }
 }
@@ -0,0 +1,39 @@
+package com.hospital.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.RosterAssignment;
+import com.hospital.enums.ShiftType;
+
+@Repository
+public interface RosterAssignmentRepository extends JpaRepository<RosterAssignment, Long> {
+
+	@Query("SELECT a.staffId AS staffId, s.firstName AS firstName, s.lastName AS lastName, "
+			+ "a.department AS department, a.shiftType AS shiftType, a.startTime AS startTime, a.endTime AS endTime "
+			+ "FROM RosterAssignment a JOIN Staff s ON s.id = a.staffId WHERE a.department = :department "
+			+ "AND a.startTime >= :from AND a.startTime < :to ORDER BY a.startTime, s.lastName, s.firstName")
+	List<RosteredShiftView> findRosteredShifts(@Param("department") String department,
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+	interface RosteredShiftView {
+		Long getStaffId();
+
+		String getFirstName();
+
+		String getLastName();
+
+		String getDepartment();
+
+		ShiftType getShiftType();
+
+		LocalDateTime getStartTime();
+
+		LocalDateTime getEndTime();
+	}
+}
@@ -0,0 +1,22 @@
+package com.hospital.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.RosterRun;
+import com.hospital.enums.RosterStatus;
+
+@Repository
+public interface RosterRunRepository extends JpaRepository<RosterRun, Long> {
+
+	List<RosterRun> findAllByOrderByIdDesc(Pageable pageable);
+
+	List<RosterRun> findByStatusIn(Collection<RosterStatus> statuses);
+
+	boolean existsByWeekStartAndStatusIn(LocalDate weekStart, Collection<RosterStatus> statuses);
+}
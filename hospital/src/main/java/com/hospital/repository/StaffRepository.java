@@ -1,8 +1,13 @@
 package com.hospital.repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.hospital.entity.Staff;
 
@@ -11,4 +16,88 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     Optional<Staff> findByEmail(String email);
     
     Optional<Staff> findByUserId(Long userId);
-} 
\ No newline at end of file
+
+    @Query("SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName, s.email AS email, "
+            + "s.phoneNumber AS phoneNumber, s.department AS department FROM Staff s")
+    List<StaffContactView> findAllContactViews();
+
+    @Query("SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName, s.department AS department, "
+            + "s.salary AS salary, s.hireDate AS hireDate FROM Staff s WHERE s.id > :afterId ORDER BY s.id")
+    List<StaffPayView> findPayrollPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.department AS department, s.role AS role FROM Staff s WHERE s.id > :afterId "
+            + "ORDER BY s.id")
+    List<StaffRosterView> findRosterPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.departmentId AS departmentId, s.role AS role, s.salary AS salary FROM Staff s "
+            + "WHERE s.id > :afterId ORDER BY s.id")
+    List<StaffStatsView> findStatsPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName, s.email AS email, "
+            + "s.phoneNumber AS phoneNumber, s.role AS role, s.hireDate AS hireDate FROM Staff s "
+            + "WHERE s.departmentId = :departmentId AND s.id > :afterId ORDER BY s.id")
+    List<StaffMemberView> findDepartmentPage(@Param("departmentId") Long departmentId,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    interface StaffStatsView {
+        Long getId();
+
+        Long getDepartmentId();
+
+        String getRole();
+
+        Double getSalary();
+    }
+
+    interface StaffMemberView {
+        Long getId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getEmail();
+
+        String getPhoneNumber();
+
+        String getRole();
+
+        LocalDate getHireDate();
+    }
+
+    interface StaffRosterView {
+        Long getId();
+
+        String getDepartment();
+
+        String getRole();
+    }
+
+    interface StaffPayView {
+        Long getId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getDepartment();
+
+        Double getSalary();
+
+        LocalDate getHireDate();
+    }
+
+    interface StaffContactView {
+        Long getId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getEmail();
+
+        String getPhoneNumber();
+
+        String getDepartment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.hospital.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hospital.entity.StaffShift;
+
+@Repository
+public interface StaffShiftRepository extends JpaRepository<StaffShift, Long> {
+
+	List<StaffShift> findByStaffIdAndStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(Long staffId,
+			LocalDateTime from, LocalDateTime to);
+
+	/**
+	 * Shifts of these staff members that overlap [from, to), for rejecting
+	 * double-recorded hours
+	 */
+	@Query("SELECT s FROM StaffShift s WHERE s.staffId IN :staffIds AND s.startTime < :to AND s.endTime > :from")
+	List<StaffShift> findOverlapping(@Param("staffIds") Collection<Long> staffIds, @Param("from") LocalDateTime from,
+			@Param("to") LocalDateTime to);
+}
@@ -2,16 +2,45 @@
 package com.hospital.repository;
 
 import com.hospital.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-	@Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-	Optional<User> findByEmail(@Param("email") String email);
+	/**
+	 * Emails are stored canonical, so the lookup is a seek on the unique
+	 * index rather than a scan comparing LOWER(email) row by row.
+	 */
+	default Optional<User> findByEmail(String email) {
+		return email == null ? Optional.empty() : findByCanonicalEmail(User.canonicalEmail(email));
+	}
+
+	@Query("SELECT u FROM User u WHERE u.email = :email")
+	Optional<User> findByCanonicalEmail(@Param("email") String email);
+
+	@Query("SELECT u.id AS id, u.email AS email, u.role AS role FROM User u WHERE u.id > :afterId ORDER BY u.id")
+	List<UserIdentityView> findIdentityPage(@Param("afterId") Long afterId, Pageable pageable);
+
+	/**
+	 * Which of the emails are already registered, in one indexed lookup. The
+	 * column's case-insensitive collation makes the IN match ignore case.
+	 */
+	@Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	interface UserIdentityView {
+		Long getId();
+
+		String getEmail();
+
+		String getRole();
+	}
 }
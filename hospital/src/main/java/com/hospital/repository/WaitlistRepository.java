@@ -0,0 +1,48 @@
+package com.hospital.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hospital.entity.WaitlistEntry;
+import com.hospital.enums.WaitlistStatus;
+
+import jakarta.persistence.LockModeType;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+	/**
+	 * 📋 **Fetch Waitlist Entries in a given state** (used to warm the in-memory
+	 * queues on startup)
+	 */
+	List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+	/**
+	 * 📧 **Fetch Waitlist Entries by Patient Email**
+	 */
+	@Query("SELECT w FROM WaitlistEntry w WHERE w.patientEmail = :email ORDER BY w.joinedAt DESC")
+	List<WaitlistEntry> findByPatientEmail(@Param("email") String patientEmail);
+
+	/**
+	 * 🔒 **One entry, locked** so two cancellations cannot offer their slots
+	 * to the same waiting patient
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT w FROM WaitlistEntry w WHERE w.id = :id")
+	Optional<WaitlistEntry> lockById(@Param("id") Long id);
+
+	boolean existsByDoctorNameAndDateAndPatientEmailAndStatusIn(String doctorName, String date,
+			String patientEmail, List<WaitlistStatus> statuses);
+
+	/**
+	 * ⏰ **Fetch Offers whose hold has lapsed**
+	 */
+	@Query("SELECT w FROM WaitlistEntry w WHERE w.status = com.hospital.enums.WaitlistStatus.OFFERED "
+			+ "AND w.holdExpiresAt < :now")
+	List<WaitlistEntry> findExpiredOffers(@Param("now") LocalDateTime now);
+}
@@ -32,5 +32,10 @@ public class SecurityUtil {
     public boolean isAdmin(Authentication authentication) {
         return authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
     }
+
+    public boolean isDoctor(Authentication authentication) {
+        return authentication != null
+                && authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_DOCTOR"));
+    }
 }
 
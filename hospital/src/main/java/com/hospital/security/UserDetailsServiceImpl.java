@@ -10,6 +10,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.hospital.repository.UserRepository;
+import com.hospital.service.EmailIdentityIndex;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -19,9 +20,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private EmailIdentityIndex emailIdentityIndex;
+
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-	    com.hospital.entity.User user = userRepository.findByEmail(email.toLowerCase())
+	    // A known email is a primary key read; the unique email index covers the rest
+	    com.hospital.entity.User user = emailIdentityIndex.find(email)
+	            .flatMap(identity -> userRepository.findById(identity.userId()))
+	            .or(() -> userRepository.findByEmail(email))
 	            .orElseThrow(() -> {
 	                logger.error("User not found with email: {}", email);
 	                return new UsernameNotFoundException("User not found");
@@ -0,0 +1,18 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.response.DemandHeatmapResponse;
+import com.hospital.dto.response.DoctorUtilizationResponse;
+
+public interface AppointmentAnalyticsService {
+
+	// 🔹 Admin Side: Weekday x hour booking heatmap for the hospital, a specialization or a doctor
+	DemandHeatmapResponse getHeatmap(String doctorName, String specialization);
+
+	// 🔹 Admin Side: Bookings and utilization per doctor
+	List<DoctorUtilizationResponse> getDoctorUtilization();
+
+	// 🔹 Admin Side: Recompute all counters from appointment history; returns rows scanned
+	long rebuildFromHistory();
+}
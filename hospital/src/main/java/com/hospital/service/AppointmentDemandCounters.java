@@ -0,0 +1,282 @@
+package com.hospital.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Booking-density counters per weekday and hour, kept per doctor, per
+ * specialization and hospital-wide. Every appointment write adjusts a handful
+ * of cells, and every read is a fixed 7 x 24 copy, so neither depends on how
+ * many appointments exist.
+ */
+@Component
+public class AppointmentDemandCounters {
+
+	public static final int DAYS = 7;
+	public static final int HOURS = 24;
+
+	private volatile Snapshot current = new Snapshot();
+	private Rebuild rebuilding;
+	// Taken shared by writes and exclusively by the swap, so no write is lost or doubled at swap time
+	private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Adds delta (+1 booked, -1 cancelled or deleted) to the cell for this
+	 * doctor and start time. Call it once the change is committed. During a
+	 * rebuild the delta also goes into the snapshot being built, unless the
+	 * scan has already seen the row in its changed state or has yet to read it.
+	 */
+	public void record(Long appointmentId, String doctorName, LocalDateTime startTime, int delta) {
+		if (doctorName == null || startTime == null) {
+			return;
+		}
+		swapLock.readLock().lock();
+		try {
+			current.add(doctorName, startTime, delta);
+			if (rebuilding != null) {
+				rebuilding.record(appointmentId, doctorName, startTime, delta);
+			}
+		} finally {
+			swapLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Starts a rebuild that will scan ids up to the value maxId reads. The read
+	 * happens while writes wait, so an appointment either lies at or below
+	 * maxId or is counted through record alone.
+	 */
+	public Rebuild startRebuild(LongSupplier maxId) {
+		swapLock.writeLock().lock();
+		try {
+			rebuilding = new Rebuild(maxId.getAsLong());
+			return rebuilding;
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+	}
+
+	public void finishRebuild(Rebuild rebuilt) {
+		swapLock.writeLock().lock();
+		try {
+			current = rebuilt.snapshot;
+			rebuilding = null;
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+	}
+
+	public void abortRebuild() {
+		swapLock.writeLock().lock();
+		try {
+			rebuilding = null;
+		} finally {
+			swapLock.writeLock().unlock();
+		}
+	}
+
+	public Snapshot current() {
+		return current;
+	}
+
+	public static String specializationOf(String doctorName) {
+		int dash = doctorName.lastIndexOf('-');
+		return dash < 0 ? "General" : doctorName.substring(dash + 1).trim();
+	}
+
+	private static int cell(LocalDateTime startTime) {
+		DayOfWeek day = startTime.getDayOfWeek();
+		return (day.getValue() - 1) * HOURS + startTime.getHour();
+	}
+
+	/**
+	 * A snapshot being built by scanning id ranges. A change is recorded only
+	 * after it commits, so the scan may already have read the changed row by
+	 * then. Each range therefore remembers which of the ids it passed it
+	 * counted, and a recorded change is applied only when the scan saw the row
+	 * as it was before the change; a row the scan has yet to read is left to
+	 * the scan.
+	 */
+	public static final class Rebuild {
+		private final Snapshot snapshot = new Snapshot();
+		private final long maxId;
+		// Ranges keyed by the id they start after
+		private final ConcurrentSkipListMap<Long, Range> ranges = new ConcurrentSkipListMap<>();
+
+		Rebuild(long maxId) {
+			this.maxId = maxId;
+		}
+
+		public Snapshot snapshot() {
+			return snapshot;
+		}
+
+		public long maxId() {
+			return maxId;
+		}
+
+		/** Registers the range (afterId, toId]; register every range before scanning any. */
+		public Range range(long afterId, long toId) {
+			Range range = new Range(afterId, toId);
+			ranges.put(afterId, range);
+			return range;
+		}
+
+		private void record(Long appointmentId, String doctorName, LocalDateTime startTime, int delta) {
+			if (appointmentId == null || appointmentId > maxId) {
+				snapshot.add(doctorName, startTime, delta);
+				return;
+			}
+			// No range yet means no scan has started, so it will read the row
+			Map.Entry<Long, Range> entry = ranges.lowerEntry(appointmentId);
+			if (entry == null || appointmentId > entry.getValue().toId) {
+				return;
+			}
+			Range range = entry.getValue();
+			synchronized (range) {
+				if (appointmentId > range.cursor) {
+					return;
+				}
+				int bit = (int) (appointmentId - range.afterId - 1);
+				boolean countedBefore = delta < 0;
+				if (range.counted.get(bit) == countedBefore) {
+					snapshot.add(doctorName, startTime, delta);
+					range.counted.set(bit, !countedBefore);
+				}
+			}
+		}
+	}
+
+	public static final class Range {
+		private final long afterId;
+		private final long toId;
+		private long cursor;
+		// Bit n is set while the row with id afterId + 1 + n counts in the snapshot
+		private final BitSet counted = new BitSet();
+
+		Range(long afterId, long toId) {
+			this.afterId = afterId;
+			this.cursor = afterId;
+			this.toId = toId;
+		}
+
+		public long toId() {
+			return toId;
+		}
+
+		/**
+		 * Reads the next page after the cursor and passes each row to count,
+		 * which returns whether it counted the row, then moves the cursor to the
+		 * page's last id, all under the range's lock. Returns the page.
+		 */
+		public synchronized <T> List<T> scanNext(LongFunction<List<T>> read, Predicate<T> count,
+				ToLongFunction<T> idOf) {
+			List<T> page = read.apply(cursor);
+			for (T row : page) {
+				if (count.test(row)) {
+					counted.set((int) (idOf.applyAsLong(row) - afterId - 1));
+				}
+			}
+			if (!page.isEmpty()) {
+				cursor = idOf.applyAsLong(page.get(page.size() - 1));
+			}
+			return page;
+		}
+	}
+
+	public static final class Snapshot {
+		private final AtomicLongArray hospital = new AtomicLongArray(DAYS * HOURS);
+		private final Map<String, DoctorCells> doctors = new ConcurrentHashMap<>();
+		private final Map<String, AtomicLongArray> specializations = new ConcurrentHashMap<>();
+		private final AtomicLong firstEpochDay = new AtomicLong(Long.MAX_VALUE);
+		private final AtomicLong lastEpochDay = new AtomicLong(Long.MIN_VALUE);
+
+		public void add(String doctorName, LocalDateTime startTime, int delta) {
+			int cell = cell(startTime);
+			DoctorCells cells = doctors.computeIfAbsent(doctorName,
+					name -> new DoctorCells(name, specializationOf(name)));
+			cells.cells.addAndGet(cell, delta);
+			cells.total.addAndGet(delta);
+			specializations.computeIfAbsent(cells.specialization, s -> new AtomicLongArray(DAYS * HOURS))
+					.addAndGet(cell, delta);
+			hospital.addAndGet(cell, delta);
+			long epochDay = startTime.toLocalDate().toEpochDay();
+			firstEpochDay.accumulateAndGet(epochDay, Math::min);
+			lastEpochDay.accumulateAndGet(epochDay, Math::max);
+		}
+
+		public AtomicLongArray hospital() {
+			return hospital;
+		}
+
+		public DoctorCells doctor(String doctorName) {
+			return doctors.get(doctorName);
+		}
+
+		public AtomicLongArray specialization(String specialization) {
+			return specializations.get(specialization);
+		}
+
+		public Collection<DoctorCells> doctors() {
+			return doctors.values();
+		}
+
+		public long doctorsInSpecialization(String specialization) {
+			return doctors.values().stream().filter(d -> d.specialization.equalsIgnoreCase(specialization)).count();
+		}
+
+		/** Number of calendar weeks spanned by the bookings seen so far (at least 1). */
+		public long weeksObserved() {
+			long first = firstEpochDay.get();
+			long last = lastEpochDay.get();
+			if (first > last) {
+				return 1;
+			}
+			return Math.max(1, (last - first + DAYS) / DAYS);
+		}
+	}
+
+	public static final class DoctorCells {
+		private final String doctorName;
+		private final String specialization;
+		private final AtomicLongArray cells = new AtomicLongArray(DAYS * HOURS);
+		private final AtomicLong total = new AtomicLong();
+
+		DoctorCells(String doctorName, String specialization) {
+			this.doctorName = doctorName;
+			this.specialization = specialization;
+		}
+
+		public String doctorName() {
+			return doctorName;
+		}
+
+		public String specialization() {
+			return specialization;
+		}
+
+		public AtomicLongArray cells() {
+			return cells;
+		}
+
+		public long total() {
+			return total.get();
+		}
+	}
+}
@@ -3,6 +3,11 @@ package com.hospital.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.hospital.dto.request.AppointmentSearchRequest;
+import com.hospital.dto.request.BulkStatusUpdateRequest;
+import com.hospital.dto.response.AppointmentPageResponse;
+import com.hospital.dto.response.AppointmentResponse;
+import com.hospital.dto.response.BulkStatusUpdateResponse;
 import com.hospital.entity.Appointment;
 
 public interface AppointmentService {
@@ -10,21 +15,33 @@ public interface AppointmentService {
 	// 🔹 Admin Side: Fetch all appointments
 	List<Appointment> getAllAppointments();
 
+	// 🔹 Admin Side: Keyset-paginated, filterable appointment listing
+	AppointmentPageResponse searchAppointments(AppointmentSearchRequest request);
+
 	// 🔹 Patient Side: Fetch appointments for a specific patient
 	List<Appointment> getAppointmentsByPatientName(String patientName);
 
 	// 🔹 Patient Side: Fetch appointments using email
 	List<Appointment> getAppointmentsByPatientEmail(String patientEmail);
 
+	// 🔹 Patient Side: Next appointments that are not cancelled, soonest first
+	List<AppointmentResponse> getUpcomingAppointmentsByPatientEmail(String patientEmail, int limit);
+
 	// 🔹 Doctor Side: Fetch appointments assigned to a specific doctor
 	List<Appointment> getAppointmentsByDoctorName(String doctorName);
 
 	// 🔹 Patient Side: Create a new appointment
 	Appointment createAppointment(Appointment appointment);
 
+	// 🔹 Patient Side: Book with the least-loaded available doctor in a specialization
+	Appointment createAppointmentInSpecialization(Appointment appointment, String specialization);
+
 	// 🔹 Doctor Side: Update appointment status
 	Appointment updateAppointmentStatus(Long id, String status);
 
+	// 🔹 Doctor Side: Update many appointments at once; doctorName null means admin
+	BulkStatusUpdateResponse updateAppointmentStatuses(BulkStatusUpdateRequest request, String doctorName);
+
 	Optional<Appointment> findAppointmentById(Long id);
 
 	void deleteAppointment(Long id);
@@ -0,0 +1,53 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.response.DepartmentMemberResponse;
+import com.hospital.dto.response.DepartmentStatsRow;
+import com.hospital.dto.response.DepartmentSummaryResponse;
+import com.hospital.entity.Department;
+
+public interface DepartmentService {
+
+	/**
+	 * The stored name of the department with this name, ignoring case,
+	 * creating the department when there is none. Staff saves call this so
+	 * their department exists.
+	 */
+	String ensure(String name);
+
+	/**
+	 * Same as ensure, returning the department itself. Inside a transaction a
+	 * department created here joins the in-memory totals only once it commits.
+	 */
+	Department ensureDepartment(String name);
+
+	List<DepartmentSummaryResponse> getDepartments();
+
+	/**
+	 * The department, or null when there is no such department.
+	 */
+	DepartmentSummaryResponse getDepartment(Long departmentId);
+
+	DepartmentSummaryResponse createDepartment(String name);
+
+	/**
+	 * Deletes an empty department; false when there is no such department.
+	 */
+	boolean deleteDepartment(Long departmentId);
+
+	/**
+	 * Totals grouped by department, role, or department and role.
+	 */
+	List<DepartmentStatsRow> getStats(String groupBy);
+
+	/**
+	 * A department's staff in id order, after the given staff id.
+	 */
+	List<DepartmentMemberResponse> getMembers(Long departmentId, long afterStaffId, int size);
+
+	/**
+	 * Reloads every staff member's upcoming rostered hours.
+	 */
+	void refreshRosteredHours();
+}
@@ -0,0 +1,299 @@
+package com.hospital.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Headcount, salary and upcoming rostered hours per department and role,
+ * kept in memory so department dashboards never read staff rows. Every
+ * staff member's last contribution is remembered, so a save moves exactly
+ * that contribution from its old department and role cell to the new one,
+ * and a removal takes it out. Rostered minutes belong to the staff member
+ * and move with them; they are replaced wholesale when the roster changes.
+ */
+@Component
+public class DepartmentStats {
+
+	public enum GroupBy {
+		DEPARTMENT, ROLE, DEPARTMENT_AND_ROLE
+	}
+
+	/**
+	 * Totals of one group; departmentId and department are null when grouped
+	 * by role only, role is null when grouped by department only.
+	 */
+	public record Row(Long departmentId, String department, String role, int headcount, BigDecimal salaryTotal,
+			double upcomingRosteredHours) {
+	}
+
+	/**
+	 * One department's totals and its headcount per role.
+	 */
+	public record Summary(long id, String name, int headcount, BigDecimal salaryTotal, double upcomingRosteredHours,
+			Map<String, Integer> roles) {
+	}
+
+	static final String NO_ROLE = "UNSPECIFIED";
+
+	private record Member(Long departmentId, String role, BigDecimal salary, long rosteredMinutes) {
+	}
+
+	private static final class Cell {
+		private int headcount;
+		private BigDecimal salary = BigDecimal.ZERO;
+		private long rosteredMinutes;
+
+		private void add(Member member, int sign) {
+			headcount += sign;
+			salary = sign > 0 ? salary.add(member.salary) : salary.subtract(member.salary);
+			rosteredMinutes += sign * member.rosteredMinutes;
+		}
+	}
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, String> names = new HashMap<>();
+	private final Map<String, Long> idsByKey = new HashMap<>();
+	private final Map<Long, Member> members = new HashMap<>();
+	// Department id to role to totals
+	private final Map<Long, Map<String, Cell>> cells = new HashMap<>();
+
+	public static String key(String name) {
+		return name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+	}
+
+	public static String role(String role) {
+		return role == null || role.isBlank() ? NO_ROLE : role.strip().toUpperCase(Locale.ROOT);
+	}
+
+	public void putDepartment(long id, String name) {
+		lock.writeLock().lock();
+		try {
+			String previous = names.put(id, name);
+			if (previous != null) {
+				idsByKey.remove(key(previous));
+			}
+			idsByKey.put(key(name), id);
+			cells.computeIfAbsent(id, k -> new HashMap<>());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void removeDepartment(long id) {
+		lock.writeLock().lock();
+		try {
+			String previous = names.remove(id);
+			if (previous != null) {
+				idsByKey.remove(key(previous));
+			}
+			cells.remove(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The id of the department with this name, ignoring case and surrounding
+	 * spaces.
+	 */
+	public Optional<Long> departmentId(String name) {
+		lock.readLock().lock();
+		try {
+			return Optional.ofNullable(idsByKey.get(key(name)));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Optional<String> name(long id) {
+		lock.readLock().lock();
+		try {
+			return Optional.ofNullable(names.get(id));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Records a staff member's current department, role and salary, replacing
+	 * what was recorded for them. A null department leaves them out of every
+	 * department's totals.
+	 */
+	public void putMember(long staffId, Long departmentId, String role, Double salary) {
+		lock.writeLock().lock();
+		try {
+			Member previous = members.get(staffId);
+			long minutes = previous == null ? 0 : previous.rosteredMinutes;
+			Member member = new Member(departmentId, role(role),
+					salary == null ? BigDecimal.ZERO : BigDecimal.valueOf(salary), minutes);
+			replace(staffId, previous, member);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void removeMember(long staffId) {
+		lock.writeLock().lock();
+		try {
+			replace(staffId, members.get(staffId), null);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Sets every staff member's upcoming rostered minutes; staff missing from
+	 * the map have none.
+	 */
+	public void replaceRosteredMinutes(Map<Long, Long> minutesByStaff) {
+		lock.writeLock().lock();
+		try {
+			for (Map.Entry<Long, Member> entry : new ArrayList<>(members.entrySet())) {
+				Member previous = entry.getValue();
+				long minutes = minutesByStaff.getOrDefault(entry.getKey(), 0L);
+				if (minutes != previous.rosteredMinutes) {
+					replace(entry.getKey(), previous,
+							new Member(previous.departmentId, previous.role, previous.salary, minutes));
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			names.clear();
+			idsByKey.clear();
+			members.clear();
+			cells.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int headcount(long departmentId) {
+		lock.readLock().lock();
+		try {
+			Map<String, Cell> roles = cells.get(departmentId);
+			return roles == null ? 0 : roles.values().stream().mapToInt(cell -> cell.headcount).sum();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Every department by name, or the one department when id is given
+	 * (empty when there is no such department).
+	 */
+	public List<Summary> summaries(Long id) {
+		lock.readLock().lock();
+		try {
+			List<Summary> summaries = new ArrayList<>();
+			for (Map.Entry<Long, String> department : names.entrySet()) {
+				if (id != null && !id.equals(department.getKey())) {
+					continue;
+				}
+				Cell total = new Cell();
+				Map<String, Integer> roles = new TreeMap<>();
+				cells.get(department.getKey()).forEach((role, cell) -> {
+					if (cell.headcount > 0) {
+						merge(total, cell);
+						roles.put(role, cell.headcount);
+					}
+				});
+				summaries.add(new Summary(department.getKey(), department.getValue(), total.headcount,
+						money(total.salary), hours(total.rosteredMinutes), roles));
+			}
+			summaries.sort(Comparator.comparing(Summary::name, String.CASE_INSENSITIVE_ORDER));
+			return summaries;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Totals grouped as asked, from the department and role cells only.
+	 */
+	public List<Row> group(GroupBy by) {
+		lock.readLock().lock();
+		try {
+			Map<List<Object>, Cell> groups = new HashMap<>();
+			cells.forEach((departmentId, roles) -> roles.forEach((role, cell) -> {
+				if (cell.headcount == 0) {
+					return;
+				}
+				List<Object> group = switch (by) {
+				case DEPARTMENT -> List.of(departmentId, "");
+				case ROLE -> List.of(-1L, role);
+				case DEPARTMENT_AND_ROLE -> List.of(departmentId, role);
+				};
+				merge(groups.computeIfAbsent(group, k -> new Cell()), cell);
+			}));
+			List<Row> rows = new ArrayList<>(groups.size());
+			groups.forEach((group, cell) -> {
+				Long departmentId = by == GroupBy.ROLE ? null : (Long) group.get(0);
+				String role = by == GroupBy.DEPARTMENT ? null : (String) group.get(1);
+				rows.add(new Row(departmentId, departmentId == null ? null : names.get(departmentId), role,
+						cell.headcount, money(cell.salary), hours(cell.rosteredMinutes)));
+			});
+			rows.sort(Comparator.comparing((Row r) -> r.department() == null ? "" : r.department(),
+					String.CASE_INSENSITIVE_ORDER).thenComparing(r -> r.role() == null ? "" : r.role()));
+			return rows;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int memberCount() {
+		lock.readLock().lock();
+		try {
+			return members.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void replace(long staffId, Member previous, Member member) {
+		if (previous != null) {
+			cell(previous).ifPresent(cell -> cell.add(previous, -1));
+			members.remove(staffId);
+		}
+		if (member != null) {
+			members.put(staffId, member);
+			cell(member).ifPresent(cell -> cell.add(member, +1));
+		}
+	}
+
+	// Members of an unknown or removed department are remembered but not counted
+	private Optional<Cell> cell(Member member) {
+		Map<String, Cell> roles = member.departmentId == null ? null : cells.get(member.departmentId);
+		return roles == null ? Optional.empty() : Optional.of(roles.computeIfAbsent(member.role, k -> new Cell()));
+	}
+
+	private static void merge(Cell into, Cell cell) {
+		into.headcount += cell.headcount;
+		into.salary = into.salary.add(cell.salary);
+		into.rosteredMinutes += cell.rosteredMinutes;
+	}
+
+	private static BigDecimal money(BigDecimal amount) {
+		return amount.setScale(2, RoundingMode.HALF_UP);
+	}
+
+	private static double hours(long minutes) {
+		return Math.round(minutes / 6.0) / 10.0;
+	}
+}
@@ -0,0 +1,24 @@
+package com.hospital.service;
+
+import com.hospital.entity.Doctor;
+
+public interface DoctorAssignmentService {
+
+	// 🔹 Reserve the least-loaded free doctor in a specialization for a slot
+	String reserveLeastLoadedDoctor(String specialization, String date, String time, String patientEmail);
+
+	// 🔹 Undo a reservation whose booking could not be saved
+	void releaseReservation(String doctorName, String date, String time);
+
+	// 🔹 Keep the index in step with doctor registration, edits and removal
+	void onDoctorSaved(Doctor doctor);
+
+	void onDoctorRemoved(Long doctorId);
+
+	// 🔹 Recompute every doctor's upcoming load from the database
+	void rebuildLoads();
+
+	static String displayName(String firstName, String lastName, String specialization) {
+		return firstName + " " + lastName + "-" + specialization;
+	}
+}
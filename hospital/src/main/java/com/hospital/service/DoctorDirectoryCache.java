@@ -0,0 +1,118 @@
+package com.hospital.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.dto.response.DoctorDirectoryGroup;
+import com.hospital.dto.response.DoctorNameResponse;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.DoctorRepository.DoctorNameView;
+
+/**
+ * Read model behind the public doctor pickers. The doctor list is read with
+ * a four-column projection, sorted, grouped by specialization and serialized
+ * once per change; requests are served the prepared JSON and its strong
+ * ETag, so they cost neither a query nor serialization. Callers that change
+ * doctors call refresh once the change is committed.
+ */
+@Component
+public class DoctorDirectoryCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DoctorDirectoryCache.class);
+
+	/**
+	 * Prepared response body and its ETag.
+	 */
+	public record Body(byte[] json, String etag) {
+	}
+
+	private record Snapshot(List<DoctorNameResponse> names, Body namesBody, Body groupsBody) {
+	}
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private volatile Snapshot snapshot;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		refresh();
+		logger.info("Doctor directory cached with {} doctors", snapshot.names().size());
+	}
+
+	/**
+	 * Rebuilds the directory from the database. Concurrent refreshes are
+	 * serialized so the last one always publishes the latest state.
+	 */
+	public synchronized void refresh() {
+		List<DoctorNameResponse> names = new ArrayList<>();
+		Map<String, List<DoctorNameResponse>> bySpecialization = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		List<DoctorNameView> views = new ArrayList<>(doctorRepository.findAllNameViews());
+		views.sort(Comparator.comparing(DoctorNameView::getFirstName, Comparator.nullsLast(String::compareToIgnoreCase))
+				.thenComparing(DoctorNameView::getLastName, Comparator.nullsLast(String::compareToIgnoreCase))
+				.thenComparing(DoctorNameView::getId));
+		for (DoctorNameView view : views) {
+			DoctorNameResponse name = new DoctorNameResponse(view.getId(), DoctorAssignmentService
+					.displayName(view.getFirstName(), view.getLastName(), view.getSpecialization()));
+			names.add(name);
+			String specialization = view.getSpecialization() == null ? "" : view.getSpecialization().strip();
+			bySpecialization.computeIfAbsent(specialization, s -> new ArrayList<>()).add(name);
+		}
+		List<DoctorDirectoryGroup> groups = bySpecialization.entrySet().stream()
+				.map(e -> new DoctorDirectoryGroup(e.getKey(), List.copyOf(e.getValue()))).toList();
+		snapshot = new Snapshot(List.copyOf(names), serialize(names), serialize(groups));
+	}
+
+	/**
+	 * Every doctor as "First Last-Specialization", sorted by name.
+	 */
+	public List<DoctorNameResponse> names() {
+		return current().names();
+	}
+
+	public Body namesBody() {
+		return current().namesBody();
+	}
+
+	/**
+	 * Doctors grouped by specialization, both sorted alphabetically.
+	 */
+	public Body groupsBody() {
+		return current().groupsBody();
+	}
+
+	private Snapshot current() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			// Only before the application is ready
+			refresh();
+			current = snapshot;
+		}
+		return current;
+	}
+
+	private Body serialize(Object value) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(value);
+			return new Body(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize the doctor directory", e);
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package com.hospital.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Faceted index over doctors. Each doctor holds a slot number, and every
+ * value of every facet keeps a bitset of the slots that have it, so a filter
+ * is an OR across the chosen values of a facet and an AND across facets.
+ * Counts per value come from intersecting each value's bitset with the
+ * doctors that pass the other facets' filters, so a picker shows how many
+ * doctors each choice would leave. Slots of removed doctors are reused.
+ */
+@Component
+public class DoctorFacetIndex {
+
+	public enum Facet {
+		SPECIALIZATION, CITY, STATE, GENDER
+	}
+
+	public record Doctor(long id, String firstName, String lastName, String specialization, String city,
+			String state, String gender) {
+
+		String value(Facet facet) {
+			return switch (facet) {
+			case SPECIALIZATION -> specialization;
+			case CITY -> city;
+			case STATE -> state;
+			case GENDER -> gender;
+			};
+		}
+	}
+
+	/**
+	 * Matches of one page plus, per facet, the count for every value.
+	 */
+	public record Result(long total, List<Doctor> doctors, Map<Facet, Map<String, Integer>> facets) {
+	}
+
+	private static final Comparator<Doctor> BY_NAME = Comparator
+			.comparing((Doctor d) -> d.firstName() == null ? "" : d.firstName(), String.CASE_INSENSITIVE_ORDER)
+			.thenComparing(d -> d.lastName() == null ? "" : d.lastName(), String.CASE_INSENSITIVE_ORDER)
+			.thenComparingLong(Doctor::id);
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final List<Doctor> slots = new ArrayList<>();
+	private final Map<Long, Integer> slotById = new HashMap<>();
+	private final BitSet live = new BitSet();
+	private final Map<Facet, Map<String, Value>> facets = new EnumMap<>(Facet.class);
+
+	public DoctorFacetIndex() {
+		for (Facet facet : Facet.values()) {
+			facets.put(facet, new HashMap<>());
+		}
+	}
+
+	/**
+	 * Values match ignoring case and surrounding spaces.
+	 */
+	public static String key(String value) {
+		return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+	}
+
+	public void put(Doctor doctor) {
+		lock.writeLock().lock();
+		try {
+			Integer slot = slotById.get(doctor.id());
+			if (slot != null) {
+				unfile(slot);
+			} else {
+				slot = live.nextClearBit(0);
+				slotById.put(doctor.id(), slot);
+			}
+			while (slots.size() <= slot) {
+				slots.add(null);
+			}
+			slots.set(slot, doctor);
+			live.set(slot);
+			for (Facet facet : Facet.values()) {
+				String label = doctor.value(facet);
+				if (label != null && !label.isBlank()) {
+					facets.get(facet).computeIfAbsent(key(label), k -> new Value(label.strip())).slots.set(slot);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long doctorId) {
+		lock.writeLock().lock();
+		try {
+			Integer slot = slotById.remove(doctorId);
+			if (slot != null) {
+				unfile(slot);
+				slots.set(slot, null);
+				live.clear(slot);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void replaceAll(Collection<Doctor> doctors) {
+		lock.writeLock().lock();
+		try {
+			slots.clear();
+			slotById.clear();
+			live.clear();
+			facets.values().forEach(Map::clear);
+			doctors.forEach(this::put);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Doctors matching every facet filter, sorted by name. A facet with no
+	 * values is not filtered; several values of a facet match any of them.
+	 * availableIds, when not null, restricts the result to those doctors.
+	 */
+	public Result search(Map<Facet, ? extends Collection<String>> filters, Collection<Long> availableIds,
+			int offset, int limit) {
+		lock.readLock().lock();
+		try {
+			Map<Facet, BitSet> perFacet = new EnumMap<>(Facet.class);
+			for (Facet facet : Facet.values()) {
+				Collection<String> values = filters.get(facet);
+				if (values != null && !values.isEmpty()) {
+					perFacet.put(facet, union(facet, values));
+				}
+			}
+			BitSet base = (BitSet) live.clone();
+			if (availableIds != null) {
+				BitSet available = new BitSet();
+				for (Long id : availableIds) {
+					Integer slot = slotById.get(id);
+					if (slot != null) {
+						available.set(slot);
+					}
+				}
+				base.and(available);
+			}
+
+			BitSet matches = (BitSet) base.clone();
+			perFacet.values().forEach(matches::and);
+
+			Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+			for (Facet facet : Facet.values()) {
+				// Count against every filter except this facet's own
+				BitSet others = (BitSet) base.clone();
+				perFacet.forEach((other, bits) -> {
+					if (other != facet) {
+						others.and(bits);
+					}
+				});
+				List<Value> values = new ArrayList<>(facets.get(facet).values());
+				values.sort(Comparator.comparing(v -> v.label, String.CASE_INSENSITIVE_ORDER));
+				Map<String, Integer> valueCounts = new LinkedHashMap<>();
+				for (Value value : values) {
+					BitSet hit = (BitSet) value.slots.clone();
+					hit.and(others);
+					int count = hit.cardinality();
+					if (count > 0) {
+						valueCounts.put(value.label, count);
+					}
+				}
+				counts.put(facet, valueCounts);
+			}
+
+			List<Doctor> doctors = new ArrayList<>(matches.cardinality());
+			for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+				doctors.add(slots.get(slot));
+			}
+			doctors.sort(BY_NAME);
+			List<Doctor> page = doctors.subList(Math.min(offset, doctors.size()),
+					Math.min(doctors.size(), offset + limit));
+			return new Result(doctors.size(), List.copyOf(page), counts);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return slotById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private BitSet union(Facet facet, Collection<String> values) {
+		BitSet bits = new BitSet();
+		Map<String, Value> byKey = facets.get(facet);
+		for (String value : values) {
+			Value indexed = byKey.get(key(value));
+			if (indexed != null) {
+				bits.or(indexed.slots);
+			}
+		}
+		return bits;
+	}
+
+	private void unfile(int slot) {
+		Doctor previous = slots.get(slot);
+		if (previous == null) {
+			return;
+		}
+		for (Facet facet : Facet.values()) {
+			Map<String, Value> byKey = facets.get(facet);
+			String key = key(previous.value(facet));
+			Value value = byKey.get(key);
+			if (value != null) {
+				value.slots.clear(slot);
+				if (value.slots.isEmpty()) {
+					byKey.remove(key);
+				}
+			}
+		}
+	}
+
+	private static final class Value {
+		private final String label;
+		private final BitSet slots = new BitSet();
+
+		private Value(String label) {
+			this.label = label;
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package com.hospital.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Upcoming booked minutes per doctor, grouped by specialization. Each
+ * specialization keeps its doctors in a tree ordered by (minutes, doctor id),
+ * which acts as an updatable min-heap: the least-loaded doctor is the first
+ * element, and a load change is a remove + re-insert, both O(log n). Each
+ * specialization is locked on its own, so bookings in different
+ * specializations never contend.
+ */
+@Component
+public class DoctorLoadIndex {
+
+	private static final Comparator<Load> ORDER = Comparator.comparingLong((Load l) -> l.minutes)
+			.thenComparingLong(l -> l.doctorId);
+
+	private volatile State state = new State();
+
+	// doctor|date|time keys reserved by auto-assignment and not yet seen as bookings
+	private final Set<String> reservations = ConcurrentHashMap.newKeySet();
+
+	public record DoctorSeed(long doctorId, String doctorName, String specialization, long minutes) {
+	}
+
+	/** A doctor's place in the load order; pass the last one back to continue the walk. */
+	public record Ranked(long doctorId, String doctorName, long minutes) {
+	}
+
+	/**
+	 * Replaces the whole index, e.g. after recomputing loads from the database.
+	 * The recomputed loads drop the minutes of open reservations, so the
+	 * reservations go too.
+	 */
+	public void replaceAll(Collection<DoctorSeed> seeds) {
+		State fresh = new State();
+		for (DoctorSeed seed : seeds) {
+			fresh.put(seed);
+		}
+		reservations.clear();
+		state = fresh;
+	}
+
+	public void upsertDoctor(long doctorId, String doctorName, String specialization) {
+		State current = state;
+		Load existing = current.byId.get(doctorId);
+		long minutes = 0;
+		if (existing != null) {
+			minutes = existing.minutes;
+			current.remove(existing);
+		}
+		current.put(new DoctorSeed(doctorId, doctorName, specialization, minutes));
+	}
+
+	public void removeDoctor(long doctorId) {
+		State current = state;
+		Load existing = current.byId.get(doctorId);
+		if (existing != null) {
+			current.remove(existing);
+		}
+	}
+
+	/**
+	 * Moves a doctor's load by deltaMinutes. Unknown doctor names are ignored.
+	 */
+	public void adjust(String doctorName, long deltaMinutes) {
+		State current = state;
+		Load load = current.byName.get(doctorName);
+		if (load == null) {
+			return;
+		}
+		Bucket bucket = current.buckets.get(load.specializationKey);
+		synchronized (bucket) {
+			bucket.heap.remove(load);
+			load.minutes = Math.max(0, load.minutes + deltaMinutes);
+			bucket.heap.add(load);
+		}
+	}
+
+	/**
+	 * Up to limit of the specialization's doctors from least to most loaded,
+	 * starting after the given one (or at the head when it is null). Each call
+	 * costs O(log n + limit), so a caller walking from the head pays only for
+	 * the doctors it looks at. Loads may move between calls, so a walk can
+	 * see a doctor twice or miss one whose load just dropped past the cursor.
+	 */
+	public List<Ranked> byLoad(String specialization, Ranked after, int limit) {
+		Bucket bucket = state.buckets.get(key(specialization));
+		if (bucket == null) {
+			return List.of();
+		}
+		List<Ranked> ranked = new ArrayList<>(limit);
+		synchronized (bucket) {
+			Iterable<Load> from = bucket.heap;
+			if (after != null) {
+				Load cursor = new Load(new DoctorSeed(after.doctorId(), after.doctorName(), null, after.minutes()));
+				from = bucket.heap.tailSet(cursor, false);
+			}
+			for (Load load : from) {
+				if (ranked.size() == limit) {
+					break;
+				}
+				ranked.add(new Ranked(load.doctorId, load.doctorName, load.minutes));
+			}
+		}
+		return ranked;
+	}
+
+	/**
+	 * Claims a slot for a doctor and counts its minutes right away, so
+	 * concurrent requests see the new load before the booking is written.
+	 * Returns false if another request already holds this exact slot.
+	 */
+	public boolean reserve(String doctorName, String date, String time, long minutes) {
+		if (!reservations.add(slotKey(doctorName, date, time))) {
+			return false;
+		}
+		adjust(doctorName, minutes);
+		return true;
+	}
+
+	public void release(String doctorName, String date, String time, long minutes) {
+		if (reservations.remove(slotKey(doctorName, date, time))) {
+			adjust(doctorName, -minutes);
+		}
+	}
+
+	/**
+	 * True if the booking was reserved through {@link #reserve}, meaning its
+	 * minutes are already counted.
+	 */
+	public boolean consumeReservation(String doctorName, String date, String time) {
+		return reservations.remove(slotKey(doctorName, date, time));
+	}
+
+	public long minutesFor(String doctorName) {
+		Load load = state.byName.get(doctorName);
+		return load == null ? 0 : load.minutes;
+	}
+
+	private static String key(String specialization) {
+		return specialization == null ? "" : specialization.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static String slotKey(String doctorName, String date, String time) {
+		return doctorName + '|' + date + '|' + time;
+	}
+
+	private static final class Load {
+		private final long doctorId;
+		private final String doctorName;
+		private final String specializationKey;
+		private long minutes;
+
+		private Load(DoctorSeed seed) {
+			this.doctorId = seed.doctorId();
+			this.doctorName = seed.doctorName();
+			this.specializationKey = key(seed.specialization());
+			this.minutes = seed.minutes();
+		}
+	}
+
+	private static final class Bucket {
+		private final TreeSet<Load> heap = new TreeSet<>(ORDER);
+	}
+
+	private static final class State {
+		private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+		private final Map<Long, Load> byId = new ConcurrentHashMap<>();
+		private final Map<String, Load> byName = new ConcurrentHashMap<>();
+
+		private void put(DoctorSeed seed) {
+			Load load = new Load(seed);
+			Bucket bucket = buckets.computeIfAbsent(load.specializationKey, k -> new Bucket());
+			synchronized (bucket) {
+				bucket.heap.add(load);
+			}
+			byId.put(load.doctorId, load);
+			byName.put(load.doctorName, load);
+		}
+
+		private void remove(Load load) {
+			Bucket bucket = buckets.get(load.specializationKey);
+			if (bucket != null) {
+				synchronized (bucket) {
+					bucket.heap.remove(load);
+				}
+			}
+			byId.remove(load.doctorId, load);
+			byName.remove(load.doctorName, load);
+		}
+	}
+}
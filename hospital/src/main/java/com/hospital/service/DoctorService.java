@@ -1,11 +1,13 @@
 package com.hospital.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.hospital.dto.request.DoctorRequest;
 import com.hospital.dto.request.PrescriptionRequest;
 import com.hospital.dto.response.DoctorNameResponse;
 import com.hospital.dto.response.DoctorResponse;
+import com.hospital.dto.response.DoctorSearchResponse;
 import com.hospital.dto.response.PrescriptionResponse;
 
 public interface DoctorService {
@@ -22,6 +24,11 @@ public interface DoctorService {
 
 	public List<DoctorNameResponse> fetchAllDoctorNames();
 
+	// 🔹 Filter doctors by facet values (any of several per facet) and by a free
+	// slot on a date, with per-value counts for each facet
+	public DoctorSearchResponse searchDoctors(List<String> specializations, List<String> cities, List<String> states,
+			List<String> genders, LocalDate availableOn, int page, int size);
+
 	public PrescriptionResponse createPrescription(PrescriptionRequest request);
 
 }
\ No newline at end of file
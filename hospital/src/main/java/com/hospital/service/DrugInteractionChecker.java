@@ -0,0 +1,219 @@
+package com.hospital.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.hospital.dto.response.InteractionWarning;
+import com.hospital.enums.InteractionSeverity;
+
+/**
+ * Pairwise drug interaction lookups against a static dataset.
+ * <p>
+ * Drugs are identified by their normalized key (see
+ * {@link MedicineNameNormalizer}) and mapped to dense int ids. The
+ * interaction graph is stored as a compressed adjacency list: one sorted
+ * partner array shared by all drugs, sliced by an offsets array. Checking a
+ * pair is a binary search over the smaller of the two slices and allocates
+ * nothing, so a prescription of ten drugs against a dozen active ones costs a
+ * few microseconds even with tens of thousands of drugs loaded.
+ */
+@Component
+public class DrugInteractionChecker {
+
+	private static final Logger logger = LoggerFactory.getLogger(DrugInteractionChecker.class);
+
+	public record InteractionRule(String drugA, String drugB, InteractionSeverity severity, String description) {
+	}
+
+	private final Map<String, Integer> drugIds;
+	private final int[] offsets;
+	private final int[] partners;
+	private final int[] ruleRefs;
+	private final InteractionRule[] rules;
+
+	@Autowired
+	public DrugInteractionChecker(
+			@Value("${prescriptions.interactions.dataset:classpath:interactions/drug-interactions.csv}") Resource dataset)
+			throws IOException {
+		this(readRules(dataset));
+		logger.info("Loaded {} drug interactions covering {} drugs", rules.length, drugIds.size());
+	}
+
+	public DrugInteractionChecker(Collection<InteractionRule> source) {
+		Map<String, Integer> ids = new HashMap<>();
+		Map<Long, Integer> pairToRule = new HashMap<>();
+		List<InteractionRule> kept = new ArrayList<>();
+
+		for (InteractionRule rule : source) {
+			String a = MedicineNameNormalizer.drugKey(rule.drugA());
+			String b = MedicineNameNormalizer.drugKey(rule.drugB());
+			if (a.isEmpty() || b.isEmpty() || a.equals(b)) {
+				continue;
+			}
+			int idA = ids.computeIfAbsent(a, k -> ids.size());
+			int idB = ids.computeIfAbsent(b, k -> ids.size());
+			long pair = pairKey(idA, idB);
+			Integer existing = pairToRule.get(pair);
+			if (existing == null) {
+				pairToRule.put(pair, kept.size());
+				kept.add(rule);
+			} else if (rule.severity().compareTo(kept.get(existing).severity()) > 0) {
+				// Duplicate pairs keep the most severe entry
+				kept.set(existing, rule);
+			}
+		}
+
+		int drugCount = ids.size();
+		int[] degree = new int[drugCount + 1];
+		for (long pair : pairToRule.keySet()) {
+			degree[(int) (pair >>> 32)]++;
+			degree[(int) pair]++;
+		}
+		int[] starts = new int[drugCount + 1];
+		for (int i = 0; i < drugCount; i++) {
+			starts[i + 1] = starts[i] + degree[i];
+		}
+
+		// Pack (partner, rule) into one long so each slice sorts by partner in place
+		long[] packed = new long[starts[drugCount]];
+		int[] fill = Arrays.copyOf(starts, drugCount);
+		for (Map.Entry<Long, Integer> entry : pairToRule.entrySet()) {
+			int low = (int) (entry.getKey() >>> 32);
+			int high = (int) (long) entry.getKey();
+			packed[fill[low]++] = ((long) high << 32) | entry.getValue();
+			packed[fill[high]++] = ((long) low << 32) | entry.getValue();
+		}
+		int[] partnerArray = new int[packed.length];
+		int[] ruleArray = new int[packed.length];
+		for (int i = 0; i < drugCount; i++) {
+			Arrays.sort(packed, starts[i], starts[i + 1]);
+		}
+		for (int i = 0; i < packed.length; i++) {
+			partnerArray[i] = (int) (packed[i] >>> 32);
+			ruleArray[i] = (int) packed[i];
+		}
+
+		this.drugIds = Map.copyOf(ids);
+		this.offsets = starts;
+		this.partners = partnerArray;
+		this.ruleRefs = ruleArray;
+		this.rules = kept.toArray(new InteractionRule[0]);
+	}
+
+	/**
+	 * Checks every pair within the new prescription and every new drug against
+	 * the patient's active medicines. Unknown names are skipped. Warnings come
+	 * back most severe first.
+	 */
+	public List<InteractionWarning> check(Collection<String> prescribed, Collection<String> active) {
+		Map<Integer, String> newDrugs = resolve(prescribed);
+		Map<Integer, String> activeDrugs = resolve(active);
+		activeDrugs.keySet().removeAll(newDrugs.keySet());
+
+		List<InteractionWarning> warnings = new ArrayList<>();
+		int[] newIds = newDrugs.keySet().stream().mapToInt(Integer::intValue).toArray();
+		for (int i = 0; i < newIds.length; i++) {
+			for (int j = i + 1; j < newIds.length; j++) {
+				addIfInteracting(warnings, newIds[i], newDrugs.get(newIds[i]), newIds[j], newDrugs.get(newIds[j]),
+						false);
+			}
+			for (Map.Entry<Integer, String> current : activeDrugs.entrySet()) {
+				addIfInteracting(warnings, newIds[i], newDrugs.get(newIds[i]), current.getKey(), current.getValue(),
+						true);
+			}
+		}
+		warnings.sort(Comparator.comparing((InteractionWarning w) -> InteractionSeverity.valueOf(w.getSeverity()))
+				.reversed());
+		return warnings;
+	}
+
+	public int drugCount() {
+		return drugIds.size();
+	}
+
+	private void addIfInteracting(List<InteractionWarning> warnings, int idA, String nameA, int idB, String nameB,
+			boolean fromActive) {
+		int rule = find(idA, idB);
+		if (rule >= 0) {
+			InteractionRule found = rules[rule];
+			warnings.add(new InteractionWarning(nameA, nameB, found.severity().name(), found.description(), fromActive));
+		}
+	}
+
+	private int find(int idA, int idB) {
+		int sizeA = offsets[idA + 1] - offsets[idA];
+		int sizeB = offsets[idB + 1] - offsets[idB];
+		int owner = sizeA <= sizeB ? idA : idB;
+		int target = owner == idA ? idB : idA;
+		int index = Arrays.binarySearch(partners, offsets[owner], offsets[owner + 1], target);
+		return index >= 0 ? ruleRefs[index] : -1;
+	}
+
+	private Map<Integer, String> resolve(Collection<String> names) {
+		Map<Integer, String> resolved = new LinkedHashMap<>();
+		if (names == null) {
+			return resolved;
+		}
+		for (String name : names) {
+			Integer id = drugIds.get(MedicineNameNormalizer.drugKey(name));
+			if (id != null) {
+				resolved.putIfAbsent(id, name);
+			}
+		}
+		return resolved;
+	}
+
+	private static long pairKey(int a, int b) {
+		return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+	}
+
+	/**
+	 * Reads "drug_a,drug_b,severity,description" lines; the description may
+	 * itself contain commas. Blank lines, '#' comments and the header are
+	 * skipped.
+	 */
+	public static List<InteractionRule> readRules(Resource dataset) throws IOException {
+		List<InteractionRule> rules = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(dataset.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank() || line.startsWith("#") || line.startsWith("drug_a,")) {
+					continue;
+				}
+				String[] parts = line.split(",", 4);
+				if (parts.length < 3) {
+					logger.warn("Skipping malformed interaction line {}: {}", lineNumber, line);
+					continue;
+				}
+				try {
+					InteractionSeverity severity = InteractionSeverity.valueOf(parts[2].trim().toUpperCase());
+					rules.add(new InteractionRule(parts[0].trim(), parts[1].trim(), severity,
+							parts.length > 3 ? parts[3].trim() : ""));
+				} catch (IllegalArgumentException e) {
+					logger.warn("Skipping interaction line {} with unknown severity: {}", lineNumber, parts[2]);
+				}
+			}
+		}
+		return rules;
+	}
+}
@@ -0,0 +1,69 @@
+package com.hospital.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.hospital.entity.User;
+
+/**
+ * Who an email belongs to: the account, its role and the id of the patient,
+ * doctor or staff profile behind it (null for admins and for accounts whose
+ * profile was deleted). Reads never lock, so the auth and profile paths can
+ * resolve an email without touching the database. Emails are keyed in their
+ * canonical form.
+ */
+@Component
+public class EmailIdentityIndex {
+
+	public record Identity(long userId, String role, Long profileId) {
+	}
+
+	private final Map<String, Identity> identities = new ConcurrentHashMap<>();
+
+	public Optional<Identity> find(String email) {
+		String key = User.canonicalEmail(email);
+		return key == null ? Optional.empty() : Optional.ofNullable(identities.get(key));
+	}
+
+	public void put(String email, Identity identity) {
+		identities.put(User.canonicalEmail(email), identity);
+	}
+
+	/**
+	 * Files an account, keeping the profile already linked to the same account.
+	 */
+	public void putUser(String email, long userId, String role) {
+		identities.compute(User.canonicalEmail(email), (key, current) -> new Identity(userId, role,
+				current != null && current.userId() == userId ? current.profileId() : null));
+	}
+
+	/**
+	 * Links a profile to the account with the same email, when there is one.
+	 */
+	public void putProfile(String email, long profileId) {
+		identities.computeIfPresent(User.canonicalEmail(email),
+				(key, current) -> new Identity(current.userId(), current.role(), profileId));
+	}
+
+	public void removeProfile(String email, long profileId) {
+		identities.computeIfPresent(User.canonicalEmail(email),
+				(key, current) -> current.profileId() != null && current.profileId() == profileId
+						? new Identity(current.userId(), current.role(), null)
+						: current);
+	}
+
+	public void remove(String email) {
+		identities.remove(User.canonicalEmail(email));
+	}
+
+	public void clear() {
+		identities.clear();
+	}
+
+	public int size() {
+		return identities.size();
+	}
+}
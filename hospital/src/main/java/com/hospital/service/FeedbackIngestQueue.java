@@ -0,0 +1,223 @@
+package com.hospital.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hospital.entity.Feedback;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for public feedback. Submissions are checked against a
+ * per-client token bucket and a duplicate window, then parked in a bounded
+ * queue that one background thread flushes in batches, when a batch fills
+ * or the flush interval passes. Feedback spikes therefore hold at most one
+ * database connection, and a full queue is reported to the caller instead
+ * of blocking request threads.
+ */
+@Component
+public class FeedbackIngestQueue {
+
+	public enum Outcome {
+		ACCEPTED, DUPLICATE, RATE_LIMITED, QUEUE_FULL
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(FeedbackIngestQueue.class);
+
+	private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+	private record Bucket(double tokens, long refilledAtNanos) {
+	}
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Value("${feedback.ingest.queue-capacity:5000}")
+	private int queueCapacity;
+
+	@Value("${feedback.ingest.batch-size:200}")
+	private int batchSize;
+
+	@Value("${feedback.ingest.flush-interval-ms:500}")
+	private long flushIntervalMillis;
+
+	@Value("${feedback.ingest.rate-limit.per-minute:10}")
+	private double ratePerMinute;
+
+	@Value("${feedback.ingest.rate-limit.burst:5}")
+	private double burst;
+
+	@Value("${feedback.ingest.dedup-window-seconds:600}")
+	private long dedupWindowSeconds;
+
+	private BlockingQueue<Feedback> queue;
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final Map<UUID, Long> recentSubmissions = new ConcurrentHashMap<>();
+	private volatile boolean running;
+	private Thread flusher;
+
+	@PostConstruct
+	public void start() {
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		running = true;
+		flusher = new Thread(this::flushLoop, "feedback-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * Flushes whatever is still queued before the datasource goes away. The
+	 * flusher is left to finish its current batch, retries included, and only
+	 * interrupted if it does not stop in time.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		flusher.join(TimeUnit.SECONDS.toMillis(10));
+		if (flusher.isAlive()) {
+			logger.warn("Feedback flusher did not stop in time, interrupting it");
+			flusher.interrupt();
+			flusher.join(TimeUnit.SECONDS.toMillis(1));
+		}
+		List<Feedback> rest = new ArrayList<>();
+		queue.drainTo(rest);
+		for (int from = 0; from < rest.size(); from += batchSize) {
+			flush(new ArrayList<>(rest.subList(from, Math.min(rest.size(), from + batchSize))));
+		}
+	}
+
+	/**
+	 * Validates and queues one submission. Throws IllegalArgumentException for
+	 * invalid feedback; every other outcome is returned.
+	 */
+	public Outcome submit(Feedback feedback, String clientKey) {
+		feedbackService.validate(feedback);
+		feedback.setId(null);
+		if (!tryAcquire(clientKey)) {
+			return Outcome.RATE_LIMITED;
+		}
+		long now = System.nanoTime();
+		UUID fingerprint = fingerprint(feedback);
+		Long seenAt = recentSubmissions.putIfAbsent(fingerprint, now);
+		if (seenAt != null) {
+			if (now - seenAt < TimeUnit.SECONDS.toNanos(dedupWindowSeconds)) {
+				return Outcome.DUPLICATE;
+			}
+			recentSubmissions.put(fingerprint, now);
+		}
+		if (!queue.offer(feedback)) {
+			recentSubmissions.remove(fingerprint, now);
+			return Outcome.QUEUE_FULL;
+		}
+		return Outcome.ACCEPTED;
+	}
+
+	public int queuedCount() {
+		return queue.size();
+	}
+
+	// Drops idle buckets and expired fingerprints so both maps stay bounded
+	@Scheduled(fixedDelay = 60_000)
+	public void evictExpired() {
+		long now = System.nanoTime();
+		long dedupWindow = TimeUnit.SECONDS.toNanos(dedupWindowSeconds);
+		recentSubmissions.values().removeIf(seenAt -> now - seenAt >= dedupWindow);
+		buckets.entrySet().removeIf(e -> refill(e.getValue(), now).tokens() >= burst);
+	}
+
+	private boolean tryAcquire(String clientKey) {
+		boolean[] granted = new boolean[1];
+		buckets.compute(clientKey, (key, bucket) -> {
+			long now = System.nanoTime();
+			Bucket current = bucket == null ? new Bucket(burst, now) : refill(bucket, now);
+			granted[0] = current.tokens() >= 1;
+			return granted[0] ? new Bucket(current.tokens() - 1, now) : current;
+		});
+		return granted[0];
+	}
+
+	private Bucket refill(Bucket bucket, long now) {
+		double earned = (now - bucket.refilledAtNanos()) * ratePerMinute / TimeUnit.MINUTES.toNanos(1);
+		return new Bucket(Math.min(burst, bucket.tokens() + earned), now);
+	}
+
+	private static UUID fingerprint(Feedback feedback) {
+		String key = String.join("\u0000", normalize(feedback.getEmail()), normalize(feedback.getDoctor()),
+				String.valueOf(feedback.getDoctorId()), String.valueOf(feedback.getRating()),
+				normalize(feedback.getComments()));
+		return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+
+	private void flushLoop() {
+		while (running) {
+			try {
+				Feedback first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				List<Feedback> batch = new ArrayList<>(batchSize);
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long wait = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || wait <= 0) {
+						break;
+					}
+					Feedback next = queue.poll(wait, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				flush(batch);
+			} catch (InterruptedException e) {
+				// Only interrupted when stop() gave up waiting; it drains the remainder
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void flush(List<Feedback> batch) {
+		for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+			try {
+				feedbackService.saveBatch(batch);
+				return;
+			} catch (RuntimeException e) {
+				if (attempt == MAX_FLUSH_ATTEMPTS) {
+					logger.error("Dropping {} feedback submissions after {} failed flushes", batch.size(), attempt, e);
+					return;
+				}
+				logger.warn("Feedback flush of {} submissions failed, retrying", batch.size(), e);
+				// Ids from the failed attempt were rolled back
+				batch.forEach(f -> f.setId(null));
+				try {
+					Thread.sleep(flushIntervalMillis * attempt);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+}
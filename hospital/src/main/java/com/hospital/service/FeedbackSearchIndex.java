@@ -0,0 +1,214 @@
+package com.hospital.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Inverted index over feedback comments: each token maps to the ascending
+ * ids of the feedback that contains it, and each id keeps the few fields the
+ * listing filters on. A keyword search intersects the postings newest first,
+ * filters in memory and only the requested page is then read from the
+ * database. Feedback rows are never deleted; add replaces an entry's fields
+ * when its id is already indexed (a rescored comment), and a reload clears
+ * and refills the index.
+ */
+@Component
+public class FeedbackSearchIndex {
+
+	/**
+	 * Indexed fields of one feedback row; sentiment is NaN when unscored.
+	 */
+	public record Entry(long id, Long doctorId, int rating, LocalDate date, float sentiment) {
+	}
+
+	/**
+	 * Listing filters; null bounds are open. Dates are inclusive.
+	 */
+	public record Filter(Long doctorId, int minRating, int maxRating, LocalDate from, LocalDate to,
+			Double maxSentiment) {
+
+		boolean matches(Entry entry) {
+			if (maxSentiment != null && !(entry.sentiment() <= maxSentiment)) {
+				return false;
+			}
+			if (doctorId != null && !doctorId.equals(entry.doctorId())) {
+				return false;
+			}
+			if (entry.rating() < minRating || entry.rating() > maxRating) {
+				return false;
+			}
+			if (from != null && (entry.date() == null || entry.date().isBefore(from))) {
+				return false;
+			}
+			return to == null || (entry.date() != null && !entry.date().isAfter(to));
+		}
+	}
+
+	public record Hits(long total, List<Long> ids) {
+	}
+
+	private static final Set<String> STOP_WORDS = Set.of("a", "an", "the", "and", "or", "of", "to", "in", "on",
+			"at", "for", "with", "is", "was", "were", "be", "been", "it", "this", "that", "i", "my", "me", "we",
+			"our", "you", "he", "she", "they", "them", "his", "her", "its", "as", "by", "from", "are", "am", "so");
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Postings> postings = new HashMap<>();
+	private final Map<Long, Entry> entries = new HashMap<>();
+
+	/**
+	 * Lower-cased words of the text without stop words, each once, in order.
+	 */
+	public static List<String> tokenize(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		Set<String> tokens = new LinkedHashSet<>();
+		for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+				tokens.add(token);
+			}
+		}
+		return new ArrayList<>(tokens);
+	}
+
+	/**
+	 * Indexes one feedback row. Adding an id again only refreshes its fields,
+	 * so a reload can overlap with live submissions.
+	 */
+	public void add(Entry entry, String comments) {
+		List<String> tokens = tokenize(comments);
+		lock.writeLock().lock();
+		try {
+			if (entries.put(entry.id(), entry) != null) {
+				return;
+			}
+			for (String token : tokens) {
+				postings.computeIfAbsent(token, t -> new Postings()).add(entry.id());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			entries.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Feedback containing every query word and passing the filter, newest
+	 * first or most negative first. Returns the total match count and the ids
+	 * of one page.
+	 */
+	public Hits search(String query, Filter filter, boolean mostNegativeFirst, int offset, int limit) {
+		List<String> terms = tokenize(query);
+		if (terms.isEmpty()) {
+			return new Hits(0, List.of());
+		}
+		lock.readLock().lock();
+		try {
+			Postings[] lists = new Postings[terms.size()];
+			for (int i = 0; i < lists.length; i++) {
+				lists[i] = postings.get(terms.get(i));
+				if (lists[i] == null) {
+					return new Hits(0, List.of());
+				}
+			}
+			// Walk the rarest word and probe the others
+			Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+			Postings driver = lists[0];
+
+			if (mostNegativeFirst) {
+				List<Entry> matches = new ArrayList<>();
+				for (int i = driver.size - 1; i >= 0; i--) {
+					Entry entry = entries.get(driver.ids[i]);
+					if (containedInAll(lists, entry.id()) && filter.matches(entry)) {
+						matches.add(entry);
+					}
+				}
+				// Stable sort keeps newest first among equal scores; unscored last
+				matches.sort(Comparator.comparingDouble(e -> Float.isNaN(e.sentiment()) ? 2f : e.sentiment()));
+				List<Long> page = matches.stream().skip(offset).limit(limit).map(Entry::id).toList();
+				return new Hits(matches.size(), page);
+			}
+
+			long total = 0;
+			List<Long> page = new ArrayList<>(Math.min(limit, 100));
+			for (int i = driver.size - 1; i >= 0; i--) {
+				long id = driver.ids[i];
+				if (!containedInAll(lists, id) || !filter.matches(entries.get(id))) {
+					continue;
+				}
+				if (total >= offset && page.size() < limit) {
+					page.add(id);
+				}
+				total++;
+			}
+			return new Hits(total, page);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static boolean containedInAll(Postings[] lists, long id) {
+		for (int i = 1; i < lists.length; i++) {
+			if (!lists[i].contains(id)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Postings {
+		private long[] ids = new long[4];
+		private int size;
+
+		void add(long id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			if (size == 0 || ids[size - 1] < id) {
+				ids[size++] = id;
+				return;
+			}
+			// Out-of-order id from a reload racing a live submission
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at >= 0) {
+				return;
+			}
+			at = -at - 1;
+			System.arraycopy(ids, at, ids, at + 1, size - at);
+			ids[at] = id;
+			size++;
+		}
+
+		boolean contains(long id) {
+			return Arrays.binarySearch(ids, 0, size, id) >= 0;
+		}
+	}
+}
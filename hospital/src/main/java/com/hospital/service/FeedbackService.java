@@ -1,33 +1,504 @@
 package com.hospital.service;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.hospital.entity.Doctor;
+import com.hospital.dto.response.DoctorRatingResponse;
+import com.hospital.dto.response.FeedbackPageResponse;
+import com.hospital.dto.response.FeedbackSnippet;
+import com.hospital.dto.response.FeedbackSummaryResponse;
+import com.hospital.dto.response.LeaderboardEntry;
+import com.hospital.dto.response.RatingRebuildResponse;
+import com.hospital.dto.response.SentimentBackfillResponse;
+import com.hospital.entity.DoctorRating;
 import com.hospital.entity.Feedback;
+import com.hospital.event.AfterCommit;
+import com.hospital.repository.DoctorRatingRepository;
+import com.hospital.repository.DoctorRatingRepository.RankedDoctorView;
+import com.hospital.repository.DoctorRatingRepository.RatingTotalsView;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.DoctorRepository.DoctorNameView;
 import com.hospital.repository.FeedbackRepository;
-
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
+import com.hospital.repository.FeedbackRepository.FeedbackIndexView;
+import com.hospital.service.FeedbackSearchIndex.Entry;
+import com.hospital.service.FeedbackSearchIndex.Filter;
+import com.hospital.service.FeedbackSearchIndex.Hits;
 
 @Service
 public class FeedbackService {
 
+	private static final Logger logger = LoggerFactory.getLogger(FeedbackService.class);
+
+	private static final int MAX_LEADERBOARD_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final int INDEX_LOAD_PAGE_SIZE = 1000;
+	private static final int SUMMARY_DOCTORS = 5;
+	private static final int SUMMARY_RECENT = 10;
+	private static final int EXCERPT_LENGTH = 160;
+	private static final int MAX_COMMENT_LENGTH = 1000;
+	private static final String INSERT_FEEDBACK_SQL = "INSERT INTO feedback (name, email, phone, doctor, doctor_id, "
+			+ "rating, comments, created_at, sentiment) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	// Assignments apply left to right, so the average uses the updated sum and count
+	private static final String ADD_RATINGS_SQL = "INSERT INTO doctor_ratings (doctor_id, rating_count, rating_sum, "
+			+ "average_rating, stars_1, stars_2, stars_3, stars_4, stars_5, sentiment_count, sentiment_sum, "
+			+ "negative_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE rating_count = rating_count + VALUES(rating_count), "
+			+ "rating_sum = rating_sum + VALUES(rating_sum), "
+			+ "average_rating = IF(rating_count = 0, 0, rating_sum / rating_count), "
+			+ "stars_1 = stars_1 + VALUES(stars_1), stars_2 = stars_2 + VALUES(stars_2), "
+			+ "stars_3 = stars_3 + VALUES(stars_3), stars_4 = stars_4 + VALUES(stars_4), "
+			+ "stars_5 = stars_5 + VALUES(stars_5), sentiment_count = sentiment_count + VALUES(sentiment_count), "
+			+ "sentiment_sum = sentiment_sum + VALUES(sentiment_sum), "
+			+ "negative_count = negative_count + VALUES(negative_count)";
+	private static final String SENTIMENT_PAGE_SQL = "SELECT id, comments FROM feedback WHERE id > ? "
+			+ "AND comments IS NOT NULL ORDER BY id LIMIT ?";
+	private static final String UNSCORED_PAGE_SQL = "SELECT id, comments FROM feedback WHERE id > ? "
+			+ "AND comments IS NOT NULL AND sentiment IS NULL ORDER BY id LIMIT ?";
+	private static final String UPDATE_SENTIMENT_SQL = "UPDATE feedback SET sentiment = ? WHERE id = ?";
+	private static final int SENTIMENT_PAGE_SIZE = 5000;
+	// Comments per fork-join leaf; scoring one takes microseconds
+	private static final int SENTIMENT_LEAF_SIZE = 256;
+	private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+	private static final Sort MOST_NEGATIVE_FIRST = Sort.by(Sort.Order.asc("sentiment"), Sort.Order.desc("id"));
+
+	private record CachedSummary(FeedbackSummaryResponse summary, long expiresAtMillis) {
+	}
+
+	/** Increments for one doctor's doctor_ratings row. */
+	private static final class RatingTotals {
+		long count;
+		long sum;
+		final long[] stars = new long[5];
+		long scored;
+		double sentimentSum;
+		long negative;
+	}
+
 	@Autowired
 	private FeedbackRepository feedbackRepository;
 
-	public Feedback saveFeedback(Feedback feedback) {
-		return feedbackRepository.save(feedback);
+	@Autowired
+	private DoctorRatingRepository doctorRatingRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private FeedbackSearchIndex searchIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SentimentAnalyzer sentimentAnalyzer;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${feedback.sentiment.backfill-threads:0}")
+	private int sentimentThreads;
+
+	private final AtomicBoolean sentimentBackfillRunning = new AtomicBoolean();
+
+	@Value("${feedback.leaderboard.min-ratings:3}")
+	private long leaderboardMinRatings;
+
+	@Value("${feedback.summary.cache-seconds:60}")
+	private long summaryCacheSeconds;
+
+	private volatile CachedSummary cachedSummary;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadSearchIndex() {
+		searchIndex.clear();
+		long afterId = 0;
+		List<FeedbackIndexView> page;
+		do {
+			page = feedbackRepository.findIndexPage(afterId, PageRequest.of(0, INDEX_LOAD_PAGE_SIZE));
+			for (FeedbackIndexView row : page) {
+				searchIndex.add(toIndexEntry(row.getId(), row.getDoctorId(), row.getRating(), row.getCreatedAt(),
+						row.getSentiment()), row.getComments());
+				afterId = row.getId();
+			}
+		} while (page.size() == INDEX_LOAD_PAGE_SIZE);
+		logger.info("Feedback search index loaded with {} entries", searchIndex.size());
 	}
 
-	public List<Feedback> getAllFeedback() {
-		return feedbackRepository.findAll();
+	public void validate(Feedback feedback) {
+		// 0 means the patient left a comment without a rating
+		if (feedback.getRating() < 0 || feedback.getRating() > 5) {
+			throw new IllegalArgumentException("Rating must be between 0 (no rating) and 5");
+		}
+		if (feedback.getComments() != null && feedback.getComments().length() > MAX_COMMENT_LENGTH) {
+			throw new IllegalArgumentException("Comments cannot exceed " + MAX_COMMENT_LENGTH + " characters");
+		}
 	}
 
-	@ManyToOne
-	@JoinColumn(name = "doctor_id")
-	private Doctor doctor;
+	/**
+	 * 📦 Scores and writes validated feedback with one JDBC batch insert and
+	 * folds ratings and sentiment into the per-doctor totals with one batched
+	 * upsert per doctor, all in one transaction. Doctor names resolve against
+	 * a single read of the doctor list. The ids are set on the passed objects.
+	 */
+	@Transactional
+	public void saveBatch(List<Feedback> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		Map<String, Long> idsByName = new HashMap<>();
+		Set<Long> doctorIds = new HashSet<>();
+		for (DoctorNameView doctor : doctorRepository.findAllNameViews()) {
+			doctorIds.add(doctor.getId());
+			// Ambiguous names map to null rather than credit the wrong doctor
+			idsByName.merge(DoctorAssignmentService.displayName(doctor.getFirstName(), doctor.getLastName(),
+					doctor.getSpecialization()), doctor.getId(), (a, b) -> null);
+		}
+		LocalDateTime now = LocalDateTime.now();
+		for (Feedback feedback : batch) {
+			Long doctorId = feedback.getDoctorId();
+			if (doctorId == null || !doctorIds.contains(doctorId)) {
+				doctorId = feedback.getDoctor() == null ? null : idsByName.get(feedback.getDoctor().trim());
+			}
+			feedback.setDoctorId(doctorId);
+			if (feedback.getCreatedAt() == null) {
+				feedback.setCreatedAt(now);
+			}
+			feedback.setSentiment(sentimentAnalyzer.score(feedback.getComments()));
+		}
+
+		insertFeedback(batch);
+
+		Map<Long, RatingTotals> totals = new HashMap<>();
+		for (Feedback feedback : batch) {
+			boolean rated = feedback.getRating() > 0;
+			if (feedback.getDoctorId() == null || (!rated && feedback.getSentiment() == null)) {
+				continue;
+			}
+			RatingTotals t = totals.computeIfAbsent(feedback.getDoctorId(), k -> new RatingTotals());
+			if (rated) {
+				t.count++;
+				t.sum += feedback.getRating();
+				t.stars[feedback.getRating() - 1]++;
+			}
+			if (feedback.getSentiment() != null) {
+				t.scored++;
+				t.sentimentSum += feedback.getSentiment();
+				if (SentimentAnalyzer.isNegative(feedback.getSentiment())) {
+					t.negative++;
+				}
+			}
+		}
+		List<Map.Entry<Long, RatingTotals>> rows = new ArrayList<>(totals.entrySet());
+		jdbcTemplate.batchUpdate(ADD_RATINGS_SQL, rows, rows.size(), (ps, row) -> {
+			RatingTotals t = row.getValue();
+			ps.setLong(1, row.getKey());
+			ps.setLong(2, t.count);
+			ps.setLong(3, t.sum);
+			ps.setDouble(4, t.count == 0 ? 0 : (double) t.sum / t.count);
+			for (int star = 0; star < 5; star++) {
+				ps.setLong(5 + star, t.stars[star]);
+			}
+			ps.setLong(10, t.scored);
+			ps.setDouble(11, t.sentimentSum);
+			ps.setLong(12, t.negative);
+		});
 
+		List<Feedback> saved = List.copyOf(batch);
+		AfterCommit.run(() -> saved.forEach(f -> searchIndex.add(
+				toIndexEntry(f.getId(), f.getDoctorId(), f.getRating(), f.getCreatedAt(), f.getSentiment()),
+				f.getComments())));
+	}
+
+	private void insertFeedback(List<Feedback> batch) {
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(INSERT_FEEDBACK_SQL,
+					Statement.RETURN_GENERATED_KEYS)) {
+				for (Feedback feedback : batch) {
+					ps.setString(1, feedback.getName());
+					ps.setString(2, feedback.getEmail());
+					ps.setString(3, feedback.getPhone());
+					ps.setString(4, feedback.getDoctor());
+					if (feedback.getDoctorId() != null) {
+						ps.setLong(5, feedback.getDoctorId());
+					} else {
+						ps.setNull(5, Types.BIGINT);
+					}
+					ps.setInt(6, feedback.getRating());
+					ps.setString(7, feedback.getComments());
+					ps.setTimestamp(8, Timestamp.valueOf(feedback.getCreatedAt()));
+					if (feedback.getSentiment() != null) {
+						ps.setDouble(9, feedback.getSentiment());
+					} else {
+						ps.setNull(9, Types.DOUBLE);
+					}
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				try (ResultSet keys = ps.getGeneratedKeys()) {
+					for (Feedback feedback : batch) {
+						if (!keys.next()) {
+							throw new SQLException("Missing generated key for feedback batch");
+						}
+						feedback.setId(keys.getLong(1));
+					}
+				}
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * 🔎 Admin listing with optional filters, newest first or most negative
+	 * first. A keyword query is answered by the comment index and only the
+	 * page's rows are read; without one the filters run in the database.
+	 */
+	public FeedbackPageResponse searchFeedback(Long doctorId, Integer minRating, Integer maxRating, LocalDate from,
+			LocalDate to, Double maxSentiment, String query, boolean mostNegativeFirst, int page, int size) {
+		if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+		}
+		int min = minRating == null ? 0 : minRating;
+		int max = maxRating == null ? 5 : maxRating;
+		if (min < 0 || max > 5 || min > max) {
+			throw new IllegalArgumentException("Rating range must lie within 0-5");
+		}
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("From date must not be after to date");
+		}
+
+		if (mostNegativeFirst && maxSentiment == null) {
+			// Sentiment order lists scored comments only
+			maxSentiment = 1.0;
+		}
+
+		if (query == null || query.isBlank()) {
+			Page<Feedback> result = feedbackRepository.search(doctorId, min, max,
+					from == null ? null : from.atStartOfDay(), to == null ? null : to.plusDays(1).atStartOfDay(),
+					maxSentiment, PageRequest.of(page, size, mostNegativeFirst ? MOST_NEGATIVE_FIRST : NEWEST_FIRST));
+			return new FeedbackPageResponse(result.getContent(), page, size, result.getTotalElements(),
+					result.hasNext());
+		}
+
+		Hits hits = searchIndex.search(query, new Filter(doctorId, min, max, from, to, maxSentiment),
+				mostNegativeFirst, page * size, size);
+		Map<Long, Feedback> rows = feedbackRepository.findAllById(hits.ids()).stream()
+				.collect(Collectors.toMap(Feedback::getId, Function.identity()));
+		List<Feedback> items = hits.ids().stream().map(rows::get).filter(Objects::nonNull).toList();
+		return new FeedbackPageResponse(items, page, size, hits.total(), (long) (page + 1) * size < hits.total());
+	}
+
+	/**
+	 * 🌐 Public summary: overall rating, top doctors and a few recent trimmed
+	 * comments. Built at most once per cache period whatever the traffic.
+	 */
+	public FeedbackSummaryResponse getPublicSummary() {
+		CachedSummary cached = cachedSummary;
+		long now = System.currentTimeMillis();
+		if (cached != null && cached.expiresAtMillis() > now) {
+			return cached.summary();
+		}
+		RatingTotalsView totals = doctorRatingRepository.findTotals();
+		long count = totals.getRatingCount();
+		double average = count == 0 ? 0 : (double) totals.getRatingSum() / count;
+		List<FeedbackSnippet> recent = feedbackRepository
+				.findByRatingGreaterThanOrderByIdDesc(0, PageRequest.of(0, SUMMARY_RECENT)).stream()
+				.map(f -> new FeedbackSnippet(f.getDoctor(), f.getRating(), excerpt(f.getComments()),
+						f.getCreatedAt() == null ? null : f.getCreatedAt().toLocalDate()))
+				.toList();
+		FeedbackSummaryResponse summary = new FeedbackSummaryResponse(count, average,
+				getLeaderboard(SUMMARY_DOCTORS), recent, LocalDateTime.now());
+		cachedSummary = new CachedSummary(summary, now + summaryCacheSeconds * 1000);
+		return summary;
+	}
+
+	private static String excerpt(String comments) {
+		if (comments == null) {
+			return null;
+		}
+		String trimmed = comments.strip();
+		return trimmed.length() <= EXCERPT_LENGTH ? trimmed : trimmed.substring(0, EXCERPT_LENGTH - 1) + "…";
+	}
+
+	private static Entry toIndexEntry(Long id, Long doctorId, Integer rating, LocalDateTime createdAt,
+			Double sentiment) {
+		return new Entry(id, doctorId, rating == null ? 0 : rating, createdAt == null ? null : createdAt.toLocalDate(),
+				sentiment == null ? Float.NaN : sentiment.floatValue());
+	}
+
+	public List<Feedback> getFeedbackForDoctor(Long doctorId, int page, int size) {
+		if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+		}
+		return feedbackRepository.findByDoctorIdOrderByIdDesc(doctorId, PageRequest.of(page, size));
+	}
+
+	// Whether the account with this email is the doctor with this id
+	public boolean isDoctorAccount(Long doctorId, String email) {
+		return doctorRepository.findByEmail(email).map(doctor -> doctor.getId().equals(doctorId)).orElse(false);
+	}
+
+	// One primary-key read, whatever the amount of feedback
+	public DoctorRatingResponse getDoctorRating(Long doctorId) {
+		DoctorRating rating = doctorRatingRepository.findById(doctorId).orElse(null);
+		if (rating == null) {
+			return new DoctorRatingResponse(doctorId, 0, 0, List.of(0L, 0L, 0L, 0L, 0L), null, 0);
+		}
+		Double averageSentiment = rating.getSentimentCount() == 0 ? null
+				: rating.getSentimentSum() / rating.getSentimentCount();
+		return new DoctorRatingResponse(doctorId, rating.getRatingCount(), rating.getAverageRating(),
+				List.of(rating.getStars1(), rating.getStars2(), rating.getStars3(), rating.getStars4(),
+						rating.getStars5()),
+				averageSentiment, rating.getNegativeCount());
+	}
+
+	public List<LeaderboardEntry> getLeaderboard(int limit) {
+		int size = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+		List<RankedDoctorView> ranked = doctorRatingRepository.findLeaderboard(leaderboardMinRatings,
+				PageRequest.of(0, size));
+		List<LeaderboardEntry> leaderboard = new ArrayList<>(ranked.size());
+		for (RankedDoctorView view : ranked) {
+			leaderboard.add(new LeaderboardEntry(leaderboard.size() + 1, view.getDoctorId(),
+					DoctorAssignmentService.displayName(view.getFirstName(), view.getLastName(),
+							view.getSpecialization()),
+					view.getSpecialization(), view.getAverageRating(), view.getRatingCount()));
+		}
+		return leaderboard;
+	}
+
+	/**
+	 * 🔄 Links older feedback to doctors by name and recomputes every total
+	 * from the feedback table, for feedback saved before totals were kept.
+	 */
+	@Transactional
+	public RatingRebuildResponse rebuildRatings() {
+		int linked = feedbackRepository.linkUnassignedToDoctors();
+		doctorRatingRepository.deleteAllRatings();
+		int rated = doctorRatingRepository.insertRatingsFromFeedback(SentimentAnalyzer.NEGATIVE_THRESHOLD);
+		// Linked rows now carry a doctor id the index entries lack
+		AfterCommit.run(this::loadSearchIndex);
+		return new RatingRebuildResponse(linked, feedbackRepository.countUnlinked(), rated);
+	}
+
+	/**
+	 * 🧠 Scores historical comments. Pages of comments are read by id, scored
+	 * in parallel on a fork-join pool and written back with one JDBC batch
+	 * per page; the per-doctor totals are then rebuilt once. Pass rescore to
+	 * score every comment again after a lexicon change.
+	 */
+	public SentimentBackfillResponse backfillSentiment(boolean rescore) {
+		if (!sentimentBackfillRunning.compareAndSet(false, true)) {
+			throw new IllegalStateException("A sentiment backfill is already running");
+		}
+		long started = System.nanoTime();
+		long scored = 0;
+		long negative = 0;
+		int threads = sentimentThreads > 0 ? sentimentThreads : Runtime.getRuntime().availableProcessors();
+		try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+			long afterId = 0;
+			while (true) {
+				List<Long> ids = new ArrayList<>(SENTIMENT_PAGE_SIZE);
+				List<String> comments = new ArrayList<>(SENTIMENT_PAGE_SIZE);
+				jdbcTemplate.query(rescore ? SENTIMENT_PAGE_SQL : UNSCORED_PAGE_SQL, rs -> {
+					ids.add(rs.getLong(1));
+					comments.add(rs.getString(2));
+				}, afterId, SENTIMENT_PAGE_SIZE);
+				if (ids.isEmpty()) {
+					break;
+				}
+
+				Double[] scores = new Double[comments.size()];
+				pool.invoke(new ScoreTask(sentimentAnalyzer, comments, scores, 0, scores.length));
+
+				List<Integer> rows = new ArrayList<>(scores.length);
+				for (int i = 0; i < scores.length; i++) {
+					if (scores[i] != null) {
+						rows.add(i);
+						if (SentimentAnalyzer.isNegative(scores[i])) {
+							negative++;
+						}
+					}
+				}
+				jdbcTemplate.batchUpdate(UPDATE_SENTIMENT_SQL, rows, rows.size(), (ps, i) -> {
+					ps.setDouble(1, scores[i]);
+					ps.setLong(2, ids.get(i));
+				});
+				scored += rows.size();
+				afterId = ids.get(ids.size() - 1);
+				if (ids.size() < SENTIMENT_PAGE_SIZE) {
+					break;
+				}
+			}
+			new TransactionTemplate(transactionManager).execute(status -> rebuildRatings());
+		} finally {
+			sentimentBackfillRunning.set(false);
+		}
+		long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+		logger.info("Scored sentiment of {} feedback comments in {} ms", scored, elapsedMillis);
+		return new SentimentBackfillResponse(scored, negative, elapsedMillis);
+	}
+
+	/** Splits a page of comments until a leaf is small enough to score directly. */
+	private static final class ScoreTask extends RecursiveAction {
+		private final SentimentAnalyzer analyzer;
+		private final List<String> comments;
+		private final Double[] scores;
+		private final int from;
+		private final int to;
+
+		ScoreTask(SentimentAnalyzer analyzer, List<String> comments, Double[] scores, int from, int to) {
+			this.analyzer = analyzer;
+			this.comments = comments;
+			this.scores = scores;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SENTIMENT_LEAF_SIZE) {
+				for (int i = from; i < to; i++) {
+					scores[i] = analyzer.score(comments.get(i));
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new ScoreTask(analyzer, comments, scores, from, mid),
+					new ScoreTask(analyzer, comments, scores, mid, to));
+		}
+	}
 }
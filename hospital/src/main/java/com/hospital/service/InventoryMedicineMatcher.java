@@ -0,0 +1,188 @@
+package com.hospital.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.hospital.service.MedicineNameNormalizer.ParsedName;
+
+/**
+ * Resolves free-text prescribed medicine names to inventory items.
+ * <p>
+ * Every inventory name is parsed once into its ingredient key, strength and
+ * form, and the key is broken into character trigrams. An inverted index maps
+ * each trigram to the items containing it, so a lookup only scores items that
+ * share at least one trigram with the query. The score is the Dice overlap of
+ * the trigram sets, nudged by strength and form agreement. Results are cached
+ * per distinct query string; the cache belongs to the index snapshot and is
+ * dropped with it when inventory changes.
+ */
+@Component
+public class InventoryMedicineMatcher {
+
+	/** Minimum score for a candidate to count as a match. */
+	public static final double MATCH_THRESHOLD = 0.6;
+
+	private static final int MAX_CANDIDATES = 3;
+	private static final int MAX_CACHED_QUERIES = 50_000;
+
+	private static final double STRENGTH_MATCH_BONUS = 0.15;
+	private static final double STRENGTH_MISMATCH_PENALTY = 0.25;
+	private static final double FORM_MATCH_BONUS = 0.05;
+
+	public record InventoryName(long inventoryId, String name) {
+	}
+
+	public record Candidate(long inventoryId, String name, double score) {
+	}
+
+	private volatile Index index = new Index(List.of());
+
+	/**
+	 * Swaps in a fresh index built from the given inventory names.
+	 */
+	public void rebuild(Collection<InventoryName> items) {
+		index = new Index(items);
+	}
+
+	/**
+	 * Best candidates for the name at or above {@link #MATCH_THRESHOLD}, best
+	 * first. Empty when nothing is close enough.
+	 */
+	public List<Candidate> match(String prescribedName) {
+		if (prescribedName == null || prescribedName.isBlank()) {
+			return List.of();
+		}
+		Index current = index;
+		String cacheKey = prescribedName.trim().toLowerCase(Locale.ROOT);
+		List<Candidate> cached = current.cache.get(cacheKey);
+		if (cached != null) {
+			return cached;
+		}
+		List<Candidate> result = current.search(cacheKey);
+		if (current.cache.size() >= MAX_CACHED_QUERIES) {
+			current.cache.clear();
+		}
+		current.cache.put(cacheKey, result);
+		return result;
+	}
+
+	/**
+	 * Inventory id of the best match, or null when nothing is close enough.
+	 */
+	public Long bestMatchId(String prescribedName) {
+		List<Candidate> candidates = match(prescribedName);
+		return candidates.isEmpty() ? null : candidates.get(0).inventoryId();
+	}
+
+	public int size() {
+		return index.entries.length;
+	}
+
+	private static final class Entry {
+		private final long inventoryId;
+		private final String name;
+		private final ParsedName parsed;
+		private final int trigramCount;
+
+		private Entry(InventoryName item, ParsedName parsed, int trigramCount) {
+			this.inventoryId = item.inventoryId();
+			this.name = item.name();
+			this.parsed = parsed;
+			this.trigramCount = trigramCount;
+		}
+	}
+
+	private static final class Index {
+		private final Entry[] entries;
+		private final Map<Long, int[]> postings;
+		private final Map<String, List<Candidate>> cache = new ConcurrentHashMap<>();
+
+		private Index(Collection<InventoryName> items) {
+			List<Entry> built = new ArrayList<>(items.size());
+			Map<Long, List<Integer>> lists = new HashMap<>();
+			for (InventoryName item : items) {
+				ParsedName parsed = MedicineNameNormalizer.parse(item.name());
+				long[] trigrams = trigrams(parsed.key());
+				if (trigrams.length == 0) {
+					continue;
+				}
+				int position = built.size();
+				built.add(new Entry(item, parsed, trigrams.length));
+				for (long trigram : trigrams) {
+					lists.computeIfAbsent(trigram, k -> new ArrayList<>()).add(position);
+				}
+			}
+			this.entries = built.toArray(new Entry[0]);
+			this.postings = new HashMap<>(lists.size() * 2);
+			lists.forEach((trigram, list) -> postings.put(trigram, list.stream().mapToInt(Integer::intValue).toArray()));
+		}
+
+		private List<Candidate> search(String query) {
+			ParsedName parsed = MedicineNameNormalizer.parse(query);
+			long[] trigrams = trigrams(parsed.key());
+			if (trigrams.length == 0 || entries.length == 0) {
+				return List.of();
+			}
+
+			Map<Integer, Integer> shared = new HashMap<>();
+			for (long trigram : trigrams) {
+				int[] posting = postings.get(trigram);
+				if (posting != null) {
+					for (int position : posting) {
+						shared.merge(position, 1, Integer::sum);
+					}
+				}
+			}
+
+			List<Candidate> candidates = new ArrayList<>();
+			for (Map.Entry<Integer, Integer> hit : shared.entrySet()) {
+				Entry entry = entries[hit.getKey()];
+				double score = 2.0 * hit.getValue() / (trigrams.length + entry.trigramCount);
+				score += detailAdjustment(parsed, entry.parsed);
+				if (score >= MATCH_THRESHOLD) {
+					candidates.add(new Candidate(entry.inventoryId, entry.name, Math.min(1.0, score)));
+				}
+			}
+			candidates.sort((a, b) -> a.score() != b.score() ? Double.compare(b.score(), a.score())
+					: Long.compare(a.inventoryId(), b.inventoryId()));
+			return List.copyOf(candidates.subList(0, Math.min(MAX_CANDIDATES, candidates.size())));
+		}
+	}
+
+	private static double detailAdjustment(ParsedName query, ParsedName item) {
+		double adjustment = 0;
+		if (query.strength() != null && item.strength() != null) {
+			adjustment += query.strength().equals(item.strength()) ? STRENGTH_MATCH_BONUS
+					: -STRENGTH_MISMATCH_PENALTY;
+		}
+		if (query.form() != null && Objects.equals(query.form(), item.form())) {
+			adjustment += FORM_MATCH_BONUS;
+		}
+		return adjustment;
+	}
+
+	/**
+	 * Distinct trigrams of the key padded with spaces, so short words and word
+	 * boundaries still produce signatures. Each trigram is packed into a long.
+	 */
+	static long[] trigrams(String key) {
+		if (key == null || key.isEmpty()) {
+			return new long[0];
+		}
+		String padded = "  " + key + " ";
+		long[] result = new long[padded.length() - 2];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+		}
+		return Arrays.stream(result).distinct().toArray();
+	}
+}
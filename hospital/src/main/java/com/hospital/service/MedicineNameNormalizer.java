@@ -0,0 +1,118 @@
+package com.hospital.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free-text medicine names ("Paracetamol 500mg Tab", "paracetamol 0.5 g
+ * tablets") into comparable parts: the drug key (ingredient words only), the
+ * strength and the dosage form. Shared by everything that has to recognise the
+ * same drug behind differently typed names.
+ */
+public final class MedicineNameNormalizer {
+
+	private static final Pattern STRENGTH = Pattern
+			.compile("(\\d+(?:\\.\\d+)?)\\s*(mcg|µg|mg|g|ml|iu|units?|%)(?![a-z])");
+	private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9%.]+");
+
+	private static final Map<String, String> FORMS = Map.ofEntries(Map.entry("tab", "tablet"),
+			Map.entry("tabs", "tablet"), Map.entry("tablet", "tablet"), Map.entry("tablets", "tablet"),
+			Map.entry("cap", "capsule"), Map.entry("caps", "capsule"), Map.entry("capsule", "capsule"),
+			Map.entry("capsules", "capsule"), Map.entry("syp", "syrup"), Map.entry("syrup", "syrup"),
+			Map.entry("inj", "injection"), Map.entry("injection", "injection"), Map.entry("susp", "suspension"),
+			Map.entry("suspension", "suspension"), Map.entry("cream", "cream"), Map.entry("ointment", "ointment"),
+			Map.entry("gel", "gel"), Map.entry("drop", "drops"), Map.entry("drops", "drops"),
+			Map.entry("spray", "spray"), Map.entry("inhaler", "inhaler"), Map.entry("patch", "patch"),
+			Map.entry("lotion", "lotion"), Map.entry("powder", "powder"), Map.entry("sachet", "sachet"),
+			Map.entry("sol", "solution"), Map.entry("solution", "solution"));
+
+	// Release modifiers and filler words that never identify the ingredient
+	private static final List<String> NOISE = List.of("sr", "er", "xr", "cr", "dt", "oral", "and", "with", "plus");
+
+	public record ParsedName(String key, List<String> tokens, String strength, String form) {
+	}
+
+	private MedicineNameNormalizer() {
+	}
+
+	/**
+	 * The ingredient words of the name, lowercased and space-joined, e.g.
+	 * "amoxicillin clavulanic acid". Empty if nothing recognisable remains.
+	 */
+	public static String drugKey(String raw) {
+		return parse(raw).key();
+	}
+
+	public static ParsedName parse(String raw) {
+		if (raw == null) {
+			return new ParsedName("", List.of(), null, null);
+		}
+		String text = raw.toLowerCase(Locale.ROOT);
+
+		String strength = null;
+		Matcher matcher = STRENGTH.matcher(text);
+		if (matcher.find()) {
+			strength = normalizeStrength(matcher.group(1), matcher.group(2));
+			text = STRENGTH.matcher(text).replaceAll(" ");
+		}
+
+		String form = null;
+		List<String> tokens = new ArrayList<>();
+		for (String token : NON_WORD.split(text)) {
+			token = stripDots(token);
+			if (token.isEmpty() || NOISE.contains(token)) {
+				continue;
+			}
+			String canonicalForm = FORMS.get(token);
+			if (canonicalForm != null) {
+				if (form == null) {
+					form = canonicalForm;
+				}
+				continue;
+			}
+			if (Character.isDigit(token.charAt(0))) {
+				// A bare number right after the name is a strength with the unit left off
+				if (strength == null) {
+					strength = token;
+				}
+				continue;
+			}
+			if (Character.isLetter(token.charAt(0))) {
+				tokens.add(token);
+			}
+		}
+		return new ParsedName(String.join(" ", tokens), List.copyOf(tokens), strength, form);
+	}
+
+	private static String normalizeStrength(String amount, String unit) {
+		BigDecimal value = new BigDecimal(amount);
+		switch (unit) {
+			case "g" -> {
+				value = value.multiply(BigDecimal.valueOf(1000));
+				unit = "mg";
+			}
+			case "µg" -> unit = "mcg";
+			case "unit", "units" -> unit = "iu";
+			default -> {
+			}
+		}
+		return value.stripTrailingZeros().toPlainString() + unit;
+	}
+
+	private static String stripDots(String token) {
+		int start = 0;
+		int end = token.length();
+		while (start < end && token.charAt(start) == '.') {
+			start++;
+		}
+		while (end > start && token.charAt(end - 1) == '.') {
+			end--;
+		}
+		return token.substring(start, end);
+	}
+}
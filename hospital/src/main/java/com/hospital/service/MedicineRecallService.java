@@ -0,0 +1,27 @@
+package com.hospital.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import com.hospital.dto.response.RecallIndexBackfillResponse;
+import com.hospital.entity.MedicineItem;
+import com.hospital.entity.Prescription;
+
+public interface MedicineRecallService {
+
+	// 🔹 Add a newly issued prescription's lines to the recall index
+	void indexPrescription(Prescription prescription, List<MedicineItem> items);
+
+	// 🔹 Drop prescriptions that were never issued (rejected refill drafts) from the recall index
+	void removePrescriptions(Collection<Long> prescriptionIds);
+
+	// 🔹 Admin Side: (re)index every historical medicine line
+	RecallIndexBackfillResponse backfill();
+
+	// 🔹 Admin Side: write affected patients as NDJSON, one patient per line; returns the patient count
+	long streamAffectedPatients(String medicine, Long inventoryId, LocalDate from, LocalDate to, OutputStream out)
+			throws IOException;
+}
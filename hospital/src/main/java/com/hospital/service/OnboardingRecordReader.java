@@ -0,0 +1,207 @@
+package com.hospital.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams the records of a bulk import file one at a time, so a file of any
+ * size is read in constant memory. CSV takes its field names from the header
+ * row and follows RFC 4180 (quoted fields may hold commas, doubled quotes and
+ * line breaks); NDJSON is one JSON object per line. A malformed record comes
+ * back with an error instead of fields and reading carries on after it.
+ */
+public class OnboardingRecordReader implements Closeable {
+
+	public enum Format {
+		CSV, NDJSON;
+
+		/**
+		 * The named format, or the one implied by the file extension.
+		 */
+		public static Format resolve(String format, String fileName) {
+			String name = format != null && !format.isBlank() ? format
+					: fileName == null ? "" : fileName.substring(fileName.lastIndexOf('.') + 1);
+			return switch (name.strip().toLowerCase(Locale.ROOT)) {
+			case "csv" -> CSV;
+			case "ndjson", "jsonl" -> NDJSON;
+			default -> throw new IllegalArgumentException("Format must be csv or ndjson");
+			};
+		}
+	}
+
+	/**
+	 * One data record, numbered from 1; fields is null when error is set.
+	 */
+	public record Record(long number, Map<String, Object> fields, String error) {
+	}
+
+	private static final TypeReference<LinkedHashMap<String, Object>> OBJECT = new TypeReference<>() {
+	};
+
+	private final Reader in;
+	private final Format format;
+	private final ObjectMapper objectMapper;
+	private final StringBuilder field = new StringBuilder(64);
+	private List<String> header;
+	private long number;
+	private int pushedBack = -2;
+
+	/**
+	 * Reads character by character, so pass a buffered reader.
+	 */
+	public OnboardingRecordReader(Reader in, Format format, ObjectMapper objectMapper) {
+		this.in = in;
+		this.format = format;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * The next record, or null at the end of the file.
+	 */
+	public Record next() throws IOException {
+		if (format == Format.NDJSON) {
+			return nextJson();
+		}
+		if (header == null) {
+			header = readCsvRow();
+			if (header == null) {
+				return null;
+			}
+			if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+				header.set(0, header.get(0).substring(1));
+			}
+		}
+		List<String> values;
+		do {
+			values = readCsvRow();
+			if (values == null) {
+				return null;
+			}
+			// Blank lines are not records
+		} while (values.size() == 1 && values.get(0).isEmpty());
+		number++;
+		if (values.size() != header.size()) {
+			return new Record(number, null,
+					"Expected " + header.size() + " columns but found " + values.size());
+		}
+		Map<String, Object> fields = new LinkedHashMap<>();
+		for (int i = 0; i < values.size(); i++) {
+			if (!values.get(i).isEmpty()) {
+				fields.put(header.get(i).strip(), values.get(i));
+			}
+		}
+		return new Record(number, fields, null);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private Record nextJson() throws IOException {
+		String line;
+		do {
+			line = readLine();
+			if (line == null) {
+				return null;
+			}
+		} while (line.isBlank());
+		number++;
+		try {
+			Map<String, Object> fields = objectMapper.readValue(line, OBJECT);
+			fields.values().removeIf(value -> value == null || "".equals(value));
+			return new Record(number, fields, null);
+		} catch (JsonProcessingException e) {
+			return new Record(number, null, "Not a JSON object: " + e.getOriginalMessage());
+		}
+	}
+
+	private String readLine() throws IOException {
+		field.setLength(0);
+		int c = read();
+		if (c == -1) {
+			return null;
+		}
+		while (c != -1 && c != '\n') {
+			if (c != '\r') {
+				field.append((char) c);
+			}
+			c = read();
+		}
+		return field.toString();
+	}
+
+	/**
+	 * Fields of the next CSV row, or null at the end of the file.
+	 */
+	private List<String> readCsvRow() throws IOException {
+		int c = read();
+		if (c == -1) {
+			return null;
+		}
+		List<String> values = new ArrayList<>();
+		field.setLength(0);
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == -1) {
+					// Unterminated quote: keep what was read as the last field
+					values.add(field.toString());
+					return values;
+				}
+				if (c == '"') {
+					int next = read();
+					if (next == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						unread(next);
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.length() == 0) {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n' || c == -1) {
+				values.add(field.toString());
+				return values;
+			} else if (c == '\r') {
+				int next = read();
+				if (next != '\n') {
+					unread(next);
+				}
+				values.add(field.toString());
+				return values;
+			} else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	private int read() throws IOException {
+		if (pushedBack != -2) {
+			int c = pushedBack;
+			pushedBack = -2;
+			return c;
+		}
+		return in.read();
+	}
+
+	private void unread(int c) {
+		pushedBack = c;
+	}
+}
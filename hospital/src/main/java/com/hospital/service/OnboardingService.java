@@ -0,0 +1,32 @@
+package com.hospital.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.hospital.dto.response.OnboardingJobResponse;
+import com.hospital.dto.response.OnboardingRowErrorResponse;
+import com.hospital.enums.OnboardingKind;
+
+public interface OnboardingService {
+
+	/**
+	 * Stores the upload and queues it for import. Format is csv or ndjson;
+	 * when null it is taken from the file extension.
+	 */
+	OnboardingJobResponse startImport(OnboardingKind kind, MultipartFile file, String format, String createdBy)
+			throws IOException;
+
+	/**
+	 * The job, or null when there is no such job.
+	 */
+	OnboardingJobResponse getJob(Long jobId);
+
+	List<OnboardingJobResponse> getRecentJobs(int limit);
+
+	/**
+	 * Rejected records of a job in record order, after the given record.
+	 */
+	List<OnboardingRowErrorResponse> getRowErrors(Long jobId, long afterRecord, int size);
+}
@@ -9,6 +9,7 @@ import com.hospital.entity.Order;
 public interface OrderService {
     OrderResponse placeOrder(OrderRequest request);
     List<OrderResponse> getOrdersByPatientId(Long patientId);
+    List<OrderResponse> getRecentOrdersByPatientId(Long patientId, int limit);
     OrderResponse updateOrder(Long orderId, OrderRequest request);
     void deleteOrder(Long orderId);
     List<OrderResponse> getAllOrdersAsResponse();
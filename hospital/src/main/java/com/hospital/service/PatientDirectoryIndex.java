@@ -0,0 +1,273 @@
+package com.hospital.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Sorted prefix index over the patient directory. Every patient is filed
+ * under "last first", "first last", the lower-cased email and the digits of
+ * the phone number, so a lookup by any of them is a range scan from the
+ * query to the first key it no longer prefixes. Results come back in key
+ * order; a patient matched by several keys is listed once, at its smallest
+ * matching key, which keeps the order stable for keyset paging. A cursor
+ * encodes the last (key, id) returned, so later pages seek straight to it.
+ */
+@Component
+public class PatientDirectoryIndex {
+
+	/**
+	 * Ids of one page and the cursor for the next, null on the last page.
+	 */
+	public record Slice(List<Long> ids, String nextCursor) {
+	}
+
+	// Position of the "last first" key, the directory order for an empty query
+	private static final int DIRECTORY_KEY = 0;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final NavigableMap<String, Postings> keys = new TreeMap<>();
+	private final Map<Long, String[]> keysById = new HashMap<>();
+
+	/**
+	 * Lower-case letters, digits, '@', '.', '-', '_' and '+', with whitespace
+	 * collapsed to one space. A query that is only a phone number (digits and
+	 * the usual separators) is reduced to its digits.
+	 */
+	public static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String stripped = text.strip();
+		if (!stripped.isEmpty() && stripped.matches("[+()\\d\\s.-]+") && stripped.chars().anyMatch(Character::isDigit)) {
+			return digits(stripped);
+		}
+		StringBuilder out = new StringBuilder(stripped.length());
+		boolean space = false;
+		for (int i = 0; i < stripped.length(); i++) {
+			char c = Character.toLowerCase(stripped.charAt(i));
+			if (Character.isLetterOrDigit(c) || c == '@' || c == '.' || c == '-' || c == '_' || c == '+') {
+				if (space && out.length() > 0) {
+					out.append(' ');
+				}
+				out.append(c);
+				space = false;
+			} else if (Character.isWhitespace(c)) {
+				space = true;
+			}
+		}
+		return out.toString();
+	}
+
+	public static String digits(String phoneNumber) {
+		if (phoneNumber == null) {
+			return "";
+		}
+		StringBuilder out = new StringBuilder(phoneNumber.length());
+		for (int i = 0; i < phoneNumber.length(); i++) {
+			char c = phoneNumber.charAt(i);
+			if (c >= '0' && c <= '9') {
+				out.append(c);
+			}
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Indexes a patient, replacing whatever was filed for the id before.
+	 */
+	public void put(long id, String firstName, String lastName, String email, String phoneNumber) {
+		String first = normalize(firstName);
+		String last = normalize(lastName);
+		String[] patientKeys = { (last + " " + first).strip(), (first + " " + last).strip(),
+				email == null ? "" : email.strip().toLowerCase(Locale.ROOT), digits(phoneNumber) };
+		lock.writeLock().lock();
+		try {
+			unfile(id, keysById.put(id, patientKeys));
+			for (String key : patientKeys) {
+				if (!key.isEmpty()) {
+					keys.computeIfAbsent(key, k -> new Postings()).add(id);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			unfile(id, keysById.remove(id));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			keys.clear();
+			keysById.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Up to limit patients with a name, email or phone number starting with
+	 * the query, after the cursor. An empty query lists everyone by last
+	 * name. Throws IllegalArgumentException for a cursor it did not issue.
+	 */
+	public Slice search(String query, String cursor, int limit) {
+		String prefix = normalize(query);
+		String afterKey = prefix;
+		long afterId = Long.MIN_VALUE;
+		if (cursor != null && !cursor.isBlank()) {
+			String[] position = decodeCursor(cursor);
+			afterKey = position[0];
+			afterId = Long.parseLong(position[1]);
+			if (!afterKey.startsWith(prefix)) {
+				throw new IllegalArgumentException("Cursor does not belong to this search");
+			}
+		}
+
+		List<Long> ids = new ArrayList<>(Math.min(limit, 100));
+		lock.readLock().lock();
+		try {
+			for (Map.Entry<String, Postings> entry : keys.tailMap(afterKey, true).entrySet()) {
+				String key = entry.getKey();
+				if (!key.startsWith(prefix)) {
+					break;
+				}
+				Postings postings = entry.getValue();
+				int from = key.equals(afterKey) ? postings.indexAfter(afterId) : 0;
+				for (int i = from; i < postings.size; i++) {
+					long id = postings.ids[i];
+					if (!listedUnder(key, keysById.get(id), prefix)) {
+						continue;
+					}
+					if (ids.size() == limit) {
+						return new Slice(ids, encodeCursor(lastKey(ids, prefix), ids.get(ids.size() - 1)));
+					}
+					ids.add(id);
+				}
+			}
+			return new Slice(ids, null);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return keysById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Whether the patient is listed at this key: the directory key for an
+	 * empty query, otherwise the smallest of its keys the query prefixes.
+	 */
+	private static boolean listedUnder(String key, String[] patientKeys, String prefix) {
+		if (prefix.isEmpty()) {
+			return key.equals(patientKeys[DIRECTORY_KEY]);
+		}
+		for (String other : patientKeys) {
+			if (other.startsWith(prefix) && other.compareTo(key) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Only called under the read lock with the last id already listed
+	private String lastKey(List<Long> ids, String prefix) {
+		String[] patientKeys = keysById.get(ids.get(ids.size() - 1));
+		if (prefix.isEmpty()) {
+			return patientKeys[DIRECTORY_KEY];
+		}
+		String smallest = null;
+		for (String key : patientKeys) {
+			if (key.startsWith(prefix) && (smallest == null || key.compareTo(smallest) < 0)) {
+				smallest = key;
+			}
+		}
+		return smallest;
+	}
+
+	private void unfile(long id, String[] patientKeys) {
+		if (patientKeys == null) {
+			return;
+		}
+		for (String key : patientKeys) {
+			Postings postings = keys.get(key);
+			if (postings != null && postings.remove(id) && postings.size == 0) {
+				keys.remove(key);
+			}
+		}
+	}
+
+	static String encodeCursor(String key, long id) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((key + "\n" + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String[] decodeCursor(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int split = decoded.lastIndexOf('\n');
+			String[] position = { decoded.substring(0, split), decoded.substring(split + 1) };
+			Long.parseLong(position[1]);
+			return position;
+		} catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Invalid directory cursor");
+		}
+	}
+
+	private static final class Postings {
+		private long[] ids = new long[1];
+		private int size;
+
+		void add(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at >= 0) {
+				return;
+			}
+			at = -at - 1;
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			System.arraycopy(ids, at, ids, at + 1, size - at);
+			ids[at] = id;
+			size++;
+		}
+
+		boolean remove(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at < 0) {
+				return false;
+			}
+			System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+			size--;
+			return true;
+		}
+
+		int indexAfter(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			return at >= 0 ? at + 1 : -at - 1;
+		}
+	}
+}
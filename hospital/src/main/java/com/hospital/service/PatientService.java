@@ -3,6 +3,7 @@ package com.hospital.service;
 import java.util.List;
 
 import com.hospital.dto.request.PatientRegistrationRequest;
+import com.hospital.dto.response.PatientDirectoryPage;
 import com.hospital.dto.response.PatientResponse;
 
 public interface PatientService {
@@ -17,4 +18,10 @@ public interface PatientService {
 
 	List<PatientResponse> getAllPatients();
 
+	/**
+	 * Patients whose name, email or phone number starts with the query, in
+	 * pages of at most size, continuing after the cursor of the previous page.
+	 */
+	PatientDirectoryPage searchDirectory(String query, String cursor, int size);
+
 }
@@ -0,0 +1,13 @@
+package com.hospital.service;
+
+import com.hospital.dto.response.PatientSummaryResponse;
+
+public interface PatientSummaryService {
+
+	/**
+	 * Profile, upcoming appointments, recent prescriptions and recent orders
+	 * of a patient, fetched in parallel. viewerEmail is the patient asking for
+	 * their own summary, or null for an admin.
+	 */
+	PatientSummaryResponse getSummary(Long patientId, String viewerEmail);
+}
@@ -0,0 +1,89 @@
+package com.hospital.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Monthly pay of one staff member. Staff.salary is the monthly gross for a
+ * full month; someone hired during the month is paid for the days from their
+ * hire date, and their standard hours shrink in the same proportion. Hours
+ * worked beyond the standard are overtime at the salary's hourly rate times
+ * the overtime multiplier. Provident fund is taken from the base pay, income
+ * tax from what is left of the gross after it, and professional tax is a
+ * flat amount that never takes net pay below zero. Amounts are rounded to
+ * the paisa, half up.
+ */
+public class PayrollCalculator {
+
+	public record Rates(double standardMonthlyHours, double overtimeMultiplier, double providentFundRate,
+			double incomeTaxRate, BigDecimal professionalTax) {
+
+		public Rates {
+			if (standardMonthlyHours <= 0) {
+				throw new IllegalArgumentException("Standard monthly hours must be positive");
+			}
+		}
+	}
+
+	/**
+	 * hireDate null counts as employed for the whole period.
+	 */
+	public record Employee(long staffId, BigDecimal monthlySalary, LocalDate hireDate, double workedHours) {
+	}
+
+	public record Pay(long staffId, int paidDays, int periodDays, BigDecimal basePay, double overtimeHours,
+			BigDecimal overtimePay, BigDecimal grossPay, BigDecimal providentFund, BigDecimal incomeTax,
+			BigDecimal professionalTax, BigDecimal netPay) {
+	}
+
+	private final Rates rates;
+
+	public PayrollCalculator(Rates rates) {
+		this.rates = rates;
+	}
+
+	/**
+	 * The employee's pay for the period, or null when they were hired after it.
+	 */
+	public Pay calculate(Employee employee, YearMonth period) {
+		LocalDate first = period.atDay(1);
+		LocalDate last = period.atEndOfMonth();
+		LocalDate paidFrom = employee.hireDate() == null || employee.hireDate().isBefore(first) ? first
+				: employee.hireDate();
+		if (paidFrom.isAfter(last)) {
+			return null;
+		}
+		int periodDays = period.lengthOfMonth();
+		int paidDays = (int) ChronoUnit.DAYS.between(paidFrom, last) + 1;
+		BigDecimal salary = employee.monthlySalary() == null ? BigDecimal.ZERO : employee.monthlySalary();
+
+		BigDecimal basePay = money(salary.multiply(BigDecimal.valueOf(paidDays))
+				.divide(BigDecimal.valueOf(periodDays), 10, RoundingMode.HALF_UP));
+		double standardHours = rates.standardMonthlyHours() * paidDays / periodDays;
+		double overtimeHours = Math.max(0, employee.workedHours() - standardHours);
+		// Round the hours first so the slip's hours times rate gives its amount
+		overtimeHours = Math.round(overtimeHours * 100) / 100.0;
+		BigDecimal hourlyRate = salary.divide(BigDecimal.valueOf(rates.standardMonthlyHours()), 10,
+				RoundingMode.HALF_UP);
+		BigDecimal overtimePay = money(hourlyRate.multiply(BigDecimal.valueOf(overtimeHours))
+				.multiply(BigDecimal.valueOf(rates.overtimeMultiplier())));
+		BigDecimal grossPay = basePay.add(overtimePay);
+
+		BigDecimal providentFund = money(basePay.multiply(BigDecimal.valueOf(rates.providentFundRate())));
+		BigDecimal incomeTax = money(
+				grossPay.subtract(providentFund).multiply(BigDecimal.valueOf(rates.incomeTaxRate())));
+		BigDecimal remaining = grossPay.subtract(providentFund).subtract(incomeTax).max(BigDecimal.ZERO);
+		BigDecimal professionalTax = money(rates.professionalTax()).min(remaining);
+		BigDecimal netPay = remaining.subtract(professionalTax);
+
+		return new Pay(employee.staffId(), paidDays, periodDays, basePay, overtimeHours, overtimePay, grossPay,
+				providentFund, incomeTax, professionalTax, netPay);
+	}
+
+	private static BigDecimal money(BigDecimal amount) {
+		return amount.setScale(2, RoundingMode.HALF_UP);
+	}
+}
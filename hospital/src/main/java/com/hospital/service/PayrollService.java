@@ -0,0 +1,35 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.request.StaffShiftRequest;
+import com.hospital.dto.response.PayrollRunResponse;
+import com.hospital.dto.response.PayslipResponse;
+
+public interface PayrollService {
+
+	/**
+	 * Queues a payroll run for a yyyy-MM period. Running a period again
+	 * replaces its payslips.
+	 */
+	PayrollRunResponse startRun(String period, String createdBy);
+
+	/**
+	 * The run, or null when there is no such run.
+	 */
+	PayrollRunResponse getRun(Long runId);
+
+	List<PayrollRunResponse> getRecentRuns(int limit);
+
+	/**
+	 * Payslips of a period in staff id order, after the given staff id.
+	 */
+	List<PayslipResponse> getPayslips(String period, long afterStaffId, int size);
+
+	List<PayslipResponse> getPayslipsByStaff(Long staffId, int limit);
+
+	/**
+	 * Records worked shifts; their hours count towards overtime.
+	 */
+	int recordShifts(List<StaffShiftRequest> shifts);
+}
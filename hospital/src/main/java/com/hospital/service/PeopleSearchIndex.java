@@ -0,0 +1,280 @@
+package com.hospital.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * One search index over patients, doctors and staff. Each role has its own
+ * sorted map from lookup key (each name word, the email, the phone digits)
+ * to the ids filed under it, so a query scans each role separately and
+ * stops once it has a few candidates per result slot; a role with many
+ * matches cannot starve another. The candidates are then ranked (exact
+ * before prefix, name before email before phone, shorter keys first) and
+ * cut to the role's cap. Further query words must prefix another name word.
+ */
+@Component
+public class PeopleSearchIndex {
+
+	public enum Role {
+		PATIENT, DOCTOR, STAFF
+	}
+
+	public enum MatchedOn {
+		NAME, EMAIL, PHONE
+	}
+
+	/**
+	 * Indexed fields of one person; detail is a specialization, department or
+	 * city shown next to the name.
+	 */
+	public record Person(Role role, long id, String firstName, String lastName, String email, String phoneNumber,
+			String detail) {
+	}
+
+	public record Hit(Person person, MatchedOn matchedOn, boolean exact) {
+	}
+
+	// Candidates gathered per result slot before ranking
+	private static final int CANDIDATES_PER_RESULT = 4;
+	// Bounds the scan when extra query words reject most prefix matches
+	private static final int MAX_SCANNED_PER_ROLE = 20_000;
+
+	private static final Comparator<Ranked> RANKING = Comparator.comparing((Ranked r) -> !r.exact)
+			.thenComparing(r -> r.matchedOn).thenComparingInt(r -> r.key.length()).thenComparing(r -> r.key)
+			.thenComparingLong(r -> r.person.id());
+
+	private record Ranked(Person person, String key, MatchedOn matchedOn, boolean exact) {
+	}
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Role, NavigableMap<String, Postings>> keys = new EnumMap<>(Role.class);
+	private final Map<Role, Map<Long, Person>> people = new EnumMap<>(Role.class);
+
+	public PeopleSearchIndex() {
+		for (Role role : Role.values()) {
+			keys.put(role, new TreeMap<>());
+			people.put(role, new HashMap<>());
+		}
+	}
+
+	/**
+	 * Lower-cased words of a name, without punctuation.
+	 */
+	public static List<String> words(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		List<String> words = new ArrayList<>();
+		for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	public static String digits(String phoneNumber) {
+		return PatientDirectoryIndex.digits(phoneNumber);
+	}
+
+	/**
+	 * Indexes a person, replacing whatever was filed for the same role and id.
+	 */
+	public void put(Person person) {
+		lock.writeLock().lock();
+		try {
+			Person previous = people.get(person.role()).put(person.id(), person);
+			if (previous != null) {
+				unfile(previous);
+			}
+			NavigableMap<String, Postings> roleKeys = keys.get(person.role());
+			for (String key : keysOf(person)) {
+				roleKeys.computeIfAbsent(key, k -> new Postings()).add(person.id());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Role role, long id) {
+		lock.writeLock().lock();
+		try {
+			Person previous = people.get(role).remove(id);
+			if (previous != null) {
+				unfile(previous);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			keys.values().forEach(Map::clear);
+			people.values().forEach(Map::clear);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Best matches of each requested role, at most perRoleLimit each.
+	 */
+	public Map<Role, List<Hit>> search(String query, Set<Role> roles, int perRoleLimit) {
+		Map<Role, List<Hit>> results = new EnumMap<>(Role.class);
+		String trimmed = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+		if (trimmed.isEmpty()) {
+			return results;
+		}
+		// A phone number is matched on its digits, an email-like single word as
+		// typed, anything else on words
+		boolean phone = trimmed.matches("[+()\\d\\s.-]+");
+		boolean email = !phone && trimmed.matches("\\S*[@.]\\S*");
+		List<String> terms = phone ? List.of(digits(trimmed)) : email ? List.of(trimmed) : words(trimmed);
+		if (terms.isEmpty() || terms.get(0).isEmpty()) {
+			return results;
+		}
+		String prefix = terms.get(0);
+		List<String> rest = terms.subList(1, terms.size());
+
+		lock.readLock().lock();
+		try {
+			for (Role role : roles) {
+				results.put(role, searchRole(role, prefix, rest, perRoleLimit));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return results;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return people.values().stream().mapToInt(Map::size).sum();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<Hit> searchRole(Role role, String prefix, List<String> rest, int limit) {
+		Map<Long, Person> byId = people.get(role);
+		int wanted = limit * CANDIDATES_PER_RESULT;
+		Map<Long, Ranked> candidates = new HashMap<>();
+		int scanned = 0;
+		for (Map.Entry<String, Postings> entry : keys.get(role).tailMap(prefix, true).entrySet()) {
+			String key = entry.getKey();
+			if (!key.startsWith(prefix) || candidates.size() >= wanted || scanned >= MAX_SCANNED_PER_ROLE) {
+				break;
+			}
+			Postings postings = entry.getValue();
+			for (int i = 0; i < postings.size && candidates.size() < wanted; i++, scanned++) {
+				Person person = byId.get(postings.ids[i]);
+				MatchedOn matchedOn = matchedOn(person, key);
+				if (!rest.isEmpty() && (matchedOn != MatchedOn.NAME || !otherWordsMatch(person, key, rest))) {
+					continue;
+				}
+				Ranked ranked = new Ranked(person, key, matchedOn, key.length() == prefix.length());
+				candidates.merge(person.id(), ranked, (a, b) -> RANKING.compare(a, b) <= 0 ? a : b);
+			}
+		}
+		return candidates.values().stream().sorted(RANKING).limit(limit)
+				.map(r -> new Hit(r.person, r.matchedOn, r.exact)).toList();
+	}
+
+	private static MatchedOn matchedOn(Person person, String key) {
+		if (person.email() != null && key.equals(person.email().strip().toLowerCase(Locale.ROOT))) {
+			return MatchedOn.EMAIL;
+		}
+		if (!key.isEmpty() && Character.isDigit(key.charAt(0)) && key.equals(digits(person.phoneNumber()))) {
+			return MatchedOn.PHONE;
+		}
+		return MatchedOn.NAME;
+	}
+
+	// Every remaining query word must prefix a name word other than the matched one
+	private static boolean otherWordsMatch(Person person, String matchedWord, List<String> rest) {
+		List<String> others = new ArrayList<>(words(person.firstName()));
+		others.addAll(words(person.lastName()));
+		others.remove(matchedWord);
+		for (String term : rest) {
+			boolean found = false;
+			for (int i = 0; i < others.size() && !found; i++) {
+				if (others.get(i).startsWith(term)) {
+					others.remove(i);
+					found = true;
+				}
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Set<String> keysOf(Person person) {
+		Set<String> personKeys = new HashSet<>(words(person.firstName()));
+		personKeys.addAll(words(person.lastName()));
+		if (person.email() != null && !person.email().isBlank()) {
+			personKeys.add(person.email().strip().toLowerCase(Locale.ROOT));
+		}
+		String phoneDigits = digits(person.phoneNumber());
+		if (!phoneDigits.isEmpty()) {
+			personKeys.add(phoneDigits);
+		}
+		return personKeys;
+	}
+
+	private void unfile(Person person) {
+		NavigableMap<String, Postings> roleKeys = keys.get(person.role());
+		for (String key : keysOf(person)) {
+			Postings postings = roleKeys.get(key);
+			if (postings != null && postings.remove(person.id()) && postings.size == 0) {
+				roleKeys.remove(key);
+			}
+		}
+	}
+
+	private static final class Postings {
+		private long[] ids = new long[1];
+		private int size;
+
+		void add(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at >= 0) {
+				return;
+			}
+			at = -at - 1;
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			System.arraycopy(ids, at, ids, at + 1, size - at);
+			ids[at] = id;
+			size++;
+		}
+
+		boolean remove(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at < 0) {
+				return false;
+			}
+			System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+			size--;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.response.PeopleSearchResponse;
+
+public interface PeopleSearchService {
+
+	/**
+	 * Prefix search on name, email and phone across the given roles (all of
+	 * them when empty), returning at most limit people per role.
+	 */
+	PeopleSearchResponse search(String query, List<String> roles, int limit);
+}
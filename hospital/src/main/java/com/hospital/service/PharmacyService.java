@@ -0,0 +1,23 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.request.DispenseRequest;
+import com.hospital.dto.response.DispenseResponse;
+import com.hospital.dto.response.PharmacyQueueEntry;
+import com.hospital.entity.MedicineItem;
+
+public interface PharmacyService {
+
+	// 🔹 Create dispense lines for a newly issued prescription and reserve their stock
+	void reserveForPrescription(Long prescriptionId, List<MedicineItem> items);
+
+	// 🔹 Pharmacy Side: prescriptions with lines still to hand out, oldest first
+	List<PharmacyQueueEntry> getQueue(int limit);
+
+	// 🔹 Pharmacy Side: dispense every pending line of the given prescriptions in one transaction
+	DispenseResponse dispense(DispenseRequest request);
+
+	// 🔹 Pharmacy Side: give back reserved stock for a prescription that will not be collected
+	int releasePrescription(Long prescriptionId);
+}
@@ -1,6 +1,8 @@
 package com.hospital.service;
 
 import com.hospital.dto.request.PrescriptionRequest;
+import com.hospital.dto.response.MedicineMatchBackfillResponse;
+import com.hospital.dto.response.PrescriptionPageResponse;
 import com.hospital.dto.response.PrescriptionResponse;
 
 import java.util.List;
@@ -8,4 +10,6 @@ import java.util.List;
 public interface PrescriptionService {
     PrescriptionResponse issuePrescription(PrescriptionRequest request);
     List<PrescriptionResponse> getPrescriptionsByPatient(String email);
+    PrescriptionPageResponse getPrescriptionPageByPatient(String email, int page, int size, boolean issuedOnly);
+    MedicineMatchBackfillResponse backfillInventoryMatches();
 }
@@ -0,0 +1,75 @@
+package com.hospital.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Next refill date of every scheduled prescription, kept in due-date order.
+ * Finding what is due is a walk from the head of a skip list that stops at
+ * the horizon, so it touches only due entries however many schedules exist.
+ * Entries may go stale (a rolled-back issue, an edited schedule); the
+ * materializer checks each against the database and reschedules or drops it.
+ */
+@Component
+public class RefillDueIndex {
+
+	public record Due(LocalDate date, long prescriptionId) {
+	}
+
+	private static final Comparator<Due> ORDER = Comparator.comparing(Due::date)
+			.thenComparingLong(Due::prescriptionId);
+
+	private final ConcurrentSkipListSet<Due> queue = new ConcurrentSkipListSet<>(ORDER);
+	private final Map<Long, LocalDate> scheduled = new ConcurrentHashMap<>();
+
+	/**
+	 * Sets or moves the prescription's next due date; null removes it.
+	 */
+	public void schedule(long prescriptionId, LocalDate date) {
+		// compute() serializes changes per prescription so queue and map stay in step
+		scheduled.compute(prescriptionId, (id, previous) -> {
+			if (previous != null) {
+				queue.remove(new Due(previous, id));
+			}
+			if (date != null) {
+				queue.add(new Due(date, id));
+			}
+			return date;
+		});
+	}
+
+	public void unschedule(long prescriptionId) {
+		schedule(prescriptionId, null);
+	}
+
+	/**
+	 * Up to limit entries due on or before the horizon, earliest first.
+	 */
+	public List<Due> dueBy(LocalDate horizon, int limit) {
+		List<Due> due = new ArrayList<>(Math.min(limit, 256));
+		for (Due entry : queue.headSet(new Due(horizon, Long.MAX_VALUE), true)) {
+			if (due.size() >= limit) {
+				break;
+			}
+			due.add(entry);
+		}
+		return due;
+	}
+
+	public void replaceAll(Map<Long, LocalDate> schedules) {
+		queue.clear();
+		scheduled.clear();
+		schedules.forEach(this::schedule);
+	}
+
+	public int size() {
+		return scheduled.size();
+	}
+}
@@ -0,0 +1,22 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.request.RefillDecisionRequest;
+import com.hospital.dto.response.RefillDecisionResponse;
+import com.hospital.dto.response.RefillGroupResponse;
+
+public interface RefillService {
+
+	// 🔹 Turn due refills into unissued, stock-reserved drafts awaiting approval; returns how many were created
+	int materializeDueRefills();
+
+	// 🔹 Doctor Side: pending refills grouped per doctor; doctorEmail null means every doctor (admin)
+	List<RefillGroupResponse> getPendingRefills(String doctorEmail);
+
+	// 🔹 Doctor Side: approve refills in one call, issuing their drafts
+	RefillDecisionResponse approveRefills(RefillDecisionRequest request, String doctorEmail);
+
+	// 🔹 Doctor Side: reject refills in one call, releasing their reserved stock
+	RefillDecisionResponse rejectRefills(RefillDecisionRequest request, String doctorEmail);
+}
@@ -0,0 +1,36 @@
+package com.hospital.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.hospital.dto.request.RosterRunRequest;
+import com.hospital.dto.request.StaffUnavailabilityRequest;
+import com.hospital.dto.response.RosterRunResponse;
+import com.hospital.dto.response.RosteredShiftResponse;
+
+public interface RosterService {
+
+	/**
+	 * Queues a roster solve for the week. When it completes, it replaces the
+	 * week's roster of every department it covered.
+	 */
+	RosterRunResponse startRun(RosterRunRequest request, String createdBy);
+
+	/**
+	 * The run, or null when there is no such run.
+	 */
+	RosterRunResponse getRun(Long runId);
+
+	List<RosterRunResponse> getRecentRuns(int limit);
+
+	/**
+	 * A department's rostered shifts for the week starting on the given Monday.
+	 */
+	List<RosteredShiftResponse> getRoster(String department, LocalDate weekStart);
+
+	/**
+	 * Records days staff cannot be rostered; recording a day again updates
+	 * its reason.
+	 */
+	int recordUnavailability(List<StaffUnavailabilityRequest> days);
+}
@@ -0,0 +1,370 @@
+package com.hospital.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.hospital.enums.ShiftType;
+
+/**
+ * Builds one department's weekly roster. The week has 21 shifts (a day,
+ * evening and night shift on each of 7 days) and each worker's week is a
+ * 21-bit mask, so the hard rules are bit tests: a worker never takes a shift
+ * on a day they are unavailable or too close to a shift of a neighbouring
+ * week, never takes two shifts with less than the
+ * minimum rest between them, and never works more than the weekly maximum.
+ * Every move keeps those rules, so the search only trades off the soft goals:
+ * first each shift's coverage minimum, then an even spread of shifts and
+ * of nights across the workers.
+ * <p>
+ * The search is late acceptance hill climbing: a move is taken when it is no
+ * worse than the current roster or than the roster of a fixed number of
+ * steps ago, which lets it walk out of local minima without a temperature
+ * to tune. It starts from a greedy roster and returns the best one seen when
+ * the deadline or the move budget runs out.
+ */
+public class RosterSolver {
+
+	public static final int DAYS = 7;
+	public static final int SHIFT_HOURS = 8;
+	public static final int SHIFTS_PER_DAY = ShiftType.values().length;
+	public static final int SLOTS = DAYS * SHIFTS_PER_DAY;
+
+	// Weight of one uncovered shift against the spread terms
+	private static final long UNCOVERED_WEIGHT = 1_000;
+	private static final int HISTORY = 500;
+	private static final int NIGHT = ShiftType.NIGHT.ordinal();
+
+	/**
+	 * coverage is the minimum number of workers on each shift type.
+	 */
+	public record Rules(int[] coverage, int minRestHours, int maxShiftsPerWeek) {
+
+		public Rules {
+			if (coverage.length != SHIFTS_PER_DAY) {
+				throw new IllegalArgumentException("Coverage needs a minimum for each of the " + SHIFTS_PER_DAY
+						+ " shift types");
+			}
+			coverage = coverage.clone();
+		}
+	}
+
+	/**
+	 * unavailableDays has bit d set when the worker cannot work on day d of
+	 * the week (0 is the first day); blockedShifts has bit {@link #slot} set
+	 * for single shifts the worker cannot take, e.g. for rest after the last
+	 * shift of the week before.
+	 */
+	public record Worker(long staffId, int unavailableDays, int blockedShifts) {
+	}
+
+	public record Assignment(long staffId, int day, ShiftType type) {
+	}
+
+	/**
+	 * uncovered counts the missing workers summed over all shifts.
+	 */
+	public record Roster(List<Assignment> assignments, int uncovered, long score, long moves) {
+	}
+
+	private final Rules rules;
+	// Shifts that cannot be worked together with each shift
+	private final int[] conflicts = new int[SLOTS];
+
+	public RosterSolver(Rules rules) {
+		this.rules = rules;
+		for (int s = 0; s < SLOTS; s++) {
+			for (int t = 0; t < SLOTS; t++) {
+				int a = startHour(s);
+				int b = startHour(t);
+				if (s != t && b < a + SHIFT_HOURS + rules.minRestHours() && a < b + SHIFT_HOURS + rules.minRestHours()) {
+					conflicts[s] |= 1 << t;
+				}
+			}
+		}
+	}
+
+	public static int slot(int day, ShiftType type) {
+		return day * SHIFTS_PER_DAY + type.ordinal();
+	}
+
+	public static LocalDateTime shiftStart(LocalDate weekStart, int slot) {
+		return weekStart.atStartOfDay().plusHours(startHour(slot));
+	}
+
+	private static int startHour(int slot) {
+		return slot / SHIFTS_PER_DAY * 24 + ShiftType.values()[slot % SHIFTS_PER_DAY].startHour();
+	}
+
+	/**
+	 * Searches until deadlineNanos (a System.nanoTime value) or maxMoves,
+	 * whichever comes first, or until the thread is interrupted.
+	 */
+	public Roster solve(List<Worker> workers, long deadlineNanos, long maxMoves, long seed) {
+		return new Search(workers, new SplittableRandom(seed)).run(deadlineNanos, maxMoves);
+	}
+
+	private final class Search {
+		private final int n;
+		private final long[] staffIds;
+		private final int[] unavailable;
+		private final int[] minimum = new int[SLOTS];
+		private final int[] mask;
+		private final int[] load;
+		private final int[] nights;
+		private final int[] count = new int[SLOTS];
+		private final SplittableRandom random;
+		private long cost;
+
+		Search(List<Worker> workers, SplittableRandom random) {
+			this.random = random;
+			n = workers.size();
+			staffIds = new long[n];
+			unavailable = new int[n];
+			mask = new int[n];
+			load = new int[n];
+			nights = new int[n];
+			for (int w = 0; w < n; w++) {
+				staffIds[w] = workers.get(w).staffId();
+				unavailable[w] = workers.get(w).blockedShifts();
+				for (int day = 0; day < DAYS; day++) {
+					if ((workers.get(w).unavailableDays() & 1 << day) != 0) {
+						unavailable[w] |= 0b111 << day * SHIFTS_PER_DAY;
+					}
+				}
+			}
+			for (int s = 0; s < SLOTS; s++) {
+				minimum[s] = rules.coverage()[s % SHIFTS_PER_DAY];
+			}
+		}
+
+		Roster run(long deadlineNanos, long maxMoves) {
+			greedyStart();
+			cost = fullCost();
+			long bestCost = cost;
+			int[] best = mask.clone();
+			long[] history = new long[HISTORY];
+			Arrays.fill(history, cost);
+
+			long moves = 0;
+			while (n > 0 && moves < maxMoves) {
+				if ((moves & 1023) == 0 && (System.nanoTime() - deadlineNanos > 0 || Thread.interrupted())) {
+					break;
+				}
+				int h = (int) (moves % HISTORY);
+				moves++;
+				tryMove(Math.max(history[h], cost));
+				history[h] = cost;
+				if (cost < bestCost) {
+					bestCost = cost;
+					System.arraycopy(mask, 0, best, 0, n);
+				}
+			}
+			return toRoster(best, bestCost, moves);
+		}
+
+		// Fills each shift up to its minimum with the least loaded workers who can take it
+		private void greedyStart() {
+			int[] order = new int[n];
+			for (int w = 0; w < n; w++) {
+				order[w] = w;
+			}
+			for (int s = 0; s < SLOTS; s++) {
+				shuffle(order);
+				while (count[s] < minimum[s]) {
+					int chosen = -1;
+					for (int w : order) {
+						if (canTake(w, s, 0) && (chosen < 0 || load[w] < load[chosen])) {
+							chosen = w;
+						}
+					}
+					if (chosen < 0) {
+						break;
+					}
+					add(chosen, s);
+				}
+			}
+		}
+
+		/**
+		 * Proposes one random move and makes it when the resulting cost is within
+		 * the bound.
+		 */
+		private void tryMove(long bound) {
+			int s = random.nextInt(SLOTS);
+			int w = random.nextInt(n);
+			switch (random.nextInt(4)) {
+			case 0 -> {
+				// Someone takes on an extra shift
+				if (canTake(w, s, 0) && accept(addDelta(w, s), bound)) {
+					add(w, s);
+				}
+			}
+			case 1 -> {
+				// Someone drops a shift
+				if (has(w, s) && accept(removeDelta(w, s), bound)) {
+					remove(w, s);
+				}
+			}
+			case 2 -> {
+				// A shift passes from one worker to another
+				int from = randomHolder(s);
+				if (from >= 0 && from != w && canTake(w, s, 0)) {
+					long delta = spreadDelta(from, s, -1) + spreadDelta(w, s, +1);
+					if (accept(delta, bound)) {
+						remove(from, s);
+						add(w, s);
+					}
+				}
+			}
+			default -> {
+				// A worker trades one of their shifts for another
+				int current = randomShiftOf(w);
+				if (current >= 0 && current != s && !has(w, s) && canTake(w, s, 1 << current)) {
+					long delta = coverageDelta(current, -1) + coverageDelta(s, +1);
+					if ((current % SHIFTS_PER_DAY == NIGHT) != (s % SHIFTS_PER_DAY == NIGHT)) {
+						delta += s % SHIFTS_PER_DAY == NIGHT ? 2L * nights[w] + 1 : -2L * nights[w] + 1;
+					}
+					if (accept(delta, bound)) {
+						remove(w, current);
+						add(w, s);
+					}
+				}
+			}
+			}
+		}
+
+		private boolean accept(long delta, long bound) {
+			return cost + delta <= bound;
+		}
+
+		private boolean has(int w, int s) {
+			return (mask[w] & 1 << s) != 0;
+		}
+
+		// Whether w can take s once the shifts in released are given up
+		private boolean canTake(int w, int s, int released) {
+			int kept = mask[w] & ~released;
+			return (kept & 1 << s) == 0 && (unavailable[w] & 1 << s) == 0 && (kept & conflicts[s]) == 0
+					&& Integer.bitCount(kept) < rules.maxShiftsPerWeek();
+		}
+
+		private long addDelta(int w, int s) {
+			return coverageDelta(s, +1) + spreadDelta(w, s, +1);
+		}
+
+		private long removeDelta(int w, int s) {
+			return coverageDelta(s, -1) + spreadDelta(w, s, -1);
+		}
+
+		private long coverageDelta(int s, int change) {
+			if (change > 0) {
+				return count[s] < minimum[s] ? -UNCOVERED_WEIGHT : 0;
+			}
+			return count[s] <= minimum[s] ? UNCOVERED_WEIGHT : 0;
+		}
+
+		// Change in the sum of squared loads (and nights) when w gains or loses s
+		private long spreadDelta(int w, int s, int change) {
+			long delta = change > 0 ? 2L * load[w] + 1 : -2L * load[w] + 1;
+			if (s % SHIFTS_PER_DAY == NIGHT) {
+				delta += change > 0 ? 2L * nights[w] + 1 : -2L * nights[w] + 1;
+			}
+			return delta;
+		}
+
+		private void add(int w, int s) {
+			cost += addDelta(w, s);
+			mask[w] |= 1 << s;
+			load[w]++;
+			count[s]++;
+			if (s % SHIFTS_PER_DAY == NIGHT) {
+				nights[w]++;
+			}
+		}
+
+		private void remove(int w, int s) {
+			cost += removeDelta(w, s);
+			mask[w] &= ~(1 << s);
+			load[w]--;
+			count[s]--;
+			if (s % SHIFTS_PER_DAY == NIGHT) {
+				nights[w]--;
+			}
+		}
+
+		private int randomHolder(int s) {
+			if (count[s] == 0) {
+				return -1;
+			}
+			// Probe a few random workers, then scan from a random start
+			for (int probe = 0; probe < 8; probe++) {
+				int w = random.nextInt(n);
+				if (has(w, s)) {
+					return w;
+				}
+			}
+			int start = random.nextInt(n);
+			for (int i = 0; i < n; i++) {
+				int w = (start + i) % n;
+				if (has(w, s)) {
+					return w;
+				}
+			}
+			return -1;
+		}
+
+		private int randomShiftOf(int w) {
+			if (mask[w] == 0) {
+				return -1;
+			}
+			int pick = random.nextInt(Integer.bitCount(mask[w]));
+			int bits = mask[w];
+			for (int i = 0; i < pick; i++) {
+				bits &= bits - 1;
+			}
+			return Integer.numberOfTrailingZeros(bits);
+		}
+
+		private long fullCost() {
+			long total = 0;
+			for (int s = 0; s < SLOTS; s++) {
+				total += UNCOVERED_WEIGHT * Math.max(0, minimum[s] - count[s]);
+			}
+			for (int w = 0; w < n; w++) {
+				total += (long) load[w] * load[w] + (long) nights[w] * nights[w];
+			}
+			return total;
+		}
+
+		private void shuffle(int[] values) {
+			for (int i = values.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int swap = values[i];
+				values[i] = values[j];
+				values[j] = swap;
+			}
+		}
+
+		private Roster toRoster(int[] best, long bestCost, long moves) {
+			List<Assignment> assignments = new ArrayList<>();
+			int[] covered = new int[SLOTS];
+			for (int w = 0; w < n; w++) {
+				for (int bits = best[w]; bits != 0; bits &= bits - 1) {
+					int s = Integer.numberOfTrailingZeros(bits);
+					covered[s]++;
+					assignments.add(new Assignment(staffIds[w], s / SHIFTS_PER_DAY,
+							ShiftType.values()[s % SHIFTS_PER_DAY]));
+				}
+			}
+			int uncovered = 0;
+			for (int s = 0; s < SLOTS; s++) {
+				uncovered += Math.max(0, minimum[s] - covered[s]);
+			}
+			return new Roster(assignments, uncovered, bestCost, moves);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.hospital.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline, lexicon and rule based sentiment scoring for feedback comments.
+ * <p>
+ * Each known word contributes its lexicon score. A preceding intensifier
+ * ("very", "extremely") strengthens it, a dampener ("slightly") weakens it,
+ * and a negation within the previous three words ("not", "never", "didn't")
+ * flips and softens it. Words after "but" outweigh the words before it, and
+ * exclamation marks amplify the result. The sum is squashed into -1..1.
+ * Scoring is one pass over the characters with a hash lookup per word, so
+ * it needs no network and runs in a few microseconds per comment.
+ */
+@Component
+public class SentimentAnalyzer {
+
+	private static final Logger logger = LoggerFactory.getLogger(SentimentAnalyzer.class);
+
+	/** Comments scoring at or below this count as negative. */
+	public static final double NEGATIVE_THRESHOLD = -0.05;
+
+	private static final double NEGATION_FACTOR = -0.74;
+	private static final int NEGATION_SCOPE = 3;
+	private static final double BEFORE_BUT_WEIGHT = 0.5;
+	private static final double AFTER_BUT_WEIGHT = 1.5;
+	private static final double EXCLAMATION_BOOST = 0.292;
+	private static final int MAX_EXCLAMATIONS = 4;
+	private static final double NORMALIZATION_ALPHA = 15;
+
+	private static final Set<String> NEGATIONS = Set.of("not", "no", "never", "none", "nobody", "nothing",
+			"neither", "nor", "without", "hardly", "cannot", "cant", "dont", "doesnt", "didnt", "isnt", "wasnt",
+			"arent", "werent", "wont", "wouldnt", "couldnt", "shouldnt", "hasnt", "havent", "hadnt");
+
+	private static final Map<String, Double> BOOSTERS = Map.ofEntries(Map.entry("very", 0.293),
+			Map.entry("really", 0.293), Map.entry("extremely", 0.4), Map.entry("so", 0.2),
+			Map.entry("highly", 0.3), Map.entry("incredibly", 0.4), Map.entry("absolutely", 0.35),
+			Map.entry("totally", 0.3), Map.entry("completely", 0.3), Map.entry("truly", 0.25),
+			Map.entry("most", 0.2), Map.entry("super", 0.3), Map.entry("slightly", -0.293),
+			Map.entry("somewhat", -0.25), Map.entry("barely", -0.3), Map.entry("marginally", -0.25),
+			Map.entry("fairly", -0.1), Map.entry("bit", -0.2));
+
+	private final Map<String, Double> lexicon;
+
+	@Autowired
+	public SentimentAnalyzer(@Value("${feedback.sentiment.lexicon:classpath:sentiment/lexicon.csv}") Resource source)
+			throws IOException {
+		this(readLexicon(source));
+		logger.info("Loaded sentiment lexicon with {} terms", lexicon.size());
+	}
+
+	public SentimentAnalyzer(Map<String, Double> lexicon) {
+		this.lexicon = Map.copyOf(lexicon);
+	}
+
+	/**
+	 * Score in -1..1, 0 when no word carries sentiment, null for blank text.
+	 */
+	public Double score(String text) {
+		if (text == null || text.isBlank()) {
+			return null;
+		}
+		double beforeBut = 0;
+		double total = 0;
+		boolean sawBut = false;
+		int negationLeft = 0;
+		double boost = 0;
+		int exclamations = 0;
+
+		StringBuilder word = new StringBuilder(16);
+		int length = text.length();
+		for (int i = 0; i <= length; i++) {
+			char c = i < length ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				word.append(Character.toLowerCase(c));
+				continue;
+			}
+			// Apostrophes inside a word are dropped, so "didn't" reads as "didnt"
+			if ((c == '\'' || c == '\u2019') && word.length() > 0 && i + 1 < length && Character.isLetter(text.charAt(i + 1))) {
+				continue;
+			}
+			if (word.length() > 0) {
+				String token = word.toString();
+				word.setLength(0);
+
+				Double valence = lexicon.get(token);
+				if (valence != null) {
+					double v = valence + Math.signum(valence) * boost;
+					if (negationLeft > 0) {
+						v *= NEGATION_FACTOR;
+					}
+					total += v;
+					boost = 0;
+				} else if (NEGATIONS.contains(token)) {
+					negationLeft = NEGATION_SCOPE + 1;
+				} else if (BOOSTERS.containsKey(token)) {
+					boost += BOOSTERS.get(token);
+				} else if (token.equals("but") || token.equals("however")) {
+					beforeBut += total;
+					total = 0;
+					sawBut = true;
+					negationLeft = 0;
+					boost = 0;
+					continue;
+				} else {
+					boost = 0;
+				}
+				if (negationLeft > 0) {
+					negationLeft--;
+				}
+			}
+			if (c == '!') {
+				exclamations++;
+			}
+			if (c == '.' || c == '!' || c == '?' || c == ';') {
+				negationLeft = 0;
+				boost = 0;
+			}
+		}
+
+		double sum = sawBut ? beforeBut * BEFORE_BUT_WEIGHT + total * AFTER_BUT_WEIGHT : total;
+		if (sum != 0) {
+			sum += Math.signum(sum) * Math.min(exclamations, MAX_EXCLAMATIONS) * EXCLAMATION_BOOST;
+		}
+		return sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+	}
+
+	public static boolean isNegative(Double score) {
+		return score != null && score <= NEGATIVE_THRESHOLD;
+	}
+
+	public int size() {
+		return lexicon.size();
+	}
+
+	static Map<String, Double> readLexicon(Resource source) throws IOException {
+		Map<String, Double> terms = new HashMap<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.strip();
+				if (line.isEmpty() || line.startsWith("#") || line.startsWith("term,")) {
+					continue;
+				}
+				int comma = line.indexOf(',');
+				if (comma <= 0) {
+					continue;
+				}
+				terms.put(line.substring(0, comma).strip().toLowerCase(Locale.ROOT),
+						Double.parseDouble(line.substring(comma + 1)));
+			}
+		}
+		return terms;
+	}
+}
@@ -0,0 +1,118 @@
+package com.hospital.service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.hospital.entity.WaitlistEntry;
+
+/**
+ * In-memory FIFO queues of WAITING waitlist entries, one per doctor and day.
+ * The {@code appointment_waitlist} table stays the source of truth; these
+ * queues only answer "who is next" without touching the database. Each queue
+ * is a skip list ordered by join time then id, with an id lookup beside it,
+ * so add, remove and reading the head are O(log n) and safe under concurrent
+ * cancellations. Queue sizes are kept as counters.
+ */
+@Component
+public class WaitlistQueues {
+
+	private static final Comparator<QueuedEntry> ORDER = Comparator.comparing(QueuedEntry::joinedAt)
+			.thenComparingLong(QueuedEntry::id);
+
+	private final Map<String, Queue> queues = new ConcurrentHashMap<>();
+	private final Map<Long, QueuedEntry> queuedById = new ConcurrentHashMap<>();
+
+	public void add(WaitlistEntry entry) {
+		QueuedEntry queued = new QueuedEntry(entry.getId(), joinedAt(entry),
+				key(entry.getDoctorName(), entry.getDate()));
+		if (queuedById.putIfAbsent(queued.id(), queued) == null) {
+			queues.computeIfAbsent(queued.queueKey(), k -> new Queue()).add(queued);
+		}
+	}
+
+	public void remove(WaitlistEntry entry) {
+		remove(entry.getId());
+	}
+
+	public void remove(Long id) {
+		QueuedEntry queued = id == null ? null : queuedById.remove(id);
+		if (queued != null) {
+			Queue queue = queues.get(queued.queueKey());
+			if (queue != null) {
+				queue.remove(queued);
+			}
+		}
+	}
+
+	/**
+	 * Ids of the entries waiting for this doctor on this day, longest-waiting
+	 * first. The iterator walks the queue lazily, so a caller that stops at the
+	 * first usable entry only pays for the entries it looked at.
+	 */
+	public Iterable<Long> waiting(String doctorName, String date) {
+		Queue queue = queues.get(key(doctorName, date));
+		if (queue == null) {
+			return List.of();
+		}
+		return () -> queue.entries.stream().map(QueuedEntry::id).iterator();
+	}
+
+	public int size(String doctorName, String date) {
+		Queue queue = queues.get(key(doctorName, date));
+		return queue == null ? 0 : queue.size.get();
+	}
+
+	/**
+	 * 1-based position of the entry in its queue, or 0 if it is not queued.
+	 * Walks the head of the queue, so this is meant for display only.
+	 */
+	public int positionOf(WaitlistEntry entry) {
+		QueuedEntry queued = queuedById.get(entry.getId());
+		Queue queue = queued == null ? null : queues.get(queued.queueKey());
+		if (queue == null || !queue.entries.contains(queued)) {
+			return 0;
+		}
+		return queue.entries.headSet(queued, false).size() + 1;
+	}
+
+	public void clear() {
+		queues.clear();
+		queuedById.clear();
+	}
+
+	private static LocalDateTime joinedAt(WaitlistEntry entry) {
+		return entry.getJoinedAt() != null ? entry.getJoinedAt() : LocalDateTime.MIN;
+	}
+
+	private static String key(String doctorName, String date) {
+		return doctorName + '|' + date;
+	}
+
+	private record QueuedEntry(long id, LocalDateTime joinedAt, String queueKey) {
+	}
+
+	private static final class Queue {
+		private final NavigableSet<QueuedEntry> entries = new ConcurrentSkipListSet<>(ORDER);
+		private final AtomicInteger size = new AtomicInteger();
+
+		private void add(QueuedEntry queued) {
+			if (entries.add(queued)) {
+				size.incrementAndGet();
+			}
+		}
+
+		private void remove(QueuedEntry queued) {
+			if (entries.remove(queued)) {
+				size.decrementAndGet();
+			}
+		}
+	}
+}
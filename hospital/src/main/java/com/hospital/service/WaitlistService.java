@@ -0,0 +1,32 @@
+package com.hospital.service;
+
+import java.util.List;
+
+import com.hospital.dto.request.WaitlistRequest;
+import com.hospital.dto.response.WaitlistEntryResponse;
+import com.hospital.entity.Appointment;
+import com.hospital.event.AppointmentStatusChangedEvent;
+
+public interface WaitlistService {
+
+	// 🔹 Patient Side: Join the waitlist for a doctor on a given day
+	WaitlistEntryResponse joinWaitlist(WaitlistRequest request, String patientEmail);
+
+	// 🔹 Patient Side: Fetch own waitlist entries and pending offers
+	List<WaitlistEntryResponse> getEntriesForPatient(String patientEmail);
+
+	// 🔹 Patient Side: Accept a held slot, booking the appointment
+	Appointment acceptOffer(Long entryId, String patientEmail);
+
+	// 🔹 Patient Side: Decline a held slot, passing it to the next in line
+	WaitlistEntryResponse declineOffer(Long entryId, String patientEmail);
+
+	// 🔹 Patient Side: Leave the waitlist
+	void leaveWaitlist(Long entryId, String patientEmail);
+
+	// 🔹 Offer slots freed by cancellations to the next waitlisted patients
+	void onAppointmentStatusChanged(AppointmentStatusChangedEvent event);
+
+	// 🔹 True if the slot is on hold for a waitlisted patient other than this one
+	boolean isHeldForAnother(String doctorName, String date, String time, String patientEmail);
+}
@@ -0,0 +1,265 @@
+package com.hospital.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.dto.response.DemandHeatmapResponse;
+import com.hospital.dto.response.DoctorUtilizationResponse;
+import com.hospital.entity.Appointment;
+import com.hospital.enums.Status;
+import com.hospital.event.AppointmentStatusChangedEvent;
+import com.hospital.exception.CustomInternalServerException;
+import com.hospital.exception.ResourceNotFoundException;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.AppointmentRepository.SlotView;
+import com.hospital.service.AppointmentAnalyticsService;
+import com.hospital.service.AppointmentDemandCounters;
+import com.hospital.service.AppointmentDemandCounters.DoctorCells;
+import com.hospital.service.AppointmentDemandCounters.Range;
+import com.hospital.service.AppointmentDemandCounters.Rebuild;
+import com.hospital.service.AppointmentDemandCounters.Snapshot;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class AppointmentAnalyticsServiceImpl implements AppointmentAnalyticsService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AppointmentAnalyticsServiceImpl.class);
+
+	private static final int BACKFILL_PAGE_SIZE = 2000;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private AppointmentDemandCounters counters;
+
+	@Value("${appointments.slot-minutes:30}")
+	private int slotMinutes;
+
+	@Value("${appointments.clinic.open-hour:9}")
+	private int openHour;
+
+	@Value("${appointments.clinic.close-hour:17}")
+	private int closeHour;
+
+	@Value("${analytics.backfill.threads:0}")
+	private int backfillThreads;
+
+	private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+	private ExecutorService backfillPool;
+	private ExecutorService rebuildRunner;
+
+	@PostConstruct
+	public void init() {
+		AtomicInteger count = new AtomicInteger();
+		backfillPool = Executors.newFixedThreadPool(threads(), runnable -> {
+			Thread thread = new Thread(runnable, "analytics-backfill-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		rebuildRunner = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "analytics-rebuild");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildOnStartup() {
+		// Coordinate from outside the scan pool so startup is not held up by a large history
+		rebuildRunner.execute(() -> {
+			try {
+				rebuildFromHistory();
+			} catch (RuntimeException e) {
+				logger.error("Appointment analytics rebuild on startup failed", e);
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuildRunner.shutdownNow();
+		backfillPool.shutdownNow();
+	}
+
+	/**
+	 * Keeps the counters current once a change commits: a booking adds to its
+	 * weekday/hour cell and a cancellation or deletion removes it again.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+		for (AppointmentStatusChangedEvent.Change change : event.changes()) {
+			int delta = (counts(change.newStatus()) ? 1 : 0) - (counts(change.previousStatus()) ? 1 : 0);
+			if (delta != 0) {
+				counters.record(change.appointmentId(), change.doctorName(),
+						Appointment.toStartTime(change.date(), change.time()), delta);
+			}
+		}
+	}
+
+	@Override
+	public DemandHeatmapResponse getHeatmap(String doctorName, String specialization) {
+		Snapshot snapshot = counters.current();
+		DemandHeatmapResponse response = new DemandHeatmapResponse();
+		AtomicLongArray cells;
+		long doctors;
+		if (doctorName != null) {
+			DoctorCells doctor = snapshot.doctor(doctorName);
+			if (doctor == null) {
+				throw new ResourceNotFoundException("No bookings recorded for doctor: " + doctorName);
+			}
+			cells = doctor.cells();
+			doctors = 1;
+			response.setScope("DOCTOR");
+			response.setName(doctorName);
+		} else if (specialization != null) {
+			cells = snapshot.specialization(specialization);
+			if (cells == null) {
+				throw new ResourceNotFoundException("No bookings recorded for specialization: " + specialization);
+			}
+			doctors = snapshot.doctorsInSpecialization(specialization);
+			response.setScope("SPECIALIZATION");
+			response.setName(specialization);
+		} else {
+			cells = snapshot.hospital();
+			doctors = snapshot.doctors().size();
+			response.setScope("HOSPITAL");
+			response.setName("All doctors");
+		}
+
+		long weeks = snapshot.weeksObserved();
+		double slotsPerCell = (60.0 / slotMinutes) * weeks * Math.max(1, doctors);
+		long[][] bookings = new long[AppointmentDemandCounters.DAYS][AppointmentDemandCounters.HOURS];
+		double[][] utilization = new double[AppointmentDemandCounters.DAYS][AppointmentDemandCounters.HOURS];
+		long total = 0;
+		for (int day = 0; day < AppointmentDemandCounters.DAYS; day++) {
+			for (int hour = 0; hour < AppointmentDemandCounters.HOURS; hour++) {
+				long count = cells.get(day * AppointmentDemandCounters.HOURS + hour);
+				bookings[day][hour] = count;
+				total += count;
+				if (hour >= openHour && hour < closeHour) {
+					utilization[day][hour] = percent(count, slotsPerCell);
+				}
+			}
+		}
+
+		response.setDoctors(doctors);
+		response.setWeeksObserved(weeks);
+		response.setTotalBookings(total);
+		response.setUtilizationPercent(
+				percent(total, slotsPerCell * AppointmentDemandCounters.DAYS * (closeHour - openHour)));
+		response.setBookings(bookings);
+		response.setUtilization(utilization);
+		return response;
+	}
+
+	@Override
+	public List<DoctorUtilizationResponse> getDoctorUtilization() {
+		Snapshot snapshot = counters.current();
+		double capacity = (60.0 / slotMinutes) * (closeHour - openHour) * AppointmentDemandCounters.DAYS
+				* snapshot.weeksObserved();
+		return snapshot.doctors().stream()
+				.map(d -> new DoctorUtilizationResponse(d.doctorName(), d.specialization(), d.total(),
+						percent(d.total(), capacity)))
+				.sorted(Comparator.comparingDouble(DoctorUtilizationResponse::getUtilizationPercent).reversed())
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Rebuilds the counters by splitting the id space into ranges and scanning
+	 * them in parallel, then swaps the result in atomically. Writes that land
+	 * while the scan runs reach the new snapshot once: the counters skip a
+	 * change the scan has already read.
+	 */
+	@Override
+	public long rebuildFromHistory() {
+		if (!rebuildRunning.compareAndSet(false, true)) {
+			throw new IllegalStateException("A rebuild is already running");
+		}
+		long started = System.currentTimeMillis();
+		try {
+			Rebuild rebuild = counters.startRebuild(appointmentRepository::findMaxId);
+			long maxId = rebuild.maxId();
+			int ranges = threads() * 4;
+			long step = Math.max(1, (maxId + ranges - 1) / ranges);
+			List<Range> toScan = new ArrayList<>();
+			for (long from = 0; from < maxId; from += step) {
+				toScan.add(rebuild.range(from, Math.min(maxId, from + step)));
+			}
+			List<Future<Long>> parts = new ArrayList<>();
+			for (Range range : toScan) {
+				parts.add(backfillPool.submit(() -> scanRange(rebuild.snapshot(), range)));
+			}
+			long scanned = 0;
+			for (Future<Long> part : parts) {
+				scanned += part.get();
+			}
+			counters.finishRebuild(rebuild);
+			logger.info("Rebuilt appointment demand counters from {} rows in {} ms", scanned,
+					System.currentTimeMillis() - started);
+			return scanned;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			counters.abortRebuild();
+			throw new CustomInternalServerException("Appointment analytics rebuild was interrupted");
+		} catch (ExecutionException e) {
+			counters.abortRebuild();
+			logger.error("Appointment analytics rebuild failed", e.getCause());
+			throw new CustomInternalServerException("Appointment analytics rebuild failed");
+		} finally {
+			rebuildRunning.set(false);
+		}
+	}
+
+	private long scanRange(Snapshot snapshot, Range range) {
+		long scanned = 0;
+		List<SlotView> page;
+		do {
+			page = range.scanNext(
+					cursor -> appointmentRepository.findSlotsInIdRange(cursor, range.toId(),
+							PageRequest.of(0, BACKFILL_PAGE_SIZE)),
+					slot -> {
+						if (!counts(slot.getStatus()) || slot.getStartTime() == null || slot.getDoctorName() == null) {
+							return false;
+						}
+						snapshot.add(slot.getDoctorName(), slot.getStartTime(), 1);
+						return true;
+					}, SlotView::getId);
+			scanned += page.size();
+		} while (page.size() == BACKFILL_PAGE_SIZE);
+		return scanned;
+	}
+
+	private int threads() {
+		return backfillThreads > 0 ? backfillThreads : Runtime.getRuntime().availableProcessors();
+	}
+
+	private static boolean counts(Status status) {
+		return status != null && status != Status.CANCELLED;
+	}
+
+	private static double percent(long count, double capacity) {
+		return capacity <= 0 ? 0 : Math.round(count * 10000.0 / capacity) / 100.0;
+	}
+}
@@ -1,29 +1,97 @@
 package com.hospital.serviceImpl;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.hospital.dto.request.AppointmentSearchRequest;
+import com.hospital.dto.request.BulkStatusUpdateRequest;
+import com.hospital.dto.response.AppointmentPageResponse;
+import com.hospital.dto.response.AppointmentResponse;
+import com.hospital.dto.response.BulkStatusUpdateResponse;
 import com.hospital.entity.Appointment;
 import com.hospital.enums.Status;
+import com.hospital.event.AppointmentStatusChangedEvent;
 import com.hospital.exception.ResourceNotFoundException;
 import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.AppointmentSpecifications;
 import com.hospital.service.AppointmentService;
+import com.hospital.service.DoctorAssignmentService;
+import com.hospital.service.WaitlistService;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+	private static final Logger logger = LoggerFactory.getLogger(AppointmentServiceImpl.class);
+
+	private static final Set<String> SORT_FIELDS = Set.of("startTime", "doctorName", "status");
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final char CURSOR_SEPARATOR = '\u001f';
+	private static final char CURSOR_VALUE_PREFIX = '=';
+
 	@Autowired
 	private AppointmentRepository appointmentRepository;
 
+	@Autowired
+	private WaitlistService waitlistService;
+
+	@Autowired
+	private DoctorAssignmentService doctorAssignmentService;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	/**
 	 * 🏥 **Patient Side:** Create a new appointment.
 	 */
 	@Override
 	public Appointment createAppointment(Appointment appointment) {
-		return appointmentRepository.save(appointment);
+		if (waitlistService.isHeldForAnother(appointment.getDoctorName(), appointment.getDate(),
+				appointment.getTime(), appointment.getPatientEmail())) {
+			throw new IllegalStateException("This slot is temporarily held for a waitlisted patient");
+		}
+		Appointment saved = appointmentRepository.save(appointment);
+		eventPublisher
+				.publishEvent(new AppointmentStatusChangedEvent(List.of(toChange(saved, null, saved.getStatus()))));
+		return saved;
+	}
+
+	/**
+	 * ⚖️ **Patient Side:** Book with whichever doctor in the specialization has
+	 * the fewest upcoming booked minutes and is free at the requested slot.
+	 */
+	@Override
+	public Appointment createAppointmentInSpecialization(Appointment appointment, String specialization) {
+		String doctorName = doctorAssignmentService.reserveLeastLoadedDoctor(specialization, appointment.getDate(),
+				appointment.getTime(), appointment.getPatientEmail());
+		appointment.setDoctorName(doctorName);
+		try {
+			return createAppointment(appointment);
+		} catch (RuntimeException e) {
+			doctorAssignmentService.releaseReservation(doctorName, appointment.getDate(), appointment.getTime());
+			throw e;
+		}
 	}
 
 	/**
@@ -50,6 +118,16 @@ public class AppointmentServiceImpl implements AppointmentService {
 		return appointmentRepository.findByPatientEmail(email);
 	}
 
+	/**
+	 * 📅 **Patient Side:** Next appointments that are not cancelled.
+	 */
+	@Override
+	public List<AppointmentResponse> getUpcomingAppointmentsByPatientEmail(String email, int limit) {
+		return appointmentRepository
+				.findUpcomingByPatientEmail(email, LocalDateTime.now(), Status.CANCELLED, PageRequest.of(0, limit))
+				.stream().map(this::toResponse).toList();
+	}
+
 	/**
 	 * 🛠 **Admin Side:** Fetch all appointments.
 	 */
@@ -58,6 +136,79 @@ public class AppointmentServiceImpl implements AppointmentService {
 		return appointmentRepository.findAll();
 	}
 
+	/**
+	 * 🛠 **Admin Side:** Keyset-paginated listing. Each page is one indexed range
+	 * scan of size + 1 rows (no OFFSET, no COUNT), so the cost does not grow
+	 * with the size of the appointment history. Rows without a start_time are
+	 * left out: the startup backfill fills it for every row whose date can be
+	 * read, and logs how many cannot.
+	 */
+	@Override
+	public AppointmentPageResponse searchAppointments(AppointmentSearchRequest request) {
+		String sortField = request.getSort() == null ? "startTime" : request.getSort();
+		if (!SORT_FIELDS.contains(sortField)) {
+			throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+		}
+		boolean descending = "desc".equalsIgnoreCase(request.getDirection());
+		int size = Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+		Status status = request.getStatus() == null ? null : Status.valueOf(request.getStatus().toUpperCase());
+
+		Specification<Appointment> spec = Specification.where(AppointmentSpecifications.hasStartTime())
+				.and(AppointmentSpecifications.hasStatus(status))
+				.and(AppointmentSpecifications.hasDoctorName(request.getDoctorName()))
+				.and(AppointmentSpecifications.hasPatientEmail(request.getPatientEmail()))
+				.and(AppointmentSpecifications
+						.startsFrom(request.getFrom() == null ? null : request.getFrom().atStartOfDay()))
+				.and(AppointmentSpecifications
+						.startsBefore(request.getTo() == null ? null : request.getTo().plusDays(1).atStartOfDay()));
+		if (request.getCursor() != null && !request.getCursor().isBlank()) {
+			spec = spec.and(cursorPredicate(sortField, request.getCursor(), descending));
+		}
+
+		Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+		Sort sort = "startTime".equals(sortField) ? Sort.by(direction, "startTime", "id")
+				: Sort.by(direction, sortField, "startTime", "id");
+
+		List<Appointment> rows = appointmentRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+		boolean hasMore = rows.size() > size;
+		List<Appointment> page = hasMore ? rows.subList(0, size) : rows;
+		String nextCursor = hasMore ? encodeCursor(sortField, page.get(page.size() - 1)) : null;
+
+		return new AppointmentPageResponse(page.stream().map(this::toResponse).collect(Collectors.toList()),
+				nextCursor, hasMore);
+	}
+
+	/**
+	 * 🕒 Fills start_time for rows created before the column existed. Rows
+	 * whose date cannot be read keep a null start_time and are logged, since
+	 * the admin listing leaves them out.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfillStartTimes() {
+		long lastId = 0;
+		int updated = 0;
+		int unreadable = 0;
+		List<Appointment> batch;
+		while (!(batch = appointmentRepository.findWithoutStartTime(lastId, PageRequest.of(0, 500))).isEmpty()) {
+			for (Appointment appointment : batch) {
+				appointment.setStartTime(Appointment.toStartTime(appointment.getDate(), appointment.getTime()));
+				if (appointment.getStartTime() == null) {
+					unreadable++;
+				} else {
+					updated++;
+				}
+			}
+			appointmentRepository.saveAll(batch);
+			lastId = batch.get(batch.size() - 1).getId();
+		}
+		if (updated > 0) {
+			logger.info("Backfilled start_time on {} appointments", updated);
+		}
+		if (unreadable > 0) {
+			logger.warn("{} appointments have an unreadable date and are left out of the admin listing", unreadable);
+		}
+	}
+
 	/**
 	 * 👨‍⚕️ **Doctor Side:** Modify appointment status (Approve, Reject,
 	 * Completed).
@@ -70,19 +221,137 @@ public class AppointmentServiceImpl implements AppointmentService {
 		}
 
 		Appointment appointment = appointmentOpt.get();
+		Status previous = appointment.getStatus();
 		appointment.setStatus(Status.valueOf(status.toUpperCase())); // Convert status to Enum
-		return appointmentRepository.save(appointment);
+		Appointment saved = appointmentRepository.save(appointment);
+
+		eventPublisher.publishEvent(new AppointmentStatusChangedEvent(List.of(toChange(saved, previous, saved.getStatus()))));
+		return saved;
+	}
+
+	/**
+	 * 👨‍⚕️ **Doctor Side:** End-of-day close-out. One locking SELECT to check
+	 * existence and ownership, one set-based UPDATE for everything eligible,
+	 * and one event describing the whole batch. The rows stay locked until
+	 * commit, so the statuses read are the ones the UPDATE replaces.
+	 */
+	@Override
+	@Transactional
+	public BulkStatusUpdateResponse updateAppointmentStatuses(BulkStatusUpdateRequest request, String doctorName) {
+		Status target;
+		try {
+			target = Status.valueOf(request.getStatus().trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid status: " + request.getStatus());
+		}
+		List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+		Map<Long, Appointment> found = appointmentRepository.lockAllById(ids).stream()
+				.collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+		List<BulkStatusUpdateResponse.Outcome> outcomes = new ArrayList<>(ids.size());
+		List<Long> toUpdate = new ArrayList<>();
+		List<AppointmentStatusChangedEvent.Change> changes = new ArrayList<>();
+		for (Long id : ids) {
+			Appointment appointment = found.get(id);
+			String result;
+			if (appointment == null) {
+				result = "NOT_FOUND";
+			} else if (doctorName != null && !doctorName.equals(appointment.getDoctorName())) {
+				result = "FORBIDDEN";
+			} else if (appointment.getStatus() == target) {
+				result = "UNCHANGED";
+			} else {
+				result = "UPDATED";
+				toUpdate.add(id);
+				// the entity itself stays untouched so the flush adds no per-row UPDATEs
+				changes.add(toChange(appointment, appointment.getStatus(), target));
+			}
+			outcomes.add(new BulkStatusUpdateResponse.Outcome(id, result));
+		}
+
+		int updated = toUpdate.isEmpty() ? 0 : appointmentRepository.updateStatusForIds(toUpdate, target);
+		if (updated != toUpdate.size()) {
+			// Cannot happen while the rows are locked; roll back rather than publish changes that did not land
+			throw new IllegalStateException("Appointments changed during the close-out, please retry");
+		}
+		if (!changes.isEmpty()) {
+			eventPublisher.publishEvent(new AppointmentStatusChangedEvent(changes));
+		}
+		return new BulkStatusUpdateResponse(target.name(), updated, outcomes);
+	}
+
+	private static AppointmentStatusChangedEvent.Change toChange(Appointment appointment, Status previous,
+			Status current) {
+		return new AppointmentStatusChangedEvent.Change(appointment.getId(), appointment.getDoctorName(),
+				appointment.getPatientEmail(), appointment.getDate(), appointment.getTime(), previous, current);
 	}
 
 	@Override
 	public Optional<Appointment> findAppointmentById(Long id) {
-		// TODO Auto-generated method stub
-		return Optional.empty();
+		return appointmentRepository.findById(id);
 	}
 
+	/**
+	 * 🗑️ **Admin Side:** Deletes the appointment and publishes it as a change
+	 * to a null status, so counters that included it drop it again.
+	 */
 	@Override
+	@Transactional
 	public void deleteAppointment(Long id) {
-		// TODO Auto-generated method stub
-		
+		Appointment appointment = appointmentRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Appointment not found with ID: " + id));
+		appointmentRepository.delete(appointment);
+		eventPublisher.publishEvent(
+				new AppointmentStatusChangedEvent(List.of(toChange(appointment, appointment.getStatus(), null))));
+	}
+
+	private Specification<Appointment> cursorPredicate(String sortField, String cursor, boolean descending) {
+		String[] parts;
+		try {
+			parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+					.split(String.valueOf(CURSOR_SEPARATOR), -1);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+		if (parts.length != 3) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+		// The sort value is empty for null and prefixed otherwise, see encodeCursor
+		String sortValue = parts[0].isEmpty() ? null : parts[0].substring(1);
+		try {
+			LocalDateTime startTime = LocalDateTime.parse(parts[1]);
+			Long id = Long.valueOf(parts[2]);
+			if ("status".equals(sortField)) {
+				return AppointmentSpecifications.after(sortField, sortValue == null ? null : Status.valueOf(sortValue),
+						startTime, id, descending);
+			}
+			return AppointmentSpecifications.after(sortField, sortValue, startTime, id, descending);
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+
+	private static String encodeCursor(String sortField, Appointment last) {
+		String sortValue = switch (sortField) {
+		case "doctorName" -> last.getDoctorName();
+		case "status" -> last.getStatus() == null ? null : last.getStatus().name();
+		default -> null;
+		};
+		String raw = (sortValue == null ? "" : CURSOR_VALUE_PREFIX + sortValue) + CURSOR_SEPARATOR
+				+ last.getStartTime() + CURSOR_SEPARATOR + last.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private AppointmentResponse toResponse(Appointment appointment) {
+		AppointmentResponse response = new AppointmentResponse();
+		response.setId(appointment.getId());
+		response.setPatientName(appointment.getPatientName());
+		response.setPatientEmail(appointment.getPatientEmail());
+		response.setDoctorName(appointment.getDoctorName());
+		response.setDate(appointment.getDate());
+		response.setTime(appointment.getTime());
+		response.setStartTime(appointment.getStartTime());
+		response.setStatus(appointment.getStatus() == null ? null : appointment.getStatus().name());
+		return response;
 	}
 }
\ No newline at end of file
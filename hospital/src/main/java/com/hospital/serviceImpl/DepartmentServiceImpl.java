@@ -0,0 +1,230 @@
+package com.hospital.serviceImpl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hospital.dto.response.DepartmentMemberResponse;
+import com.hospital.dto.response.DepartmentStatsRow;
+import com.hospital.dto.response.DepartmentSummaryResponse;
+import com.hospital.entity.Department;
+import com.hospital.event.AfterCommit;
+import com.hospital.repository.DepartmentRepository;
+import com.hospital.repository.StaffRepository;
+import com.hospital.repository.StaffRepository.StaffStatsView;
+import com.hospital.service.DepartmentService;
+import com.hospital.service.DepartmentStats;
+import com.hospital.service.DepartmentStats.GroupBy;
+import com.hospital.service.DepartmentStats.Summary;
+
+/**
+ * Departments and their totals. Reads are answered from {@link DepartmentStats}
+ * alone; the database is read once at startup, in keyset pages of four staff
+ * columns, and afterwards only for rostered hours, which are summed per staff
+ * member by the database after every roster run and on a fixed delay as
+ * shifts pass.
+ */
+@Service
+public class DepartmentServiceImpl implements DepartmentService {
+
+	private static final Logger logger = LoggerFactory.getLogger(DepartmentServiceImpl.class);
+
+	private static final int MAX_PAGE_SIZE = 500;
+	private static final int MAX_NAME_LENGTH = 100;
+
+	// Staff saved before departments existed get a department of their name
+	private static final String CREATE_MISSING_SQL = "INSERT IGNORE INTO departments (name, created_at) "
+			+ "SELECT LEFT(TRIM(department), 100), ? FROM staff WHERE department_id IS NULL "
+			+ "AND TRIM(department) <> '' GROUP BY LEFT(TRIM(department), 100)";
+
+	private static final String LINK_STAFF_SQL = "UPDATE staff s JOIN departments d "
+			+ "ON d.name = LEFT(TRIM(s.department), 100) SET s.department_id = d.id WHERE s.department_id IS NULL";
+
+	private static final String ROSTERED_MINUTES_SQL = "SELECT staff_id, SUM(TIMESTAMPDIFF(MINUTE, "
+			+ "GREATEST(start_time, ?), end_time)) FROM roster_assignments WHERE end_time > ? GROUP BY staff_id";
+
+	@Autowired
+	private DepartmentRepository departmentRepository;
+
+	@Autowired
+	private StaffRepository staffRepository;
+
+	@Autowired
+	private DepartmentStats departmentStats;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${departments.stats.page-size:5000}")
+	private int pageSize;
+
+	/**
+	 * 🏥 Links staff to departments by name, then loads every department's
+	 * totals
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		int created = jdbcTemplate.update(CREATE_MISSING_SQL, Timestamp.valueOf(LocalDateTime.now()));
+		int linked = jdbcTemplate.update(LINK_STAFF_SQL);
+		if (created > 0 || linked > 0) {
+			logger.info("Created {} departments from staff records and linked {} staff to them", created, linked);
+		}
+
+		departmentStats.clear();
+		departmentRepository.findAll().forEach(d -> departmentStats.putDepartment(d.getId(), d.getName()));
+		long afterId = 0;
+		List<StaffStatsView> page;
+		do {
+			page = staffRepository.findStatsPage(afterId, PageRequest.of(0, pageSize));
+			for (StaffStatsView staff : page) {
+				departmentStats.putMember(staff.getId(), staff.getDepartmentId(), staff.getRole(), staff.getSalary());
+				afterId = staff.getId();
+			}
+		} while (page.size() == pageSize);
+		refreshRosteredHours();
+		logger.info("Department totals loaded for {} departments and {} staff",
+				departmentStats.summaries(null).size(), departmentStats.memberCount());
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${departments.rostered-hours.refresh-ms:300000}")
+	public void refreshRosteredHours() {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		Map<Long, Long> minutes = new HashMap<>();
+		jdbcTemplate.query(ROSTERED_MINUTES_SQL, rs -> {
+			minutes.put(rs.getLong(1), rs.getLong(2));
+		}, now, now);
+		departmentStats.replaceRosteredMinutes(minutes);
+	}
+
+	@Override
+	public String ensure(String name) {
+		return ensureDepartment(name).getName();
+	}
+
+	@Override
+	public synchronized Department ensureDepartment(String name) {
+		String stripped = requireName(name);
+		Long known = departmentStats.departmentId(stripped).orElse(null);
+		if (known != null) {
+			Department department = new Department();
+			department.setId(known);
+			department.setName(departmentStats.name(known).orElse(stripped));
+			return department;
+		}
+		Department department = departmentRepository.findByNameIgnoreCase(stripped).orElseGet(() -> {
+			Department created = new Department();
+			created.setName(stripped);
+			try {
+				return departmentRepository.save(created);
+			} catch (DataIntegrityViolationException e) {
+				// Created by another instance since the lookup
+				return departmentRepository.findByNameIgnoreCase(stripped).orElseThrow(() -> e);
+			}
+		});
+		// A department created inside a rolled back import must not reach the totals
+		AfterCommit.run(() -> departmentStats.putDepartment(department.getId(), department.getName()));
+		return department;
+	}
+
+	@Override
+	public List<DepartmentSummaryResponse> getDepartments() {
+		return departmentStats.summaries(null).stream().map(this::toResponse).toList();
+	}
+
+	@Override
+	public DepartmentSummaryResponse getDepartment(Long departmentId) {
+		return departmentStats.summaries(departmentId).stream().findFirst().map(this::toResponse).orElse(null);
+	}
+
+	@Override
+	public synchronized DepartmentSummaryResponse createDepartment(String name) {
+		String stripped = requireName(name);
+		if (departmentStats.departmentId(stripped).isPresent()
+				|| departmentRepository.findByNameIgnoreCase(stripped).isPresent()) {
+			throw new IllegalStateException("Department already exists: " + stripped);
+		}
+		ensure(stripped);
+		return getDepartment(departmentStats.departmentId(stripped).orElseThrow());
+	}
+
+	@Override
+	public synchronized boolean deleteDepartment(Long departmentId) {
+		if (!departmentRepository.existsById(departmentId)) {
+			return false;
+		}
+		int headcount = departmentStats.headcount(departmentId);
+		if (headcount > 0) {
+			throw new IllegalStateException(
+					"Department still has " + headcount + " staff; move them to another department first");
+		}
+		try {
+			departmentRepository.deleteById(departmentId);
+		} catch (DataIntegrityViolationException e) {
+			throw new IllegalStateException("Department still has staff; move them to another department first");
+		}
+		departmentStats.removeDepartment(departmentId);
+		return true;
+	}
+
+	@Override
+	public List<DepartmentStatsRow> getStats(String groupBy) {
+		GroupBy by;
+		try {
+			by = GroupBy.valueOf(groupBy.strip().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new IllegalArgumentException("Group by must be department, role or department_and_role");
+		}
+		return departmentStats.group(by).stream()
+				.map(row -> new DepartmentStatsRow(row.departmentId(), row.department(), row.role(), row.headcount(),
+						row.salaryTotal(), row.upcomingRosteredHours()))
+				.toList();
+	}
+
+	@Override
+	public List<DepartmentMemberResponse> getMembers(Long departmentId, long afterStaffId, int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		if (departmentStats.name(departmentId).isEmpty()) {
+			return null;
+		}
+		return staffRepository.findDepartmentPage(departmentId, afterStaffId, PageRequest.of(0, size)).stream()
+				.map(staff -> new DepartmentMemberResponse(staff.getId(),
+						((staff.getFirstName() == null ? "" : staff.getFirstName()) + " "
+								+ (staff.getLastName() == null ? "" : staff.getLastName())).strip(),
+						staff.getEmail(), staff.getPhoneNumber(), staff.getRole(), staff.getHireDate()))
+				.toList();
+	}
+
+	private static String requireName(String name) {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("Department name is required");
+		}
+		String stripped = name.strip();
+		if (stripped.length() > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("Department name must be at most " + MAX_NAME_LENGTH + " characters");
+		}
+		return stripped;
+	}
+
+	private DepartmentSummaryResponse toResponse(Summary summary) {
+		return new DepartmentSummaryResponse(summary.id(), summary.name(), summary.headcount(), summary.salaryTotal(),
+				summary.upcomingRosteredHours(), summary.roles());
+	}
+}
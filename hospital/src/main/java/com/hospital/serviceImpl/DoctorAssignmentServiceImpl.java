@@ -0,0 +1,164 @@
+package com.hospital.serviceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.entity.Appointment;
+import com.hospital.entity.Doctor;
+import com.hospital.enums.Status;
+import com.hospital.event.AppointmentStatusChangedEvent;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.AppointmentRepository.DoctorBookingCount;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.DoctorRepository.DoctorNameView;
+import com.hospital.service.DoctorAssignmentService;
+import com.hospital.service.DoctorLoadIndex;
+import com.hospital.service.DoctorLoadIndex.DoctorSeed;
+import com.hospital.service.DoctorLoadIndex.Ranked;
+import com.hospital.service.WaitlistService;
+
+@Service
+public class DoctorAssignmentServiceImpl implements DoctorAssignmentService {
+
+	private static final Logger logger = LoggerFactory.getLogger(DoctorAssignmentServiceImpl.class);
+
+	private static final int CANDIDATE_BATCH = 8;
+
+	@Autowired
+	private DoctorLoadIndex loadIndex;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private WaitlistService waitlistService;
+
+	@Value("${appointments.slot-minutes:30}")
+	private int slotMinutes;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		rebuildLoads();
+	}
+
+	/**
+	 * Appointments that have started no longer count as upcoming load; the
+	 * nightly rebuild drops them in one pass instead of tracking each expiry.
+	 */
+	@Scheduled(cron = "${appointments.load-index.rebuild-cron:0 5 0 * * *}")
+	public void rebuildNightly() {
+		rebuildLoads();
+	}
+
+	@Override
+	public void rebuildLoads() {
+		Map<String, Long> bookings = appointmentRepository
+				.countUpcomingByDoctor(LocalDateTime.now(), Status.CANCELLED).stream()
+				.filter(row -> row.getDoctorName() != null)
+				.collect(Collectors.toMap(DoctorBookingCount::getDoctorName, DoctorBookingCount::getBookings, Long::sum));
+
+		List<DoctorSeed> seeds = new ArrayList<>();
+		for (DoctorNameView doctor : doctorRepository.findAllNameViews()) {
+			String name = DoctorAssignmentService.displayName(doctor.getFirstName(), doctor.getLastName(),
+					doctor.getSpecialization());
+			seeds.add(new DoctorSeed(doctor.getId(), name, doctor.getSpecialization(),
+					bookings.getOrDefault(name, 0L) * slotMinutes));
+		}
+		loadIndex.replaceAll(seeds);
+		logger.info("Doctor load index rebuilt for {} doctors", seeds.size());
+	}
+
+	/**
+	 * Walks the specialization's doctors from least to most loaded in small
+	 * batches and reserves the first one who is free at the requested slot.
+	 * Which doctors of a batch are booked at that time is read in one query,
+	 * so the usual case costs one short index walk and one small query.
+	 */
+	@Override
+	public String reserveLeastLoadedDoctor(String specialization, String date, String time, String patientEmail) {
+		LocalDateTime startTime = Appointment.toStartTime(date, time);
+		if (startTime == null) {
+			throw new IllegalArgumentException("Invalid appointment date: " + date);
+		}
+		List<Ranked> batch;
+		Ranked after = null;
+		do {
+			batch = loadIndex.byLoad(specialization, after, CANDIDATE_BATCH);
+			if (batch.isEmpty()) {
+				break;
+			}
+			List<String> names = batch.stream().map(Ranked::doctorName).toList();
+			Set<String> booked = new HashSet<>(appointmentRepository.findBookedDoctors(names, startTime,
+					Status.CANCELLED));
+			for (String candidate : names) {
+				if (!booked.contains(candidate)
+						&& !waitlistService.isHeldForAnother(candidate, date, time, patientEmail)
+						&& loadIndex.reserve(candidate, date, time, slotMinutes)) {
+					return candidate;
+				}
+			}
+			after = batch.get(batch.size() - 1);
+		} while (batch.size() == CANDIDATE_BATCH);
+		throw new IllegalStateException("No " + specialization + " doctor is available at " + date + " " + time);
+	}
+
+	@Override
+	public void releaseReservation(String doctorName, String date, String time) {
+		loadIndex.release(doctorName, date, time, slotMinutes);
+	}
+
+	@Override
+	public void onDoctorSaved(Doctor doctor) {
+		loadIndex.upsertDoctor(doctor.getId(), DoctorAssignmentService.displayName(doctor.getFirstName(),
+				doctor.getLastName(), doctor.getSpecialization()), doctor.getSpecialization());
+	}
+
+	@Override
+	public void onDoctorRemoved(Long doctorId) {
+		loadIndex.removeDoctor(doctorId);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+		LocalDateTime now = LocalDateTime.now();
+		for (AppointmentStatusChangedEvent.Change change : event.changes()) {
+			// Consumed whatever the start time, so a reservation never outlives its booking
+			if (change.previousStatus() == null
+					&& loadIndex.consumeReservation(change.doctorName(), change.date(), change.time())) {
+				continue; // counted when the slot was reserved
+			}
+			LocalDateTime startTime = Appointment.toStartTime(change.date(), change.time());
+			if (startTime == null || startTime.isBefore(now)) {
+				continue;
+			}
+			int before = change.previousStatus() == null ? 0 : counts(change.previousStatus());
+			int delta = counts(change.newStatus()) - before;
+			if (delta != 0) {
+				loadIndex.adjust(change.doctorName(), (long) delta * slotMinutes);
+			}
+		}
+	}
+
+	// A null status is a deleted appointment
+	private static int counts(Status status) {
+		return status == null || status == Status.CANCELLED ? 0 : 1;
+	}
+}
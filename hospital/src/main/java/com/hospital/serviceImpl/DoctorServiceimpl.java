@@ -1,34 +1,94 @@
 package com.hospital.serviceImpl;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import com.hospital.dto.request.DoctorRequest;
 import com.hospital.dto.request.PrescriptionRequest;
 import com.hospital.dto.response.DoctorNameResponse;
 import com.hospital.dto.response.DoctorResponse;
+import com.hospital.dto.response.DoctorSearchHit;
+import com.hospital.dto.response.DoctorSearchResponse;
 import com.hospital.dto.response.PrescriptionResponse;
 import com.hospital.entity.Doctor;
 import com.hospital.entity.User;
+import com.hospital.enums.Status;
 import com.hospital.exception.CustomInternalServerException;
 import com.hospital.exception.EmailAlreadyExistsException;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.AppointmentRepository.DoctorBookingCount;
 import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.DoctorRepository.DoctorFacetView;
+import com.hospital.service.DoctorAssignmentService;
+import com.hospital.service.DoctorDirectoryCache;
+import com.hospital.service.DoctorFacetIndex;
+import com.hospital.service.DoctorFacetIndex.Facet;
 import com.hospital.service.DoctorService;
+import com.hospital.service.PrescriptionService;
 import com.hospital.service.UserService;
 
 @Service
 public class DoctorServiceimpl implements DoctorService {
 
+	private static final Logger logger = LoggerFactory.getLogger(DoctorServiceimpl.class);
+
+	private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
 	@Autowired
 	private UserService userService;
 
 	@Autowired
 	private DoctorRepository doctorRepository;
 
+	@Autowired
+	private DoctorAssignmentService doctorAssignmentService;
+
+	@Autowired
+	private PrescriptionService prescriptionService;
+
+	@Autowired
+	private DoctorDirectoryCache doctorDirectoryCache;
+
+	@Autowired
+	private DoctorFacetIndex doctorFacetIndex;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Value("${appointments.slot-minutes:30}")
+	private int slotMinutes;
+
+	@Value("${appointments.clinic.open-hour:9}")
+	private int openHour;
+
+	@Value("${appointments.clinic.close-hour:17}")
+	private int closeHour;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadFacetIndex() {
+		doctorFacetIndex.replaceAll(doctorRepository.findAllFacetViews().stream().map(DoctorServiceimpl::toFacetDoctor)
+				.toList());
+		logger.info("Doctor facet index loaded with {} doctors", doctorFacetIndex.size());
+	}
+
 	public DoctorResponse registerDoctor(DoctorRequest request) {
 
 		if (request == null) {
@@ -44,6 +104,9 @@ public class DoctorServiceimpl implements DoctorService {
 
 			doctor.setUserId(savedUser.getId()); // Link with userId
 			doctor = doctorRepository.save(doctor);
+			doctorAssignmentService.onDoctorSaved(doctor);
+			doctorDirectoryCache.refresh();
+			doctorFacetIndex.put(toFacetDoctor(doctor));
 			return convertToResponse(doctor);
 
 		} catch (EmailAlreadyExistsException ex) {
@@ -87,6 +150,9 @@ public class DoctorServiceimpl implements DoctorService {
 		Doctor doctor = doctorRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("Doctor not found"));
 		if (doctor != null) {
 			doctorRepository.delete(doctor);
+			doctorAssignmentService.onDoctorRemoved(doctor.getId());
+			doctorDirectoryCache.refresh();
+			doctorFacetIndex.remove(doctor.getId());
 			return true;
 		}
 		return false;
@@ -112,10 +178,7 @@ public class DoctorServiceimpl implements DoctorService {
 
 	@Override
 	public List<DoctorNameResponse> fetchAllDoctorNames() {
-		return doctorRepository.findAll().stream()
-				.map(doctor -> new DoctorNameResponse(
-						doctor.getFirstName() + " " + doctor.getLastName() + "-" + doctor.getSpecialization()))
-				.collect(Collectors.toList());
+		return doctorDirectoryCache.names();
 	}
 
 	@Override
@@ -133,12 +196,93 @@ public class DoctorServiceimpl implements DoctorService {
 		doctor.setBloodGroup(request.getBloodGroup());
 
 		doctor = doctorRepository.save(doctor);
+		doctorAssignmentService.onDoctorSaved(doctor);
+		doctorDirectoryCache.refresh();
+		doctorFacetIndex.put(toFacetDoctor(doctor));
 		return convertToResponse(doctor);
 	}
 
+	/**
+	 * Facet filtering and counting run on the in-memory bitsets; only the
+	 * availability filter reads the database, one grouped count of the day's
+	 * bookings over the (start_time, status, doctor_name) index.
+	 */
+	@Override
+	public DoctorSearchResponse searchDoctors(List<String> specializations, List<String> cities, List<String> states,
+			List<String> genders, LocalDate availableOn, int page, int size) {
+		if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+		}
+		Map<Facet, List<String>> filters = new EnumMap<>(Facet.class);
+		putFilter(filters, Facet.SPECIALIZATION, specializations);
+		putFilter(filters, Facet.CITY, cities);
+		putFilter(filters, Facet.STATE, states);
+		putFilter(filters, Facet.GENDER, genders);
+
+		Set<Long> availableIds = availableOn == null ? null : doctorsWithFreeSlot(availableOn);
+		DoctorFacetIndex.Result result = doctorFacetIndex.search(filters, availableIds, page * size, size);
+
+		List<DoctorSearchHit> items = result.doctors().stream()
+				.map(d -> new DoctorSearchHit(d.id(),
+						DoctorAssignmentService.displayName(d.firstName(), d.lastName(), d.specialization()),
+						d.firstName(), d.lastName(), d.specialization(), d.city(), d.state(), d.gender()))
+				.toList();
+		Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+		result.facets().forEach((facet, counts) -> facets.put(facet.name().toLowerCase(Locale.ROOT), counts));
+		return new DoctorSearchResponse(items, page, size, result.total(), (long) (page + 1) * size < result.total(),
+				facets);
+	}
+
+	private Set<Long> doctorsWithFreeSlot(LocalDate date) {
+		if (date.isBefore(LocalDate.now())) {
+			throw new IllegalArgumentException("availableOn must be today or later");
+		}
+		// Today only the slots that have not started yet can still be booked
+		LocalDateTime from = date.atTime(openHour, 0);
+		LocalDateTime now = LocalDateTime.now();
+		if (now.isAfter(from)) {
+			long startedSlots = (ChronoUnit.MINUTES.between(from, now) + slotMinutes - 1) / slotMinutes;
+			from = from.plusMinutes(startedSlots * slotMinutes);
+		}
+		LocalDateTime close = date.atTime(closeHour, 0);
+		long freeSlots = ChronoUnit.MINUTES.between(from, close) / slotMinutes;
+		if (freeSlots <= 0) {
+			return Set.of();
+		}
+		Set<String> fullyBooked = appointmentRepository
+				.countBookingsByDoctorBetween(from, date.plusDays(1).atStartOfDay(), Status.CANCELLED).stream()
+				.filter(row -> row.getBookings() >= freeSlots).map(DoctorBookingCount::getDoctorName)
+				.collect(Collectors.toSet());
+		Set<Long> available = new HashSet<>();
+		for (DoctorNameResponse doctor : doctorDirectoryCache.names()) {
+			if (!fullyBooked.contains(doctor.getName())) {
+				available.add(doctor.getId());
+			}
+		}
+		return available;
+	}
+
+	private static void putFilter(Map<Facet, List<String>> filters, Facet facet, List<String> values) {
+		if (values != null) {
+			List<String> nonBlank = values.stream().filter(v -> v != null && !v.isBlank()).toList();
+			if (!nonBlank.isEmpty()) {
+				filters.put(facet, nonBlank);
+			}
+		}
+	}
+
+	private static DoctorFacetIndex.Doctor toFacetDoctor(Doctor doctor) {
+		return new DoctorFacetIndex.Doctor(doctor.getId(), doctor.getFirstName(), doctor.getLastName(),
+				doctor.getSpecialization(), doctor.getCity(), doctor.getState(), doctor.getGender());
+	}
+
+	private static DoctorFacetIndex.Doctor toFacetDoctor(DoctorFacetView view) {
+		return new DoctorFacetIndex.Doctor(view.getId(), view.getFirstName(), view.getLastName(),
+				view.getSpecialization(), view.getCity(), view.getState(), view.getGender());
+	}
+
 	@Override
 	public PrescriptionResponse createPrescription(PrescriptionRequest request) {
-		// TODO Auto-generated method stub
-		return null;
+		return prescriptionService.issuePrescription(request);
 	}
 }
\ No newline at end of file
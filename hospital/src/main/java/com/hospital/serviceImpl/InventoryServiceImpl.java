@@ -5,9 +5,14 @@ import com.hospital.dto.response.InventoryResponse;
 import com.hospital.entity.Inventory;
 import com.hospital.exception.ResourceNotFoundException;
 import com.hospital.repository.InventoryRepository;
+import com.hospital.service.InventoryMedicineMatcher;
+import com.hospital.service.InventoryMedicineMatcher.InventoryName;
 import com.hospital.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,6 +24,20 @@ public class InventoryServiceImpl implements InventoryService {
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    @Autowired
+    private InventoryMedicineMatcher medicineMatcher;
+
+    /**
+     * Rebuilds the prescription-to-stock name index. Inventory is small and
+     * renamed rarely, so the whole index is rebuilt on any name change.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refreshMedicineMatcher() {
+        medicineMatcher.rebuild(inventoryRepository.findAllNames().stream()
+                .map(item -> new InventoryName(item.getId(), item.getName()))
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public InventoryResponse addInventoryItem(InventoryRequest request) {
         // Check if item with same name and category already exists
@@ -39,14 +58,18 @@ public class InventoryServiceImpl implements InventoryService {
                 .build();
 
         Inventory savedInventory = inventoryRepository.save(inventory);
+        refreshMedicineMatcher();
         return convertToResponse(savedInventory);
     }
 
     @Override
+    @Transactional
     public InventoryResponse updateInventoryItem(Long id, InventoryRequest request) {
-        Inventory inventory = inventoryRepository.findById(id)
+        Inventory inventory = inventoryRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
 
+        checkNotBelowReserved(inventory, request.getQuantity());
+        boolean renamed = !request.getName().equals(inventory.getName());
         inventory.setName(request.getName());
         inventory.setDescription(request.getDescription());
         inventory.setQuantity(request.getQuantity());
@@ -58,6 +81,9 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setMinimumStock(request.getMinimumStock());
 
         Inventory updatedInventory = inventoryRepository.save(inventory);
+        if (renamed) {
+            refreshMedicineMatcher();
+        }
         return convertToResponse(updatedInventory);
     }
 
@@ -114,16 +140,19 @@ public class InventoryServiceImpl implements InventoryService {
             throw new ResourceNotFoundException("Inventory item not found with id: " + id);
         }
         inventoryRepository.deleteById(id);
+        refreshMedicineMatcher();
     }
 
     @Override
+    @Transactional
     public InventoryResponse updateStockQuantity(Long id, Integer newQuantity) {
-        Inventory inventory = inventoryRepository.findById(id)
+        Inventory inventory = inventoryRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
 
         if (newQuantity < 0) {
             throw new IllegalArgumentException("Quantity cannot be negative");
         }
+        checkNotBelowReserved(inventory, newQuantity);
 
         inventory.setQuantity(newQuantity);
         Inventory updatedInventory = inventoryRepository.save(inventory);
@@ -139,6 +168,14 @@ public class InventoryServiceImpl implements InventoryService {
                 .collect(Collectors.toList());
     }
 
+    private void checkNotBelowReserved(Inventory inventory, Integer newQuantity) {
+        Integer reserved = inventory.getReservedQuantity();
+        if (newQuantity != null && reserved != null && newQuantity < reserved) {
+            throw new IllegalArgumentException(
+                    "Quantity cannot drop below the " + reserved + " units reserved for issued prescriptions");
+        }
+    }
+
     private InventoryResponse convertToResponse(Inventory inventory) {
         String stockStatus = determineStockStatus(inventory);
         
@@ -153,6 +190,7 @@ public class InventoryServiceImpl implements InventoryService {
                 .expiryDate(inventory.getExpiryDate())
                 .price(inventory.getPrice())
                 .minimumStock(inventory.getMinimumStock())
+                .reservedQuantity(inventory.getReservedQuantity())
                 .createdAt(inventory.getCreatedAt())
                 .updatedAt(inventory.getUpdatedAt())
                 .stockStatus(stockStatus)
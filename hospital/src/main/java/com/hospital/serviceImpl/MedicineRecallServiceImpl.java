@@ -0,0 +1,255 @@
+package com.hospital.serviceImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.dto.response.RecallImpactLine;
+import com.hospital.dto.response.RecallIndexBackfillResponse;
+import com.hospital.entity.MedicineItem;
+import com.hospital.entity.Prescription;
+import com.hospital.service.MedicineNameNormalizer;
+import com.hospital.service.MedicineNameNormalizer.ParsedName;
+import com.hospital.service.MedicineRecallService;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class MedicineRecallServiceImpl implements MedicineRecallService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MedicineRecallServiceImpl.class);
+
+	private static final int BACKFILL_PAGE_SIZE = 2000;
+	private static final int MAX_KEY_LENGTH = 191;
+
+	// Re-indexing a line refreshes its inventory link, which the match backfill may have filled in since
+	private static final String UPSERT_SQL = "INSERT INTO medicine_recall_index (medicine_key, strength, inventory_id, "
+			+ "medicine_item_id, prescription_id, patient_email, patient_name, prescribed_on) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE inventory_id = VALUES(inventory_id)";
+
+	private static final String BACKFILL_PAGE_SQL = "SELECT m.id, m.name, m.inventory_id, p.id AS prescription_id, "
+			+ "p.patient_email, p.patient_name, p.date FROM medicine_items m "
+			+ "JOIN prescription p ON p.id = m.prescription_id WHERE m.id > ? AND p.issued = TRUE "
+			+ "ORDER BY m.id LIMIT ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final AtomicBoolean backfillRunning = new AtomicBoolean();
+	private JdbcTemplate streamingTemplate;
+
+	@PostConstruct
+	public void init() {
+		// MySQL streams a result set row by row only with this fetch size
+		streamingTemplate = new JdbcTemplate(dataSource);
+		streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+	}
+
+	@Override
+	public void indexPrescription(Prescription prescription, List<MedicineItem> items) {
+		List<Object[]> rows = new ArrayList<>(items.size());
+		for (MedicineItem item : items) {
+			Object[] row = toRow(item.getName(), item.getInventoryId(), item.getId(), prescription.getId(),
+					prescription.getPatientEmail(), prescription.getPatientName(), prescription.getDate());
+			if (row != null) {
+				rows.add(row);
+			}
+		}
+		upsert(rows);
+	}
+
+	@Override
+	public void removePrescriptions(Collection<Long> prescriptionIds) {
+		if (!prescriptionIds.isEmpty()) {
+			// Through the medicine lines, so the delete uses the unique medicine_item_id key
+			jdbcTemplate.batchUpdate("DELETE r FROM medicine_recall_index r JOIN medicine_items m "
+					+ "ON m.id = r.medicine_item_id WHERE m.prescription_id = ?",
+					prescriptionIds.stream().map(id -> new Object[] { id }).toList());
+		}
+	}
+
+	/**
+	 * 🔁 Walks medicine_items of issued prescriptions in id order, normalizes each name in Java (the
+	 * key cannot be computed in SQL) and upserts one JDBC batch per page.
+	 * Safe to re-run: existing rows only get their inventory link refreshed.
+	 */
+	@Override
+	public RecallIndexBackfillResponse backfill() {
+		if (!backfillRunning.compareAndSet(false, true)) {
+			throw new IllegalStateException("A recall index backfill is already running");
+		}
+		long started = System.currentTimeMillis();
+		try {
+			long scanned = 0;
+			long indexed = 0;
+			long cursor = 0;
+			while (true) {
+				List<Object[]> rows = new ArrayList<>();
+				long[] lastId = { cursor };
+				int[] count = { 0 };
+				jdbcTemplate.query(BACKFILL_PAGE_SQL, (RowCallbackHandler) rs -> {
+					count[0]++;
+					lastId[0] = rs.getLong("id");
+					Date date = rs.getDate("date");
+					Object[] row = toRow(rs.getString("name"), nullableLong(rs, "inventory_id"), rs.getLong("id"),
+							rs.getLong("prescription_id"), rs.getString("patient_email"), rs.getString("patient_name"),
+							date == null ? null : date.toLocalDate());
+					if (row != null) {
+						rows.add(row);
+					}
+				}, cursor, BACKFILL_PAGE_SIZE);
+				if (count[0] == 0) {
+					break;
+				}
+				upsert(rows);
+				scanned += count[0];
+				indexed += rows.size();
+				cursor = lastId[0];
+			}
+			long elapsed = System.currentTimeMillis() - started;
+			logger.info("Recall index backfill indexed {} of {} medicine lines in {} ms", indexed, scanned, elapsed);
+			return new RecallIndexBackfillResponse(scanned, indexed, elapsed);
+		} finally {
+			backfillRunning.set(false);
+		}
+	}
+
+	/**
+	 * 🚨 Reads the index range for the drug (or inventory item) in patient
+	 * order straight off a streaming cursor and writes one JSON line per
+	 * patient as soon as that patient's rows are complete, so memory stays
+	 * flat however many patients are affected.
+	 */
+	@Override
+	public long streamAffectedPatients(String medicine, Long inventoryId, LocalDate from, LocalDate to,
+			OutputStream out) throws IOException {
+		StringBuilder sql = new StringBuilder("SELECT patient_email, patient_name, prescription_id, prescribed_on, "
+				+ "strength FROM medicine_recall_index WHERE ");
+		List<Object> args = new ArrayList<>();
+		if (inventoryId != null) {
+			sql.append("inventory_id = ?");
+			args.add(inventoryId);
+		} else {
+			ParsedName parsed = MedicineNameNormalizer.parse(medicine);
+			if (parsed.key().isEmpty()) {
+				throw new IllegalArgumentException("Medicine name has no recognisable drug: " + medicine);
+			}
+			sql.append("medicine_key = ?");
+			args.add(truncate(parsed.key()));
+			if (parsed.strength() != null) {
+				sql.append(" AND strength = ?");
+				args.add(parsed.strength());
+			}
+		}
+		if (from != null) {
+			sql.append(" AND prescribed_on >= ?");
+			args.add(Date.valueOf(from));
+		}
+		if (to != null) {
+			sql.append(" AND prescribed_on <= ?");
+			args.add(Date.valueOf(to));
+		}
+		sql.append(" ORDER BY patient_email, prescribed_on, prescription_id");
+
+		PatientGrouper grouper = new PatientGrouper(out);
+		try {
+			streamingTemplate.query(sql.toString(), grouper, args.toArray());
+			grouper.flushCurrent();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		out.flush();
+		return grouper.patients;
+	}
+
+	private void upsert(List<Object[]> rows) {
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(UPSERT_SQL, rows, new int[] { Types.VARCHAR, Types.VARCHAR, Types.BIGINT,
+					Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DATE });
+		}
+	}
+
+	private static Object[] toRow(String name, Long inventoryId, Long medicineItemId, Long prescriptionId,
+			String patientEmail, String patientName, LocalDate prescribedOn) {
+		ParsedName parsed = MedicineNameNormalizer.parse(name);
+		if (parsed.key().isEmpty()) {
+			return null;
+		}
+		return new Object[] { truncate(parsed.key()), parsed.strength(), inventoryId, medicineItemId, prescriptionId,
+				patientEmail, patientName, prescribedOn == null ? null : Date.valueOf(prescribedOn) };
+	}
+
+	private static String truncate(String key) {
+		return key.length() <= MAX_KEY_LENGTH ? key : key.substring(0, MAX_KEY_LENGTH);
+	}
+
+	private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+		long value = rs.getLong(column);
+		return rs.wasNull() ? null : value;
+	}
+
+	/**
+	 * Collects consecutive rows of the same patient and emits them as one line.
+	 */
+	private final class PatientGrouper implements RowCallbackHandler {
+		private final OutputStream out;
+		private RecallImpactLine current;
+		private long patients;
+
+		private PatientGrouper(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			String email = rs.getString("patient_email");
+			if (current == null || !Objects.equals(current.getPatientEmail(), email)) {
+				flushCurrent();
+				current = new RecallImpactLine(email, rs.getString("patient_name"), new ArrayList<>());
+			}
+			Date date = rs.getDate("prescribed_on");
+			current.getPrescriptions().add(new RecallImpactLine.Prescribed(rs.getLong("prescription_id"),
+					date == null ? null : date.toLocalDate(), rs.getString("strength")));
+		}
+
+		private void flushCurrent() {
+			if (current == null) {
+				return;
+			}
+			try {
+				out.write(objectMapper.writeValueAsBytes(current));
+				out.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			patients++;
+			current = null;
+		}
+	}
+}
@@ -0,0 +1,663 @@
+package com.hospital.serviceImpl;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.dto.request.DoctorRequest;
+import com.hospital.dto.request.PatientRegistrationRequest;
+import com.hospital.dto.request.StaffRequest;
+import com.hospital.dto.response.OnboardingJobResponse;
+import com.hospital.dto.response.OnboardingRowErrorResponse;
+import com.hospital.entity.Department;
+import com.hospital.entity.Doctor;
+import com.hospital.entity.OnboardingJob;
+import com.hospital.entity.User;
+import com.hospital.enums.OnboardingKind;
+import com.hospital.enums.OnboardingStatus;
+import com.hospital.event.PeopleIndexListener;
+import com.hospital.repository.OnboardingJobRepository;
+import com.hospital.repository.OnboardingRowErrorRepository;
+import com.hospital.repository.UserRepository;
+import com.hospital.service.DepartmentService;
+import com.hospital.service.DepartmentStats;
+import com.hospital.service.DoctorAssignmentService;
+import com.hospital.service.DoctorDirectoryCache;
+import com.hospital.service.DoctorFacetIndex;
+import com.hospital.service.EmailIdentityIndex;
+import com.hospital.service.EmailIdentityIndex.Identity;
+import com.hospital.service.OnboardingRecordReader;
+import com.hospital.service.OnboardingRecordReader.Format;
+import com.hospital.service.OnboardingRecordReader.Record;
+import com.hospital.service.OnboardingService;
+import com.hospital.service.PatientDirectoryIndex;
+import com.hospital.service.PeopleSearchIndex;
+import com.hospital.service.PeopleSearchIndex.Person;
+import com.hospital.service.PeopleSearchIndex.Role;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk import of patients, doctors and staff. The upload is streamed record
+ * by record and handled in chunks: each chunk is validated with the same
+ * constraints as the registration endpoints, checked for taken emails in
+ * one query, hashed on a CPU-sized pool, and written as one JDBC batch of
+ * users and one of profiles in a single transaction. Jobs run one at a time
+ * on a background thread; counters and rejected records are saved after
+ * every chunk.
+ */
+@Service
+public class OnboardingServiceImpl implements OnboardingService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OnboardingServiceImpl.class);
+
+	private static final int MAX_PAGE_SIZE = 500;
+	private static final int MAX_MESSAGE_LENGTH = 1000;
+
+	private static final String INSERT_USER_SQL = "INSERT INTO users (email, password, role, is_active, created_at, "
+			+ "updated_at) VALUES (?, ?, ?, true, ?, ?)";
+
+	private static final String INSERT_PATIENT_SQL = "INSERT INTO patients (user_id, first_name, last_name, email, "
+			+ "phone_number, gender, date_of_birth, address, city, state, country, password, registration_date, "
+			+ "is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true)";
+
+	private static final String INSERT_DOCTOR_SQL = "INSERT INTO doctors (user_id, first_name, last_name, email, "
+			+ "phone_number, gender, date_of_birth, city, state, country, password, joining_date, specialization, "
+			+ "blood_group) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERT_STAFF_SQL = "INSERT INTO staff (user_id, first_name, last_name, email, "
+			+ "phone_number, role, department, address, city, state, date_of_birth, hire_date, salary, "
+			+ "emergency_contact, emergency_phone, password, department_id) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERT_ERROR_SQL = "INSERT INTO onboarding_row_errors (job_id, record_number, email, "
+			+ "message) VALUES (?, ?, ?, ?)";
+
+	/** One parsed record on its way through a chunk. */
+	private static final class Row {
+		final long recordNumber;
+		final String email;
+		final Object request;
+		String password;
+		String passwordHash;
+		Long userId;
+		Long profileId;
+		Long departmentId;
+		String error;
+
+		Row(long recordNumber, String email, Object request, String password, String error) {
+			this.recordNumber = recordNumber;
+			this.email = email;
+			this.request = request;
+			this.password = password;
+			this.error = error;
+		}
+	}
+
+	@Autowired
+	private OnboardingJobRepository jobRepository;
+
+	@Autowired
+	private OnboardingRowErrorRepository rowErrorRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private PatientDirectoryIndex patientDirectoryIndex;
+
+	@Autowired
+	private DoctorAssignmentService doctorAssignmentService;
+
+	@Autowired
+	private DoctorDirectoryCache doctorDirectoryCache;
+
+	@Autowired
+	private DoctorFacetIndex doctorFacetIndex;
+
+	@Autowired
+	private PeopleSearchIndex peopleSearchIndex;
+
+	@Autowired
+	private EmailIdentityIndex emailIdentityIndex;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private DepartmentStats departmentStats;
+
+	@Value("${onboarding.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${onboarding.hash-threads:0}")
+	private int hashThreads;
+
+	@Value("${onboarding.max-stored-errors:10000}")
+	private int maxStoredErrors;
+
+	private ExecutorService jobRunner;
+	private ExecutorService hashPool;
+	private final Map<OnboardingKind, Map<String, String>> propertyNames = new HashMap<>();
+
+	@PostConstruct
+	public void start() {
+		jobRunner = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "onboarding-runner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (hashThreads <= 0) {
+			hashThreads = Runtime.getRuntime().availableProcessors();
+		}
+		AtomicInteger hasherCount = new AtomicInteger();
+		hashPool = Executors.newFixedThreadPool(hashThreads, runnable -> {
+			Thread thread = new Thread(runnable, "onboarding-hasher-" + hasherCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (OnboardingKind kind : OnboardingKind.values()) {
+			// Headers match properties ignoring case, spaces and underscores
+			Map<String, String> names = new HashMap<>();
+			for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(requestType(kind))) {
+				if (property.getWriteMethod() != null) {
+					names.put(headerKey(property.getName()), property.getName());
+				}
+			}
+			propertyNames.put(kind, names);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		jobRunner.shutdownNow();
+		hashPool.shutdownNow();
+	}
+
+	/**
+	 * 🔄 Uploads are not kept across restarts, so unfinished jobs cannot resume
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void failInterruptedJobs() {
+		for (OnboardingJob job : jobRepository.findByStatusIn(List.of(OnboardingStatus.QUEUED, OnboardingStatus.RUNNING))) {
+			job.setStatus(OnboardingStatus.FAILED);
+			job.setMessage("Interrupted by a restart; upload the remaining records again");
+			job.setFinishedAt(LocalDateTime.now());
+			jobRepository.save(job);
+		}
+	}
+
+	@Override
+	public OnboardingJobResponse startImport(OnboardingKind kind, MultipartFile file, String format, String createdBy)
+			throws IOException {
+		if (file == null || file.isEmpty()) {
+			throw new IllegalArgumentException("Upload a non-empty file");
+		}
+		Format resolved = Format.resolve(format, file.getOriginalFilename());
+
+		// The multipart upload is deleted when the request ends
+		Path upload = Files.createTempFile("onboarding-", "." + resolved.name().toLowerCase(Locale.ROOT));
+		file.transferTo(upload);
+
+		OnboardingJob job = new OnboardingJob();
+		job.setKind(kind);
+		job.setFormat(resolved.name());
+		job.setFileName(file.getOriginalFilename());
+		job.setStatus(OnboardingStatus.QUEUED);
+		job.setCreatedBy(createdBy);
+		job = jobRepository.save(job);
+
+		Long jobId = job.getId();
+		jobRunner.submit(() -> runJob(jobId, resolved, upload));
+		return toResponse(job);
+	}
+
+	@Override
+	public OnboardingJobResponse getJob(Long jobId) {
+		return jobRepository.findById(jobId).map(this::toResponse).orElse(null);
+	}
+
+	@Override
+	public List<OnboardingJobResponse> getRecentJobs(int limit) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return jobRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream().map(this::toResponse).toList();
+	}
+
+	@Override
+	public List<OnboardingRowErrorResponse> getRowErrors(Long jobId, long afterRecord, int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return rowErrorRepository
+				.findByJobIdAndRecordNumberGreaterThanOrderByRecordNumber(jobId, afterRecord, PageRequest.of(0, size))
+				.stream().map(e -> new OnboardingRowErrorResponse(e.getRecordNumber(), e.getEmail(), e.getMessage()))
+				.toList();
+	}
+
+	private void runJob(Long jobId, Format format, Path upload) {
+		OnboardingJob job = jobRepository.findById(jobId).orElseThrow();
+		job.setStatus(OnboardingStatus.RUNNING);
+		job.setStartedAt(LocalDateTime.now());
+		job = jobRepository.save(job);
+
+		// Email (lower-cased) to the record that first used it in this file
+		Map<String, Long> seenEmails = new HashMap<>();
+		try (OnboardingRecordReader reader = new OnboardingRecordReader(
+				Files.newBufferedReader(upload, StandardCharsets.UTF_8), format, objectMapper)) {
+			List<Row> chunk = new ArrayList<>(chunkSize);
+			Record record;
+			while ((record = reader.next()) != null) {
+				chunk.add(parse(job.getKind(), record));
+				if (chunk.size() == chunkSize) {
+					job = importChunk(job, chunk, seenEmails);
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) {
+				job = importChunk(job, chunk, seenEmails);
+			}
+			job.setStatus(OnboardingStatus.COMPLETED);
+		} catch (Exception e) {
+			logger.error("Onboarding job {} failed: ", jobId, e);
+			job.setStatus(OnboardingStatus.FAILED);
+			job.setMessage(truncate("Stopped after " + job.getProcessedRows() + " records: " + e.getMessage()));
+		} finally {
+			job.setFinishedAt(LocalDateTime.now());
+			jobRepository.save(job);
+			try {
+				Files.deleteIfExists(upload);
+			} catch (IOException e) {
+				logger.warn("Could not delete onboarding upload {}", upload, e);
+			}
+		}
+		logger.info("Onboarding job {} {}: {} imported, {} rejected", jobId, job.getStatus(), job.getImportedRows(),
+				job.getFailedRows());
+	}
+
+	private Row parse(OnboardingKind kind, Record record) {
+		if (record.error() != null) {
+			return new Row(record.number(), null, null, null, record.error());
+		}
+		Map<String, String> names = propertyNames.get(kind);
+		Map<String, Object> fields = new HashMap<>();
+		record.fields().forEach((header, value) -> {
+			String property = names.get(headerKey(header));
+			if (property != null) {
+				fields.put(property, value instanceof String text ? text.strip() : value);
+			}
+		});
+		// JDBC inserts skip the entity listener, so the email is made canonical here
+		String email = fields.get("email") instanceof String text ? User.canonicalEmail(text) : null;
+		String password = fields.get("password") instanceof String text ? text : null;
+		try {
+			Object request = objectMapper.convertValue(fields, requestType(kind));
+			Set<ConstraintViolation<Object>> violations = validator.validate(request);
+			if (!violations.isEmpty()) {
+				String message = violations.stream().map(ConstraintViolation::getMessage)
+						.collect(Collectors.toCollection(TreeSet::new)).stream().collect(Collectors.joining("; "));
+				return new Row(record.number(), email, null, null, message);
+			}
+			if (password == null || password.isBlank()) {
+				return new Row(record.number(), email, null, null, "Password is required");
+			}
+			return new Row(record.number(), email, request, password, null);
+		} catch (IllegalArgumentException e) {
+			return new Row(record.number(), email, null, null, conversionMessage(e));
+		}
+	}
+
+	private OnboardingJob importChunk(OnboardingJob job, List<Row> chunk, Map<String, Long> seenEmails)
+			throws InterruptedException {
+		List<Row> valid = new ArrayList<>(chunk.size());
+		for (Row row : chunk) {
+			if (row.error != null) {
+				continue;
+			}
+			Long firstSeen = seenEmails.putIfAbsent(row.email.toLowerCase(Locale.ROOT), row.recordNumber);
+			if (firstSeen != null) {
+				row.error = "Email already appears in record " + firstSeen;
+			} else {
+				valid.add(row);
+			}
+		}
+
+		rejectRegistered(valid);
+		hashPasswords(valid);
+		try {
+			insertRows(job.getKind(), valid);
+		} catch (DuplicateKeyException e) {
+			// An email registered through the API since the check; recheck once
+			rejectRegistered(valid);
+			try {
+				insertRows(job.getKind(), valid);
+			} catch (DuplicateKeyException again) {
+				// Still clashing: insert one record at a time so only the clashing ones are rejected
+				valid.removeIf(row -> !insertAlone(job.getKind(), row));
+			}
+		}
+		afterImport(job.getKind(), valid);
+
+		long imported = valid.size();
+		saveRowErrors(job, chunk);
+		job.setProcessedRows(job.getProcessedRows() + chunk.size());
+		job.setImportedRows(job.getImportedRows() + imported);
+		job.setFailedRows(job.getFailedRows() + chunk.size() - imported);
+		return jobRepository.save(job);
+	}
+
+	// Marks and drops rows whose email already has an account
+	private void rejectRegistered(List<Row> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		Set<String> taken = userRepository.findExistingEmails(rows.stream().map(r -> r.email).toList()).stream()
+				.map(email -> email.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+		if (taken.isEmpty()) {
+			return;
+		}
+		rows.removeIf(row -> {
+			if (taken.contains(row.email.toLowerCase(Locale.ROOT))) {
+				row.error = "Email is already registered";
+				return true;
+			}
+			return false;
+		});
+	}
+
+	// JDBC inserts skip the entity listener, so staff are linked to their department here
+	private void assignDepartments(List<Row> rows) {
+		rows.removeIf(row -> {
+			StaffRequest s = (StaffRequest) row.request;
+			try {
+				Department department = departmentService.ensureDepartment(s.getDepartment());
+				s.setDepartment(department.getName());
+				row.departmentId = department.getId();
+				return false;
+			} catch (IllegalArgumentException e) {
+				row.error = e.getMessage();
+				return true;
+			}
+		});
+	}
+
+	/**
+	 * BCrypt dominates the cost of an import, so the chunk is split into one
+	 * slice per hashing thread.
+	 */
+	private void hashPasswords(List<Row> rows) throws InterruptedException {
+		if (rows.isEmpty()) {
+			return;
+		}
+		int sliceSize = (rows.size() + hashThreads - 1) / hashThreads;
+		List<Callable<Void>> slices = new ArrayList<>();
+		for (int from = 0; from < rows.size(); from += sliceSize) {
+			List<Row> slice = rows.subList(from, Math.min(rows.size(), from + sliceSize));
+			slices.add(() -> {
+				for (Row row : slice) {
+					row.passwordHash = passwordEncoder.encode(row.password);
+					row.password = null;
+				}
+				return null;
+			});
+		}
+		for (Future<Void> hashed : hashPool.invokeAll(slices)) {
+			try {
+				hashed.get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Password hashing failed", e.getCause());
+			}
+		}
+	}
+
+	private void insertRows(OnboardingKind kind, List<Row> rows) {
+		if (rows.isEmpty()) {
+			return;
+		}
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			// Departments are created in the insert's transaction, so a failed insert leaves none behind
+			if (kind == OnboardingKind.STAFF) {
+				assignDepartments(rows);
+				if (rows.isEmpty()) {
+					return;
+				}
+			}
+			Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+			batchInsert(INSERT_USER_SQL, rows, (ps, row) -> {
+				ps.setString(1, row.email);
+				ps.setString(2, row.passwordHash);
+				ps.setString(3, kind.name());
+				ps.setTimestamp(4, now);
+				ps.setTimestamp(5, now);
+			}, (row, id) -> row.userId = id);
+			batchInsert(profileSql(kind), rows, (ps, row) -> bindProfile(kind, ps, row, now),
+					(row, id) -> row.profileId = id);
+		});
+	}
+
+	// False when the record clashes with an existing profile or was rejected on the way in
+	private boolean insertAlone(OnboardingKind kind, Row row) {
+		List<Row> single = new ArrayList<>(List.of(row));
+		try {
+			insertRows(kind, single);
+		} catch (DuplicateKeyException e) {
+			row.error = "Email or another unique field is already used by an existing profile";
+			return false;
+		}
+		return !single.isEmpty();
+	}
+
+	private interface Binder {
+		void bind(PreparedStatement ps, Row row) throws SQLException;
+	}
+
+	private interface KeySink {
+		void accept(Row row, long id);
+	}
+
+	private void batchInsert(String sql, List<Row> rows, Binder binder, KeySink keys) {
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				for (Row row : rows) {
+					binder.bind(ps, row);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				try (ResultSet generated = ps.getGeneratedKeys()) {
+					for (Row row : rows) {
+						if (!generated.next()) {
+							throw new SQLException("Missing generated key for onboarding batch");
+						}
+						keys.accept(row, generated.getLong(1));
+					}
+				}
+			}
+			return null;
+		});
+	}
+
+	private static String profileSql(OnboardingKind kind) {
+		return switch (kind) {
+		case PATIENT -> INSERT_PATIENT_SQL;
+		case DOCTOR -> INSERT_DOCTOR_SQL;
+		case STAFF -> INSERT_STAFF_SQL;
+		};
+	}
+
+	// Profiles keep the hash too; the single-registration path copies the raw password
+	private static void bindProfile(OnboardingKind kind, PreparedStatement ps, Row row, Timestamp now)
+			throws SQLException {
+		ps.setLong(1, row.userId);
+		switch (kind) {
+		case PATIENT -> {
+			PatientRegistrationRequest p = (PatientRegistrationRequest) row.request;
+			Object[] values = { p.getFirstName(), p.getLastName(), row.email, p.getPhoneNumber(), p.getGender(),
+					p.getDateOfBirth(), p.getAddress(), p.getCity(), p.getState(), p.getCountry(), row.passwordHash,
+					now };
+			setAll(ps, values);
+		}
+		case DOCTOR -> {
+			DoctorRequest d = (DoctorRequest) row.request;
+			Object[] values = { d.getFirstName(), d.getLastName(), row.email, d.getPhoneNumber(), d.getGender(),
+					d.getDateOfBirth(), d.getCity(), d.getState(), d.getCountry(), row.passwordHash,
+					d.getJoiningDate(), d.getSpecialization(), d.getBloodGroup() };
+			setAll(ps, values);
+		}
+		case STAFF -> {
+			StaffRequest s = (StaffRequest) row.request;
+			Object[] values = { s.getFirstName(), s.getLastName(), row.email, s.getPhoneNumber(), s.getRole(),
+					s.getDepartment(), s.getAddress(), s.getCity(), s.getState(), s.getDateOfBirth(),
+					s.getHireDate(), s.getSalary(), s.getEmergencyContact(), s.getEmergencyPhone(),
+					row.passwordHash, row.departmentId };
+			setAll(ps, values);
+		}
+		}
+	}
+
+	private static void setAll(PreparedStatement ps, Object[] values) throws SQLException {
+		for (int i = 0; i < values.length; i++) {
+			ps.setObject(i + 2, values[i]);
+		}
+	}
+
+	// Same in-memory updates the single registration paths make; JDBC inserts
+	// skip the JPA entity listeners, so the people index is fed here too
+	private void afterImport(OnboardingKind kind, List<Row> rows) {
+		for (Row row : rows) {
+			emailIdentityIndex.put(row.email, new Identity(row.userId, kind.name(), row.profileId));
+			if (kind == OnboardingKind.PATIENT) {
+				PatientRegistrationRequest p = (PatientRegistrationRequest) row.request;
+				patientDirectoryIndex.put(row.profileId, p.getFirstName(), p.getLastName(), row.email,
+						p.getPhoneNumber());
+				peopleSearchIndex.put(new Person(Role.PATIENT, row.profileId, p.getFirstName(), p.getLastName(),
+						row.email, p.getPhoneNumber(), p.getCity()));
+			} else if (kind == OnboardingKind.DOCTOR) {
+				Doctor doctor = new Doctor();
+				BeanUtils.copyProperties(row.request, doctor);
+				doctor.setId(row.profileId);
+				doctor.setUserId(row.userId);
+				doctor.setPassword(row.passwordHash);
+				doctorAssignmentService.onDoctorSaved(doctor);
+				doctorFacetIndex.put(new DoctorFacetIndex.Doctor(doctor.getId(), doctor.getFirstName(),
+						doctor.getLastName(), doctor.getSpecialization(), doctor.getCity(), doctor.getState(),
+						doctor.getGender()));
+				peopleSearchIndex.put(PeopleIndexListener.person(doctor));
+			} else {
+				StaffRequest s = (StaffRequest) row.request;
+				peopleSearchIndex.put(new Person(Role.STAFF, row.profileId, s.getFirstName(), s.getLastName(),
+						row.email, s.getPhoneNumber(), s.getDepartment()));
+				departmentStats.putMember(row.profileId, row.departmentId, s.getRole(), s.getSalary());
+			}
+		}
+		if (kind == OnboardingKind.DOCTOR && !rows.isEmpty()) {
+			doctorDirectoryCache.refresh();
+		}
+	}
+
+	private void saveRowErrors(OnboardingJob job, Collection<Row> chunk) {
+		long stored = job.getFailedRows();
+		List<Object[]> errors = new ArrayList<>();
+		for (Row row : chunk) {
+			if (row.error != null && stored++ < maxStoredErrors) {
+				errors.add(new Object[] { job.getId(), row.recordNumber, row.email, truncate(row.error) });
+			}
+		}
+		if (!errors.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, errors);
+		}
+		if (stored > maxStoredErrors && job.getMessage() == null) {
+			job.setMessage("Only the first " + maxStoredErrors + " rejected records are listed");
+		}
+	}
+
+	private static Class<?> requestType(OnboardingKind kind) {
+		return switch (kind) {
+		case PATIENT -> PatientRegistrationRequest.class;
+		case DOCTOR -> DoctorRequest.class;
+		case STAFF -> StaffRequest.class;
+		};
+	}
+
+	private static String headerKey(String header) {
+		return header.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+	}
+
+	private static String conversionMessage(IllegalArgumentException e) {
+		if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+			return "Invalid value for " + mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+		}
+		return truncate("Invalid record: " + e.getMessage());
+	}
+
+	private static String truncate(String message) {
+		return message == null || message.length() <= MAX_MESSAGE_LENGTH ? message
+				: message.substring(0, MAX_MESSAGE_LENGTH);
+	}
+
+	private OnboardingJobResponse toResponse(OnboardingJob job) {
+		return new OnboardingJobResponse(job.getId(), job.getKind(), job.getFormat(), job.getFileName(),
+				job.getStatus(), job.getProcessedRows(), job.getImportedRows(), job.getFailedRows(), job.getMessage(),
+				job.getCreatedBy(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+	}
+}
@@ -10,6 +10,7 @@ import com.hospital.repository.OrderRepository;
 import com.hospital.repository.PatientRepository;
 import com.hospital.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -63,6 +64,17 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Newest orders of a patient first, at most limit of them
+     */
+    @Override
+    public List<OrderResponse> getRecentOrdersByPatientId(Long patientId, int limit) {
+        List<Order> orders = orderRepository.findByPatientIdWithDetails(patientId, PageRequest.of(0, limit));
+        return orders.stream()
+                .map(this::toOrderResponse)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Update an order
      */
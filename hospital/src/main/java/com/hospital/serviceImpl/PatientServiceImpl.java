@@ -1,21 +1,33 @@
 package com.hospital.serviceImpl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.hospital.dto.request.PatientRegistrationRequest;
+import com.hospital.dto.response.PatientDirectoryPage;
 import com.hospital.dto.response.PatientResponse;
 import com.hospital.entity.Patient;
 import com.hospital.entity.User;
+import com.hospital.event.AfterCommit;
 import com.hospital.exception.CustomInternalServerException;
 import com.hospital.exception.EmailAlreadyExistsException;
 import com.hospital.mapper.PatientMapper;
 import com.hospital.repository.PatientRepository;
+import com.hospital.repository.PatientRepository.PatientDirectoryView;
+import com.hospital.service.PatientDirectoryIndex;
 import com.hospital.service.PatientService;
 import com.hospital.service.UserService;
 
@@ -24,12 +36,39 @@ import jakarta.transaction.Transactional;
 @Service
 public class PatientServiceImpl implements PatientService {
 
+	private static final Logger logger = LoggerFactory.getLogger(PatientServiceImpl.class);
+
+	private static final int INDEX_LOAD_PAGE_SIZE = 5000;
+	private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+
 	@Autowired
 	private PatientRepository patientRepository;
 
 	@Autowired
 	private UserService userService; // Injected UserService
 
+	@Autowired
+	private PatientDirectoryIndex directoryIndex;
+
+	/**
+	 * 📇 Fills the directory index in keyset pages of the directory columns only
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadDirectoryIndex() {
+		directoryIndex.clear();
+		long afterId = 0;
+		List<PatientDirectoryView> page;
+		do {
+			page = patientRepository.findDirectoryPage(afterId, PageRequest.of(0, INDEX_LOAD_PAGE_SIZE));
+			for (PatientDirectoryView row : page) {
+				directoryIndex.put(row.getPatientId(), row.getFirstName(), row.getLastName(), row.getEmail(),
+						row.getPhoneNumber());
+				afterId = row.getPatientId();
+			}
+		} while (page.size() == INDEX_LOAD_PAGE_SIZE);
+		logger.info("Patient directory index loaded with {} patients", directoryIndex.size());
+	}
+
 	@Override
 	public PatientResponse registerPatient(PatientRegistrationRequest request) {
 		if (request == null) {
@@ -45,6 +84,7 @@ public class PatientServiceImpl implements PatientService {
 			BeanUtils.copyProperties(request, patient);
 			patient.setUserId(savedUser.getId()); // Link with userId
 			Patient savedPatient = patientRepository.save(patient);
+			index(savedPatient);
 
 			// Step 3: Return the Response using PatientMapper
 			return PatientMapper.toPatientResponse(savedPatient);
@@ -76,6 +116,23 @@ public class PatientServiceImpl implements PatientService {
 		return patients.stream().map(PatientMapper::toPatientResponse).collect(Collectors.toList());
 	}
 
+	@Override
+	public PatientDirectoryPage searchDirectory(String query, String cursor, int size) {
+		if (size < 1 || size > MAX_DIRECTORY_PAGE_SIZE) {
+			throw new IllegalArgumentException("Size must be between 1 and " + MAX_DIRECTORY_PAGE_SIZE);
+		}
+		PatientDirectoryIndex.Slice slice = directoryIndex.search(query, cursor, size);
+		if (slice.ids().isEmpty()) {
+			return new PatientDirectoryPage(List.of(), null, false);
+		}
+		// Only the page is read; the index has already ordered it
+		Map<Long, Patient> byId = patientRepository.findAllById(slice.ids()).stream()
+				.collect(Collectors.toMap(Patient::getPatientId, Function.identity()));
+		List<PatientResponse> items = slice.ids().stream().map(byId::get).filter(Objects::nonNull)
+				.map(PatientMapper::toPatientResponse).toList();
+		return new PatientDirectoryPage(items, slice.nextCursor(), slice.nextCursor() != null);
+	}
+
 	public PatientResponse updatePatient(String email, PatientResponse updatedPatient) {
 		Optional<Patient> existingPatient = findByEmail(email);
 
@@ -114,6 +171,7 @@ public class PatientServiceImpl implements PatientService {
 		// Save the updated patient details to the database (assuming you save it in
 		// your repository)
 		patientRepository.save(patient);
+		index(patient);
 
 		// Return the updated PatientResponse using a mapper to convert the entity to a
 		// DTO
@@ -133,8 +191,14 @@ public class PatientServiceImpl implements PatientService {
 		// Delete the patient from the repository
 		Patient patientToDelete = optionalPatient.get();
 		patientRepository.delete(patientToDelete);
+		long patientId = patientToDelete.getPatientId();
+		AfterCommit.run(() -> directoryIndex.remove(patientId));
 
 		return true; // Return true indicating successful deletion
 	}
 
+	private void index(Patient patient) {
+		AfterCommit.run(() -> directoryIndex.put(patient.getPatientId(), patient.getFirstName(), patient.getLastName(),
+				patient.getEmail(), patient.getPhoneNumber()));
+	}
 }
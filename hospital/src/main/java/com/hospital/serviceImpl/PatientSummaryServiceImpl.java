@@ -0,0 +1,161 @@
+package com.hospital.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.hospital.dto.response.PatientSummaryResponse;
+import com.hospital.exception.ResourceNotFoundException;
+import com.hospital.exception.UnauthorizedException;
+import com.hospital.mapper.PatientMapper;
+import com.hospital.repository.PatientRepository;
+import com.hospital.service.AppointmentService;
+import com.hospital.service.OrderService;
+import com.hospital.service.PatientSummaryService;
+import com.hospital.service.PrescriptionService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds the patient summary from four independent reads started together
+ * on virtual threads, so the response takes as long as the slowest part
+ * instead of the sum of all four. Every part has its own deadline measured
+ * from the start of the request; a part that fails or misses it is left
+ * empty and listed as unavailable rather than failing the whole summary.
+ * Reads across all summaries share a fixed number of permits, sized against
+ * the connection pool, so a burst of summaries queues here instead of taking
+ * the connections clinical requests need.
+ */
+@Service
+public class PatientSummaryServiceImpl implements PatientSummaryService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PatientSummaryServiceImpl.class);
+
+	private enum Part {
+		PROFILE, APPOINTMENTS, PRESCRIPTIONS, ORDERS
+	}
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private AppointmentService appointmentService;
+
+	@Autowired
+	private PrescriptionService prescriptionService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Value("${patients.summary.recent-limit:5}")
+	private int recentLimit;
+
+	@Value("${patients.summary.timeout-ms.profile:500}")
+	private long profileTimeoutMs;
+
+	@Value("${patients.summary.timeout-ms.appointments:800}")
+	private long appointmentsTimeoutMs;
+
+	@Value("${patients.summary.timeout-ms.prescriptions:1000}")
+	private long prescriptionsTimeoutMs;
+
+	@Value("${patients.summary.timeout-ms.orders:800}")
+	private long ordersTimeoutMs;
+
+	// 0 means half of the connection pool
+	@Value("${patients.summary.max-concurrent-reads:0}")
+	private int maxConcurrentReads;
+
+	@Value("${spring.datasource.hikari.maximum-pool-size:10}")
+	private int connectionPoolSize;
+
+	private ExecutorService parts;
+	private Semaphore readPermits;
+
+	@PostConstruct
+	public void start() {
+		readPermits = new Semaphore(maxConcurrentReads > 0 ? maxConcurrentReads : Math.max(1, connectionPoolSize / 2));
+		parts = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("patient-summary-", 0).factory());
+	}
+
+	@PreDestroy
+	public void stop() {
+		parts.shutdownNow();
+	}
+
+	@Override
+	public PatientSummaryResponse getSummary(Long patientId, String viewerEmail) {
+		// The other parts are keyed by email, so it is the one read made up front
+		String email = patientRepository.findEmailById(patientId)
+				.orElseThrow(() -> new ResourceNotFoundException("Patient not found with ID: " + patientId));
+		if (viewerEmail != null && !email.equalsIgnoreCase(viewerEmail)) {
+			throw new UnauthorizedException("Access denied. You can only view your own summary.");
+		}
+
+		long started = System.nanoTime();
+		var profile = submit(() -> PatientMapper.toPatientResponse(patientRepository.findById(patientId).orElse(null)));
+		var appointments = submit(() -> appointmentService.getUpcomingAppointmentsByPatientEmail(email, recentLimit));
+		var prescriptions = submit(
+				() -> prescriptionService.getPrescriptionPageByPatient(email, 0, recentLimit, true).getItems());
+		var orders = submit(() -> orderService.getRecentOrdersByPatientId(patientId, recentLimit));
+
+		List<String> unavailable = new ArrayList<>();
+		PatientSummaryResponse summary = new PatientSummaryResponse();
+		summary.setProfile(await(Part.PROFILE, profile, profileTimeoutMs, started, null, unavailable));
+		summary.setUpcomingAppointments(
+				await(Part.APPOINTMENTS, appointments, appointmentsTimeoutMs, started, List.of(), unavailable));
+		summary.setRecentPrescriptions(
+				await(Part.PRESCRIPTIONS, prescriptions, prescriptionsTimeoutMs, started, List.of(), unavailable));
+		summary.setRecentOrders(await(Part.ORDERS, orders, ordersTimeoutMs, started, List.of(), unavailable));
+		summary.setUnavailable(unavailable);
+		return summary;
+	}
+
+	private <T> Future<T> submit(Callable<T> read) {
+		return parts.submit(() -> {
+			readPermits.acquire();
+			try {
+				return read.call();
+			} finally {
+				readPermits.release();
+			}
+		});
+	}
+
+	/**
+	 * The part's result, or the fallback once its deadline has passed. A late
+	 * part is cancelled: one still waiting for a permit gives up its place,
+	 * and one mid-read is interrupted so it stops holding a connection.
+	 */
+	private <T> T await(Part part, Future<T> future, long timeoutMs, long started, T fallback,
+			List<String> unavailable) {
+		long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - started);
+		try {
+			return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			logger.warn("Patient summary part {} missed its {} ms deadline", part, timeoutMs);
+		} catch (ExecutionException e) {
+			logger.warn("Patient summary part {} failed: ", part, e.getCause());
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+		}
+		unavailable.add(part.name());
+		return fallback;
+	}
+}
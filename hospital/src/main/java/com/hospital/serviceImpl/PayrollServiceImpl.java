@@ -0,0 +1,481 @@
+package com.hospital.serviceImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hospital.dto.request.StaffShiftRequest;
+import com.hospital.dto.response.PayrollRunResponse;
+import com.hospital.dto.response.PayslipResponse;
+import com.hospital.entity.PayrollRun;
+import com.hospital.entity.Payslip;
+import com.hospital.entity.StaffShift;
+import com.hospital.enums.PayrollStatus;
+import com.hospital.repository.PayrollRunRepository;
+import com.hospital.repository.PayslipRepository;
+import com.hospital.repository.StaffRepository;
+import com.hospital.repository.StaffRepository.StaffPayView;
+import com.hospital.repository.StaffShiftRepository;
+import com.hospital.service.PayrollCalculator;
+import com.hospital.service.PayrollCalculator.Employee;
+import com.hospital.service.PayrollCalculator.Pay;
+import com.hospital.service.PayrollCalculator.Rates;
+import com.hospital.service.PayrollService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Payroll runs one at a time on a background thread. The runner reads staff
+ * in keyset chunks of the pay columns only, together with each chunk's
+ * worked hours summed by the database, and hands every chunk to a fork-join
+ * pool; there the chunk is split across the workers for the pay arithmetic
+ * and then upserted as one JDBC batch in its own transaction, while the
+ * runner reads on. Payslips are unique per staff member and period, so a
+ * rerun overwrites them, and slips of staff who are no longer on the roll
+ * are deleted once the run completes.
+ */
+@Service
+public class PayrollServiceImpl implements PayrollService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PayrollServiceImpl.class);
+
+	private static final int MAX_PAGE_SIZE = 500;
+	private static final int MAX_SHIFTS_PER_REQUEST = 1000;
+	private static final long MAX_SHIFT_HOURS = 24;
+	private static final List<PayrollStatus> UNFINISHED = List.of(PayrollStatus.QUEUED, PayrollStatus.RUNNING);
+
+	private static final String WORKED_MINUTES_SQL = "SELECT staff_id, SUM(TIMESTAMPDIFF(MINUTE, start_time, "
+			+ "end_time)) FROM staff_shifts WHERE staff_id BETWEEN ? AND ? AND start_time >= ? AND start_time < ? "
+			+ "GROUP BY staff_id";
+
+	private static final String UPSERT_PAYSLIP_SQL = "INSERT INTO payslips (run_id, staff_id, pay_period, "
+			+ "staff_name, department, paid_days, period_days, base_pay, overtime_hours, overtime_pay, gross_pay, "
+			+ "provident_fund, income_tax, professional_tax, net_pay, created_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+			+ "run_id = VALUES(run_id), staff_name = VALUES(staff_name), department = VALUES(department), "
+			+ "paid_days = VALUES(paid_days), period_days = VALUES(period_days), base_pay = VALUES(base_pay), "
+			+ "overtime_hours = VALUES(overtime_hours), overtime_pay = VALUES(overtime_pay), "
+			+ "gross_pay = VALUES(gross_pay), provident_fund = VALUES(provident_fund), "
+			+ "income_tax = VALUES(income_tax), professional_tax = VALUES(professional_tax), "
+			+ "net_pay = VALUES(net_pay), created_at = VALUES(created_at)";
+
+	private static final String DELETE_STALE_SQL = "DELETE FROM payslips WHERE pay_period = ? AND run_id <> ?";
+
+	private record ChunkResult(long written, long skipped, BigDecimal gross, BigDecimal net) {
+	}
+
+	@Autowired
+	private PayrollRunRepository runRepository;
+
+	@Autowired
+	private PayslipRepository payslipRepository;
+
+	@Autowired
+	private StaffRepository staffRepository;
+
+	@Autowired
+	private StaffShiftRepository shiftRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${payroll.chunk-size:2000}")
+	private int chunkSize;
+
+	@Value("${payroll.threads:0}")
+	private int threads;
+
+	@Value("${payroll.standard-monthly-hours:160}")
+	private double standardMonthlyHours;
+
+	@Value("${payroll.overtime-multiplier:1.5}")
+	private double overtimeMultiplier;
+
+	@Value("${payroll.provident-fund-rate:0.12}")
+	private double providentFundRate;
+
+	@Value("${payroll.income-tax-rate:0.10}")
+	private double incomeTaxRate;
+
+	@Value("${payroll.professional-tax:200}")
+	private BigDecimal professionalTax;
+
+	private PayrollCalculator calculator;
+	private ExecutorService runner;
+	private ForkJoinPool workers;
+
+	@PostConstruct
+	public void start() {
+		calculator = new PayrollCalculator(
+				new Rates(standardMonthlyHours, overtimeMultiplier, providentFundRate, incomeTaxRate, professionalTax));
+		runner = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "payroll-runner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+		workers = new ForkJoinPool(threads);
+	}
+
+	@PreDestroy
+	public void stop() {
+		runner.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	/**
+	 * 🔄 A run cut short by a restart is marked failed; running the period again
+	 * overwrites whatever it wrote
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void failInterruptedRuns() {
+		for (PayrollRun run : runRepository.findByStatusIn(UNFINISHED)) {
+			run.setStatus(PayrollStatus.FAILED);
+			run.setMessage("Interrupted by a restart; run the period again");
+			run.setFinishedAt(LocalDateTime.now());
+			runRepository.save(run);
+		}
+	}
+
+	@Override
+	public synchronized PayrollRunResponse startRun(String period, String createdBy) {
+		YearMonth month = parsePeriod(period);
+		if (runRepository.existsByPeriodAndStatusIn(month.toString(), UNFINISHED)) {
+			throw new IllegalStateException("Payroll for " + month + " is already queued or running");
+		}
+		PayrollRun run = new PayrollRun();
+		run.setPeriod(month.toString());
+		run.setStatus(PayrollStatus.QUEUED);
+		run.setCreatedBy(createdBy);
+		run = runRepository.save(run);
+
+		Long runId = run.getId();
+		runner.submit(() -> runPayroll(runId, month));
+		return toResponse(run);
+	}
+
+	@Override
+	public PayrollRunResponse getRun(Long runId) {
+		return runRepository.findById(runId).map(this::toResponse).orElse(null);
+	}
+
+	@Override
+	public List<PayrollRunResponse> getRecentRuns(int limit) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return runRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream().map(this::toResponse).toList();
+	}
+
+	@Override
+	public List<PayslipResponse> getPayslips(String period, long afterStaffId, int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return payslipRepository.findByPeriodAndStaffIdGreaterThanOrderByStaffId(parsePeriod(period).toString(),
+				afterStaffId, PageRequest.of(0, size)).stream().map(this::toResponse).toList();
+	}
+
+	@Override
+	public List<PayslipResponse> getPayslipsByStaff(Long staffId, int limit) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return payslipRepository.findByStaffIdOrderByPeriodDesc(staffId, PageRequest.of(0, limit)).stream()
+				.map(this::toResponse).toList();
+	}
+
+	@Override
+	public int recordShifts(List<StaffShiftRequest> shifts) {
+		if (shifts == null || shifts.isEmpty() || shifts.size() > MAX_SHIFTS_PER_REQUEST) {
+			throw new IllegalArgumentException("Send between 1 and " + MAX_SHIFTS_PER_REQUEST + " shifts");
+		}
+		Set<Long> staffIds = new HashSet<>();
+		List<StaffShift> entities = new ArrayList<>(shifts.size());
+		for (int i = 0; i < shifts.size(); i++) {
+			StaffShiftRequest request = shifts.get(i);
+			if (request.getStaffId() == null || request.getStartTime() == null || request.getEndTime() == null) {
+				throw new IllegalArgumentException("Shift " + (i + 1) + ": staff id, start and end are required");
+			}
+			if (!request.getEndTime().isAfter(request.getStartTime())
+					|| request.getStartTime().plusHours(MAX_SHIFT_HOURS).isBefore(request.getEndTime())) {
+				throw new IllegalArgumentException(
+						"Shift " + (i + 1) + ": must end after it starts and last at most " + MAX_SHIFT_HOURS + " hours");
+			}
+			staffIds.add(request.getStaffId());
+			StaffShift shift = new StaffShift();
+			shift.setStaffId(request.getStaffId());
+			shift.setStartTime(request.getStartTime());
+			shift.setEndTime(request.getEndTime());
+			entities.add(shift);
+		}
+		if (staffRepository.findAllById(staffIds).size() != staffIds.size()) {
+			throw new IllegalArgumentException("Every shift must belong to an existing staff member");
+		}
+		rejectOverlaps(entities, staffIds);
+		return shiftRepository.saveAll(entities).size();
+	}
+
+	/**
+	 * Rejects shifts that overlap each other or an already recorded shift of
+	 * the same staff member, so no hour is paid twice. Stored shifts are read
+	 * in one query over the span of the request.
+	 */
+	private void rejectOverlaps(List<StaffShift> shifts, Set<Long> staffIds) {
+		List<StaffShift> sorted = new ArrayList<>(shifts);
+		sorted.sort(Comparator.comparing(StaffShift::getStaffId).thenComparing(StaffShift::getStartTime));
+		for (int i = 1; i < sorted.size(); i++) {
+			StaffShift previous = sorted.get(i - 1);
+			StaffShift shift = sorted.get(i);
+			if (previous.getStaffId().equals(shift.getStaffId())
+					&& shift.getStartTime().isBefore(previous.getEndTime())) {
+				throw new IllegalArgumentException("Shift " + (shifts.indexOf(shift) + 1) + ": overlaps shift "
+						+ (shifts.indexOf(previous) + 1) + " of the same staff member");
+			}
+		}
+		LocalDateTime from = shifts.stream().map(StaffShift::getStartTime).min(Comparator.naturalOrder()).orElseThrow();
+		LocalDateTime to = shifts.stream().map(StaffShift::getEndTime).max(Comparator.naturalOrder()).orElseThrow();
+		Map<Long, List<StaffShift>> stored = new HashMap<>();
+		for (StaffShift shift : shiftRepository.findOverlapping(staffIds, from, to)) {
+			stored.computeIfAbsent(shift.getStaffId(), k -> new ArrayList<>()).add(shift);
+		}
+		for (int i = 0; i < shifts.size(); i++) {
+			StaffShift shift = shifts.get(i);
+			for (StaffShift existing : stored.getOrDefault(shift.getStaffId(), List.of())) {
+				if (shift.getStartTime().isBefore(existing.getEndTime())
+						&& existing.getStartTime().isBefore(shift.getEndTime())) {
+					throw new IllegalArgumentException("Shift " + (i + 1) + ": overlaps a recorded shift from "
+							+ existing.getStartTime() + " to " + existing.getEndTime());
+				}
+			}
+		}
+	}
+
+	private void runPayroll(Long runId, YearMonth period) {
+		PayrollRun run = runRepository.findById(runId).orElseThrow();
+		run.setStatus(PayrollStatus.RUNNING);
+		run.setStartedAt(LocalDateTime.now());
+		run = runRepository.save(run);
+
+		long started = System.nanoTime();
+		LongAdder readNanos = new LongAdder();
+		LongAdder computeNanos = new LongAdder();
+		LongAdder writeNanos = new LongAdder();
+		// Bounds the chunks read ahead of the workers
+		Semaphore inFlight = new Semaphore(threads * 2);
+		List<Future<ChunkResult>> chunks = new ArrayList<>();
+		try {
+			long afterId = 0;
+			List<StaffPayView> page;
+			do {
+				long readStarted = System.nanoTime();
+				page = staffRepository.findPayrollPage(afterId, PageRequest.of(0, chunkSize));
+				if (page.isEmpty()) {
+					break;
+				}
+				afterId = page.get(page.size() - 1).getId();
+				Map<Long, Double> workedHours = workedHours(page.get(0).getId(), afterId, period);
+				readNanos.add(System.nanoTime() - readStarted);
+
+				inFlight.acquire();
+				List<StaffPayView> chunk = page;
+				chunks.add(workers.submit(() -> {
+					try {
+						return payChunk(runId, period, chunk, workedHours, computeNanos, writeNanos);
+					} finally {
+						inFlight.release();
+					}
+				}));
+			} while (page.size() == chunkSize);
+
+			long written = 0;
+			long skipped = 0;
+			BigDecimal gross = BigDecimal.ZERO;
+			BigDecimal net = BigDecimal.ZERO;
+			for (Future<ChunkResult> chunk : chunks) {
+				ChunkResult result = chunk.get();
+				written += result.written();
+				skipped += result.skipped();
+				gross = gross.add(result.gross());
+				net = net.add(result.net());
+			}
+			int stale = jdbcTemplate.update(DELETE_STALE_SQL, period.toString(), runId);
+			if (stale > 0) {
+				logger.info("Payroll run {} removed {} payslips of staff no longer on the roll", runId, stale);
+			}
+			run.setPayslipCount(written);
+			run.setSkippedCount(skipped);
+			run.setTotalGross(gross);
+			run.setTotalNet(net);
+			run.setStatus(PayrollStatus.COMPLETED);
+		} catch (Exception e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			chunks.forEach(chunk -> chunk.cancel(true));
+			logger.error("Payroll run {} failed: ", runId, e);
+			run.setStatus(PayrollStatus.FAILED);
+			String message = "Run the period again: " + e.getMessage();
+			run.setMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+		} finally {
+			run.setReadMillis(TimeUnit.NANOSECONDS.toMillis(readNanos.sum()));
+			run.setComputeMillis(TimeUnit.NANOSECONDS.toMillis(computeNanos.sum()));
+			run.setWriteMillis(TimeUnit.NANOSECONDS.toMillis(writeNanos.sum()));
+			run.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+			run.setFinishedAt(LocalDateTime.now());
+			runRepository.save(run);
+		}
+		logger.info("Payroll run {} for {} {}: {} payslips in {} ms (read {} ms, compute {} ms, write {} ms)", runId,
+				period, run.getStatus(), run.getPayslipCount(), run.getElapsedMillis(), run.getReadMillis(),
+				run.getComputeMillis(), run.getWriteMillis());
+	}
+
+	// Hours worked by each staff member of the id range in shifts starting in the period
+	private Map<Long, Double> workedHours(long fromId, long toId, YearMonth period) {
+		Map<Long, Double> hours = new HashMap<>();
+		jdbcTemplate.query(WORKED_MINUTES_SQL, rs -> {
+			hours.put(rs.getLong(1), rs.getLong(2) / 60.0);
+		}, fromId, toId, period.atDay(1).atStartOfDay(), period.plusMonths(1).atDay(1).atStartOfDay());
+		return hours;
+	}
+
+	private ChunkResult payChunk(Long runId, YearMonth period, List<StaffPayView> chunk,
+			Map<Long, Double> workedHours, LongAdder computeNanos, LongAdder writeNanos) {
+		long computeStarted = System.nanoTime();
+		Employee[] employees = new Employee[chunk.size()];
+		for (int i = 0; i < employees.length; i++) {
+			StaffPayView staff = chunk.get(i);
+			employees[i] = new Employee(staff.getId(),
+					staff.getSalary() == null ? null : BigDecimal.valueOf(staff.getSalary()), staff.getHireDate(),
+					workedHours.getOrDefault(staff.getId(), 0.0));
+		}
+		Pay[] pays = new Pay[employees.length];
+		new PayTask(calculator, period, employees, pays, 0, employees.length).invoke();
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> rows = new ArrayList<>(pays.length);
+		BigDecimal gross = BigDecimal.ZERO;
+		BigDecimal net = BigDecimal.ZERO;
+		for (int i = 0; i < pays.length; i++) {
+			Pay pay = pays[i];
+			if (pay == null) {
+				continue;
+			}
+			StaffPayView staff = chunk.get(i);
+			String name = ((staff.getFirstName() == null ? "" : staff.getFirstName()) + " "
+					+ (staff.getLastName() == null ? "" : staff.getLastName())).strip();
+			rows.add(new Object[] { runId, pay.staffId(), period.toString(), name, staff.getDepartment(),
+					pay.paidDays(), pay.periodDays(), pay.basePay(), pay.overtimeHours(), pay.overtimePay(),
+					pay.grossPay(), pay.providentFund(), pay.incomeTax(), pay.professionalTax(), pay.netPay(), now });
+			gross = gross.add(pay.grossPay());
+			net = net.add(pay.netPay());
+		}
+		computeNanos.add(System.nanoTime() - computeStarted);
+
+		long writeStarted = System.nanoTime();
+		if (!rows.isEmpty()) {
+			new TransactionTemplate(transactionManager)
+					.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_PAYSLIP_SQL, rows));
+		}
+		writeNanos.add(System.nanoTime() - writeStarted);
+		return new ChunkResult(rows.size(), pays.length - rows.size(), gross, net);
+	}
+
+	/**
+	 * Splits a chunk in halves until the slices are small enough to compute
+	 * directly; idle workers steal the halves.
+	 */
+	private static final class PayTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private static final int SLICE = 256;
+
+		private final transient PayrollCalculator calculator;
+		private final YearMonth period;
+		private final Employee[] employees;
+		private final Pay[] pays;
+		private final int from;
+		private final int to;
+
+		PayTask(PayrollCalculator calculator, YearMonth period, Employee[] employees, Pay[] pays, int from, int to) {
+			this.calculator = calculator;
+			this.period = period;
+			this.employees = employees;
+			this.pays = pays;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SLICE) {
+				for (int i = from; i < to; i++) {
+					pays[i] = calculator.calculate(employees[i], period);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new PayTask(calculator, period, employees, pays, from, middle),
+					new PayTask(calculator, period, employees, pays, middle, to));
+		}
+	}
+
+	private static YearMonth parsePeriod(String period) {
+		if (period == null) {
+			throw new IllegalArgumentException("Period is required, as yyyy-MM");
+		}
+		try {
+			return YearMonth.parse(period.strip());
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Period must be yyyy-MM, e.g. 2026-09");
+		}
+	}
+
+	private PayrollRunResponse toResponse(PayrollRun run) {
+		return new PayrollRunResponse(run.getId(), run.getPeriod(), run.getStatus(), run.getPayslipCount(),
+				run.getSkippedCount(), run.getTotalGross(), run.getTotalNet(), run.getReadMillis(),
+				run.getComputeMillis(), run.getWriteMillis(), run.getElapsedMillis(), run.getMessage(),
+				run.getCreatedBy(), run.getCreatedAt(), run.getStartedAt(), run.getFinishedAt());
+	}
+
+	private PayslipResponse toResponse(Payslip payslip) {
+		return new PayslipResponse(payslip.getId(), payslip.getRunId(), payslip.getStaffId(), payslip.getPeriod(),
+				payslip.getStaffName(), payslip.getDepartment(), payslip.getPaidDays(), payslip.getPeriodDays(),
+				payslip.getBasePay(), payslip.getOvertimeHours(), payslip.getOvertimePay(), payslip.getGrossPay(),
+				payslip.getProvidentFund(), payslip.getIncomeTax(), payslip.getProfessionalTax(),
+				payslip.getNetPay());
+	}
+}
@@ -0,0 +1,114 @@
+package com.hospital.serviceImpl;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.hospital.dto.response.PeopleSearchResponse;
+import com.hospital.dto.response.PersonSearchHit;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.DoctorRepository.DoctorContactView;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.PatientRepository.PatientDirectoryView;
+import com.hospital.repository.StaffRepository;
+import com.hospital.repository.StaffRepository.StaffContactView;
+import com.hospital.service.PeopleSearchIndex;
+import com.hospital.service.PeopleSearchIndex.Hit;
+import com.hospital.service.PeopleSearchIndex.Person;
+import com.hospital.service.PeopleSearchIndex.Role;
+import com.hospital.service.PeopleSearchService;
+
+@Service
+public class PeopleSearchServiceImpl implements PeopleSearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PeopleSearchServiceImpl.class);
+
+	private static final int INDEX_LOAD_PAGE_SIZE = 5000;
+	private static final int MAX_LIMIT = 50;
+
+	@Autowired
+	private PeopleSearchIndex peopleSearchIndex;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private StaffRepository staffRepository;
+
+	/**
+	 * 🔎 Fills the people index from the contact columns only; patients in
+	 * keyset pages, doctors and staff in one read each
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadIndex() {
+		peopleSearchIndex.clear();
+		long afterId = 0;
+		List<PatientDirectoryView> page;
+		do {
+			page = patientRepository.findDirectoryPage(afterId, PageRequest.of(0, INDEX_LOAD_PAGE_SIZE));
+			for (PatientDirectoryView row : page) {
+				peopleSearchIndex.put(new Person(Role.PATIENT, row.getPatientId(), row.getFirstName(),
+						row.getLastName(), row.getEmail(), row.getPhoneNumber(), row.getCity()));
+				afterId = row.getPatientId();
+			}
+		} while (page.size() == INDEX_LOAD_PAGE_SIZE);
+		for (DoctorContactView row : doctorRepository.findAllContactViews()) {
+			peopleSearchIndex.put(new Person(Role.DOCTOR, row.getId(), row.getFirstName(), row.getLastName(),
+					row.getEmail(), row.getPhoneNumber(), row.getSpecialization()));
+		}
+		for (StaffContactView row : staffRepository.findAllContactViews()) {
+			peopleSearchIndex.put(new Person(Role.STAFF, row.getId(), row.getFirstName(), row.getLastName(),
+					row.getEmail(), row.getPhoneNumber(), row.getDepartment()));
+		}
+		logger.info("People search index loaded with {} people", peopleSearchIndex.size());
+	}
+
+	@Override
+	public PeopleSearchResponse search(String query, List<String> roles, int limit) {
+		if (query == null || query.isBlank()) {
+			throw new IllegalArgumentException("Search text is required");
+		}
+		if (limit < 1 || limit > MAX_LIMIT) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+		}
+		Set<Role> wanted = EnumSet.noneOf(Role.class);
+		if (roles == null || roles.isEmpty()) {
+			wanted = EnumSet.allOf(Role.class);
+		} else {
+			for (String role : roles) {
+				try {
+					wanted.add(Role.valueOf(role.strip().toUpperCase(Locale.ROOT)));
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("Unknown role: " + role);
+				}
+			}
+		}
+
+		Map<String, List<PersonSearchHit>> results = new LinkedHashMap<>();
+		peopleSearchIndex.search(query, wanted, limit)
+				.forEach((role, hits) -> results.put(role.name(), hits.stream().map(this::toHit).toList()));
+		return new PeopleSearchResponse(query.strip(), results);
+	}
+
+	private PersonSearchHit toHit(Hit hit) {
+		Person person = hit.person();
+		String name = ((person.firstName() == null ? "" : person.firstName()) + " "
+				+ (person.lastName() == null ? "" : person.lastName())).strip();
+		return new PersonSearchHit(person.role().name(), person.id(), name, person.email(), person.phoneNumber(),
+				person.detail(), hit.matchedOn().name());
+	}
+}
@@ -0,0 +1,270 @@
+package com.hospital.serviceImpl;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hospital.dto.request.DispenseRequest;
+import com.hospital.dto.response.DispenseLineResponse;
+import com.hospital.dto.response.DispenseResponse;
+import com.hospital.dto.response.PharmacyQueueEntry;
+import com.hospital.entity.DispenseLine;
+import com.hospital.entity.MedicineItem;
+import com.hospital.entity.Prescription;
+import com.hospital.enums.DispenseStatus;
+import com.hospital.exception.ResourceNotFoundException;
+import com.hospital.repository.DispenseLineRepository;
+import com.hospital.repository.InventoryRepository;
+import com.hospital.repository.MedicineItemRepository;
+import com.hospital.repository.PrescriptionRepository;
+import com.hospital.service.InventoryMedicineMatcher;
+import com.hospital.service.PharmacyService;
+
+@Service
+public class PharmacyServiceImpl implements PharmacyService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PharmacyServiceImpl.class);
+
+	private static final Set<DispenseStatus> PENDING = EnumSet.of(DispenseStatus.RESERVED, DispenseStatus.UNAVAILABLE);
+	private static final int MAX_QUEUE_SIZE = 200;
+
+	private static final String INSERT_LINE_SQL = "INSERT INTO dispense_lines "
+			+ "(prescription_id, medicine_item_id, inventory_id, quantity, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private DispenseLineRepository dispenseLineRepository;
+
+	@Autowired
+	private InventoryRepository inventoryRepository;
+
+	@Autowired
+	private MedicineItemRepository medicineItemRepository;
+
+	@Autowired
+	private PrescriptionRepository prescriptionRepository;
+
+	@Autowired
+	private InventoryMedicineMatcher inventoryMatcher;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * 💊 Runs inside the issuing transaction. Each matched line is reserved
+	 * with one conditional UPDATE that only succeeds while enough stock is
+	 * free; lines that cannot be reserved wait as UNAVAILABLE. All lines are
+	 * then written in one JDBC batch.
+	 */
+	@Override
+	@Transactional
+	public void reserveForPrescription(Long prescriptionId, List<MedicineItem> items) {
+		LocalDateTime now = LocalDateTime.now();
+		List<DispenseLine> lines = new ArrayList<>(items.size());
+		for (MedicineItem item : items) {
+			int quantity = quantityOf(item);
+			boolean reserved = item.getInventoryId() != null
+					&& inventoryRepository.reserveStock(item.getInventoryId(), quantity) == 1;
+			lines.add(new DispenseLine(null, prescriptionId, item.getId(), item.getInventoryId(), quantity,
+					reserved ? DispenseStatus.RESERVED : DispenseStatus.UNAVAILABLE, now, null));
+		}
+		jdbcTemplate.batchUpdate(INSERT_LINE_SQL, lines, lines.size(), (ps, line) -> {
+			ps.setLong(1, line.getPrescriptionId());
+			ps.setLong(2, line.getMedicineItemId());
+			if (line.getInventoryId() != null) {
+				ps.setLong(3, line.getInventoryId());
+			} else {
+				ps.setNull(3, Types.BIGINT);
+			}
+			ps.setInt(4, line.getQuantity());
+			ps.setString(5, line.getStatus().name());
+			ps.setTimestamp(6, Timestamp.valueOf(line.getCreatedAt()));
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<PharmacyQueueEntry> getQueue(int limit) {
+		int size = Math.max(1, Math.min(limit, MAX_QUEUE_SIZE));
+		List<Long> prescriptionIds = dispenseLineRepository.findQueuedPrescriptionIds(PENDING,
+				PageRequest.of(0, size));
+		if (prescriptionIds.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, Prescription> prescriptions = prescriptionRepository.findAllById(prescriptionIds).stream()
+				.collect(Collectors.toMap(Prescription::getId, Function.identity()));
+		List<DispenseLine> lines = dispenseLineRepository.findByPrescriptionIds(prescriptionIds).stream()
+				.filter(line -> PENDING.contains(line.getStatus()))
+				.collect(Collectors.toList());
+		Map<Long, String> names = medicineNames(lines);
+
+		Map<Long, List<DispenseLineResponse>> byPrescription = new LinkedHashMap<>();
+		prescriptionIds.forEach(id -> byPrescription.put(id, new ArrayList<>()));
+		for (DispenseLine line : lines) {
+			byPrescription.get(line.getPrescriptionId()).add(toResponse(line, names));
+		}
+
+		List<PharmacyQueueEntry> queue = new ArrayList<>();
+		byPrescription.forEach((id, pending) -> {
+			Prescription prescription = prescriptions.get(id);
+			if (prescription != null) {
+				queue.add(new PharmacyQueueEntry(id, prescription.getPatientName(), prescription.getPatientEmail(),
+						prescription.getDoctorName(), prescription.getDate(), pending));
+			}
+		});
+		return queue;
+	}
+
+	/**
+	 * 💊 Works through a batch of prescriptions in one transaction. The
+	 * pending lines are locked in a single query, each line takes stock with
+	 * one conditional UPDATE, and the dispensed lines are marked with one set
+	 * UPDATE. Lines that still lack stock stay queued as UNAVAILABLE. Lines
+	 * issued before their medicine matched an inventory item are matched again
+	 * here, so stock added or renamed since then can serve them.
+	 */
+	@Override
+	@Transactional
+	public DispenseResponse dispense(DispenseRequest request) {
+		List<Long> prescriptionIds = request.getPrescriptionIds().stream().distinct().collect(Collectors.toList());
+		List<DispenseLine> lines = dispenseLineRepository.lockIssuedByPrescriptionIds(prescriptionIds, PENDING);
+		LocalDateTime now = LocalDateTime.now();
+		Map<Long, Long> inventoryIds = resolveInventory(lines);
+
+		List<Long> dispensedIds = new ArrayList<>();
+		for (DispenseLine line : lines) {
+			Long inventoryId = inventoryIds.get(line.getId());
+			if (inventoryId == null) {
+				continue;
+			}
+			int updated = line.getStatus() == DispenseStatus.RESERVED
+					? inventoryRepository.dispenseReservedStock(inventoryId, line.getQuantity())
+					: inventoryRepository.dispenseFreeStock(inventoryId, line.getQuantity());
+			if (updated == 1) {
+				dispensedIds.add(line.getId());
+			}
+		}
+		if (!dispensedIds.isEmpty()) {
+			dispenseLineRepository.updateStatusForIds(dispensedIds, DispenseStatus.DISPENSED, now);
+		}
+
+		// Build the outcome from what we know rather than touching the managed entities
+		Set<Long> dispensed = Set.copyOf(dispensedIds);
+		Map<Long, String> names = medicineNames(lines);
+		List<DispenseLineResponse> outcomes = new ArrayList<>(lines.size());
+		for (DispenseLine line : lines) {
+			DispenseLineResponse outcome = toResponse(line, names);
+			outcome.setInventoryId(inventoryIds.get(line.getId()));
+			if (dispensed.contains(line.getId())) {
+				outcome.setStatus(DispenseStatus.DISPENSED.name());
+				outcome.setDispensedAt(now);
+			} else {
+				outcome.setStatus(DispenseStatus.UNAVAILABLE.name());
+			}
+			outcomes.add(outcome);
+		}
+		logger.info("Dispensed {} of {} pending lines across {} prescriptions", dispensedIds.size(), lines.size(),
+				prescriptionIds.size());
+		return new DispenseResponse(prescriptionIds.size(), dispensedIds.size(), lines.size() - dispensedIds.size(),
+				outcomes);
+	}
+
+	@Override
+	@Transactional
+	public int releasePrescription(Long prescriptionId) {
+		if (!prescriptionRepository.existsById(prescriptionId)) {
+			throw new ResourceNotFoundException("Prescription not found with id: " + prescriptionId);
+		}
+		List<DispenseLine> lines = dispenseLineRepository.lockByPrescriptionIds(List.of(prescriptionId), PENDING);
+		for (DispenseLine line : lines) {
+			if (line.getStatus() == DispenseStatus.RESERVED) {
+				inventoryRepository.releaseStock(line.getInventoryId(), line.getQuantity());
+			}
+		}
+		if (!lines.isEmpty()) {
+			dispenseLineRepository.updateStatusForIds(lines.stream().map(DispenseLine::getId).toList(),
+					DispenseStatus.CANCELLED, null);
+		}
+		return lines.size();
+	}
+
+	/**
+	 * Inventory id per line. Unmatched lines take the id the match backfill
+	 * has since put on their medicine line, or else the current best match,
+	 * and both tables are updated in one batch each.
+	 */
+	private Map<Long, Long> resolveInventory(List<DispenseLine> lines) {
+		Map<Long, Long> inventoryIds = new HashMap<>();
+		List<DispenseLine> unmatched = new ArrayList<>();
+		for (DispenseLine line : lines) {
+			if (line.getInventoryId() != null) {
+				inventoryIds.put(line.getId(), line.getInventoryId());
+			} else {
+				unmatched.add(line);
+			}
+		}
+		if (unmatched.isEmpty()) {
+			return inventoryIds;
+		}
+		Map<Long, MedicineItem> items = medicineItemRepository
+				.findAllById(unmatched.stream().map(DispenseLine::getMedicineItemId).distinct().toList()).stream()
+				.collect(Collectors.toMap(MedicineItem::getId, Function.identity()));
+		List<Object[]> lineUpdates = new ArrayList<>();
+		List<Object[]> itemUpdates = new ArrayList<>();
+		for (DispenseLine line : unmatched) {
+			MedicineItem item = items.get(line.getMedicineItemId());
+			if (item == null) {
+				continue;
+			}
+			Long inventoryId = item.getInventoryId();
+			if (inventoryId == null) {
+				inventoryId = inventoryMatcher.bestMatchId(item.getName());
+				if (inventoryId == null) {
+					continue;
+				}
+				itemUpdates.add(new Object[] { inventoryId, item.getId() });
+			}
+			inventoryIds.put(line.getId(), inventoryId);
+			lineUpdates.add(new Object[] { inventoryId, line.getId() });
+		}
+		if (!lineUpdates.isEmpty()) {
+			jdbcTemplate.batchUpdate("UPDATE dispense_lines SET inventory_id = ? WHERE id = ?", lineUpdates);
+		}
+		if (!itemUpdates.isEmpty()) {
+			jdbcTemplate.batchUpdate("UPDATE medicine_items SET inventory_id = ? WHERE id = ?", itemUpdates);
+		}
+		return inventoryIds;
+	}
+
+	private Map<Long, String> medicineNames(List<DispenseLine> lines) {
+		List<Long> itemIds = lines.stream().map(DispenseLine::getMedicineItemId).distinct().toList();
+		return medicineItemRepository.findAllById(itemIds).stream()
+				.collect(Collectors.toMap(MedicineItem::getId, MedicineItem::getName));
+	}
+
+	private static DispenseLineResponse toResponse(DispenseLine line, Map<Long, String> names) {
+		return new DispenseLineResponse(line.getId(), line.getPrescriptionId(), line.getMedicineItemId(),
+				names.get(line.getMedicineItemId()), line.getInventoryId(), line.getQuantity(), line.getStatus().name(),
+				line.getDispensedAt());
+	}
+
+	private static int quantityOf(MedicineItem item) {
+		return item.getQuantity() == null || item.getQuantity() < 1 ? 1 : item.getQuantity();
+	}
+}
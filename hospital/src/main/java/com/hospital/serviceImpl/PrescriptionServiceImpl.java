@@ -1,25 +1,109 @@
 package com.hospital.serviceImpl;
 
+import com.hospital.dto.request.MedicineItemRequest;
 import com.hospital.dto.request.PrescriptionRequest;
+import com.hospital.dto.response.InteractionWarning;
+import com.hospital.dto.response.MedicineItemResponse;
+import com.hospital.dto.response.MedicineMatchBackfillResponse;
+import com.hospital.dto.response.PrescriptionPageResponse;
 import com.hospital.dto.response.PrescriptionResponse;
+import com.hospital.entity.MedicineItem;
 import com.hospital.entity.Prescription;
+import com.hospital.event.AfterCommit;
+import com.hospital.exception.CustomInternalServerException;
+import com.hospital.repository.MedicineItemRepository;
+import com.hospital.repository.MedicineItemRepository.MedicineNameView;
 import com.hospital.repository.PrescriptionRepository;
+import com.hospital.service.DrugInteractionChecker;
+import com.hospital.service.InventoryMedicineMatcher;
+import com.hospital.service.MedicineRecallService;
+import com.hospital.service.PharmacyService;
 import com.hospital.service.PrescriptionService;
+import com.hospital.service.RefillDueIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;  // important
 
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Service
 public class PrescriptionServiceImpl implements PrescriptionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int BACKFILL_PAGE_SIZE = 1000;
+
+    private static final String INSERT_ITEM_SQL = "INSERT INTO medicine_items (prescription_id, name, dosage, "
+            + "frequency, duration, special_instructions, inventory_id, quantity) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
     @Autowired
     private PrescriptionRepository prescriptionRepository;
 
+    @Autowired
+    private MedicineItemRepository medicineItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DrugInteractionChecker interactionChecker;
+
+    @Autowired
+    private InventoryMedicineMatcher inventoryMatcher;
+
+    @Autowired
+    private PharmacyService pharmacyService;
+
+    @Autowired
+    private MedicineRecallService medicineRecallService;
+
+    @Autowired
+    private RefillDueIndex refillDueIndex;
+
+    @Value("${prescriptions.active-window-days:90}")
+    private int activeWindowDays;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    /**
+     * Saves the prescription header through JPA, then writes every medicine line
+     * in one JDBC batch. IDENTITY keys stop Hibernate from batching inserts, so
+     * going through JPA would cost one round trip per line.
+     */
     @Override
+    @Transactional
     public PrescriptionResponse issuePrescription(PrescriptionRequest request) {
+        List<MedicineItemRequest> lines = toLines(request);
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Medicines list cannot be empty");
+        }
+
+        validateRefillSchedule(request);
+        List<InteractionWarning> warnings = checkInteractions(request.getPatientEmail(), lines);
+
         Prescription prescription = new Prescription();
         prescription.setPatientName(request.getPatientName());
         prescription.setDoctorName(request.getDoctorName());
@@ -27,32 +111,227 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         prescription.setIssued(request.getIssued());
         prescription.setInstructions(request.getInstructions());
         prescription.setPatientEmail(request.getPatientEmail());
-        prescription.setMedicines(request.getMedicines());
+        prescription.setDoctorEmail(request.getDoctorEmail());
+        if (request.getRefills() != null && request.getRefills() > 0) {
+            prescription.setRefillIntervalDays(request.getRefillIntervalDays());
+            prescription.setRefillsRemaining(request.getRefills());
+            prescription.setRefillEndDate(request.getRefillEndDate());
+            LocalDate first = request.getDate().plusDays(request.getRefillIntervalDays());
+            if (request.getRefillEndDate() == null || !first.isAfter(request.getRefillEndDate())) {
+                prescription.setNextRefillDate(first);
+            }
+        }
 
         Prescription saved = prescriptionRepository.save(prescription);
-        return mapToResponse(saved);
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, saved.getId());
+            ps.setString(2, line.getName().trim());
+            ps.setString(3, line.getDosage());
+            ps.setString(4, line.getFrequency());
+            ps.setString(5, line.getDuration());
+            ps.setString(6, line.getInstructions());
+            Long inventoryId = inventoryMatcher.bestMatchId(line.getName());
+            if (inventoryId != null) {
+                ps.setLong(7, inventoryId);
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+            if (line.getQuantity() != null) {
+                ps.setInt(8, line.getQuantity());
+            } else {
+                ps.setNull(8, Types.INTEGER);
+            }
+        });
+
+        List<MedicineItem> items = medicineItemRepository.findByPrescriptionId(saved.getId());
+        if (saved.isIssued()) {
+            // Same transaction: the prescription, its recall entries and its stock reservations commit together
+            medicineRecallService.indexPrescription(saved, items);
+            pharmacyService.reserveForPrescription(saved.getId(), items);
+        }
+        if (saved.getNextRefillDate() != null) {
+            long id = saved.getId();
+            LocalDate next = saved.getNextRefillDate();
+            AfterCommit.run(() -> refillDueIndex.schedule(id, next));
+        }
+
+        PrescriptionResponse response = mapToResponse(saved, items);
+        response.setWarnings(warnings);
+        return response;
+    }
+
+    private void validateRefillSchedule(PrescriptionRequest request) {
+        if (request.getRefills() == null || request.getRefills() == 0) {
+            return;
+        }
+        if (request.getRefillIntervalDays() == null) {
+            throw new IllegalArgumentException("Refill interval is required when refills are requested");
+        }
+        if (request.getDate() == null) {
+            throw new IllegalArgumentException("Prescription date is required when refills are requested");
+        }
+        if (request.getRefillEndDate() != null && request.getRefillEndDate().isBefore(request.getDate())) {
+            throw new IllegalArgumentException("Refill end date cannot be before the prescription date");
+        }
+    }
+
+    /**
+     * Checks the new lines against each other and against everything issued to
+     * the patient within the active window. Findings are advisory: they are
+     * returned with the prescription, never used to reject it.
+     */
+    private List<InteractionWarning> checkInteractions(String patientEmail, List<MedicineItemRequest> lines) {
+        List<String> prescribed = lines.stream().map(MedicineItemRequest::getName).collect(Collectors.toList());
+        List<String> active = medicineItemRepository.findActiveMedicineNames(patientEmail,
+                LocalDate.now().minusDays(activeWindowDays));
+        List<InteractionWarning> warnings = interactionChecker.check(prescribed, active);
+        if (!warnings.isEmpty()) {
+            logger.info("{} interaction warning(s) for prescription to {}", warnings.size(), patientEmail);
+        }
+        return warnings;
     }
 
     @Override
     @Transactional(readOnly = true)  // keep session open for lazy loading during serialization
     public List<PrescriptionResponse> getPrescriptionsByPatient(String email) {
-        List<Prescription> prescriptions = prescriptionRepository.findByPatientEmail(email);
+        List<Prescription> prescriptions = prescriptionRepository.findVisibleToPatient(email);
 
         return prescriptions.stream()
-                .map(p -> new PrescriptionResponse(
-                        p.getId(),
-                        p.getDate(),
-                        p.getDoctorName(),
-                        p.getInstructions(),
-                        p.isIssued(),
-                        p.getPatientName(),
-                        p.getPatientEmail(),
-                        p.getMedicines()
-                ))
+                .map(p -> mapToResponse(p, p.getItems()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One page of a patient's history, newest first. The lines for the whole
+     * page arrive in a single batch fetch when the first prescription's items
+     * are touched.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PrescriptionPageResponse getPrescriptionPageByPatient(String email, int page, int size, boolean issuedOnly) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must be >= 0 and size must be >= 1");
+        }
+        PageRequest pageRequest = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), HISTORY_ORDER);
+        Page<Prescription> result = prescriptionRepository.findPageByPatientEmail(email, issuedOnly, pageRequest);
+
+        List<PrescriptionResponse> items = result.getContent().stream()
+                .map(p -> mapToResponse(p, p.getItems()))
                 .collect(Collectors.toList());
+        return new PrescriptionPageResponse(items, result.getNumber(), result.getSize(), result.getTotalElements(),
+                result.hasNext());
+    }
+
+    /**
+     * Copies medicine names from the old prescription_medicines collection table
+     * into medicine_items, once per prescription. Safe to run on every start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyMedicines() {
+        try {
+            int copied = jdbcTemplate.update("INSERT INTO medicine_items (prescription_id, name) "
+                    + "SELECT pm.prescription_id, pm.medicine FROM prescription_medicines pm "
+                    + "WHERE pm.medicine IS NOT NULL AND NOT EXISTS "
+                    + "(SELECT 1 FROM medicine_items mi WHERE mi.prescription_id = pm.prescription_id)");
+            if (copied > 0) {
+                logger.info("Migrated {} legacy prescription medicines into medicine_items", copied);
+            }
+        } catch (DataAccessException e) {
+            // Fresh schemas never had the legacy table
+            logger.debug("No legacy prescription medicines to migrate: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Links historical medicine lines that have no inventory item yet. The id
+     * space is split into one range per core and each range is matched and
+     * written back in JDBC batches on its own thread; repeated names hit the
+     * matcher's cache, so a long history costs little more than its distinct
+     * names.
+     */
+    @Override
+    public MedicineMatchBackfillResponse backfillInventoryMatches() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("An inventory match backfill is already running");
+        }
+        long started = System.currentTimeMillis();
+        try {
+            long maxId = medicineItemRepository.findMaxId();
+            int threads = Runtime.getRuntime().availableProcessors();
+            long rangeSize = Math.max(BACKFILL_PAGE_SIZE, (maxId + threads - 1) / threads);
+
+            long scanned = 0;
+            long matched = 0;
+            try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+                List<Future<long[]>> ranges = new ArrayList<>();
+                for (long from = 0; from < maxId; from += rangeSize) {
+                    long afterId = from;
+                    long toId = Math.min(maxId, from + rangeSize);
+                    ranges.add(pool.submit(() -> backfillRange(afterId, toId)));
+                }
+                for (Future<long[]> range : ranges) {
+                    long[] counts = range.get();
+                    scanned += counts[0];
+                    matched += counts[1];
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomInternalServerException("Inventory match backfill was interrupted");
+            } catch (ExecutionException e) {
+                logger.error("Inventory match backfill failed", e.getCause());
+                throw new CustomInternalServerException("Inventory match backfill failed: " + e.getCause().getMessage());
+            }
+            long elapsed = System.currentTimeMillis() - started;
+            logger.info("Inventory match backfill linked {} of {} medicine lines in {} ms", matched, scanned, elapsed);
+            return new MedicineMatchBackfillResponse(scanned, matched, elapsed);
+        } finally {
+            backfillRunning.set(false);
+        }
+    }
+
+    private long[] backfillRange(long afterId, long toId) {
+        long scanned = 0;
+        long matched = 0;
+        long cursor = afterId;
+        while (true) {
+            List<MedicineNameView> page = medicineItemRepository.findUnmatchedInIdRange(cursor, toId,
+                    PageRequest.of(0, BACKFILL_PAGE_SIZE));
+            if (page.isEmpty()) {
+                return new long[] { scanned, matched };
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (MedicineNameView line : page) {
+                Long inventoryId = inventoryMatcher.bestMatchId(line.getName());
+                if (inventoryId != null) {
+                    updates.add(new Object[] { inventoryId, line.getId() });
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE medicine_items SET inventory_id = ? WHERE id = ?", updates);
+            }
+            scanned += page.size();
+            matched += updates.size();
+            cursor = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private List<MedicineItemRequest> toLines(PrescriptionRequest request) {
+        List<MedicineItemRequest> lines = new ArrayList<>();
+        if (request.getItems() != null) {
+            lines.addAll(request.getItems());
+        }
+        if (request.getMedicines() != null) {
+            // Bare names carry no dosage details; they are stored with those columns empty
+            for (String name : request.getMedicines()) {
+                MedicineItemRequest line = new MedicineItemRequest();
+                line.setName(name);
+                lines.add(line);
+            }
+        }
+        return lines;
     }
 
-    private PrescriptionResponse mapToResponse(Prescription prescription) {
+    private PrescriptionResponse mapToResponse(Prescription prescription, List<MedicineItem> items) {
         PrescriptionResponse response = new PrescriptionResponse();
         response.setId(prescription.getId());
         response.setPatientName(prescription.getPatientName());
@@ -61,7 +340,14 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         response.setIssued(prescription.isIssued());
         response.setInstructions(prescription.getInstructions());
         response.setPatientEmail(prescription.getPatientEmail());
-        response.setMedicines(prescription.getMedicines());
+        response.setRefillsRemaining(prescription.getRefillsRemaining());
+        response.setNextRefillDate(prescription.getNextRefillDate());
+        response.setMedicines(items.stream().map(MedicineItem::getName).collect(Collectors.toList()));
+        response.setItems(items.stream()
+                .map(item -> new MedicineItemResponse(item.getId(), item.getName(), item.getDosage(),
+                        item.getFrequency(), item.getDuration(), item.getSpecialInstructions(),
+                        item.getQuantity(), item.getInventoryId()))
+                .collect(Collectors.toList()));
         return response;
     }
 }
@@ -0,0 +1,311 @@
+package com.hospital.serviceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hospital.dto.request.MedicineItemRequest;
+import com.hospital.dto.request.PrescriptionRequest;
+import com.hospital.dto.request.RefillDecisionRequest;
+import com.hospital.dto.response.PrescriptionResponse;
+import com.hospital.dto.response.RefillDecisionResponse;
+import com.hospital.dto.response.RefillGroupResponse;
+import com.hospital.dto.response.RefillResponse;
+import com.hospital.entity.MedicineItem;
+import com.hospital.entity.Prescription;
+import com.hospital.entity.PrescriptionRefill;
+import com.hospital.enums.RefillStatus;
+import com.hospital.event.AfterCommit;
+import com.hospital.repository.MedicineItemRepository;
+import com.hospital.repository.PrescriptionRefillRepository;
+import com.hospital.repository.PrescriptionRepository;
+import com.hospital.repository.PrescriptionRepository.RefillScheduleView;
+import com.hospital.service.MedicineRecallService;
+import com.hospital.service.PharmacyService;
+import com.hospital.service.PrescriptionService;
+import com.hospital.service.RefillDueIndex;
+import com.hospital.service.RefillDueIndex.Due;
+import com.hospital.service.RefillService;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class RefillServiceImpl implements RefillService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RefillServiceImpl.class);
+
+	@Autowired
+	private RefillDueIndex dueIndex;
+
+	@Autowired
+	private PrescriptionRepository prescriptionRepository;
+
+	@Autowired
+	private PrescriptionRefillRepository refillRepository;
+
+	@Autowired
+	private MedicineItemRepository medicineItemRepository;
+
+	@Autowired
+	private PrescriptionService prescriptionService;
+
+	@Autowired
+	private PharmacyService pharmacyService;
+
+	@Autowired
+	private MedicineRecallService medicineRecallService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${prescriptions.refill.lead-days:2}")
+	private int leadDays;
+
+	@Value("${prescriptions.refill.batch-size:100}")
+	private int batchSize;
+
+	private final AtomicBoolean materializing = new AtomicBoolean();
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadSchedules() {
+		dueIndex.replaceAll(prescriptionRepository.findRefillSchedules().stream()
+				.collect(Collectors.toMap(RefillScheduleView::getId, RefillScheduleView::getNextRefillDate)));
+		logger.info("Refill due index loaded with {} scheduled prescriptions", dueIndex.size());
+	}
+
+	@Scheduled(cron = "${prescriptions.refill.materialize-cron:0 0 * * * *}")
+	public void materializeOnSchedule() {
+		materializeDueRefills();
+	}
+
+	/**
+	 * 🔁 Takes everything due within the lead window from the head of the due
+	 * index and materializes it one batch per transaction. The index is only
+	 * moved after a batch commits. A failed batch is retried one prescription
+	 * at a time, and a prescription that still fails is parked until the next
+	 * run so it cannot hold up the ones behind it.
+	 */
+	@Override
+	public int materializeDueRefills() {
+		if (!materializing.compareAndSet(false, true)) {
+			return 0;
+		}
+		LocalDate horizon = LocalDate.now().plusDays(leadDays);
+		int created = 0;
+		Map<Long, LocalDate> parked = new LinkedHashMap<>();
+		try {
+			List<Due> batch;
+			while (!(batch = dueIndex.dueBy(horizon, batchSize)).isEmpty()) {
+				created += materialize(batch, horizon, parked);
+			}
+		} catch (RuntimeException e) {
+			logger.error("Refill materialization stopped after {} refills", created, e);
+		} finally {
+			parked.forEach(dueIndex::schedule);
+			materializing.set(false);
+		}
+		if (created > 0) {
+			logger.info("Materialized {} refills due by {}", created, horizon);
+		}
+		if (!parked.isEmpty()) {
+			logger.warn("Parked {} failing refills until the next run: {}", parked.size(), parked.keySet());
+		}
+		return created;
+	}
+
+	private int materialize(List<Due> batch, LocalDate horizon, Map<Long, LocalDate> parked) {
+		try {
+			Integer count = transactionTemplate.execute(status -> materializeBatch(batch, horizon));
+			return count == null ? 0 : count;
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				Due due = batch.get(0);
+				logger.error("Refill for prescription {} failed", due.prescriptionId(), e);
+				dueIndex.unschedule(due.prescriptionId());
+				parked.put(due.prescriptionId(), due.date());
+				return 0;
+			}
+			logger.warn("Refill batch of {} failed, retrying one prescription at a time", batch.size(), e);
+			int created = 0;
+			for (Due due : batch) {
+				created += materialize(List.of(due), horizon, parked);
+			}
+			return created;
+		}
+	}
+
+	private int materializeBatch(List<Due> batch, LocalDate horizon) {
+		List<Long> ids = batch.stream().map(Due::prescriptionId).collect(Collectors.toList());
+		Map<Long, Prescription> prescriptions = prescriptionRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Prescription::getId, Function.identity()));
+
+		List<PrescriptionRefill> refills = new ArrayList<>();
+		for (Due due : batch) {
+			long id = due.prescriptionId();
+			Prescription source = prescriptions.get(id);
+			LocalDate dueDate = source == null ? null : source.getNextRefillDate();
+			if (dueDate == null || dueDate.isAfter(horizon)) {
+				// Stale entry: the schedule ended or moved since it was indexed
+				AfterCommit.run(() -> dueIndex.schedule(id, dueDate));
+				continue;
+			}
+
+			PrescriptionResponse draft = prescriptionService.issuePrescription(toDraftRequest(source, dueDate));
+			pharmacyService.reserveForPrescription(draft.getId(),
+					medicineItemRepository.findByPrescriptionId(draft.getId()));
+			refills.add(new PrescriptionRefill(null, id, draft.getId(), source.getDoctorName(),
+					source.getDoctorEmail(), source.getPatientName(), source.getPatientEmail(), dueDate,
+					RefillStatus.PENDING_APPROVAL, null, null));
+
+			source.advanceRefillSchedule();
+			LocalDate next = source.getNextRefillDate();
+			AfterCommit.run(() -> dueIndex.schedule(id, next));
+		}
+		refillRepository.saveAll(refills);
+		return refills.size();
+	}
+
+	private PrescriptionRequest toDraftRequest(Prescription source, LocalDate dueDate) {
+		PrescriptionRequest request = new PrescriptionRequest();
+		request.setPatientName(source.getPatientName());
+		request.setPatientEmail(source.getPatientEmail());
+		request.setDoctorName(source.getDoctorName());
+		request.setDoctorEmail(source.getDoctorEmail());
+		request.setDate(dueDate);
+		request.setIssued(false);
+		request.setInstructions(source.getInstructions());
+		List<MedicineItemRequest> items = new ArrayList<>();
+		for (MedicineItem item : source.getItems()) {
+			MedicineItemRequest line = new MedicineItemRequest();
+			line.setName(item.getName());
+			line.setDosage(item.getDosage());
+			line.setFrequency(item.getFrequency());
+			line.setDuration(item.getDuration());
+			line.setInstructions(item.getSpecialInstructions());
+			line.setQuantity(item.getQuantity());
+			items.add(line);
+		}
+		request.setItems(items);
+		return request;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<RefillGroupResponse> getPendingRefills(String doctorEmail) {
+		List<PrescriptionRefill> pending = doctorEmail == null
+				? refillRepository.findByStatus(RefillStatus.PENDING_APPROVAL)
+				: refillRepository.findByStatusAndDoctorEmail(RefillStatus.PENDING_APPROVAL, doctorEmail);
+		if (pending.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Long, List<String>> medicines = new HashMap<>();
+		List<Long> draftIds = pending.stream().map(PrescriptionRefill::getDraftPrescriptionId).toList();
+		for (MedicineItem item : medicineItemRepository.findByPrescriptionIds(draftIds)) {
+			medicines.computeIfAbsent(item.getPrescription().getId(), k -> new ArrayList<>()).add(item.getName());
+		}
+
+		Map<List<String>, RefillGroupResponse> groups = new LinkedHashMap<>();
+		for (PrescriptionRefill refill : pending) {
+			RefillGroupResponse group = groups.computeIfAbsent(
+					Arrays.asList(refill.getDoctorName(), refill.getDoctorEmail()),
+					k -> new RefillGroupResponse(refill.getDoctorName(), refill.getDoctorEmail(), new ArrayList<>()));
+			group.getRefills().add(new RefillResponse(refill.getId(), refill.getSourcePrescriptionId(),
+					refill.getDraftPrescriptionId(), refill.getPatientName(), refill.getPatientEmail(),
+					refill.getDueDate(), refill.getStatus().name(),
+					medicines.getOrDefault(refill.getDraftPrescriptionId(), List.of())));
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	/**
+	 * ✅ Issues every eligible draft with one set UPDATE and marks the refills
+	 * approved with another. Their stock is already reserved, so they go
+	 * straight into the pharmacy queue, and only now do they join the recall
+	 * index.
+	 */
+	@Override
+	@Transactional
+	public RefillDecisionResponse approveRefills(RefillDecisionRequest request, String doctorEmail) {
+		List<Long> skipped = new ArrayList<>();
+		List<PrescriptionRefill> eligible = eligible(request, doctorEmail, skipped);
+		if (!eligible.isEmpty()) {
+			List<Long> draftIds = eligible.stream().map(PrescriptionRefill::getDraftPrescriptionId).toList();
+			prescriptionRepository.markIssued(draftIds);
+			refillRepository.updateStatusForIds(eligible.stream().map(PrescriptionRefill::getId).toList(),
+					RefillStatus.APPROVED, LocalDateTime.now());
+			Map<Long, List<MedicineItem>> items = medicineItemRepository.findByPrescriptionIds(draftIds).stream()
+					.collect(Collectors.groupingBy(item -> item.getPrescription().getId()));
+			items.values().forEach(lines -> medicineRecallService.indexPrescription(lines.get(0).getPrescription(),
+					lines));
+		}
+		return new RefillDecisionResponse(RefillStatus.APPROVED.name(), eligible.size(), skipped);
+	}
+
+	@Override
+	@Transactional
+	public RefillDecisionResponse rejectRefills(RefillDecisionRequest request, String doctorEmail) {
+		List<Long> skipped = new ArrayList<>();
+		List<PrescriptionRefill> eligible = eligible(request, doctorEmail, skipped);
+		for (PrescriptionRefill refill : eligible) {
+			pharmacyService.releasePrescription(refill.getDraftPrescriptionId());
+		}
+		if (!eligible.isEmpty()) {
+			refillRepository.updateStatusForIds(eligible.stream().map(PrescriptionRefill::getId).toList(),
+					RefillStatus.REJECTED, LocalDateTime.now());
+			// Drafts are no longer indexed before approval; this clears any indexed earlier
+			medicineRecallService.removePrescriptions(
+					eligible.stream().map(PrescriptionRefill::getDraftPrescriptionId).toList());
+		}
+		return new RefillDecisionResponse(RefillStatus.REJECTED.name(), eligible.size(), skipped);
+	}
+
+	/**
+	 * Refills the caller may still decide, locked until commit so a concurrent
+	 * approval or rejection of the same refill waits and then sees it decided.
+	 */
+	private List<PrescriptionRefill> eligible(RefillDecisionRequest request, String doctorEmail, List<Long> skipped) {
+		List<Long> ids = request.getRefillIds().stream().filter(Objects::nonNull).distinct().toList();
+		Map<Long, PrescriptionRefill> found = refillRepository.lockAllById(ids).stream()
+				.collect(Collectors.toMap(PrescriptionRefill::getId, Function.identity()));
+		List<PrescriptionRefill> eligible = new ArrayList<>();
+		for (Long id : ids) {
+			PrescriptionRefill refill = found.get(id);
+			boolean allowed = refill != null && refill.getStatus() == RefillStatus.PENDING_APPROVAL
+					&& (doctorEmail == null || doctorEmail.equalsIgnoreCase(refill.getDoctorEmail()));
+			if (allowed) {
+				eligible.add(refill);
+			} else {
+				skipped.add(id);
+			}
+		}
+		return eligible;
+	}
+}
@@ -0,0 +1,512 @@
+package com.hospital.serviceImpl;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hospital.dto.request.RosterRunRequest;
+import com.hospital.dto.request.StaffUnavailabilityRequest;
+import com.hospital.dto.response.RosterRunResponse;
+import com.hospital.dto.response.RosteredShiftResponse;
+import com.hospital.entity.RosterRun;
+import com.hospital.enums.RosterStatus;
+import com.hospital.repository.RosterAssignmentRepository;
+import com.hospital.repository.RosterRunRepository;
+import com.hospital.repository.StaffRepository;
+import com.hospital.repository.StaffRepository.StaffRosterView;
+import com.hospital.service.DepartmentService;
+import com.hospital.service.RosterService;
+import com.hospital.service.RosterSolver;
+import com.hospital.service.RosterSolver.Assignment;
+import com.hospital.service.RosterSolver.Roster;
+import com.hospital.service.RosterSolver.Rules;
+import com.hospital.service.RosterSolver.Worker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Roster runs go one at a time through a background runner. It reads the
+ * staff in keyset pages of id, department and role, their days off in the
+ * week, and the rostered shifts just before and after the week (whose rest
+ * time blocks the first and last shifts). Each department is then solved on
+ * a pool of solver threads, all against the same deadline, and each
+ * department's week is replaced in one transaction.
+ */
+@Service
+public class RosterServiceImpl implements RosterService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RosterServiceImpl.class);
+
+	private static final int MAX_PAGE_SIZE = 500;
+	private static final int MAX_DAYS_PER_REQUEST = 1000;
+	private static final int MAX_COVERAGE = 500;
+	private static final long MIN_TIME_BUDGET_MILLIS = 100;
+	private static final List<RosterStatus> UNFINISHED = List.of(RosterStatus.QUEUED, RosterStatus.RUNNING);
+
+	private static final String UNAVAILABLE_SQL = "SELECT staff_id, unavailable_date FROM staff_unavailability "
+			+ "WHERE unavailable_date >= ? AND unavailable_date < ?";
+
+	private static final String NEIGHBOUR_SHIFTS_SQL = "SELECT staff_id, start_time, end_time FROM roster_assignments "
+			+ "WHERE (start_time >= ? AND start_time < ?) OR (start_time >= ? AND start_time < ?)";
+
+	private static final String DELETE_WEEK_SQL = "DELETE FROM roster_assignments WHERE department = ? "
+			+ "AND start_time >= ? AND start_time < ?";
+
+	private static final String DELETE_STAFF_WEEK_SQL = "DELETE FROM roster_assignments WHERE department = ? "
+			+ "AND staff_id = ? AND start_time >= ? AND start_time < ?";
+
+	private static final String MOVED_STAFF_WEEK_SQL = "DELETE r FROM roster_assignments r "
+			+ "LEFT JOIN staff s ON s.id = r.staff_id "
+			+ "WHERE r.department = ? AND r.start_time >= ? AND r.start_time < ? AND (s.id IS NULL "
+			+ "OR s.department IS NULL OR LOWER(TRIM(s.department)) <> LOWER(TRIM(r.department)))";
+
+	private static final String ROSTERED_DEPARTMENTS_SQL = "SELECT DISTINCT department FROM roster_assignments "
+			+ "WHERE start_time >= ? AND start_time < ?";
+
+	private static final String INSERT_ASSIGNMENT_SQL = "INSERT INTO roster_assignments (run_id, staff_id, department, "
+			+ "shift_type, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private static final String UPSERT_UNAVAILABLE_SQL = "INSERT INTO staff_unavailability (staff_id, unavailable_date, "
+			+ "reason) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE reason = VALUES(reason)";
+
+	private record Neighbour(LocalDateTime start, LocalDateTime end) {
+	}
+
+	@Autowired
+	private RosterRunRepository runRepository;
+
+	@Autowired
+	private RosterAssignmentRepository assignmentRepository;
+
+	@Autowired
+	private StaffRepository staffRepository;
+
+	@Autowired
+	private DepartmentService departmentService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${roster.coverage.day:2}")
+	private int defaultDayCoverage;
+
+	@Value("${roster.coverage.evening:2}")
+	private int defaultEveningCoverage;
+
+	@Value("${roster.coverage.night:1}")
+	private int defaultNightCoverage;
+
+	@Value("${roster.min-rest-hours:11}")
+	private int minRestHours;
+
+	@Value("${roster.max-shifts-per-week:5}")
+	private int maxShiftsPerWeek;
+
+	@Value("${roster.time-budget-ms:2000}")
+	private long defaultTimeBudgetMillis;
+
+	@Value("${roster.max-time-budget-ms:30000}")
+	private long maxTimeBudgetMillis;
+
+	@Value("${roster.moves-per-staff:20000}")
+	private long movesPerStaff;
+
+	@Value("${roster.page-size:5000}")
+	private int pageSize;
+
+	@Value("${roster.threads:0}")
+	private int threads;
+
+	private ExecutorService runner;
+	private ExecutorService solvers;
+
+	@PostConstruct
+	public void start() {
+		runner = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "roster-runner");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+		AtomicInteger count = new AtomicInteger();
+		solvers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "roster-solver-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void stop() {
+		runner.shutdownNow();
+		solvers.shutdownNow();
+	}
+
+	/**
+	 * 🔄 A run cut short by a restart is marked failed; its weeks keep the
+	 * roster they had before
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void failInterruptedRuns() {
+		for (RosterRun run : runRepository.findByStatusIn(UNFINISHED)) {
+			run.setStatus(RosterStatus.FAILED);
+			run.setMessage("Interrupted by a restart; run the week again");
+			run.setFinishedAt(LocalDateTime.now());
+			runRepository.save(run);
+		}
+	}
+
+	@Override
+	public synchronized RosterRunResponse startRun(RosterRunRequest request, String createdBy) {
+		LocalDate weekStart = requireMonday(request.getWeekStart());
+		int day = coverage("Day", request.getDayCoverage(), defaultDayCoverage);
+		int evening = coverage("Evening", request.getEveningCoverage(), defaultEveningCoverage);
+		int night = coverage("Night", request.getNightCoverage(), defaultNightCoverage);
+		long budget = request.getTimeBudgetMillis() == null ? defaultTimeBudgetMillis : request.getTimeBudgetMillis();
+		if (budget < MIN_TIME_BUDGET_MILLIS || budget > maxTimeBudgetMillis) {
+			throw new IllegalArgumentException(
+					"Time budget must be between " + MIN_TIME_BUDGET_MILLIS + " and " + maxTimeBudgetMillis + " ms");
+		}
+		Set<String> departments = keys(request.getDepartments());
+		Set<String> roles = keys(request.getRoles());
+		if (runRepository.existsByWeekStartAndStatusIn(weekStart, UNFINISHED)) {
+			throw new IllegalStateException("A roster for the week of " + weekStart + " is already queued or running");
+		}
+
+		RosterRun run = new RosterRun();
+		run.setWeekStart(weekStart);
+		String requested = request.getDepartments() == null ? ""
+				: request.getDepartments().stream().filter(d -> d != null && !d.isBlank()).map(String::strip)
+						.distinct().collect(Collectors.joining(","));
+		run.setDepartments(requested.length() > 1000 ? requested.substring(0, 1000) : requested);
+		run.setStatus(RosterStatus.QUEUED);
+		run.setDayCoverage(day);
+		run.setEveningCoverage(evening);
+		run.setNightCoverage(night);
+		run.setTimeBudgetMillis(budget);
+		run.setCreatedBy(createdBy);
+		run = runRepository.save(run);
+
+		Long runId = run.getId();
+		runner.submit(() -> runRoster(runId, departments, roles));
+		return toResponse(run);
+	}
+
+	@Override
+	public RosterRunResponse getRun(Long runId) {
+		return runRepository.findById(runId).map(this::toResponse).orElse(null);
+	}
+
+	@Override
+	public List<RosterRunResponse> getRecentRuns(int limit) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return runRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream().map(this::toResponse).toList();
+	}
+
+	@Override
+	public List<RosteredShiftResponse> getRoster(String department, LocalDate weekStart) {
+		if (department == null || department.isBlank()) {
+			throw new IllegalArgumentException("Department is required");
+		}
+		LocalDate monday = requireMonday(weekStart);
+		return assignmentRepository
+				.findRosteredShifts(department.strip(), monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay())
+				.stream()
+				.map(shift -> new RosteredShiftResponse(shift.getStaffId(),
+						((shift.getFirstName() == null ? "" : shift.getFirstName()) + " "
+								+ (shift.getLastName() == null ? "" : shift.getLastName())).strip(),
+						shift.getDepartment(), shift.getShiftType(), shift.getStartTime(), shift.getEndTime()))
+				.toList();
+	}
+
+	@Override
+	public int recordUnavailability(List<StaffUnavailabilityRequest> days) {
+		if (days == null || days.isEmpty() || days.size() > MAX_DAYS_PER_REQUEST) {
+			throw new IllegalArgumentException("Send between 1 and " + MAX_DAYS_PER_REQUEST + " days");
+		}
+		Set<Long> staffIds = new HashSet<>();
+		List<Object[]> rows = new ArrayList<>(days.size());
+		for (int i = 0; i < days.size(); i++) {
+			StaffUnavailabilityRequest day = days.get(i);
+			if (day.getStaffId() == null || day.getDate() == null) {
+				throw new IllegalArgumentException("Day " + (i + 1) + ": staff id and date are required");
+			}
+			staffIds.add(day.getStaffId());
+			String reason = day.getReason() == null || day.getReason().isBlank() ? null : day.getReason().strip();
+			rows.add(new Object[] { day.getStaffId(), day.getDate(),
+					reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason });
+		}
+		if (staffRepository.findAllById(staffIds).size() != staffIds.size()) {
+			throw new IllegalArgumentException("Every day must belong to an existing staff member");
+		}
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_UNAVAILABLE_SQL, rows));
+		return rows.size();
+	}
+
+	private void runRoster(Long runId, Set<String> departments, Set<String> roles) {
+		RosterRun run = runRepository.findById(runId).orElseThrow();
+		run.setStatus(RosterStatus.RUNNING);
+		run.setStartedAt(LocalDateTime.now());
+		run = runRepository.save(run);
+
+		long started = System.nanoTime();
+		LocalDate weekStart = run.getWeekStart();
+		Map<String, List<Long>> staffByDepartment = new LinkedHashMap<>();
+		Map<String, Future<Roster>> solves = new LinkedHashMap<>();
+		try {
+			Map<String, String> labels = new HashMap<>();
+			long afterId = 0;
+			List<StaffRosterView> page;
+			do {
+				page = staffRepository.findRosterPage(afterId, PageRequest.of(0, pageSize));
+				for (StaffRosterView staff : page) {
+					String department = key(staff.getDepartment());
+					if (department.isEmpty() || !departments.isEmpty() && !departments.contains(department)
+							|| !roles.isEmpty() && !roles.contains(key(staff.getRole()))) {
+						continue;
+					}
+					String label = labels.computeIfAbsent(department, k -> staff.getDepartment().strip());
+					staffByDepartment.computeIfAbsent(label, k -> new ArrayList<>()).add(staff.getId());
+				}
+				if (!page.isEmpty()) {
+					afterId = page.get(page.size() - 1).getId();
+				}
+			} while (page.size() == pageSize);
+
+			Map<Long, Integer> daysOff = unavailableDays(weekStart);
+			Map<Long, List<Neighbour>> neighbours = neighbourShifts(weekStart);
+			RosterSolver solver = new RosterSolver(new Rules(
+					new int[] { run.getDayCoverage(), run.getEveningCoverage(), run.getNightCoverage() }, minRestHours,
+					maxShiftsPerWeek));
+
+			long solveStarted = System.nanoTime();
+			long deadline = solveStarted + TimeUnit.MILLISECONDS.toNanos(run.getTimeBudgetMillis());
+			for (Map.Entry<String, List<Long>> department : staffByDepartment.entrySet()) {
+				List<Worker> workers = new ArrayList<>(department.getValue().size());
+				for (Long staffId : department.getValue()) {
+					workers.add(new Worker(staffId, daysOff.getOrDefault(staffId, 0),
+							blockedShifts(weekStart, neighbours.getOrDefault(staffId, List.of()))));
+				}
+				long seed = runId * 31 + department.getKey().hashCode();
+				solves.put(department.getKey(), solvers.submit(
+						() -> solver.solve(workers, deadline, workers.size() * movesPerStaff, seed)));
+			}
+
+			int staffCount = 0;
+			int assignmentCount = 0;
+			int uncovered = 0;
+			long moves = 0;
+			Map<String, Roster> rosters = new LinkedHashMap<>();
+			for (Map.Entry<String, Future<Roster>> solve : solves.entrySet()) {
+				Roster roster = solve.getValue().get();
+				rosters.put(solve.getKey(), roster);
+				staffCount += staffByDepartment.get(solve.getKey()).size();
+				assignmentCount += roster.assignments().size();
+				uncovered += roster.uncovered();
+				moves += roster.moves();
+			}
+			run.setSolveMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - solveStarted));
+			// A run limited to some roles leaves the other roles' shifts in place, but shifts of staff who
+			// have left a department go; a department with no matching staff left gets an empty week
+			Map<String, String> rostered = rosteredDepartments(weekStart);
+			rosters.forEach((department, roster) -> replaceWeek(runId, department, weekStart, roster,
+					roles.isEmpty() ? null : staffByDepartment.get(department),
+					rostered.containsKey(key(department))));
+			Roster empty = new Roster(List.of(), 0, 0, 0);
+			rostered.forEach((department, stored) -> {
+				if (!labels.containsKey(department)
+						&& (departments.isEmpty() || departments.contains(department))) {
+					replaceWeek(runId, stored, weekStart, empty, roles.isEmpty() ? null : List.of(), true);
+				}
+			});
+			departmentService.refreshRosteredHours();
+
+			run.setDepartmentCount(rosters.size());
+			run.setStaffCount(staffCount);
+			run.setAssignmentCount(assignmentCount);
+			run.setUncoveredCount(uncovered);
+			run.setMoves(moves);
+			if (rosters.isEmpty()) {
+				run.setMessage("No staff matched the departments and roles");
+			} else if (uncovered > 0) {
+				run.setMessage(uncovered + " shift places could not be covered; add staff or lower the coverage");
+			}
+			run.setStatus(RosterStatus.COMPLETED);
+		} catch (Exception e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			solves.values().forEach(solve -> solve.cancel(true));
+			logger.error("Roster run {} failed: ", runId, e);
+			run.setStatus(RosterStatus.FAILED);
+			String message = "Run the week again: " + e.getMessage();
+			run.setMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+		} finally {
+			run.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+			run.setFinishedAt(LocalDateTime.now());
+			runRepository.save(run);
+		}
+		logger.info("Roster run {} for week {} {}: {} departments, {} staff, {} shifts, {} uncovered, {} moves in {} ms "
+				+ "(solve {} ms)", runId, weekStart, run.getStatus(), run.getDepartmentCount(), run.getStaffCount(),
+				run.getAssignmentCount(), run.getUncoveredCount(), run.getMoves(), run.getElapsedMillis(),
+				run.getSolveMillis());
+	}
+
+	// Bit d per staff member who is off on day d of the week
+	private Map<Long, Integer> unavailableDays(LocalDate weekStart) {
+		Map<Long, Integer> daysOff = new HashMap<>();
+		jdbcTemplate.query(UNAVAILABLE_SQL, rs -> {
+			int day = (int) ChronoUnit.DAYS.between(weekStart, rs.getDate(2).toLocalDate());
+			daysOff.merge(rs.getLong(1), 1 << day, (a, b) -> a | b);
+		}, weekStart, weekStart.plusWeeks(1));
+		return daysOff;
+	}
+
+	// Departments holding shifts in the week, by key
+	private Map<String, String> rosteredDepartments(LocalDate weekStart) {
+		Map<String, String> departments = new HashMap<>();
+		for (String department : jdbcTemplate.queryForList(ROSTERED_DEPARTMENTS_SQL, String.class,
+				weekStart.atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay())) {
+			if (!key(department).isEmpty()) {
+				departments.putIfAbsent(key(department), department);
+			}
+		}
+		return departments;
+	}
+
+	// Rostered shifts of the day before and the day after the week
+	private Map<Long, List<Neighbour>> neighbourShifts(LocalDate weekStart) {
+		Map<Long, List<Neighbour>> neighbours = new HashMap<>();
+		LocalDateTime from = weekStart.atStartOfDay();
+		LocalDateTime to = weekStart.plusWeeks(1).atStartOfDay();
+		jdbcTemplate.query(NEIGHBOUR_SHIFTS_SQL, rs -> {
+			neighbours.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(new Neighbour(
+					rs.getTimestamp(2).toLocalDateTime(), rs.getTimestamp(3).toLocalDateTime()));
+		}, from.minusDays(1), from, to, to.plusDays(1));
+		return neighbours;
+	}
+
+	// Shifts of the week that start or end within the rest time of a neighbouring shift
+	private int blockedShifts(LocalDate weekStart, List<Neighbour> neighbours) {
+		int blocked = 0;
+		for (Neighbour neighbour : neighbours) {
+			for (int slot = 0; slot < RosterSolver.SLOTS; slot++) {
+				LocalDateTime start = RosterSolver.shiftStart(weekStart, slot);
+				LocalDateTime end = start.plusHours(RosterSolver.SHIFT_HOURS);
+				if (neighbour.start().isBefore(end.plusHours(minRestHours))
+						&& start.isBefore(neighbour.end().plusHours(minRestHours))) {
+					blocked |= 1 << slot;
+				}
+			}
+		}
+		return blocked;
+	}
+
+	/**
+	 * Replaces the department's shifts of the week with the roster; when
+	 * staffIds is given only those staff members' shifts are replaced, plus
+	 * the shifts of staff no longer in the department when clearMoved is set.
+	 */
+	private void replaceWeek(Long runId, String department, LocalDate weekStart, Roster roster, List<Long> staffIds,
+			boolean clearMoved) {
+		List<Object[]> rows = new ArrayList<>(roster.assignments().size());
+		for (Assignment assignment : roster.assignments()) {
+			LocalDateTime start = RosterSolver.shiftStart(weekStart,
+					RosterSolver.slot(assignment.day(), assignment.type()));
+			rows.add(new Object[] { runId, assignment.staffId(), department, assignment.type().name(), start,
+					start.plusHours(RosterSolver.SHIFT_HOURS) });
+		}
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			LocalDateTime from = weekStart.atStartOfDay();
+			LocalDateTime to = weekStart.plusWeeks(1).atStartOfDay();
+			if (staffIds == null) {
+				jdbcTemplate.update(DELETE_WEEK_SQL, department, from, to);
+			} else {
+				if (clearMoved) {
+					jdbcTemplate.update(MOVED_STAFF_WEEK_SQL, department, from, to);
+				}
+				if (!staffIds.isEmpty()) {
+					jdbcTemplate.batchUpdate(DELETE_STAFF_WEEK_SQL,
+							staffIds.stream().map(staffId -> new Object[] { department, staffId, from, to }).toList());
+				}
+			}
+			if (!rows.isEmpty()) {
+				jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, rows);
+			}
+		});
+	}
+
+	private static LocalDate requireMonday(LocalDate weekStart) {
+		if (weekStart == null) {
+			throw new IllegalArgumentException("Week start is required");
+		}
+		if (weekStart.getDayOfWeek() != DayOfWeek.MONDAY) {
+			throw new IllegalArgumentException("Week start must be a Monday");
+		}
+		return weekStart;
+	}
+
+	private static int coverage(String shift, Integer requested, int fallback) {
+		int coverage = requested == null ? fallback : requested;
+		if (coverage < 0 || coverage > MAX_COVERAGE) {
+			throw new IllegalArgumentException(shift + " coverage must be between 0 and " + MAX_COVERAGE);
+		}
+		return coverage;
+	}
+
+	private static Set<String> keys(List<String> values) {
+		Set<String> keys = new HashSet<>();
+		if (values != null) {
+			values.stream().map(RosterServiceImpl::key).filter(k -> !k.isEmpty()).forEach(keys::add);
+		}
+		return keys;
+	}
+
+	private static String key(String value) {
+		return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+	}
+
+	private RosterRunResponse toResponse(RosterRun run) {
+		return new RosterRunResponse(run.getId(), run.getWeekStart(), run.getDepartments(), run.getStatus(),
+				run.getDayCoverage(), run.getEveningCoverage(), run.getNightCoverage(), run.getTimeBudgetMillis(),
+				run.getDepartmentCount(), run.getStaffCount(), run.getAssignmentCount(), run.getUncoveredCount(),
+				run.getMoves(), run.getSolveMillis(), run.getElapsedMillis(), run.getMessage(), run.getCreatedBy(),
+				run.getCreatedAt(), run.getStartedAt(), run.getFinishedAt());
+	}
+}
@@ -14,6 +14,7 @@ import com.hospital.entity.User;
 import com.hospital.exception.CustomInternalServerException;
 import com.hospital.exception.EmailAlreadyExistsException;
 import com.hospital.repository.StaffRepository;
+import com.hospital.service.DepartmentService;
 import com.hospital.service.StaffService;
 import com.hospital.service.UserService;
 
@@ -26,17 +27,24 @@ public class StaffServiceImpl implements StaffService {
     @Autowired
     private StaffRepository staffRepository;
 
+    @Autowired
+    private DepartmentService departmentService;
+
     public StaffResponse registerStaff(StaffRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Registration request cannot be null");
         }
 
         try {
+            // Department first, so a bad name leaves no user behind
+            String department = departmentService.ensure(request.getDepartment());
+
             // Step 1: Create User (Authentication Details)
             User savedUser = userService.createUser(request.getEmail(), request.getPassword(), "STAFF");
 
             Staff staff = new Staff();
             BeanUtils.copyProperties(request, staff);
+            staff.setDepartment(department);
 
             staff.setUserId(savedUser.getId()); // Link with userId
             staff = staffRepository.save(staff);
@@ -75,7 +83,7 @@ public class StaffServiceImpl implements StaffService {
         staff.setLastName(request.getLastName());
         staff.setPhoneNumber(request.getPhoneNumber());
         staff.setRole(request.getRole());
-        staff.setDepartment(request.getDepartment());
+        staff.setDepartment(departmentService.ensure(request.getDepartment()));
         staff.setAddress(request.getAddress());
         staff.setCity(request.getCity());
         staff.setState(request.getState());
@@ -104,7 +112,7 @@ public class StaffServiceImpl implements StaffService {
         staff.setLastName(request.getLastName());
         staff.setPhoneNumber(request.getPhoneNumber());
         staff.setRole(request.getRole());
-        staff.setDepartment(request.getDepartment());
+        staff.setDepartment(departmentService.ensure(request.getDepartment()));
         staff.setAddress(request.getAddress());
         staff.setCity(request.getCity());
         staff.setState(request.getState());
@@ -1,26 +1,113 @@
 package com.hospital.serviceImpl;
 
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.hospital.entity.User;
 import com.hospital.exception.EmailAlreadyExistsException;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.PatientRepository;
+import com.hospital.repository.PatientRepository.PatientDirectoryView;
+import com.hospital.repository.StaffRepository;
 import com.hospital.repository.UserRepository;
+import com.hospital.repository.UserRepository.UserIdentityView;
+import com.hospital.service.EmailIdentityIndex;
+import com.hospital.service.EmailIdentityIndex.Identity;
 import com.hospital.service.UserService;
 
 @Service
 public class UserServiceimpl implements UserService {
 
+	private static final Logger logger = LoggerFactory.getLogger(UserServiceimpl.class);
+
+	private static final int INDEX_LOAD_PAGE_SIZE = 5000;
+
+	// Tables whose email column is stored canonical from now on
+	private static final List<String> EMAIL_TABLES = List.of("users", "patients", "doctors", "staff");
+
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private StaffRepository staffRepository;
+
+	@Autowired
+	private EmailIdentityIndex emailIdentityIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	/**
+	 * 🔄 Rewrites emails stored before they were canonical, then fills the
+	 * email identity index: accounts in keyset pages, then the profiles
+	 * linked to them. Safe to run on every start.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadEmailIdentities() {
+		for (String table : EMAIL_TABLES) {
+			try {
+				// BINARY, because the case-insensitive collation sees no difference
+				int rewritten = jdbcTemplate.update("UPDATE " + table + " SET email = LOWER(TRIM(email)) "
+						+ "WHERE BINARY email <> LOWER(TRIM(email))");
+				if (rewritten > 0) {
+					logger.info("Stored {} emails in {} in canonical form", rewritten, table);
+				}
+			} catch (DataAccessException e) {
+				logger.warn("Could not canonicalize the emails in {}: {}", table, e.getMessage());
+			}
+		}
+
+		emailIdentityIndex.clear();
+		long afterId = 0;
+		List<UserIdentityView> users;
+		do {
+			users = userRepository.findIdentityPage(afterId, PageRequest.of(0, INDEX_LOAD_PAGE_SIZE));
+			for (UserIdentityView user : users) {
+				emailIdentityIndex.put(user.getEmail(), new Identity(user.getId(), user.getRole(), null));
+				afterId = user.getId();
+			}
+		} while (users.size() == INDEX_LOAD_PAGE_SIZE);
+
+		afterId = 0;
+		List<PatientDirectoryView> patients;
+		do {
+			patients = patientRepository.findDirectoryPage(afterId, PageRequest.of(0, INDEX_LOAD_PAGE_SIZE));
+			for (PatientDirectoryView patient : patients) {
+				emailIdentityIndex.putProfile(patient.getEmail(), patient.getPatientId());
+				afterId = patient.getPatientId();
+			}
+		} while (patients.size() == INDEX_LOAD_PAGE_SIZE);
+		doctorRepository.findAllContactViews()
+				.forEach(doctor -> emailIdentityIndex.putProfile(doctor.getEmail(), doctor.getId()));
+		staffRepository.findAllContactViews()
+				.forEach(staff -> emailIdentityIndex.putProfile(staff.getEmail(), staff.getId()));
+		logger.info("Email identity index loaded with {} accounts", emailIdentityIndex.size());
+	}
+
 	@Override
 	public User createUser(String email, String password, String role) {
-		if (userRepository.findByEmail(email).isPresent()) {
+		// A known email is rejected from memory; an unknown one is still checked
+		// on the unique index in case the index has not caught up yet
+		if (emailIdentityIndex.find(email).isPresent() || userRepository.findByEmail(email).isPresent()) {
 			throw new EmailAlreadyExistsException("Email is already registered");
 		}
 
@@ -0,0 +1,302 @@
+package com.hospital.serviceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.dto.request.WaitlistRequest;
+import com.hospital.dto.response.WaitlistEntryResponse;
+import com.hospital.entity.Appointment;
+import com.hospital.entity.WaitlistEntry;
+import com.hospital.enums.Status;
+import com.hospital.enums.WaitlistStatus;
+import com.hospital.event.AfterCommit;
+import com.hospital.event.AppointmentStatusChangedEvent;
+import com.hospital.exception.ResourceNotFoundException;
+import com.hospital.exception.UnauthorizedException;
+import com.hospital.repository.AppointmentRepository;
+import com.hospital.repository.WaitlistRepository;
+import com.hospital.service.WaitlistQueues;
+import com.hospital.service.WaitlistService;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+	private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+	@Autowired
+	private WaitlistRepository waitlistRepository;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private WaitlistQueues waitlistQueues;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${waitlist.hold.minutes:15}")
+	private long holdMinutes;
+
+	// doctor|date|time -> id of the waitlist entry currently holding that slot
+	private final Map<String, Long> heldSlots = new ConcurrentHashMap<>();
+
+	/**
+	 * Rebuilds the in-memory queues and holds from the table after a restart.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadQueues() {
+		waitlistQueues.clear();
+		heldSlots.clear();
+		List<WaitlistEntry> waiting = waitlistRepository.findByStatus(WaitlistStatus.WAITING);
+		waiting.forEach(waitlistQueues::add);
+		List<WaitlistEntry> offered = waitlistRepository.findByStatus(WaitlistStatus.OFFERED);
+		offered.forEach(entry -> heldSlots.put(slotKey(entry.getDoctorName(), entry.getDate(), entry.getOfferedTime()),
+				entry.getId()));
+		logger.info("Loaded {} waiting and {} offered waitlist entries", waiting.size(), offered.size());
+	}
+
+	@Override
+	@Transactional
+	public WaitlistEntryResponse joinWaitlist(WaitlistRequest request, String patientEmail) {
+		if (isPast(request.getDate())) {
+			throw new IllegalArgumentException("Cannot join the waitlist for a past date");
+		}
+		if (waitlistRepository.existsByDoctorNameAndDateAndPatientEmailAndStatusIn(request.getDoctorName(),
+				request.getDate(), patientEmail, List.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED))) {
+			throw new IllegalArgumentException("You are already on the waitlist for this doctor on this date");
+		}
+
+		WaitlistEntry entry = new WaitlistEntry();
+		entry.setDoctorName(request.getDoctorName());
+		entry.setDate(request.getDate());
+		entry.setPatientName(request.getPatientName());
+		entry.setPatientEmail(patientEmail);
+		entry.setStatus(WaitlistStatus.WAITING);
+		entry = waitlistRepository.saveAndFlush(entry);
+
+		WaitlistEntry joined = entry;
+		AfterCommit.run(() -> waitlistQueues.add(joined));
+		WaitlistEntryResponse response = toResponse(entry);
+		// Not queued until the join commits; it joins at the back
+		response.setPosition(waitlistQueues.size(entry.getDoctorName(), entry.getDate()) + 1);
+		return response;
+	}
+
+	@Override
+	public List<WaitlistEntryResponse> getEntriesForPatient(String patientEmail) {
+		return waitlistRepository.findByPatientEmail(patientEmail).stream().map(this::toResponse)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional
+	public Appointment acceptOffer(Long entryId, String patientEmail) {
+		WaitlistEntry entry = findOwnedEntry(entryId, patientEmail);
+		if (entry.getStatus() != WaitlistStatus.OFFERED) {
+			throw new IllegalArgumentException("There is no open offer for this waitlist entry");
+		}
+		if (entry.getHoldExpiresAt().isBefore(LocalDateTime.now())) {
+			throw new IllegalArgumentException("This offer has expired");
+		}
+
+		Appointment appointment = new Appointment();
+		appointment.setPatientName(entry.getPatientName());
+		appointment.setPatientEmail(entry.getPatientEmail());
+		appointment.setDoctorName(entry.getDoctorName());
+		appointment.setDate(entry.getDate());
+		appointment.setTime(entry.getOfferedTime());
+		appointment.setStatus(Status.PENDING);
+		appointment = appointmentRepository.save(appointment);
+		eventPublisher.publishEvent(new AppointmentStatusChangedEvent(
+				List.of(new AppointmentStatusChangedEvent.Change(appointment.getId(), appointment.getDoctorName(),
+						appointment.getPatientEmail(), appointment.getDate(), appointment.getTime(), null,
+						appointment.getStatus()))));
+
+		entry.setStatus(WaitlistStatus.ACCEPTED);
+		waitlistRepository.save(entry);
+		String key = slotKey(entry.getDoctorName(), entry.getDate(), entry.getOfferedTime());
+		Long holderId = entry.getId();
+		AfterCommit.run(() -> heldSlots.remove(key, holderId));
+		return appointment;
+	}
+
+	@Override
+	@Transactional
+	public WaitlistEntryResponse declineOffer(Long entryId, String patientEmail) {
+		WaitlistEntry entry = findOwnedEntry(entryId, patientEmail);
+		if (entry.getStatus() != WaitlistStatus.OFFERED) {
+			throw new IllegalArgumentException("There is no open offer for this waitlist entry");
+		}
+		releaseAndCascade(entry, WaitlistStatus.DECLINED);
+		return toResponse(entry);
+	}
+
+	@Override
+	@Transactional
+	public void leaveWaitlist(Long entryId, String patientEmail) {
+		WaitlistEntry entry = findOwnedEntry(entryId, patientEmail);
+		if (entry.getStatus() == WaitlistStatus.WAITING) {
+			AfterCommit.run(() -> waitlistQueues.remove(entry));
+			entry.setStatus(WaitlistStatus.LEFT);
+			waitlistRepository.save(entry);
+		} else if (entry.getStatus() == WaitlistStatus.OFFERED) {
+			releaseAndCascade(entry, WaitlistStatus.LEFT);
+		}
+	}
+
+	/**
+	 * Offers a cancelled slot once the cancellation commits, in a transaction
+	 * of its own.
+	 */
+	@Override
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void onAppointmentStatusChanged(AppointmentStatusChangedEvent event) {
+		for (AppointmentStatusChangedEvent.Change change : event.changes()) {
+			if (change.isCancellation() && isUpcoming(change.date())) {
+				offerSlot(change.doctorName(), change.date(), change.time(), change.appointmentId());
+			}
+		}
+	}
+
+	@Override
+	public boolean isHeldForAnother(String doctorName, String date, String time, String patientEmail) {
+		Long holderId = heldSlots.get(slotKey(doctorName, date, time));
+		if (holderId == null) {
+			return false;
+		}
+		return waitlistRepository.findById(holderId)
+				.map(holder -> holder.getStatus() == WaitlistStatus.OFFERED
+						&& holder.getHoldExpiresAt().isAfter(LocalDateTime.now())
+						&& !holder.getPatientEmail().equalsIgnoreCase(patientEmail))
+				.orElse(false);
+	}
+
+	/**
+	 * ⏰ Expires lapsed holds and cascades each slot to the next patient in line.
+	 */
+	@Scheduled(fixedDelayString = "${waitlist.hold.check-interval-ms:30000}")
+	@Transactional
+	public void expireLapsedOffers() {
+		LocalDateTime now = LocalDateTime.now();
+		int expired = 0;
+		for (WaitlistEntry lapsed : waitlistRepository.findExpiredOffers(now)) {
+			// Re-read under the lock: the patient may have accepted or declined since the search
+			Optional<WaitlistEntry> entry = waitlistRepository.lockById(lapsed.getId());
+			if (entry.isPresent() && entry.get().getStatus() == WaitlistStatus.OFFERED
+					&& entry.get().getHoldExpiresAt().isBefore(now)) {
+				releaseAndCascade(entry.get(), WaitlistStatus.EXPIRED);
+				expired++;
+			}
+		}
+		if (expired > 0) {
+			logger.info("Expired {} waitlist offers", expired);
+		}
+	}
+
+	private void releaseAndCascade(WaitlistEntry entry, WaitlistStatus finalStatus) {
+		String time = entry.getOfferedTime();
+		entry.setStatus(finalStatus);
+		waitlistRepository.save(entry);
+		String key = slotKey(entry.getDoctorName(), entry.getDate(), time);
+		Long holderId = entry.getId();
+		AfterCommit.run(() -> heldSlots.remove(key, holderId));
+		offerSlot(entry.getDoctorName(), entry.getDate(), time, entry.getOfferedFromAppointmentId());
+	}
+
+	/**
+	 * Offers the slot to the longest-waiting patient. Each candidate row is
+	 * locked and re-read, so a patient is offered one slot at a time; the
+	 * queue and the hold only change once the offer commits.
+	 */
+	private void offerSlot(String doctorName, String date, String time, Long fromAppointmentId) {
+		for (Long nextId : waitlistQueues.waiting(doctorName, date)) {
+			Optional<WaitlistEntry> candidate = waitlistRepository.lockById(nextId);
+			if (candidate.isEmpty() || candidate.get().getStatus() != WaitlistStatus.WAITING) {
+				// stale queue entry, keep walking
+				AfterCommit.run(() -> waitlistQueues.remove(nextId));
+				continue;
+			}
+			WaitlistEntry entry = candidate.get();
+			entry.setStatus(WaitlistStatus.OFFERED);
+			entry.setOfferedTime(time);
+			entry.setOfferedFromAppointmentId(fromAppointmentId);
+			entry.setHoldExpiresAt(LocalDateTime.now().plusMinutes(holdMinutes));
+			waitlistRepository.save(entry);
+			AfterCommit.run(() -> {
+				waitlistQueues.remove(entry);
+				heldSlots.put(slotKey(doctorName, date, time), entry.getId());
+			});
+			logger.info("Offered {} {} with {} to waitlist entry {}", date, time, doctorName, entry.getId());
+			return;
+		}
+	}
+
+	/**
+	 * Locks the entry so accept, decline, leave and the expiry sweep act on it
+	 * one at a time.
+	 */
+	private WaitlistEntry findOwnedEntry(Long entryId, String patientEmail) {
+		WaitlistEntry entry = waitlistRepository.lockById(entryId)
+				.orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with ID: " + entryId));
+		if (!entry.getPatientEmail().equalsIgnoreCase(patientEmail)) {
+			throw new UnauthorizedException("This waitlist entry belongs to another patient");
+		}
+		return entry;
+	}
+
+	private WaitlistEntryResponse toResponse(WaitlistEntry entry) {
+		WaitlistEntryResponse response = new WaitlistEntryResponse();
+		response.setId(entry.getId());
+		response.setDoctorName(entry.getDoctorName());
+		response.setDate(entry.getDate());
+		response.setPatientName(entry.getPatientName());
+		response.setPatientEmail(entry.getPatientEmail());
+		response.setStatus(entry.getStatus().name());
+		response.setJoinedAt(entry.getJoinedAt());
+		response.setOfferedTime(entry.getOfferedTime());
+		response.setHoldExpiresAt(entry.getHoldExpiresAt());
+		response.setPosition(entry.getStatus() == WaitlistStatus.WAITING ? waitlistQueues.positionOf(entry) : 0);
+		return response;
+	}
+
+	private static boolean isPast(String date) {
+		try {
+			return LocalDate.parse(date).isBefore(LocalDate.now());
+		} catch (DateTimeParseException | NullPointerException e) {
+			throw new IllegalArgumentException("Date must be in yyyy-MM-dd format");
+		}
+	}
+
+	private static boolean isUpcoming(String date) {
+		try {
+			return !isPast(date);
+		} catch (IllegalArgumentException e) {
+			return false; // legacy rows with an unreadable date cannot be offered
+		}
+	}
+
+	private static String slotKey(String doctorName, String date, String time) {
+		return doctorName + '|' + date + '|' + time;
+	}
+}
@@ -0,0 +1,93 @@
+package com.hospital.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.hospital.dto.response.InteractionWarning;
+import com.hospital.enums.InteractionSeverity;
+import com.hospital.service.DrugInteractionChecker;
+import com.hospital.service.DrugInteractionChecker.InteractionRule;
+
+/**
+ * Issue-time interaction check against a synthetic dataset of 10k drugs.
+ * Run {@link #main} from the IDE, or org.openjdk.jmh.Main on the test
+ * classpath after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrugInteractionCheckerBenchmark {
+
+	@Param({ "10000" })
+	private int drugs;
+
+	@Param({ "20" })
+	private int interactionsPerDrug;
+
+	private DrugInteractionChecker checker;
+	private List<String> prescribed;
+	private List<String> active;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		InteractionSeverity[] severities = InteractionSeverity.values();
+		List<InteractionRule> rules = new ArrayList<>(drugs * interactionsPerDrug);
+		for (int drug = 0; drug < drugs; drug++) {
+			for (int k = 0; k < interactionsPerDrug; k++) {
+				int other = random.nextInt(drugs);
+				rules.add(new InteractionRule(name(drug), name(other), severities[random.nextInt(severities.length)],
+						"synthetic"));
+			}
+		}
+		checker = new DrugInteractionChecker(rules);
+
+		// Typical polypharmacy: a new prescription of 6 drugs for a patient already on 10
+		prescribed = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			prescribed.add(name(random.nextInt(drugs)) + " 500mg tab");
+		}
+		active = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			active.add(name(random.nextInt(drugs)) + " 10 mg");
+		}
+	}
+
+	@Benchmark
+	public List<InteractionWarning> checkPrescription() {
+		return checker.check(prescribed, active);
+	}
+
+	private static String name(int drug) {
+		// Letters only, so the normalizer keeps the whole name as the drug key
+		StringBuilder name = new StringBuilder("drug");
+		for (int n = drug; n > 0 || name.length() == 4; n /= 26) {
+			name.append((char) ('a' + n % 26));
+		}
+		return name.toString();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DrugInteractionCheckerBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,95 @@
+package com.hospital.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.hospital.service.RosterSolver;
+import com.hospital.service.RosterSolver.Roster;
+import com.hospital.service.RosterSolver.Rules;
+import com.hospital.service.RosterSolver.Worker;
+
+/**
+ * One department's weekly roster at 500 and 2000 staff, a fifth of them
+ * with a day off, needing about 28% of the staff on shift each day. Each
+ * solve runs the service's default move budget (20000 moves per staff
+ * member) without a deadline, so the time is what a run takes to converge.
+ * Quality is reported next to it as counters summed over the measured
+ * solves: uncovered places (should be 0) and the gap in shifts between the
+ * busiest and idlest worker. Run {@link #main} from the
+ * IDE, or org.openjdk.jmh.Main on the test classpath after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RosterSolverBenchmark {
+
+	private static final long MOVES_PER_STAFF = 20_000;
+
+	@Param({ "500", "2000" })
+	private int staff;
+
+	@Param({ "42" })
+	private long seed;
+
+	private RosterSolver solver;
+	private List<Worker> workers;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Quality {
+		public long uncovered;
+		public long loadGap;
+	}
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(seed);
+		workers = new ArrayList<>(staff);
+		for (int i = 1; i <= staff; i++) {
+			workers.add(new Worker(i, random.nextInt(5) == 0 ? 1 << random.nextInt(RosterSolver.DAYS) : 0, 0));
+		}
+		solver = new RosterSolver(new Rules(new int[] { staff * 12 / 100, staff * 9 / 100, staff * 7 / 100 }, 11, 5));
+	}
+
+	@Benchmark
+	public Roster solve(Quality quality) {
+		Roster roster = solver.solve(workers, System.nanoTime() + TimeUnit.HOURS.toNanos(1), staff * MOVES_PER_STAFF,
+				seed);
+		int[] load = new int[staff + 1];
+		roster.assignments().forEach(assignment -> load[(int) assignment.staffId()]++);
+		int busiest = 0;
+		int idlest = Integer.MAX_VALUE;
+		for (int i = 1; i <= staff; i++) {
+			busiest = Math.max(busiest, load[i]);
+			idlest = Math.min(idlest, load[i]);
+		}
+		quality.uncovered += roster.uncovered();
+		quality.loadGap += busiest - idlest;
+		return roster;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(RosterSolverBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,85 @@
+package com.hospital.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import com.hospital.service.SentimentAnalyzer;
+
+/**
+ * Sentiment scoring kernel over synthetic feedback comments of realistic
+ * length (20-60 words, mixing lexicon words, negations and filler). Reports
+ * the time per comment; a million comments cost that many seconds per core.
+ * Run {@link #main} from the IDE, or org.openjdk.jmh.Main on the test
+ * classpath after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SentimentAnalyzerBenchmark {
+
+	private static final int COMMENTS = 1024;
+
+	private static final String[] WORDS = { "the", "doctor", "was", "very", "friendly", "and", "helpful", "but",
+			"waiting", "time", "long", "not", "rude", "staff", "nurse", "clean", "room", "excellent", "treatment",
+			"explained", "everything", "clearly", "didn't", "listen", "terrible", "experience", "appointment",
+			"delayed", "hour", "recommend", "hospital", "professional", "care", "reception", "slow", "billing",
+			"expensive", "really", "good", "pharmacy", "medicine", "thanks", "again", "no", "problems" };
+
+	@Param({ "42" })
+	private long seed;
+
+	private SentimentAnalyzer analyzer;
+	private String[] comments;
+
+	@Setup
+	public void setUp() throws IOException {
+		analyzer = new SentimentAnalyzer(new ClassPathResource("sentiment/lexicon.csv"));
+		Random random = new Random(seed);
+		comments = new String[COMMENTS];
+		for (int i = 0; i < COMMENTS; i++) {
+			int words = 20 + random.nextInt(41);
+			StringBuilder comment = new StringBuilder();
+			for (int w = 0; w < words; w++) {
+				if (w > 0) {
+					comment.append(random.nextInt(8) == 0 ? ". " : " ");
+				}
+				comment.append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			comments[i] = comment.append(random.nextBoolean() ? "!" : ".").toString();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COMMENTS)
+	public void scoreComments(Blackhole blackhole) {
+		for (String comment : comments) {
+			blackhole.consume(analyzer.score(comment));
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SentimentAnalyzerBenchmark.class.getSimpleName()).build()).run();
+	}
+}
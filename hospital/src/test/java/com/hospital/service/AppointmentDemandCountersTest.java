@@ -0,0 +1,110 @@
+package com.hospital.service;
+
+import com.hospital.service.AppointmentDemandCounters.Range;
+import com.hospital.service.AppointmentDemandCounters.Rebuild;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppointmentDemandCountersTest {
+
+    private static final String DOCTOR = "Dr. Rao - Cardiology";
+    private static final LocalDateTime MONDAY_TEN = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+    private AppointmentDemandCounters counters;
+
+    // Committed rows by id; true while the appointment is booked
+    private final Map<Long, Boolean> table = new TreeMap<>();
+
+    private Rebuild rebuild;
+    private Range range;
+
+    @BeforeEach
+    public void setUp() {
+        counters = new AppointmentDemandCounters();
+        table.put(1L, true);
+        table.put(2L, true);
+        table.put(3L, true);
+        rebuild = counters.startRebuild(() -> 10);
+        range = rebuild.range(0, 10);
+    }
+
+    private void scanAll() {
+        List<Long> page;
+        do {
+            page = range.scanNext(cursor -> table.keySet().stream().filter(id -> id > cursor).limit(2).toList(),
+                    id -> {
+                        if (!table.get(id)) {
+                            return false;
+                        }
+                        rebuild.snapshot().add(DOCTOR, MONDAY_TEN, 1);
+                        return true;
+                    }, id -> id);
+        } while (!page.isEmpty());
+    }
+
+    private long rebuiltTotal() {
+        counters.finishRebuild(rebuild);
+        return counters.current().doctor(DOCTOR).total();
+    }
+
+    @Test
+    public void testBookingCommittedAheadOfCursorIsCountedOnce() {
+        // Committed before the scan reaches it, recorded only after the scan read it
+        table.put(5L, true);
+        scanAll();
+        counters.record(5L, DOCTOR, MONDAY_TEN, 1);
+
+        assertEquals(4, rebuiltTotal());
+    }
+
+    @Test
+    public void testCancelCommittedAheadOfCursorIsNotSubtractedTwice() {
+        table.put(2L, false);
+        scanAll();
+        counters.record(2L, DOCTOR, MONDAY_TEN, -1);
+
+        assertEquals(2, rebuiltTotal());
+    }
+
+    @Test
+    public void testCancelAfterTheScanReadTheRowIsApplied() {
+        scanAll();
+        table.put(2L, false);
+        counters.record(2L, DOCTOR, MONDAY_TEN, -1);
+
+        assertEquals(2, rebuiltTotal());
+    }
+
+    @Test
+    public void testCancelThenRebookAfterTheScanAreBothApplied() {
+        scanAll();
+        counters.record(3L, DOCTOR, MONDAY_TEN, -1);
+        counters.record(3L, DOCTOR, MONDAY_TEN, 1);
+
+        assertEquals(3, rebuiltTotal());
+    }
+
+    @Test
+    public void testDeletedBeforeTheScanIsNotSubtracted() {
+        table.remove(1L);
+        scanAll();
+        counters.record(1L, DOCTOR, MONDAY_TEN, -1);
+
+        assertEquals(2, rebuiltTotal());
+    }
+
+    @Test
+    public void testBookingAboveMaxIdGoesStraightToTheSnapshot() {
+        scanAll();
+        counters.record(11L, DOCTOR, MONDAY_TEN, 1);
+
+        assertEquals(4, rebuiltTotal());
+    }
+}
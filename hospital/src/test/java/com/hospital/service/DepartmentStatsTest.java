@@ -0,0 +1,123 @@
+package com.hospital.service;
+
+import com.hospital.service.DepartmentStats.GroupBy;
+import com.hospital.service.DepartmentStats.Row;
+import com.hospital.service.DepartmentStats.Summary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DepartmentStatsTest {
+
+    private static final long ICU = 1;
+    private static final long RADIOLOGY = 2;
+
+    private DepartmentStats stats;
+
+    @BeforeEach
+    public void setUp() {
+        stats = new DepartmentStats();
+        stats.putDepartment(ICU, "ICU");
+        stats.putDepartment(RADIOLOGY, "Radiology");
+        stats.putMember(10, ICU, "Nurse", 30000.0);
+        stats.putMember(11, ICU, "nurse ", 32000.0);
+        stats.putMember(12, ICU, "Technician", 28000.0);
+        stats.putMember(20, RADIOLOGY, "Technician", 35000.5);
+    }
+
+    private Summary summary(long id) {
+        return stats.summaries(id).get(0);
+    }
+
+    @Test
+    public void testSummarizesEachDepartment() {
+        Summary icu = summary(ICU);
+        assertEquals("ICU", icu.name());
+        assertEquals(3, icu.headcount());
+        assertEquals(new BigDecimal("90000.00"), icu.salaryTotal());
+        assertEquals(Map.of("NURSE", 2, "TECHNICIAN", 1), icu.roles());
+
+        assertEquals(List.of("ICU", "Radiology"), stats.summaries(null).stream().map(Summary::name).toList());
+        assertEquals(new BigDecimal("35000.50"), summary(RADIOLOGY).salaryTotal());
+    }
+
+    @Test
+    public void testUpdateMovesTheOldContribution() {
+        stats.putMember(12, RADIOLOGY, "Technician", 29000.0);
+
+        assertEquals(2, summary(ICU).headcount());
+        assertEquals(new BigDecimal("62000.00"), summary(ICU).salaryTotal());
+        assertEquals(Map.of("NURSE", 2), summary(ICU).roles());
+        assertEquals(2, summary(RADIOLOGY).headcount());
+        assertEquals(new BigDecimal("64000.50"), summary(RADIOLOGY).salaryTotal());
+    }
+
+    @Test
+    public void testRemoveTakesTheMemberOut() {
+        stats.removeMember(10);
+        stats.removeMember(99);
+
+        assertEquals(2, summary(ICU).headcount());
+        assertEquals(new BigDecimal("60000.00"), summary(ICU).salaryTotal());
+        assertEquals(3, stats.memberCount());
+    }
+
+    @Test
+    public void testRosteredHoursFollowTheStaffMember() {
+        stats.replaceRosteredMinutes(Map.of(10L, 480L, 20L, 960L));
+        assertEquals(8.0, summary(ICU).upcomingRosteredHours());
+        assertEquals(16.0, summary(RADIOLOGY).upcomingRosteredHours());
+
+        stats.putMember(10, RADIOLOGY, "Nurse", 30000.0);
+        assertEquals(0.0, summary(ICU).upcomingRosteredHours());
+        assertEquals(24.0, summary(RADIOLOGY).upcomingRosteredHours());
+
+        stats.replaceRosteredMinutes(Map.of());
+        assertEquals(0.0, summary(RADIOLOGY).upcomingRosteredHours());
+    }
+
+    @Test
+    public void testGroupsByRoleAndByDepartmentAndRole() {
+        List<Row> byRole = stats.group(GroupBy.ROLE);
+        assertEquals(2, byRole.size());
+        Row technicians = byRole.stream().filter(r -> r.role().equals("TECHNICIAN")).findFirst().orElseThrow();
+        assertNull(technicians.departmentId());
+        assertEquals(2, technicians.headcount());
+        assertEquals(new BigDecimal("63000.50"), technicians.salaryTotal());
+
+        List<Row> both = stats.group(GroupBy.DEPARTMENT_AND_ROLE);
+        assertEquals(3, both.size());
+        assertEquals("ICU", both.get(0).department());
+        assertEquals("NURSE", both.get(0).role());
+
+        List<Row> byDepartment = stats.group(GroupBy.DEPARTMENT);
+        assertEquals(2, byDepartment.size());
+        assertNull(byDepartment.get(0).role());
+        assertEquals(3, byDepartment.get(0).headcount());
+    }
+
+    @Test
+    public void testLooksUpDepartmentsIgnoringCase() {
+        assertEquals(ICU, stats.departmentId(" icu ").orElseThrow());
+        assertTrue(stats.departmentId("Cardiology").isEmpty());
+
+        stats.putDepartment(ICU, "Intensive Care");
+        assertTrue(stats.departmentId("ICU").isEmpty());
+        assertEquals(3, summary(ICU).headcount());
+    }
+
+    @Test
+    public void testEmptyDepartmentCanBeRemoved() {
+        stats.putDepartment(3, "Cardiology");
+        assertEquals(0, stats.headcount(3));
+        assertEquals(0, summary(3).headcount());
+
+        stats.removeDepartment(3);
+        assertTrue(stats.summaries(3L).isEmpty());
+    }
+}
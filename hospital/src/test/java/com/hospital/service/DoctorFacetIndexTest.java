@@ -0,0 +1,77 @@
+package com.hospital.service;
+
+import com.hospital.service.DoctorFacetIndex.Doctor;
+import com.hospital.service.DoctorFacetIndex.Facet;
+import com.hospital.service.DoctorFacetIndex.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoctorFacetIndexTest {
+
+    private DoctorFacetIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new DoctorFacetIndex();
+        index.replaceAll(List.of(
+                new Doctor(1, "Asha", "Rao", "Cardiology", "Pune", "Maharashtra", "Female"),
+                new Doctor(2, "Vikram", "Shah", "Cardiology", "Mumbai", "Maharashtra", "Male"),
+                new Doctor(3, "Meera", "Iyer", "Neurology", "Pune", "Maharashtra", "Female"),
+                new Doctor(4, "Karan", "Gill", "cardiology ", "Delhi", "Delhi", "Male")));
+    }
+
+    private static List<Long> ids(Result result) {
+        return result.doctors().stream().map(Doctor::id).toList();
+    }
+
+    @Test
+    public void testFiltersAndAcrossFacetsOrWithinOne() {
+        assertEquals(List.of(1L), ids(index.search(Map.of(Facet.SPECIALIZATION, List.of("Cardiology"),
+                Facet.CITY, List.of("pune")), null, 0, 10)));
+        assertEquals(List.of(1L, 3L, 2L), ids(index.search(Map.of(Facet.CITY, List.of("Pune", "Mumbai")), null, 0, 10)));
+    }
+
+    @Test
+    public void testFacetCountsIgnoreTheirOwnFilter() {
+        Result result = index.search(Map.of(Facet.SPECIALIZATION, List.of("Cardiology")), null, 0, 10);
+
+        assertEquals(3, result.total());
+        // Specialization counts still show the alternatives
+        assertEquals(Map.of("Cardiology", 3, "Neurology", 1), result.facets().get(Facet.SPECIALIZATION));
+        assertEquals(Map.of("Delhi", 1, "Mumbai", 1, "Pune", 1), result.facets().get(Facet.CITY));
+        assertEquals(Map.of("Male", 2, "Female", 1), result.facets().get(Facet.GENDER));
+    }
+
+    @Test
+    public void testAvailabilityRestrictsMatchesAndCounts() {
+        Result result = index.search(Map.of(), Set.of(2L, 3L), 0, 10);
+        assertEquals(List.of(3L, 2L), ids(result));
+        assertEquals(Map.of("Mumbai", 1, "Pune", 1), result.facets().get(Facet.CITY));
+    }
+
+    @Test
+    public void testPagingSortsByName() {
+        Result page = index.search(Map.of(), null, 1, 2);
+        assertEquals(4, page.total());
+        assertEquals(List.of(4L, 3L), ids(page));
+    }
+
+    @Test
+    public void testUpdateAndRemoveMoveBits() {
+        index.put(new Doctor(2, "Vikram", "Shah", "Neurology", "Mumbai", "Maharashtra", "Male"));
+        assertEquals(List.of(3L, 2L), ids(index.search(Map.of(Facet.SPECIALIZATION, List.of("neurology")), null, 0, 10)));
+
+        index.remove(3);
+        index.put(new Doctor(5, "Zoya", "Khan", "Dermatology", "Pune", "Maharashtra", "Female"));
+        assertEquals(4, index.size());
+        assertEquals(List.of(1L, 5L), ids(index.search(Map.of(Facet.CITY, List.of("Pune")), null, 0, 10)));
+        assertEquals(Map.of("Cardiology", 2, "Dermatology", 1, "Neurology", 1),
+                index.search(Map.of(), null, 0, 10).facets().get(Facet.SPECIALIZATION));
+    }
+}
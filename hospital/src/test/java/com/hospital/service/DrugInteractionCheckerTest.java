@@ -0,0 +1,64 @@
+package com.hospital.service;
+
+import com.hospital.dto.response.InteractionWarning;
+import com.hospital.enums.InteractionSeverity;
+import com.hospital.service.DrugInteractionChecker.InteractionRule;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DrugInteractionCheckerTest {
+
+    private final DrugInteractionChecker checker = new DrugInteractionChecker(List.of(
+            new InteractionRule("Warfarin", "Aspirin", InteractionSeverity.MAJOR, "bleeding"),
+            new InteractionRule("warfarin", "paracetamol", InteractionSeverity.MINOR, "INR"),
+            new InteractionRule("sildenafil", "nitroglycerin", InteractionSeverity.CONTRAINDICATED, "hypotension"),
+            new InteractionRule("aspirin", "warfarin", InteractionSeverity.MODERATE, "duplicate pair")));
+
+    @Test
+    public void testPairWithinNewPrescriptionIsFlagged() {
+        List<InteractionWarning> warnings = checker.check(List.of("Warfarin 5mg tab", "Aspirin 75 mg"), List.of());
+
+        assertEquals(1, warnings.size());
+        assertEquals("MAJOR", warnings.get(0).getSeverity());
+        assertFalse(warnings.get(0).isFromActivePrescription());
+    }
+
+    @Test
+    public void testNewDrugAgainstActivePrescription() {
+        List<InteractionWarning> warnings = checker.check(List.of("Nitroglycerin spray"), List.of("Sildenafil 50mg"));
+
+        assertEquals(1, warnings.size());
+        assertEquals("Nitroglycerin spray", warnings.get(0).getMedicine());
+        assertEquals("Sildenafil 50mg", warnings.get(0).getInteractsWith());
+        assertTrue(warnings.get(0).isFromActivePrescription());
+    }
+
+    @Test
+    public void testWarningsAreOrderedBySeverity() {
+        List<InteractionWarning> warnings = checker.check(List.of("warfarin"), List.of("paracetamol", "aspirin"));
+
+        assertEquals(2, warnings.size());
+        assertEquals("MAJOR", warnings.get(0).getSeverity());
+        assertEquals("MINOR", warnings.get(1).getSeverity());
+    }
+
+    @Test
+    public void testRepeatingAnActiveDrugOrUnknownNamesGiveNoWarning() {
+        assertTrue(checker.check(List.of("Warfarin 5mg"), List.of("warfarin 2 mg")).isEmpty());
+        assertTrue(checker.check(List.of("Cetirizine"), List.of("Vitamin D3")).isEmpty());
+    }
+
+    @Test
+    public void testBundledDatasetLoads() throws IOException {
+        DrugInteractionChecker bundled = new DrugInteractionChecker(
+                new ClassPathResource("interactions/drug-interactions.csv"));
+
+        assertTrue(bundled.drugCount() > 0);
+        assertFalse(bundled.check(List.of("Clarithromycin 500mg"), List.of("Simvastatin 40 mg")).isEmpty());
+    }
+}
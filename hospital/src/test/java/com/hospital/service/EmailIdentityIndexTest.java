@@ -0,0 +1,56 @@
+package com.hospital.service;
+
+import com.hospital.service.EmailIdentityIndex.Identity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailIdentityIndexTest {
+
+    private EmailIdentityIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new EmailIdentityIndex();
+        index.putUser("anna@mail.com", 1, "PATIENT");
+        index.putProfile("anna@mail.com", 10);
+    }
+
+    @Test
+    public void testLookupIgnoresCaseAndSpaces() {
+        assertEquals(Optional.of(new Identity(1, "PATIENT", 10L)), index.find("  Anna@Mail.COM "));
+        assertTrue(index.find("nobody@mail.com").isEmpty());
+        assertTrue(index.find(null).isEmpty());
+    }
+
+    @Test
+    public void testProfileNeedsAnAccount() {
+        index.putProfile("ghost@mail.com", 99);
+        assertTrue(index.find("ghost@mail.com").isEmpty());
+    }
+
+    @Test
+    public void testSavingTheAccountAgainKeepsItsProfile() {
+        index.putUser("anna@mail.com", 1, "PATIENT");
+        assertEquals(10L, index.find("anna@mail.com").orElseThrow().profileId());
+
+        // A different account under the same email starts without one
+        index.putUser("anna@mail.com", 2, "PATIENT");
+        assertNull(index.find("anna@mail.com").orElseThrow().profileId());
+    }
+
+    @Test
+    public void testRemovingTheProfileKeepsTheAccount() {
+        index.removeProfile("anna@mail.com", 11);
+        assertEquals(10L, index.find("anna@mail.com").orElseThrow().profileId());
+
+        index.removeProfile("anna@mail.com", 10);
+        assertEquals(Optional.of(new Identity(1, "PATIENT", null)), index.find("anna@mail.com"));
+
+        index.remove("ANNA@mail.com");
+        assertEquals(0, index.size());
+    }
+}
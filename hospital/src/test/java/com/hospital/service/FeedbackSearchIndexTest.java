@@ -0,0 +1,72 @@
+package com.hospital.service;
+
+import com.hospital.service.FeedbackSearchIndex.Entry;
+import com.hospital.service.FeedbackSearchIndex.Filter;
+import com.hospital.service.FeedbackSearchIndex.Hits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 5, 1);
+    private static final Filter ANY = new Filter(null, 0, 5, null, null, null);
+
+    private FeedbackSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new FeedbackSearchIndex();
+        index.add(new Entry(1, 10L, 5, DAY, 0.6f), "Very friendly doctor, short waiting time");
+        index.add(new Entry(2, 10L, 2, DAY.plusDays(1), -0.5f), "Long waiting time and a rude receptionist");
+        index.add(new Entry(3, 20L, 4, DAY.plusDays(2), 0.4f), "Friendly staff. Waiting was fine.");
+        index.add(new Entry(4, 20L, 1, DAY.plusDays(3), -0.6f), "The doctor was rude");
+    }
+
+    @Test
+    public void testAllWordsMustMatchNewestFirst() {
+        Hits hits = index.search("waiting TIME", ANY, false, 0, 10);
+        assertEquals(2, hits.total());
+        assertEquals(List.of(2L, 1L), hits.ids());
+    }
+
+    @Test
+    public void testFiltersApplyToKeywordHits() {
+        assertEquals(List.of(4L), index.search("rude", new Filter(20L, 0, 5, null, null, null), false, 0, 10).ids());
+        assertEquals(List.of(3L, 1L), index.search("friendly", new Filter(null, 4, 5, null, null, null), false, 0, 10).ids());
+        assertEquals(List.of(2L), index.search("waiting", new Filter(null, 0, 5, DAY.plusDays(1), DAY.plusDays(1), null), false, 0, 10).ids());
+    }
+
+    @Test
+    public void testMostNegativeFirstAndSentimentFilter() {
+        assertEquals(List.of(2L, 3L, 1L), index.search("waiting", ANY, true, 0, 10).ids());
+        Filter negative = new Filter(null, 0, 5, null, null, -0.05);
+        assertEquals(List.of(4L, 2L), index.search("rude", negative, true, 0, 10).ids());
+        assertEquals(0, index.search("friendly", negative, false, 0, 10).total());
+    }
+
+    @Test
+    public void testPagingKeepsTotal() {
+        Hits second = index.search("waiting", ANY, false, 1, 1);
+        assertEquals(3, second.total());
+        assertEquals(List.of(2L), second.ids());
+    }
+
+    @Test
+    public void testUnknownWordOrStopWordsOnlyFindNothing() {
+        assertEquals(0, index.search("excellent", ANY, false, 0, 10).total());
+        assertEquals(0, index.search("the and", ANY, false, 0, 10).total());
+    }
+
+    @Test
+    public void testOutOfOrderAndRepeatedAddsStaySorted() {
+        index.add(new Entry(0, 30L, 3, DAY, Float.NaN), "rude parking attendant");
+        index.add(new Entry(4, 20L, 1, DAY.plusDays(3), -0.6f), "The doctor was rude");
+        assertEquals(List.of(4L, 2L, 0L), index.search("rude", ANY, false, 0, 10).ids());
+        assertEquals(5, index.size());
+    }
+}
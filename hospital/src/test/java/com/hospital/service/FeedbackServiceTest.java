@@ -0,0 +1,107 @@
+package com.hospital.service;
+
+import com.hospital.entity.Feedback;
+import com.hospital.repository.DoctorRatingRepository;
+import com.hospital.repository.DoctorRepository;
+import com.hospital.repository.DoctorRepository.DoctorNameView;
+import com.hospital.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedbackServiceTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private DoctorRatingRepository doctorRatingRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private FeedbackSearchIndex searchIndex;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SentimentAnalyzer sentimentAnalyzer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FeedbackService feedbackService;
+
+    private static DoctorNameView doctor(long id, String firstName, String lastName, String specialization) {
+        return new DoctorNameView() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getFirstName() {
+                return firstName;
+            }
+
+            public String getLastName() {
+                return lastName;
+            }
+
+            public String getSpecialization() {
+                return specialization;
+            }
+        };
+    }
+
+    private static Feedback feedbackFor(String doctorName) {
+        Feedback feedback = new Feedback();
+        feedback.setName("Patient");
+        feedback.setDoctor(doctorName);
+        feedback.setRating(5);
+        return feedback;
+    }
+
+    @Test
+    public void testSaveBatchLeavesNamesSharedByDoctorsUnlinked() {
+        when(doctorRepository.findAllNameViews()).thenReturn(List.of(
+                doctor(1L, "Asha", "Rao", "Cardiology"),
+                doctor(2L, "Asha", "Rao", "Cardiology"),
+                doctor(3L, "Vikram", "Sen", "Neurology")));
+        Feedback shared = feedbackFor("Asha Rao-Cardiology");
+        Feedback unique = feedbackFor("Vikram Sen-Neurology");
+        // The insert hands out the generated ids
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+            shared.setId(10L);
+            unique.setId(11L);
+            return null;
+        });
+
+        feedbackService.saveBatch(List.of(shared, unique));
+
+        assertNull(shared.getDoctorId());
+        assertEquals(3L, unique.getDoctorId());
+    }
+
+    @Test
+    public void testLinkQueryOnlyMatchesNamesOfExactlyOneDoctor() throws NoSuchMethodException {
+        String sql = FeedbackRepository.class.getMethod("linkUnassignedToDoctors").getAnnotation(Query.class)
+                .value();
+
+        assertTrue(sql.contains("GROUP BY name HAVING COUNT(*) = 1"), sql);
+    }
+}
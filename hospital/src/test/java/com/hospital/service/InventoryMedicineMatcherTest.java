@@ -0,0 +1,62 @@
+package com.hospital.service;
+
+import com.hospital.service.InventoryMedicineMatcher.Candidate;
+import com.hospital.service.InventoryMedicineMatcher.InventoryName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryMedicineMatcherTest {
+
+    private InventoryMedicineMatcher matcher;
+
+    @BeforeEach
+    public void setUp() {
+        matcher = new InventoryMedicineMatcher();
+        matcher.rebuild(List.of(
+                new InventoryName(1, "Paracetamol 500mg Tablets"),
+                new InventoryName(2, "Paracetamol 650 mg Tablets"),
+                new InventoryName(3, "Amoxicillin 250mg Capsules"),
+                new InventoryName(4, "Surgical Gloves")));
+    }
+
+    @Test
+    public void testStrengthAndFormVariantsResolveToSameItem() {
+        assertEquals(1L, matcher.bestMatchId("Paracetamol 500mg"));
+        assertEquals(1L, matcher.bestMatchId("paracetamol 500 mg tab"));
+        assertEquals(1L, matcher.bestMatchId("PARACETAMOL 0.5 g tablet"));
+        assertEquals(2L, matcher.bestMatchId("Paracetamol 650mg"));
+    }
+
+    @Test
+    public void testMisspellingStillMatches() {
+        assertEquals(3L, matcher.bestMatchId("Amoxycillin 250 mg cap"));
+    }
+
+    @Test
+    public void testUnrelatedNameHasNoMatch() {
+        assertNull(matcher.bestMatchId("Metformin 500mg"));
+        assertTrue(matcher.match("  ").isEmpty());
+    }
+
+    @Test
+    public void testCandidatesAreRankedBestFirst() {
+        List<Candidate> candidates = matcher.match("Paracetamol 650 mg");
+
+        assertEquals(2, candidates.size());
+        assertEquals(2L, candidates.get(0).inventoryId());
+        assertTrue(candidates.get(0).score() > candidates.get(1).score());
+    }
+
+    @Test
+    public void testRebuildDropsCachedResults() {
+        assertNull(matcher.bestMatchId("Metformin 500mg"));
+
+        matcher.rebuild(List.of(new InventoryName(9, "Metformin 500mg Tablets")));
+
+        assertEquals(9L, matcher.bestMatchId("Metformin 500mg"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.hospital.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.service.OnboardingRecordReader.Format;
+import com.hospital.service.OnboardingRecordReader.Record;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OnboardingRecordReaderTest {
+
+    private static List<Record> readAll(String text, Format format) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (OnboardingRecordReader reader = new OnboardingRecordReader(
+                new BufferedReader(new StringReader(text)), format, new ObjectMapper())) {
+            Record record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void testCsvQuotedFieldsAndCrLf() throws IOException {
+        String csv = "\uFEFFfirstName,lastName,address\r\n"
+                + "Anna,Smith,\"12 Main St, Apt 4\"\r\n"
+                + "\"John \"\"Jack\"\"\",Doe,\"Line one\nLine two\"\r\n";
+        List<Record> records = readAll(csv, Format.CSV);
+
+        assertEquals(2, records.size());
+        assertEquals(Map.of("firstName", "Anna", "lastName", "Smith", "address", "12 Main St, Apt 4"),
+                records.get(0).fields());
+        assertEquals("John \"Jack\"", records.get(1).fields().get("firstName"));
+        assertEquals("Line one\nLine two", records.get(1).fields().get("address"));
+        assertEquals(2, records.get(1).number());
+    }
+
+    @Test
+    public void testCsvSkipsBlankLinesAndEmptyCellsAndFlagsShortRows() throws IOException {
+        List<Record> records = readAll("email,city\n\na@x.com,\nb@x.com\n", Format.CSV);
+
+        assertEquals(2, records.size());
+        assertEquals(Map.of("email", "a@x.com"), records.get(0).fields());
+        assertNull(records.get(1).fields());
+        assertEquals("Expected 2 columns but found 1", records.get(1).error());
+    }
+
+    @Test
+    public void testNdjsonReportsMalformedLinesAndContinues() throws IOException {
+        String ndjson = "{\"email\":\"a@x.com\",\"salary\":5000}\n"
+                + "{not json}\n"
+                + "\n"
+                + "{\"email\":\"c@x.com\",\"city\":\"\"}";
+        List<Record> records = readAll(ndjson, Format.NDJSON);
+
+        assertEquals(3, records.size());
+        assertEquals(5000, records.get(0).fields().get("salary"));
+        assertNotNull(records.get(1).error());
+        assertEquals(Map.of("email", "c@x.com"), records.get(2).fields());
+        assertEquals(3, records.get(2).number());
+    }
+
+    @Test
+    public void testFormatFromExtension() {
+        assertEquals(Format.CSV, Format.resolve(null, "patients.CSV"));
+        assertEquals(Format.NDJSON, Format.resolve(null, "staff.jsonl"));
+        assertEquals(Format.NDJSON, Format.resolve("ndjson", "export.txt"));
+        assertThrows(IllegalArgumentException.class, () -> Format.resolve(null, "doctors.xlsx"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.hospital.service;
+
+import com.hospital.service.PatientDirectoryIndex.Slice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientDirectoryIndexTest {
+
+    private PatientDirectoryIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new PatientDirectoryIndex();
+        index.put(1, "Anna", "Smith", "anna.smith@mail.com", "+91 98765-43210");
+        index.put(2, "John", "Smith", "jsmith@mail.com", "(022) 555 0101");
+        index.put(3, "Smita", "Rao", "smita@mail.com", "9123456780");
+        index.put(4, "Ravi", "Adams", "ravi@mail.com", "9988776655");
+    }
+
+    @Test
+    public void testEmptyQueryListsByLastName() {
+        assertEquals(List.of(4L, 3L, 1L, 2L), index.search(null, null, 10).ids());
+    }
+
+    @Test
+    public void testPrefixMatchesNameEmailAndPhone() {
+        assertEquals(List.of(3L, 1L, 2L), index.search("smi", null, 10).ids());
+        assertEquals(List.of(2L), index.search("John Sm", null, 10).ids());
+        assertEquals(List.of(2L), index.search("jsmith@", null, 10).ids());
+        assertEquals(List.of(1L), index.search("+91 98765", null, 10).ids());
+        assertEquals(List.of(2L), index.search("022-555", null, 10).ids());
+    }
+
+    @Test
+    public void testPatientMatchedByTwoKeysIsListedOnce() {
+        // "Smita" matches both her first name and her email
+        assertEquals(1, index.search("smita", null, 10).ids().size());
+    }
+
+    @Test
+    public void testKeysetPagesCoverEveryMatchOnce() {
+        for (long id = 10; id < 60; id++) {
+            index.put(id, "Sam" + (id % 7), "Smith", "sam" + id + "@mail.com", "70000000" + id);
+        }
+        List<Long> all = index.search("s", null, 1000).ids();
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            Slice slice = index.search("s", cursor, 7);
+            paged.addAll(slice.ids());
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+        assertEquals(all, paged);
+        assertEquals(53, paged.size());
+    }
+
+    @Test
+    public void testUpdateAndRemoveRefileKeys() {
+        index.put(2, "John", "Baker", "jsmith@mail.com", "(022) 555 0101");
+        assertEquals(List.of(3L, 1L), index.search("smi", null, 10).ids());
+        assertEquals(List.of(2L), index.search("baker", null, 10).ids());
+
+        index.remove(2);
+        assertTrue(index.search("baker", null, 10).ids().isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testCursorFromAnotherSearchIsRejected() {
+        String cursor = index.search("smi", null, 1).nextCursor();
+        assertNotNull(cursor);
+        assertThrows(IllegalArgumentException.class, () -> index.search("ravi", cursor, 5));
+        assertThrows(IllegalArgumentException.class, () -> index.search("smi", "not-a-cursor", 5));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hospital.service;
+
+import com.hospital.service.PayrollCalculator.Employee;
+import com.hospital.service.PayrollCalculator.Pay;
+import com.hospital.service.PayrollCalculator.Rates;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PayrollCalculatorTest {
+
+    private static final YearMonth SEPTEMBER = YearMonth.of(2026, 9);
+
+    private final PayrollCalculator calculator = new PayrollCalculator(
+            new Rates(160, 1.5, 0.12, 0.10, new BigDecimal("200")));
+
+    private static BigDecimal money(String amount) {
+        return new BigDecimal(amount);
+    }
+
+    @Test
+    public void testFullMonthWithoutOvertime() {
+        Pay pay = calculator.calculate(
+                new Employee(1, money("48000"), LocalDate.of(2020, 1, 6), 150), SEPTEMBER);
+        assertEquals(30, pay.paidDays());
+        assertEquals(money("48000.00"), pay.basePay());
+        assertEquals(0.0, pay.overtimeHours());
+        assertEquals(money("0.00"), pay.overtimePay());
+        assertEquals(money("5760.00"), pay.providentFund());
+        // 10% of 48000 - 5760
+        assertEquals(money("4224.00"), pay.incomeTax());
+        assertEquals(money("200.00"), pay.professionalTax());
+        assertEquals(money("37816.00"), pay.netPay());
+    }
+
+    @Test
+    public void testOvertimeIsPaidAtTheMultiplier() {
+        Pay pay = calculator.calculate(new Employee(1, money("48000"), null, 170), SEPTEMBER);
+        // 10 hours at 300/hour times 1.5
+        assertEquals(10.0, pay.overtimeHours());
+        assertEquals(money("4500.00"), pay.overtimePay());
+        assertEquals(money("52500.00"), pay.grossPay());
+        assertEquals(money("5760.00"), pay.providentFund());
+    }
+
+    @Test
+    public void testMidMonthHireIsProRated() {
+        Pay pay = calculator.calculate(
+                new Employee(1, money("30000"), LocalDate.of(2026, 9, 16), 90), SEPTEMBER);
+        assertEquals(15, pay.paidDays());
+        assertEquals(money("15000.00"), pay.basePay());
+        // Standard hours shrink to 80, so 10 hours are overtime
+        assertEquals(10.0, pay.overtimeHours());
+    }
+
+    @Test
+    public void testHiredAfterThePeriodIsNotPaid() {
+        assertNull(calculator.calculate(
+                new Employee(1, money("30000"), LocalDate.of(2026, 10, 1), 0), SEPTEMBER));
+    }
+
+    @Test
+    public void testProfessionalTaxNeverMakesNetPayNegative() {
+        Pay pay = calculator.calculate(
+                new Employee(1, money("3000"), LocalDate.of(2026, 9, 30), 0), SEPTEMBER);
+        assertEquals(money("100.00"), pay.basePay());
+        assertEquals(money("12.00"), pay.providentFund());
+        assertEquals(money("8.80"), pay.incomeTax());
+        assertEquals(money("79.20"), pay.professionalTax());
+        assertEquals(money("0.00"), pay.netPay());
+    }
+}
@@ -0,0 +1,89 @@
+package com.hospital.service;
+
+import com.hospital.service.PeopleSearchIndex.Hit;
+import com.hospital.service.PeopleSearchIndex.MatchedOn;
+import com.hospital.service.PeopleSearchIndex.Person;
+import com.hospital.service.PeopleSearchIndex.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeopleSearchIndexTest {
+
+    private static final Set<Role> ALL = EnumSet.allOf(Role.class);
+
+    private PeopleSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new PeopleSearchIndex();
+        index.put(new Person(Role.PATIENT, 1, "Anna", "Smith", "anna.smith@mail.com", "+91 98765-43210", "Pune"));
+        index.put(new Person(Role.PATIENT, 2, "Smita", "Rao", "smita@mail.com", "9123456780", "Delhi"));
+        index.put(new Person(Role.DOCTOR, 1, "John", "Smithers", "dr.john@hospital.com", "9000000001", "Cardiology"));
+        index.put(new Person(Role.STAFF, 1, "Ravi", "Smith", "ravi@hospital.com", "9000000002", "Pharmacy"));
+    }
+
+    private static List<Long> ids(List<Hit> hits) {
+        return hits.stream().map(hit -> hit.person().id()).toList();
+    }
+
+    @Test
+    public void testResultsAreGroupedByRole() {
+        Map<Role, List<Hit>> results = index.search("smi", ALL, 10);
+        assertEquals(List.of(2L, 1L), ids(results.get(Role.PATIENT)));
+        assertEquals(List.of(1L), ids(results.get(Role.DOCTOR)));
+        assertEquals(List.of(1L), ids(results.get(Role.STAFF)));
+    }
+
+    @Test
+    public void testExactWordRanksBeforePrefix() {
+        index.put(new Person(Role.PATIENT, 3, "Smithson", "Lee", "lee@mail.com", "9111111111", "Pune"));
+        List<Hit> hits = index.search("smith", ALL, 10).get(Role.PATIENT);
+        assertEquals(List.of(1L, 3L), ids(hits));
+        assertTrue(hits.get(0).exact());
+        assertFalse(hits.get(1).exact());
+    }
+
+    @Test
+    public void testEmailAndPhoneMatches() {
+        List<Hit> byEmail = index.search("dr.jo", ALL, 10).get(Role.DOCTOR);
+        assertEquals(MatchedOn.EMAIL, byEmail.get(0).matchedOn());
+        List<Hit> byPhone = index.search("+91 98765", ALL, 10).get(Role.PATIENT);
+        assertEquals(List.of(1L), ids(byPhone));
+        assertEquals(MatchedOn.PHONE, byPhone.get(0).matchedOn());
+    }
+
+    @Test
+    public void testFurtherWordsMustPrefixAnotherName() {
+        assertEquals(List.of(1L), ids(index.search("anna sm", ALL, 10).get(Role.PATIENT)));
+        assertTrue(index.search("anna rao", ALL, 10).get(Role.PATIENT).isEmpty());
+    }
+
+    @Test
+    public void testRoleFilterAndPerRoleCap() {
+        for (long id = 10; id < 40; id++) {
+            index.put(new Person(Role.PATIENT, id, "Sam" + id, "Smith", "sam" + id + "@mail.com", "80000000" + id, null));
+        }
+        Map<Role, List<Hit>> results = index.search("smith", EnumSet.of(Role.PATIENT, Role.STAFF), 5);
+        assertEquals(Set.of(Role.PATIENT, Role.STAFF), results.keySet());
+        assertEquals(5, results.get(Role.PATIENT).size());
+        assertEquals(1, results.get(Role.STAFF).size());
+    }
+
+    @Test
+    public void testUpdateAndRemoveRefileKeys() {
+        index.put(new Person(Role.STAFF, 1, "Ravi", "Kumar", "ravi@hospital.com", "9000000002", "Pharmacy"));
+        assertTrue(index.search("smith", ALL, 10).get(Role.STAFF).isEmpty());
+        assertEquals(1, index.search("kumar", ALL, 10).get(Role.STAFF).size());
+
+        index.remove(Role.STAFF, 1);
+        assertTrue(index.search("ravi", ALL, 10).get(Role.STAFF).isEmpty());
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.hospital.service;
+
+import com.hospital.service.RefillDueIndex.Due;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefillDueIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private RefillDueIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new RefillDueIndex();
+        index.replaceAll(Map.of(
+                1L, TODAY.plusDays(5),
+                2L, TODAY,
+                3L, TODAY.plusDays(1),
+                4L, TODAY.plusDays(30)));
+    }
+
+    @Test
+    public void testDueByReturnsEarliestFirstUpToHorizon() {
+        List<Due> due = index.dueBy(TODAY.plusDays(5), 10);
+        assertEquals(List.of(2L, 3L, 1L), due.stream().map(Due::prescriptionId).toList());
+    }
+
+    @Test
+    public void testDueByHonoursLimit() {
+        assertEquals(1, index.dueBy(TODAY.plusDays(30), 1).size());
+    }
+
+    @Test
+    public void testRescheduleMovesEntryInsteadOfDuplicating() {
+        index.schedule(2L, TODAY.plusDays(10));
+        assertEquals(List.of(3L), index.dueBy(TODAY.plusDays(2), 10).stream().map(Due::prescriptionId).toList());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testUnscheduleRemovesEntry() {
+        index.unschedule(3L);
+        index.schedule(1L, null);
+        assertEquals(List.of(2L), index.dueBy(TODAY.plusDays(5), 10).stream().map(Due::prescriptionId).toList());
+        assertEquals(2, index.size());
+    }
+}
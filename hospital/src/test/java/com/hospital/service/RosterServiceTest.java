@@ -0,0 +1,165 @@
+package com.hospital.service;
+
+import com.hospital.dto.request.RosterRunRequest;
+import com.hospital.entity.RosterRun;
+import com.hospital.repository.RosterRunRepository;
+import com.hospital.repository.StaffRepository;
+import com.hospital.repository.StaffRepository.StaffRosterView;
+import com.hospital.serviceImpl.RosterServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RosterServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private RosterRunRepository runRepository;
+
+    @Mock
+    private StaffRepository staffRepository;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RosterServiceImpl rosterService;
+
+    private RosterRun run;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(rosterService, "defaultDayCoverage", 1);
+        ReflectionTestUtils.setField(rosterService, "defaultEveningCoverage", 1);
+        ReflectionTestUtils.setField(rosterService, "defaultNightCoverage", 1);
+        ReflectionTestUtils.setField(rosterService, "minRestHours", 11);
+        ReflectionTestUtils.setField(rosterService, "maxShiftsPerWeek", 5);
+        ReflectionTestUtils.setField(rosterService, "defaultTimeBudgetMillis", 200L);
+        ReflectionTestUtils.setField(rosterService, "maxTimeBudgetMillis", 30000L);
+        ReflectionTestUtils.setField(rosterService, "movesPerStaff", 2000L);
+        ReflectionTestUtils.setField(rosterService, "pageSize", 100);
+        ReflectionTestUtils.setField(rosterService, "threads", 1);
+        rosterService.start();
+
+        when(runRepository.save(any(RosterRun.class))).thenAnswer(invocation -> {
+            run = invocation.getArgument(0);
+            run.setId(1L);
+            return run;
+        });
+        when(runRepository.findById(1L)).thenAnswer(invocation -> Optional.of(run));
+        when(staffRepository.findRosterPage(eq(0L), any())).thenReturn(List.of(
+                staff(1L, "Emergency", "Nurse"), staff(2L, "Emergency", "Nurse"), staff(3L, "Emergency", "Nurse"),
+                staff(4L, "Emergency", "Nurse"), staff(5L, "Emergency", "Nurse"), staff(6L, "Emergency", "Doctor")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rosterService.stop();
+    }
+
+    private static StaffRosterView staff(long id, String department, String role) {
+        return new StaffRosterView() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getDepartment() {
+                return department;
+            }
+
+            public String getRole() {
+                return role;
+            }
+        };
+    }
+
+    private void runAndWait(List<String> roles) {
+        RosterRunRequest request = new RosterRunRequest();
+        request.setWeekStart(MONDAY);
+        request.setRoles(roles);
+        rosterService.startRun(request, "admin@hospital.com");
+        verify(departmentService, timeout(10000)).refreshRosteredHours();
+    }
+
+    @Test
+    public void testRunWithoutRolesReplacesWholeDepartmentWeek() {
+        runAndWait(null);
+
+        verify(jdbcTemplate).update(contains("WHERE department = ? AND start_time"), eq("Emergency"),
+                eq(MONDAY.atStartOfDay()), eq(MONDAY.plusWeeks(1).atStartOfDay()));
+        verify(jdbcTemplate, never()).batchUpdate(contains("staff_id = ?"), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRunForOneRoleReplacesOnlyThatRolesShifts() {
+        runAndWait(List.of("Nurse"));
+
+        verify(jdbcTemplate, never()).update(contains("DELETE"), any(Object[].class));
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("staff_id = ?"), deletes.capture());
+        List<Object> deletedStaff = deletes.getValue().stream().map(row -> row[1]).toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), deletedStaff);
+        for (Object[] row : deletes.getValue()) {
+            assertEquals("Emergency", row[0]);
+            assertEquals(MONDAY.atStartOfDay(), row[2]);
+            assertEquals(MONDAY.plusWeeks(1).atStartOfDay(), row[3]);
+        }
+    }
+
+    @Test
+    public void testRunClearsWeekOfDepartmentWhoseStaffAllMoved() {
+        // Everyone rostered in Cardiology this week has since moved to Emergency
+        when(jdbcTemplate.queryForList(contains("DISTINCT department"), eq(String.class), any(), any()))
+                .thenReturn(List.of("Emergency", "Cardiology"));
+
+        runAndWait(null);
+
+        verify(jdbcTemplate).update(contains("WHERE department = ? AND start_time"), eq("Cardiology"),
+                eq(MONDAY.atStartOfDay()), eq(MONDAY.plusWeeks(1).atStartOfDay()));
+        verify(jdbcTemplate).update(contains("WHERE department = ? AND start_time"), eq("Emergency"),
+                eq(MONDAY.atStartOfDay()), eq(MONDAY.plusWeeks(1).atStartOfDay()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRunForOneRoleClearsShiftsOfStaffWhoMoved() {
+        when(jdbcTemplate.queryForList(contains("DISTINCT department"), eq(String.class), any(), any()))
+                .thenReturn(List.of("Emergency", "Cardiology"));
+
+        runAndWait(List.of("Nurse"));
+
+        for (String department : List.of("Emergency", "Cardiology")) {
+            verify(jdbcTemplate).update(contains("LEFT JOIN staff"), eq(department), eq(MONDAY.atStartOfDay()),
+                    eq(MONDAY.plusWeeks(1).atStartOfDay()));
+        }
+        verify(jdbcTemplate, never()).update(contains("WHERE department = ? AND start_time"), any(Object[].class));
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("staff_id = ?"), deletes.capture());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), deletes.getValue().stream().map(row -> row[1]).toList());
+    }
+}
@@ -0,0 +1,148 @@
+package com.hospital.service;
+
+import com.hospital.enums.ShiftType;
+import com.hospital.service.RosterSolver.Assignment;
+import com.hospital.service.RosterSolver.Roster;
+import com.hospital.service.RosterSolver.Rules;
+import com.hospital.service.RosterSolver.Worker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterSolverTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE / 2;
+    private static final Rules RULES = new Rules(new int[] { 2, 2, 1 }, 11, 5);
+
+    private static List<Worker> workers(int count) {
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            workers.add(new Worker(i, 0, 0));
+        }
+        return workers;
+    }
+
+    private static Roster solve(Rules rules, List<Worker> workers, long movesPerWorker) {
+        return new RosterSolver(rules).solve(workers, System.nanoTime() + NO_DEADLINE,
+                workers.size() * movesPerWorker, 7);
+    }
+
+    private static int[] covered(Roster roster) {
+        int[] covered = new int[RosterSolver.SLOTS];
+        for (Assignment assignment : roster.assignments()) {
+            covered[RosterSolver.slot(assignment.day(), assignment.type())]++;
+        }
+        return covered;
+    }
+
+    // Every hard rule, checked from the assignments alone
+    private static void assertFeasible(Rules rules, List<Worker> workers, Roster roster) {
+        Map<Long, Worker> byId = new HashMap<>();
+        workers.forEach(worker -> byId.put(worker.staffId(), worker));
+        Map<Long, List<Integer>> hours = new HashMap<>();
+        for (Assignment assignment : roster.assignments()) {
+            Worker worker = byId.get(assignment.staffId());
+            int slot = RosterSolver.slot(assignment.day(), assignment.type());
+            assertEquals(0, worker.unavailableDays() & 1 << assignment.day(), "rostered on a day off");
+            assertEquals(0, worker.blockedShifts() & 1 << slot, "rostered on a blocked shift");
+            hours.computeIfAbsent(assignment.staffId(), k -> new ArrayList<>())
+                    .add(assignment.day() * 24 + assignment.type().startHour());
+        }
+        for (List<Integer> starts : hours.values()) {
+            assertTrue(starts.size() <= rules.maxShiftsPerWeek(), "too many shifts");
+            starts.sort(null);
+            for (int i = 1; i < starts.size(); i++) {
+                int rest = starts.get(i) - starts.get(i - 1) - RosterSolver.SHIFT_HOURS;
+                assertTrue(rest >= rules.minRestHours(), "only " + rest + " hours of rest");
+            }
+        }
+    }
+
+    @Test
+    public void testCoversEveryShiftWithinTheRules() {
+        List<Worker> workers = workers(12);
+        Roster roster = solve(RULES, workers, 20_000);
+
+        assertFeasible(RULES, workers, roster);
+        assertEquals(0, roster.uncovered());
+        int[] covered = covered(roster);
+        for (int day = 0; day < RosterSolver.DAYS; day++) {
+            assertEquals(2, covered[RosterSolver.slot(day, ShiftType.DAY)]);
+            assertEquals(2, covered[RosterSolver.slot(day, ShiftType.EVENING)]);
+            assertEquals(1, covered[RosterSolver.slot(day, ShiftType.NIGHT)]);
+        }
+    }
+
+    @Test
+    public void testSpreadsShiftsEvenly() {
+        List<Worker> workers = workers(7);
+        Roster roster = solve(RULES, workers, 20_000);
+
+        // 35 shifts over 7 workers
+        Map<Long, Integer> load = new HashMap<>();
+        roster.assignments().forEach(a -> load.merge(a.staffId(), 1, Integer::sum));
+        assertEquals(7, load.size());
+        load.values().forEach(shifts -> assertEquals(5, shifts));
+    }
+
+    @Test
+    public void testHonoursDaysOffAndBlockedShifts() {
+        List<Worker> workers = new ArrayList<>(workers(10));
+        // Off on Monday and Tuesday, and too soon after last Sunday's night for Monday's day shift
+        workers.set(0, new Worker(1, 0b11, 0));
+        workers.set(1, new Worker(2, 0, 1 << RosterSolver.slot(0, ShiftType.DAY)));
+        Roster roster = solve(RULES, workers, 20_000);
+
+        assertFeasible(RULES, workers, roster);
+        assertEquals(0, roster.uncovered());
+    }
+
+    @Test
+    public void testReportsWhatCannotBeCovered() {
+        // Three workers manage at most 15 of the 35 places
+        List<Worker> workers = workers(3);
+        Roster roster = solve(RULES, workers, 20_000);
+
+        assertFeasible(RULES, workers, roster);
+        assertEquals(35 - roster.assignments().size(), roster.uncovered());
+        assertTrue(roster.assignments().size() >= 14, "only " + roster.assignments().size() + " places");
+    }
+
+    @Test
+    public void testCoversFiveHundredStaffWithTightCoverage() {
+        Random random = new Random(11);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            // About one worker in five has a day off
+            workers.add(new Worker(i, random.nextInt(5) == 0 ? 1 << random.nextInt(RosterSolver.DAYS) : 0, 0));
+        }
+        // 140 places a day, 980 in the week
+        Rules rules = new Rules(new int[] { 60, 45, 35 }, 11, 5);
+        Roster roster = solve(rules, workers, 2_000);
+
+        assertFeasible(rules, workers, roster);
+        assertEquals(0, roster.uncovered());
+    }
+
+    @Test
+    public void testSameSeedGivesSameRoster() {
+        List<Worker> workers = workers(20);
+        assertEquals(solve(RULES, workers, 1_000).assignments(), solve(RULES, workers, 1_000).assignments());
+    }
+
+    @Test
+    public void testStopsAtTheDeadline() {
+        List<Worker> workers = workers(200);
+        long started = System.nanoTime();
+        Roster roster = new RosterSolver(RULES).solve(workers, started + 50_000_000L, Long.MAX_VALUE, 7);
+
+        assertTrue(System.nanoTime() - started < 2_000_000_000L);
+        assertEquals(0, roster.uncovered());
+    }
+}
@@ -0,0 +1,55 @@
+package com.hospital.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SentimentAnalyzerTest {
+
+    private static SentimentAnalyzer analyzer;
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        analyzer = new SentimentAnalyzer(new ClassPathResource("sentiment/lexicon.csv"));
+    }
+
+    @Test
+    public void testPolarity() {
+        assertTrue(analyzer.score("The doctor was friendly and very professional") > 0.5);
+        assertTrue(analyzer.score("Rude staff and a dirty waiting room") < -0.5);
+        assertEquals(0.0, analyzer.score("I visited on Tuesday for a checkup"));
+        assertNull(analyzer.score("   "));
+    }
+
+    @Test
+    public void testNegationFlipsSentiment() {
+        assertTrue(analyzer.score("The nurse was not helpful") < 0);
+        assertTrue(analyzer.score("There were no problems at all") > 0);
+        assertTrue(analyzer.score("The receptionist wasn't rude") > 0);
+    }
+
+    @Test
+    public void testIntensifiersAndExclamationsStrengthen() {
+        double plain = analyzer.score("The treatment was good");
+        assertTrue(analyzer.score("The treatment was extremely good") > plain);
+        assertTrue(analyzer.score("The treatment was good!!") > plain);
+        assertTrue(analyzer.score("The treatment was slightly good") < plain);
+    }
+
+    @Test
+    public void testClauseAfterButDominates() {
+        assertTrue(analyzer.score("The doctor was nice but the wait was terrible and the staff were rude") < 0);
+        assertTrue(analyzer.score("Long queue but the doctor was excellent") > 0);
+    }
+
+    @Test
+    public void testScoreStaysInRange() {
+        double score = analyzer.score("terrible horrible awful worst disgusting nightmare!!!!!!");
+        assertTrue(score >= -1 && score < -0.9);
+        assertTrue(SentimentAnalyzer.isNegative(score));
+    }
+}